@@ -48,4 +48,18 @@ public final class JvmSystemInfo
           System.getProperty("java.runtime.version", ""));
   }
 
+  /**
+   * JVM system information, for a JVM other than the one that is
+   * running, such as one that a catalog was saved on.
+   *
+   * @param productName
+   *        JVM vendor and name
+   * @param productVersion
+   *        JVM version
+   */
+  public JvmSystemInfo(final String productName, final String productVersion)
+  {
+    super(productName, productVersion);
+  }
+
 }
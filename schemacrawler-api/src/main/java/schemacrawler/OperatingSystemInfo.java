@@ -46,4 +46,19 @@ public final class OperatingSystemInfo
           System.getProperty("os.version", ""));
   }
 
+  /**
+   * Operating system information, for an operating system other than
+   * the one that is running, such as one that a catalog was saved on.
+   *
+   * @param productName
+   *        Operating system name
+   * @param productVersion
+   *        Operating system version
+   */
+  public OperatingSystemInfo(final String productName,
+                             final String productVersion)
+  {
+    super(productName, productVersion);
+  }
+
 }
@@ -48,6 +48,25 @@ public final class SchemaCrawlerInfo
     schemaCrawlerAbout = Version.about();
   }
 
+  /**
+   * SchemaCrawler information, for a SchemaCrawler version other than
+   * the one that is running, such as one that a catalog was saved with.
+   *
+   * @param productName
+   *        Product name
+   * @param productVersion
+   *        Product version
+   * @param schemaCrawlerAbout
+   *        About SchemaCrawler
+   */
+  public SchemaCrawlerInfo(final String productName,
+                           final String productVersion,
+                           final String schemaCrawlerAbout)
+  {
+    super(productName, productVersion);
+    this.schemaCrawlerAbout = schemaCrawlerAbout;
+  }
+
   public String getSchemaCrawlerAbout()
   {
     return schemaCrawlerAbout;
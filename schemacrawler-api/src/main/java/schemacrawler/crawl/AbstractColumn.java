@@ -190,6 +190,7 @@ abstract class AbstractColumn<P extends DatabaseObject>
   final void setColumnDataType(final ColumnDataType columnDataType)
   {
     this.columnDataType = columnDataType;
+    sortOrderChanged();
   }
 
   final void setDecimalDigits(final int decimalDigits)
@@ -205,6 +206,7 @@ abstract class AbstractColumn<P extends DatabaseObject>
   final void setOrdinalPosition(final int ordinalPosition)
   {
     this.ordinalPosition = ordinalPosition;
+    sortOrderChanged();
   }
 
   /**
@@ -54,6 +54,7 @@ abstract class AbstractDatabaseObject
   private static final long serialVersionUID = 3099561832386790624L;
 
   private final Schema schema;
+  private transient String fullName;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private
@@ -133,7 +134,11 @@ abstract class AbstractDatabaseObject
   @Override
   public String getFullName()
   {
-    return Identifiers.STANDARD.quoteFullName(this);
+    if (fullName == null)
+    {
+      fullName = Identifiers.STANDARD.quoteFullName(this);
+    }
+    return fullName;
   }
 
   @Override
@@ -53,6 +53,8 @@ abstract class AbstractDependantObject<D extends DatabaseObject>
   private static final long serialVersionUID = -4327208866052082457L;
 
   private final DatabaseObjectReference<D> parent;
+  private transient String fullName;
+  private transient String shortName;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private
@@ -95,7 +97,17 @@ abstract class AbstractDependantObject<D extends DatabaseObject>
   @Override
   public final String getFullName()
   {
-    return Identifiers.STANDARD.quoteFullName(this);
+    if (fullName != null)
+    {
+      return fullName;
+    }
+    final String quotedFullName = Identifiers.STANDARD.quoteFullName(this);
+    // Do not remember names computed while deserializing
+    if (getParent() != null)
+    {
+      fullName = quotedFullName;
+    }
+    return quotedFullName;
   }
 
   /**
@@ -116,7 +128,16 @@ abstract class AbstractDependantObject<D extends DatabaseObject>
   @Override
   public final String getShortName()
   {
-    return Identifiers.STANDARD.quoteShortName(this);
+    if (shortName != null)
+    {
+      return shortName;
+    }
+    final String quotedShortName = Identifiers.STANDARD.quoteShortName(this);
+    if (getParent() != null)
+    {
+      shortName = quotedShortName;
+    }
+    return quotedShortName;
   }
 
   @Override
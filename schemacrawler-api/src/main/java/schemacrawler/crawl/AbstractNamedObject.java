@@ -49,6 +49,11 @@ abstract class AbstractNamedObject
   private static final long serialVersionUID = -1486322887991472729L;
 
   private final String name;
+  private transient NamedObjectKey key;
+  // Most objects are held in a single list, so further lists are only
+  // kept when needed
+  private transient NamedObjectList<?> list;
+  private transient List<NamedObjectList<?>> moreLists;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private
@@ -133,4 +138,91 @@ abstract class AbstractNamedObject
     return new ArrayList<>(Arrays.asList(name));
   }
 
+  /**
+   * Gets the lookup key for this object, computed once from the unique
+   * lookup key.
+   *
+   * @return Lookup key
+   */
+  final NamedObjectKey key()
+  {
+    if (key == null)
+    {
+      key = new NamedObjectKey(toUniqueLookupKey());
+    }
+    return key;
+  }
+
+  /**
+   * Clears the computed lookup key, for objects whose unique lookup key
+   * changes after construction.
+   */
+  final void resetKey()
+  {
+    key = null;
+  }
+
+  /**
+   * Notes that state that this object is sorted on has changed, so that
+   * the lists that hold this object are re-sorted before they are read
+   * again.
+   */
+  final void sortOrderChanged()
+  {
+    final List<NamedObjectList<?>> lists;
+    synchronized (this)
+    {
+      if (list == null)
+      {
+        return;
+      }
+      lists = new ArrayList<>(1 + (moreLists == null? 0: moreLists.size()));
+      lists.add(list);
+      if (moreLists != null)
+      {
+        lists.addAll(moreLists);
+      }
+    }
+    for (final NamedObjectList<?> namedObjectList: lists)
+    {
+      namedObjectList.sortOrderChanged();
+    }
+  }
+
+  final synchronized void addedTo(final NamedObjectList<?> namedObjectList)
+  {
+    if (list == null || list == namedObjectList)
+    {
+      list = namedObjectList;
+      return;
+    }
+    if (moreLists == null)
+    {
+      moreLists = new ArrayList<>(1);
+    }
+    if (!moreLists.contains(namedObjectList))
+    {
+      moreLists.add(namedObjectList);
+    }
+  }
+
+  final synchronized void removedFrom(final NamedObjectList<?> namedObjectList)
+  {
+    if (list == namedObjectList)
+    {
+      if (moreLists == null || moreLists.isEmpty())
+      {
+        list = null;
+      }
+      else
+      {
+        list = moreLists.remove(moreLists.size() - 1);
+      }
+    }
+    else if (moreLists != null)
+    {
+      moreLists.remove(namedObjectList);
+    }
+  }
+
 }
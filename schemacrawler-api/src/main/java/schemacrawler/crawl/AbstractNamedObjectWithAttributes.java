@@ -33,6 +33,7 @@ import static sf.util.Utility.isBlank;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -82,7 +83,11 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final <T> T getAttribute(final String name, final T defaultValue)
   {
-    final Object attributeValue = attributeMap.get(name);
+    final Object attributeValue;
+    synchronized (attributeMap)
+    {
+      attributeValue = attributeMap.get(name);
+    }
     if (attributeValue == null)
     {
       return defaultValue;
@@ -106,7 +111,12 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final Map<String, Object> getAttributes()
   {
-    return Collections.unmodifiableMap(attributeMap);
+    // Copied in iteration order, since attributes may be set from
+    // concurrent crawl phases
+    synchronized (attributeMap)
+    {
+      return Collections.unmodifiableMap(new LinkedHashMap<>(attributeMap));
+    }
   }
 
   /**
@@ -124,7 +134,10 @@ abstract class AbstractNamedObjectWithAttributes
   @Override
   public final boolean hasAttribute(final String name)
   {
-    return attributeMap.containsKey(name);
+    synchronized (attributeMap)
+    {
+      return attributeMap.containsKey(name);
+    }
   }
 
   /**
@@ -153,7 +166,10 @@ abstract class AbstractNamedObjectWithAttributes
   {
     if (!isBlank(name))
     {
-      attributeMap.remove(name);
+      synchronized (attributeMap)
+      {
+        attributeMap.remove(name);
+      }
     }
   }
 
@@ -165,13 +181,16 @@ abstract class AbstractNamedObjectWithAttributes
   {
     if (!isBlank(name))
     {
-      if (value == null)
+      synchronized (attributeMap)
       {
-        attributeMap.remove(name);
-      }
-      else
-      {
-        attributeMap.put(name, value);
+        if (value == null)
+        {
+          attributeMap.remove(name);
+        }
+        else
+        {
+          attributeMap.put(name, value);
+        }
       }
     }
   }
@@ -180,7 +199,10 @@ abstract class AbstractNamedObjectWithAttributes
   {
     if (values != null)
     {
-      attributeMap.putAll(values);
+      synchronized (attributeMap)
+      {
+        attributeMap.putAll(values);
+      }
     }
   }
 
@@ -44,7 +44,6 @@ import schemacrawler.schema.DatabaseObject;
 import schemacrawler.schema.JavaSqlType;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.SchemaReference;
-import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.utility.TypeMap;
 import sf.util.SchemaCrawlerLogger;
@@ -76,6 +75,25 @@ abstract class AbstractRetriever
     this.options = requireNonNull(options, "No SchemaCrawler options provided");
   }
 
+  /**
+   * Adds columns from database metadata results that were not read for
+   * the current row as attributes of a database object, unless they are
+   * turned off in the schema retrieval options.
+   *
+   * @param namedObject
+   *        Database object to add attributes to
+   * @param results
+   *        Database metadata results
+   */
+  final void addMetadataAttributes(final AbstractNamedObjectWithAttributes namedObject,
+                                   final MetadataResultSet results)
+  {
+    if (retrieverConnection.isRetrieveMetadataAttributes())
+    {
+      namedObject.addAttributes(results.getAttributes());
+    }
+  }
+
   /**
    * Checks whether the provided database object belongs to the
    * specified schema.
@@ -137,9 +155,37 @@ abstract class AbstractRetriever
     return retrieverConnection;
   }
 
-  final InclusionRule getSchemaInclusionRule()
+  final SchemaCrawlerOptions getOptions()
+  {
+    return options;
+  }
+
+  /**
+   * Gets the schema that all the tables are in, if they are all in the
+   * same schema, so that metadata for all tables can be retrieved for
+   * that schema alone, such as when table details are loaded a schema
+   * at a time.
+   *
+   * @param tables
+   *        Tables to check
+   * @return Schema that all the tables are in, if there is one
+   */
+  final Optional<Schema> lookupCommonSchema(final NamedObjectList<MutableTable> tables)
   {
-    return options.getSchemaInclusionRule();
+    Schema commonSchema = null;
+    for (final MutableTable table: tables)
+    {
+      final Schema schema = table.getSchema();
+      if (commonSchema == null)
+      {
+        commonSchema = schema;
+      }
+      else if (!commonSchema.equals(schema))
+      {
+        return Optional.empty();
+      }
+    }
+    return Optional.ofNullable(commonSchema);
   }
 
   final void logPossiblyUnsupportedSQLFeature(final Supplier<String> message,
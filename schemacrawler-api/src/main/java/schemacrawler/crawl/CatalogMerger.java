@@ -0,0 +1,203 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+
+/**
+ * Merges a catalog that was crawled for only some tables and routines
+ * into a catalog that was crawled earlier. The catalog segment, and
+ * every table and routine that was crawled again, are taken from the
+ * crawled catalog, and the other tables and routines that are kept are
+ * taken from the earlier catalog. The merged catalog is read back in
+ * the same way as a catalog that was written in segments, so foreign
+ * keys and synonyms are linked to tables and routines from either
+ * catalog.
+ */
+public final class CatalogMerger
+{
+
+  private final Catalog previousCatalog;
+  private final Catalog crawledCatalog;
+
+  public CatalogMerger(final Catalog previousCatalog,
+                       final Catalog crawledCatalog)
+  {
+    this.previousCatalog = requireNonNull(previousCatalog,
+                                          "No previous catalog provided");
+    this.crawledCatalog = requireNonNull(crawledCatalog,
+                                         "No crawled catalog provided");
+  }
+
+  /**
+   * Merges the crawled catalog into the previous catalog.
+   *
+   * @param keepTable
+   *        Whether a table from the previous catalog is kept, if it was
+   *        not crawled again
+   * @param keepRoutine
+   *        Whether a routine from the previous catalog is kept, if it
+   *        was not crawled again
+   * @return Merged catalog
+   * @throws IOException
+   *         On an exception merging the catalogs
+   */
+  public Catalog merge(final Predicate<Table> keepTable,
+                       final Predicate<Routine> keepRoutine)
+    throws IOException
+  {
+    requireNonNull(keepTable, "No table predicate provided");
+    requireNonNull(keepRoutine, "No routine predicate provided");
+
+    final CatalogSegmentWriter crawledWriter = new CatalogSegmentWriter(crawledCatalog);
+    final CatalogSegmentWriter previousWriter = new CatalogSegmentWriter(previousCatalog,
+                                                                         crawledWriter);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    crawledWriter.writeCatalog(out);
+    final byte[] catalogSegment = out.toByteArray();
+
+    final Set<List<String>> crawledKeys = new HashSet<>();
+    final List<byte[]> tableSegments = new ArrayList<>();
+    for (final Table table: crawledCatalog.getTables())
+    {
+      crawledKeys.add(table.toUniqueLookupKey());
+      out = new ByteArrayOutputStream();
+      crawledWriter.writeTable(table, out);
+      tableSegments.add(out.toByteArray());
+    }
+    for (final Table table: previousCatalog.getTables())
+    {
+      if (keepTable.test(table)
+          && !crawledKeys.contains(table.toUniqueLookupKey()))
+      {
+        out = new ByteArrayOutputStream();
+        previousWriter.writeTable(table, out);
+        tableSegments.add(out.toByteArray());
+      }
+    }
+
+    final List<byte[]> routineSegments = new ArrayList<>();
+    for (final Routine routine: crawledCatalog.getRoutines())
+    {
+      crawledKeys.add(routine.toUniqueLookupKey());
+      out = new ByteArrayOutputStream();
+      crawledWriter.writeRoutine(routine, out);
+      routineSegments.add(out.toByteArray());
+    }
+    for (final Routine routine: previousCatalog.getRoutines())
+    {
+      if (keepRoutine.test(routine)
+          && !crawledKeys.contains(routine.toUniqueLookupKey()))
+      {
+        out = new ByteArrayOutputStream();
+        previousWriter.writeRoutine(routine, out);
+        routineSegments.add(out.toByteArray());
+      }
+    }
+
+    // Class descriptors are known only once all segments are written
+    out = new ByteArrayOutputStream();
+    crawledWriter.writeClassDescriptors(out);
+
+    final CatalogSegmentReader reader = new CatalogSegmentReader();
+    reader.readClassDescriptors(new ByteArrayInputStream(out.toByteArray()));
+    reader.readCatalog(new ByteArrayInputStream(catalogSegment));
+    for (final byte[] tableSegment: tableSegments)
+    {
+      reader.readTable(new ByteArrayInputStream(tableSegment));
+    }
+    for (final byte[] routineSegment: routineSegments)
+    {
+      reader.readRoutine(new ByteArrayInputStream(routineSegment));
+    }
+
+    final Catalog catalog = reader.toCatalog();
+    linkSynonyms(catalog);
+    return catalog;
+  }
+
+  /**
+   * Synonyms that were crawled again may refer to tables or routines
+   * that were not, which are linked to the tables and routines that
+   * were kept.
+   */
+  private void linkSynonyms(final Catalog catalog)
+  {
+    if (!(catalog instanceof MutableCatalog))
+    {
+      return;
+    }
+    final MutableCatalog mutableCatalog = (MutableCatalog) catalog;
+    for (final Synonym synonym: mutableCatalog.getSynonyms())
+    {
+      final DatabaseObject referencedObject = synonym.getReferencedObject();
+      if (referencedObject instanceof MutableTable
+          || referencedObject instanceof MutableRoutine)
+      {
+        continue;
+      }
+
+      final Optional<? extends DatabaseObject> linkedObject;
+      final Optional<MutableTable> table = mutableCatalog
+        .lookupTable(referencedObject.getSchema(), referencedObject.getName());
+      if (table.isPresent())
+      {
+        linkedObject = table;
+      }
+      else
+      {
+        linkedObject = mutableCatalog
+          .lookupRoutine(referencedObject.getSchema(),
+                         referencedObject.getName());
+      }
+      if (linkedObject.isPresent())
+      {
+        ((MutableSynonym) synonym).setReferencedObject(linkedObject.get());
+      }
+    }
+  }
+
+}
@@ -0,0 +1,480 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+
+/**
+ * Reads back a catalog that was written in segments by a
+ * {@link CatalogSegmentWriter}. The class descriptors and the catalog
+ * segment are read first, followed by the segments for only those
+ * tables and routines that are needed. Foreign keys and synonyms are linked to the tables that were
+ * read once all the segments are in, and tables that were not read are
+ * referred to as partial tables, as if they had not been crawled.
+ */
+public final class CatalogSegmentReader
+{
+
+  private final class SegmentObjectInputStream
+    extends ObjectInputStream
+  {
+
+    private final boolean isCatalogSegment;
+
+    SegmentObjectInputStream(final InputStream in,
+                             final boolean isCatalogSegment)
+      throws IOException
+    {
+      super(in);
+      this.isCatalogSegment = isCatalogSegment;
+      enableResolveObject(true);
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor()
+      throws IOException
+    {
+      final int index = readInt();
+      if (index < 0 || index >= classDescriptors.size())
+      {
+        throw new StreamCorruptedException("Unknown class descriptor, "
+                                           + index);
+      }
+      return classDescriptors.get(index);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj)
+      throws IOException
+    {
+      if (obj instanceof String)
+      {
+        return strings.computeIfAbsent((String) obj, string -> string);
+      }
+      else if (obj instanceof MutableCatalog && mutableCatalog == null)
+      {
+        mutableCatalog = (MutableCatalog) obj;
+      }
+      else if (obj instanceof SegmentReference)
+      {
+        final SegmentReference reference = (SegmentReference) obj;
+        if (isCatalogSegment)
+        {
+          // Tables and routines referred to from the catalog segment are
+          // linked once they are read
+          final DatabaseObject databaseObject = reference.toDatabaseObject();
+          unlinkedObjects.put(databaseObject, reference);
+          return databaseObject;
+        }
+        else
+        {
+          return resolve(reference);
+        }
+      }
+      return obj;
+    }
+
+  }
+
+  private final List<ObjectStreamClass> classDescriptors;
+  private final Map<String, String> strings;
+  private final Map<List<String>, TablePartial> partialTables;
+  private final Map<List<String>, ColumnPartial> partialColumns;
+  private final Map<DatabaseObject, SegmentReference> unlinkedObjects;
+  private Catalog catalog;
+  private MutableCatalog mutableCatalog;
+
+  public CatalogSegmentReader()
+  {
+    classDescriptors = new ArrayList<>();
+    strings = new HashMap<>();
+    partialTables = new HashMap<>();
+    partialColumns = new HashMap<>();
+    unlinkedObjects = new IdentityHashMap<>();
+  }
+
+  /**
+   * Reads the class descriptors that are shared by all segments, which
+   * need to be read before any segments.
+   *
+   * @param in
+   *        Input stream to read from
+   * @throws IOException
+   *         On an exception reading the class descriptors
+   */
+  public void readClassDescriptors(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    final ObjectInputStream objIn = new ObjectInputStream(in);
+    final int count = objIn.readInt();
+    for (int i = 0; i < count; i++)
+    {
+      try
+      {
+        classDescriptors.add((ObjectStreamClass) objIn.readObject());
+      }
+      catch (final ClassNotFoundException | ClassCastException e)
+      {
+        throw new IOException("Cannot read class descriptors", e);
+      }
+    }
+  }
+
+  /**
+   * Reads the catalog segment, which needs to be read after the class
+   * descriptors, and before any table or routine segments.
+   *
+   * @param in
+   *        Input stream to read from
+   * @throws IOException
+   *         On an exception reading the segment
+   */
+  public void readCatalog(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    final Object object = readSegment(in, true);
+    if (!(object instanceof Catalog) || mutableCatalog == null)
+    {
+      throw new InvalidObjectException("No catalog found in the catalog segment");
+    }
+    catalog = (Catalog) object;
+  }
+
+  /**
+   * Reads the segment for a routine, and adds the routine to the
+   * catalog.
+   *
+   * @param in
+   *        Input stream to read from
+   * @throws IOException
+   *         On an exception reading the segment
+   */
+  public void readRoutine(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    checkCatalog();
+    final Object object = readSegment(in, false);
+    if (!(object instanceof MutableRoutine))
+    {
+      throw new InvalidObjectException("No routine found in the routine segment");
+    }
+    mutableCatalog.addRoutine((MutableRoutine) object);
+  }
+
+  /**
+   * Reads the segment for a table, and adds the table to the catalog.
+   *
+   * @param in
+   *        Input stream to read from
+   * @throws IOException
+   *         On an exception reading the segment
+   */
+  public void readTable(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    checkCatalog();
+    final Object object = readSegment(in, false);
+    if (!(object instanceof MutableTable))
+    {
+      throw new InvalidObjectException("No table found in the table segment");
+    }
+    mutableCatalog.addTable((MutableTable) object);
+  }
+
+  /**
+   * Links foreign keys and synonyms to the tables and routines that
+   * were read, and returns the catalog.
+   *
+   * @return Catalog with the tables and routines that were read
+   */
+  public Catalog toCatalog()
+  {
+    checkCatalog();
+    linkForeignKeys();
+    linkSynonyms();
+    return catalog;
+  }
+
+  private void addForeignKey(final Table table,
+                             final MutableForeignKey foreignKey)
+  {
+    if (table instanceof MutableTable)
+    {
+      ((MutableTable) table).addForeignKey(foreignKey);
+    }
+    else if (table instanceof TablePartial)
+    {
+      ((TablePartial) table).addForeignKey(foreignKey);
+    }
+  }
+
+  private void checkCatalog()
+  {
+    if (mutableCatalog == null)
+    {
+      throw new IllegalStateException("Catalog segment has not been read");
+    }
+  }
+
+  /**
+   * Foreign keys are written with each of the tables that they belong
+   * to, and tables that were read after a foreign key was read are
+   * referred to by partial tables. Foreign keys are made again, in the
+   * same way as they are when they are crawled, with all the tables
+   * that were read.
+   */
+  private void linkForeignKeys()
+  {
+    final NamedObjectList<MutableForeignKey> foreignKeys = new NamedObjectList<>();
+    for (final MutableTable table: mutableCatalog.getAllTables())
+    {
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        final MutableForeignKey readForeignKey = (MutableForeignKey) foreignKey;
+        table.removeForeignKey(readForeignKey);
+        if (!foreignKeys.contains(readForeignKey))
+        {
+          foreignKeys.add(linkForeignKey(readForeignKey));
+        }
+      }
+    }
+
+    for (final MutableForeignKey foreignKey: foreignKeys)
+    {
+      for (final ForeignKeyColumnReference columnReference: foreignKey)
+      {
+        final Column pkColumn = columnReference.getPrimaryKeyColumn();
+        final Column fkColumn = columnReference.getForeignKeyColumn();
+        if (fkColumn instanceof MutableColumn)
+        {
+          ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+        }
+        else if (fkColumn instanceof ColumnPartial)
+        {
+          ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+        }
+        addForeignKey(fkColumn.getParent(), foreignKey);
+        addForeignKey(pkColumn.getParent(), foreignKey);
+      }
+    }
+  }
+
+  private MutableForeignKey linkForeignKey(final MutableForeignKey readForeignKey)
+  {
+    final MutableForeignKey foreignKey = new MutableForeignKey(readForeignKey
+      .getName());
+    foreignKey.setSpecificName(readForeignKey.getSpecificName());
+    foreignKey.setUpdateRule(readForeignKey.getUpdateRule());
+    foreignKey.setDeleteRule(readForeignKey.getDeleteRule());
+    foreignKey.setDeferrability(readForeignKey.getDeferrability());
+    foreignKey.appendDefinition(readForeignKey.getDefinition());
+    foreignKey.addAttributes(readForeignKey.getAttributes());
+    for (final ForeignKeyColumnReference columnReference: readForeignKey)
+    {
+      foreignKey.addColumnReference(columnReference.getKeySequence(),
+                                    lookupColumn(columnReference
+                                      .getPrimaryKeyColumn()),
+                                    lookupColumn(columnReference
+                                      .getForeignKeyColumn()));
+    }
+    return foreignKey;
+  }
+
+  private void linkSynonyms()
+  {
+    for (final Synonym synonym: mutableCatalog.getSynonyms())
+    {
+      final SegmentReference reference = unlinkedObjects
+        .get(synonym.getReferencedObject());
+      if (reference == null)
+      {
+        continue;
+      }
+
+      final Optional<? extends DatabaseObject> referencedObject;
+      if (reference.getReferenceType() == SegmentReference.ReferenceType.table)
+      {
+        referencedObject = mutableCatalog.getAllTables()
+          .lookup(reference.getLookupKey());
+      }
+      else
+      {
+        referencedObject = mutableCatalog.getAllRoutines()
+          .lookup(reference.getLookupKey());
+      }
+      if (referencedObject.isPresent())
+      {
+        ((MutableSynonym) synonym).setReferencedObject(referencedObject.get());
+      }
+    }
+  }
+
+  /**
+   * Looks up a column of a table that was read, in place of a column of
+   * a partial table.
+   */
+  private Column lookupColumn(final Column column)
+  {
+    if (column instanceof ColumnPartial)
+    {
+      final Optional<MutableTable> table = mutableCatalog.getAllTables()
+        .lookup(column.getParent().toUniqueLookupKey());
+      if (table.isPresent())
+      {
+        final Optional<MutableColumn> tableColumn = table.get()
+          .lookupColumn(column.getName());
+        if (tableColumn.isPresent())
+        {
+          return tableColumn.get();
+        }
+      }
+    }
+    return column;
+  }
+
+  /**
+   * Looks up a column of a table that was read. If the table was not
+   * read, a partial column is created, in the same way as for a column
+   * that is referenced by a foreign key, but was not crawled.
+   */
+  private Column lookupOrCreateColumn(final SegmentReference reference)
+  {
+    final List<String> tableLookupKey = reference.getLookupKey();
+    final String columnName = reference.getColumnName();
+
+    final Optional<MutableTable> table = mutableCatalog.getAllTables()
+      .lookup(tableLookupKey);
+    if (table.isPresent())
+    {
+      final Optional<MutableColumn> column = table.get()
+        .lookupColumn(columnName);
+      if (column.isPresent())
+      {
+        return column.get();
+      }
+    }
+
+    final List<String> columnLookupKey = new ArrayList<>(tableLookupKey);
+    columnLookupKey.add(columnName);
+    ColumnPartial column = partialColumns.get(columnLookupKey);
+    if (column == null)
+    {
+      final TablePartial partialTable = new TablePartial(reference
+        .getSchema(), reference.getName());
+      column = new ColumnPartial(partialTable, columnName);
+      partialTable.addColumn(column);
+      partialColumns.put(columnLookupKey, column);
+    }
+    return column;
+  }
+
+  private Object readSegment(final InputStream in,
+                             final boolean isCatalogSegment)
+    throws IOException
+  {
+    final ObjectInputStream objIn = new SegmentObjectInputStream(in,
+                                                                 isCatalogSegment);
+    try
+    {
+      return objIn.readObject();
+    }
+    catch (final ClassNotFoundException e)
+    {
+      throw new IOException("Cannot read catalog segment", e);
+    }
+  }
+
+  private Object resolve(final SegmentReference reference)
+  {
+    final List<String> lookupKey = reference.getLookupKey();
+    switch (reference.getReferenceType())
+    {
+      case schema:
+        return mutableCatalog.getAllSchemas().lookup(lookupKey)
+          .orElseGet(() -> new SchemaReference(lookupKey.get(0),
+                                               lookupKey.get(1)));
+      case columnDataType:
+        final Schema schema = reference.getSchema();
+        return mutableCatalog.lookupColumnDataType(schema, reference.getName())
+          .orElseGet(() -> new MutableColumnDataType(schema,
+                                                     reference.getName()));
+      case table:
+        final Optional<MutableTable> table = mutableCatalog.getAllTables()
+          .lookup(lookupKey);
+        if (table.isPresent())
+        {
+          return table.get();
+        }
+        return partialTables
+          .computeIfAbsent(lookupKey,
+                           key -> new TablePartial(reference.getSchema(),
+                                                   reference.getName()));
+      case column:
+        return lookupOrCreateColumn(reference);
+      case routine:
+        final Optional<MutableRoutine> routine = mutableCatalog
+          .getAllRoutines().lookup(lookupKey);
+        if (routine.isPresent())
+        {
+          return routine.get();
+        }
+        return reference.toDatabaseObject();
+      default:
+        return reference;
+    }
+  }
+
+}
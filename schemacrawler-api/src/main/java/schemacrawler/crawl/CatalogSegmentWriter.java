@@ -0,0 +1,312 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import schemacrawler.crawl.SegmentReference.ReferenceType;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schema.Table;
+
+/**
+ * Writes a catalog in separate segments, so that it can be read back
+ * one segment at a time with a {@link CatalogSegmentReader}. There is a
+ * segment for the catalog itself, which has everything other than
+ * tables and routines, and a segment for each table and each routine.
+ * References from one segment to objects in another segment are written
+ * as lookup keys. Class descriptors are shared by all segments, and are
+ * written last.
+ */
+public final class CatalogSegmentWriter
+{
+
+  private final class SegmentObjectOutputStream
+    extends ObjectOutputStream
+  {
+
+    private final Table ownerTable;
+    private final Routine ownerRoutine;
+    private final Map<String, String> strings;
+
+    SegmentObjectOutputStream(final OutputStream out,
+                              final Table ownerTable,
+                              final Routine ownerRoutine)
+      throws IOException
+    {
+      super(out);
+      this.ownerTable = ownerTable;
+      this.ownerRoutine = ownerRoutine;
+      strings = new HashMap<>();
+      enableReplaceObject(true);
+    }
+
+    /**
+     * Writes an index into the class descriptors that are shared by all
+     * segments, in place of the class descriptor.
+     */
+    @Override
+    protected void writeClassDescriptor(final ObjectStreamClass classDescriptor)
+      throws IOException
+    {
+      Integer index = classDescriptorIndexes.get(classDescriptor.getName());
+      if (index == null)
+      {
+        index = classDescriptors.size();
+        classDescriptors.add(classDescriptor);
+        classDescriptorIndexes.put(classDescriptor.getName(), index);
+      }
+      writeInt(index);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj)
+      throws IOException
+    {
+      if (obj instanceof String)
+      {
+        return strings.computeIfAbsent((String) obj, string -> string);
+      }
+      else if (ownerTable == null && ownerRoutine == null)
+      {
+        return replaceInCatalogSegment(obj);
+      }
+      else
+      {
+        return replaceInSegment(obj);
+      }
+    }
+
+    private Object replaceInCatalogSegment(final Object obj)
+    {
+      if (obj instanceof MutableCatalog)
+      {
+        mutableCatalog = (MutableCatalog) obj;
+      }
+      else if (mutableCatalog != null
+               && (obj == mutableCatalog.getAllTables()
+                   || obj == mutableCatalog.getAllRoutines()))
+      {
+        // Tables and routines are written to their own segments
+        return new NamedObjectList<>();
+      }
+      else if (obj instanceof MutableTable || obj instanceof TablePartial)
+      {
+        return SegmentReference.reference(ReferenceType.table, (Table) obj);
+      }
+      else if (obj instanceof MutableRoutine || obj instanceof RoutinePartial)
+      {
+        return SegmentReference.reference(ReferenceType.routine,
+                                          (Routine) obj);
+      }
+      return obj;
+    }
+
+    private Object replaceInSegment(final Object obj)
+    {
+      if (obj instanceof SchemaReference)
+      {
+        final SchemaReference schema = (SchemaReference) obj;
+        final Optional<Schema> catalogSchema = catalog
+          .lookupSchema(schema.getFullName());
+        if (catalogSchema.orElse(null) == schema)
+        {
+          return SegmentReference.reference(ReferenceType.schema, schema);
+        }
+      }
+      else if (obj instanceof MutableColumnDataType)
+      {
+        final MutableColumnDataType columnDataType = (MutableColumnDataType) obj;
+        final Optional<ColumnDataType> catalogColumnDataType = catalog
+          .lookupColumnDataType(columnDataType.getSchema(),
+                                columnDataType.getName());
+        if (catalogColumnDataType.orElse(null) == columnDataType)
+        {
+          return SegmentReference.reference(ReferenceType.columnDataType,
+                                            columnDataType);
+        }
+      }
+      else if (obj instanceof MutableTable || obj instanceof TablePartial)
+      {
+        if (!obj.equals(ownerTable))
+        {
+          return SegmentReference.reference(ReferenceType.table, (Table) obj);
+        }
+      }
+      else if (obj instanceof MutableColumn || obj instanceof ColumnPartial)
+      {
+        final Column column = (Column) obj;
+        if (!column.getParent().equals(ownerTable))
+        {
+          return SegmentReference.column(column);
+        }
+      }
+      else if (obj instanceof MutableRoutine || obj instanceof RoutinePartial)
+      {
+        if (!obj.equals(ownerRoutine))
+        {
+          return SegmentReference.reference(ReferenceType.routine,
+                                            (Routine) obj);
+        }
+      }
+      return obj;
+    }
+
+  }
+
+  private final Catalog catalog;
+  private final List<ObjectStreamClass> classDescriptors;
+  private final Map<String, Integer> classDescriptorIndexes;
+  private MutableCatalog mutableCatalog;
+
+  public CatalogSegmentWriter(final Catalog catalog)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    classDescriptors = new ArrayList<>();
+    classDescriptorIndexes = new HashMap<>();
+  }
+
+  /**
+   * Creates a writer for segments of another catalog, which shares
+   * class descriptors with a writer, so that the segments of both
+   * catalogs can be read back together.
+   */
+  CatalogSegmentWriter(final Catalog catalog,
+                       final CatalogSegmentWriter classDescriptorsWriter)
+  {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    requireNonNull(classDescriptorsWriter, "No writer provided");
+    classDescriptors = classDescriptorsWriter.classDescriptors;
+    classDescriptorIndexes = classDescriptorsWriter.classDescriptorIndexes;
+  }
+
+  /**
+   * Writes the class descriptors that are shared by all segments, once
+   * all the segments have been written. Segments refer to class
+   * descriptors by index, so that each segment does not need to repeat
+   * them.
+   *
+   * @param out
+   *        Output stream to write to
+   * @throws IOException
+   *         On an exception writing the class descriptors
+   */
+  public void writeClassDescriptors(final OutputStream out)
+    throws IOException
+  {
+    requireNonNull(out, "No output stream provided");
+    final ObjectOutputStream objOut = new ObjectOutputStream(out);
+    objOut.writeInt(classDescriptors.size());
+    for (final ObjectStreamClass classDescriptor: classDescriptors)
+    {
+      objOut.writeObject(classDescriptor);
+    }
+    objOut.flush();
+  }
+
+  /**
+   * Writes the catalog segment, with everything other than tables and
+   * routines.
+   *
+   * @param out
+   *        Output stream to write to
+   * @throws IOException
+   *         On an exception writing the segment
+   */
+  public void writeCatalog(final OutputStream out)
+    throws IOException
+  {
+    requireNonNull(out, "No output stream provided");
+    final ObjectOutputStream objOut = new SegmentObjectOutputStream(out,
+                                                                    null,
+                                                                    null);
+    objOut.writeObject(catalog);
+    objOut.flush();
+  }
+
+  /**
+   * Writes the segment for a routine, with its parameters.
+   *
+   * @param routine
+   *        Routine to write
+   * @param out
+   *        Output stream to write to
+   * @throws IOException
+   *         On an exception writing the segment
+   */
+  public void writeRoutine(final Routine routine, final OutputStream out)
+    throws IOException
+  {
+    requireNonNull(routine, "No routine provided");
+    requireNonNull(out, "No output stream provided");
+    final ObjectOutputStream objOut = new SegmentObjectOutputStream(out,
+                                                                    null,
+                                                                    routine);
+    objOut.writeObject(routine);
+    objOut.flush();
+  }
+
+  /**
+   * Writes the segment for a table, with its columns, indexes, foreign
+   * keys, triggers and privileges.
+   *
+   * @param table
+   *        Table to write
+   * @param out
+   *        Output stream to write to
+   * @throws IOException
+   *         On an exception writing the segment
+   */
+  public void writeTable(final Table table, final OutputStream out)
+    throws IOException
+  {
+    requireNonNull(table, "No table provided");
+    requireNonNull(out, "No output stream provided");
+    final ObjectOutputStream objOut = new SegmentObjectOutputStream(out,
+                                                                    table,
+                                                                    null);
+    objOut.writeObject(table);
+    objOut.flush();
+  }
+
+}
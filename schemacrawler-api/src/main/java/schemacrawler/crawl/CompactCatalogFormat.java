@@ -0,0 +1,91 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+/**
+ * Codes that are shared by the {@link CompactCatalogWriter} and the
+ * {@link CompactCatalogReader}. Counts and references are written as
+ * variable length unsigned integers, and other numbers are written as
+ * variable length zig-zag encoded integers, so that small numbers of
+ * either sign take a byte or two. Strings are written once, as UTF-8,
+ * and referred to by their position in a string table after that.
+ * Enumerations are written as the names of their values.
+ */
+final class CompactCatalogFormat
+{
+
+  /**
+   * References are written as null, as a new object that is written in
+   * place, or as the position of an object that was written before,
+   * offset by the number of other codes.
+   */
+  static final int REFERENCE_NULL = 0;
+  static final int REFERENCE_NEW = 1;
+  static final int REFERENCE_OFFSET = 2;
+
+  static final int TABLE = 0;
+  static final int VIEW = 1;
+
+  static final int PROCEDURE = 0;
+  static final int FUNCTION = 1;
+
+  static final int REFERENCED_NONE = 0;
+  static final int REFERENCED_TABLE = 1;
+  static final int REFERENCED_ROUTINE = 2;
+  static final int REFERENCED_OTHER = 3;
+
+  /**
+   * Types of attribute and property values. Values of any other type
+   * are written with Java serialization.
+   */
+  static final int VALUE_NULL = 0;
+  static final int VALUE_STRING = 1;
+  static final int VALUE_BOOLEAN = 2;
+  static final int VALUE_INTEGER = 3;
+  static final int VALUE_LONG = 4;
+  static final int VALUE_SHORT = 5;
+  static final int VALUE_BYTE = 6;
+  static final int VALUE_DOUBLE = 7;
+  static final int VALUE_FLOAT = 8;
+  static final int VALUE_BIG_DECIMAL = 9;
+  static final int VALUE_BIG_INTEGER = 10;
+  static final int VALUE_CHARACTER = 11;
+  static final int VALUE_TIMESTAMP = 12;
+  static final int VALUE_DATE = 13;
+  static final int VALUE_TIME = 14;
+  static final int VALUE_BYTES = 15;
+  static final int VALUE_LIST = 16;
+  static final int VALUE_SERIALIZED = 17;
+
+  private CompactCatalogFormat()
+  {
+    // Prevent instantiation
+  }
+
+}
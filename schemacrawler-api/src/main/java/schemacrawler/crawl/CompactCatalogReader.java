@@ -0,0 +1,980 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.JvmSystemInfo;
+import schemacrawler.OperatingSystemInfo;
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.*;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Reads back a catalog that was written by a
+ * {@link CompactCatalogWriter}. Foreign keys are linked to the tables at
+ * both of their ends, in the same way as they are when they are
+ * crawled, and tables and columns that were not in the catalog are read
+ * back as partial tables and columns.
+ */
+public final class CompactCatalogReader
+{
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
+  private final JavaSqlTypes javaSqlTypes;
+  private final List<String> strings;
+  private final List<SchemaReference> schemas;
+  private final List<MutableColumnDataType> columnDataTypes;
+  private final List<Table> tables;
+  private final List<Column> columns;
+  private final List<MutableRoutine> routines;
+
+  public CompactCatalogReader(final InputStream in)
+  {
+    this.in = requireNonNull(in, "No input stream provided");
+    buffer = new byte[BUFFER_SIZE];
+    javaSqlTypes = new JavaSqlTypes();
+    strings = new ArrayList<>();
+    schemas = new ArrayList<>();
+    columnDataTypes = new ArrayList<>();
+    tables = new ArrayList<>();
+    columns = new ArrayList<>();
+    routines = new ArrayList<>();
+  }
+
+  /**
+   * Reads the catalog.
+   *
+   * @return Catalog that was read
+   * @throws IOException
+   *         On an exception reading the catalog
+   */
+  public Catalog read()
+    throws IOException
+  {
+    final String name = readString();
+    final SchemaCrawlerInfo schemaCrawlerInfo = new SchemaCrawlerInfo(readString(),
+                                                                      readString(),
+                                                                      readString());
+    final OperatingSystemInfo osInfo = new OperatingSystemInfo(readString(),
+                                                               readString());
+    final JvmSystemInfo jvmInfo = new JvmSystemInfo(readString(),
+                                                    readString());
+    final MutableCatalog catalog = new MutableCatalog(name,
+                                                      schemaCrawlerInfo,
+                                                      osInfo,
+                                                      jvmInfo);
+    readRemarksAndAttributes(catalog);
+    readDatabaseInfo(catalog.getDatabaseInfo());
+    readJdbcDriverInfo(catalog.getJdbcDriverInfo());
+    readCrawlInfo(catalog);
+
+    final int schemasCount = readCount();
+    for (int i = 0; i < schemasCount; i++)
+    {
+      catalog.addSchema(readSchemaReference());
+    }
+
+    final int columnDataTypesCount = readCount();
+    for (int i = 0; i < columnDataTypesCount; i++)
+    {
+      catalog.addColumnDataType(readColumnDataTypeReference());
+    }
+
+    final int tablesCount = readCount();
+    for (int i = 0; i < tablesCount; i++)
+    {
+      catalog.addTable(readTable());
+    }
+
+    final int routinesCount = readCount();
+    for (int i = 0; i < routinesCount; i++)
+    {
+      catalog.addRoutine(readRoutine());
+    }
+
+    final int sequencesCount = readCount();
+    for (int i = 0; i < sequencesCount; i++)
+    {
+      catalog.addSequence(readSequence());
+    }
+
+    final int synonymsCount = readCount();
+    for (int i = 0; i < synonymsCount; i++)
+    {
+      catalog.addSynonym(readSynonym());
+    }
+
+    final int foreignKeysCount = readCount();
+    for (int i = 0; i < foreignKeysCount; i++)
+    {
+      readForeignKey();
+    }
+
+    for (int columnId = readCount(); columnId != 0; columnId = readCount())
+    {
+      setReferencedColumn(lookup(columns, columnId - 1),
+                          readColumnReference());
+    }
+
+    return catalog;
+  }
+
+  private void addForeignKey(final Table table,
+                             final MutableForeignKey foreignKey)
+  {
+    if (table instanceof MutableTable)
+    {
+      ((MutableTable) table).addForeignKey(foreignKey);
+    }
+    else if (table instanceof TablePartial)
+    {
+      ((TablePartial) table).addForeignKey(foreignKey);
+    }
+  }
+
+  private void fill()
+    throws IOException
+  {
+    limit = in.read(buffer, 0, buffer.length);
+    position = 0;
+    if (limit <= 0)
+    {
+      limit = 0;
+      throw new EOFException("Unexpected end of compact catalog");
+    }
+  }
+
+  private <T> T lookup(final List<T> list, final int id)
+    throws IOException
+  {
+    if (id < 0 || id >= list.size())
+    {
+      throw new StreamCorruptedException("Unknown reference, " + id);
+    }
+    return list.get(id);
+  }
+
+  private void readAttributes(final AbstractNamedObjectWithAttributes object)
+    throws IOException
+  {
+    final int count = readCount();
+    if (count == 0)
+    {
+      return;
+    }
+    final Map<String, Object> attributes = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++)
+    {
+      attributes.put(readString(), readValue());
+    }
+    object.addAttributes(attributes);
+  }
+
+  private boolean readBoolean()
+    throws IOException
+  {
+    return readByte() != 0;
+  }
+
+  private byte readByte()
+    throws IOException
+  {
+    if (position == limit)
+    {
+      fill();
+    }
+    return buffer[position++];
+  }
+
+  private byte[] readBytes()
+    throws IOException
+  {
+    return readBytes(readCount());
+  }
+
+  private byte[] readBytes(final int length)
+    throws IOException
+  {
+    final byte[] bytes = new byte[length];
+    int offset = 0;
+    while (offset < length)
+    {
+      if (position == limit)
+      {
+        fill();
+      }
+      final int copyLength = Math.min(length - offset, limit - position);
+      System.arraycopy(buffer, position, bytes, offset, copyLength);
+      position = position + copyLength;
+      offset = offset + copyLength;
+    }
+    return bytes;
+  }
+
+  private MutableColumn readColumn(final MutableTable table)
+    throws IOException
+  {
+    final MutableColumn column = new MutableColumn(table, readString());
+    columns.add(column);
+
+    readRemarksAndAttributes(column);
+    column.setColumnDataType(readColumnDataTypeReference());
+    column.setOrdinalPosition(readInt());
+    column.setSize(readInt());
+    column.setDecimalDigits(readInt());
+    column.setNullable(readBoolean());
+    column.setDefaultValue(readString());
+    column.setAutoIncremented(readBoolean());
+    column.setGenerated(readBoolean());
+    column.setHidden(readBoolean());
+    if (readBoolean())
+    {
+      column.markAsPartOfPrimaryKey();
+    }
+    if (readBoolean())
+    {
+      column.markAsPartOfUniqueIndex();
+    }
+    if (readBoolean())
+    {
+      column.markAsPartOfIndex();
+    }
+
+    final int privilegesCount = readCount();
+    for (int i = 0; i < privilegesCount; i++)
+    {
+      column.addPrivilege(readPrivilege(new ColumnReference(column)));
+    }
+    return column;
+  }
+
+  private MutableColumnDataType readColumnDataTypeReference()
+    throws IOException
+  {
+    final int reference = readCount();
+    if (reference == REFERENCE_NULL)
+    {
+      return null;
+    }
+    else if (reference != REFERENCE_NEW)
+    {
+      return lookup(columnDataTypes, reference - REFERENCE_OFFSET);
+    }
+
+    final Schema schema = readSchemaReference();
+    final MutableColumnDataType columnDataType = new MutableColumnDataType(schema,
+                                                                           readString());
+    columnDataTypes.add(columnDataType);
+
+    readRemarksAndAttributes(columnDataType);
+    columnDataType.setJavaSqlType(javaSqlTypes.valueOf(readInt()));
+    columnDataType.setTypeMappedClass(readString());
+    columnDataType.setUserDefined(readBoolean());
+    columnDataType.setPrecision(readLong());
+    columnDataType.setLiteralPrefix(readString());
+    columnDataType.setLiteralSuffix(readString());
+    columnDataType.setCreateParameters(readString());
+    columnDataType.setNullable(readBoolean());
+    columnDataType.setCaseSensitive(readBoolean());
+    columnDataType.setSearchable(readEnum(SearchableType.class));
+    columnDataType.setUnsigned(readBoolean());
+    columnDataType.setFixedPrecisionScale(readBoolean());
+    columnDataType.setAutoIncrementable(readBoolean());
+    columnDataType.setLocalTypeName(readString());
+    columnDataType.setMinimumScale(readInt());
+    columnDataType.setMaximumScale(readInt());
+    columnDataType.setNumPrecisionRadix(readInt());
+    columnDataType.setBaseType(readColumnDataTypeReference());
+    return columnDataType;
+  }
+
+  private Column readColumnReference()
+    throws IOException
+  {
+    final int reference = readCount();
+    if (reference == REFERENCE_NULL)
+    {
+      return null;
+    }
+    else if (reference != REFERENCE_NEW)
+    {
+      return lookup(columns, reference - REFERENCE_OFFSET);
+    }
+
+    final Table table = readTableReference();
+    final ColumnPartial column = new ColumnPartial(table, readString());
+    columns.add(column);
+    readAttributes(column);
+    if (table instanceof TablePartial)
+    {
+      ((TablePartial) table).addColumn(column);
+    }
+    return column;
+  }
+
+  private int readCount()
+    throws IOException
+  {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift = shift + 7)
+    {
+      final byte b = readByte();
+      value = value | (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        return value;
+      }
+    }
+    throw new StreamCorruptedException("Malformed number");
+  }
+
+  private void readCrawlInfo(final MutableCatalog catalog)
+    throws IOException
+  {
+    if (!readBoolean())
+    {
+      return;
+    }
+    final BaseProductVersion schemaCrawlerInfo = readProductVersion();
+    final BaseProductVersion jdbcDriverInfo = readProductVersion();
+    final BaseProductVersion databaseInfo = readProductVersion();
+    final BaseProductVersion osInfo = readProductVersion();
+    final BaseProductVersion jvmInfo = readProductVersion();
+    final LocalDateTime crawlTimestamp = LocalDateTime
+      .of(LocalDate.ofEpochDay(readLong()), LocalTime.ofNanoOfDay(readLong()));
+    final UUID runId = UUID.fromString(readString());
+    catalog.setCrawlInfo(new ImmutableCrawlInfo(schemaCrawlerInfo,
+                                                jdbcDriverInfo,
+                                                databaseInfo,
+                                                osInfo,
+                                                jvmInfo,
+                                                crawlTimestamp,
+                                                runId));
+  }
+
+  private void readDatabaseInfo(final MutableDatabaseInfo databaseInfo)
+    throws IOException
+  {
+    databaseInfo.setUserName(readString());
+    databaseInfo.setProductName(readString());
+    databaseInfo.setProductVersion(readString());
+
+    final int serverInfoCount = readCount();
+    for (int i = 0; i < serverInfoCount; i++)
+    {
+      final String name = readString();
+      final Object value = readValue();
+      databaseInfo
+        .addServerInfo(new ImmutableServerInfoProperty(name,
+                                                       value == null? null
+                                                                    : String
+                                                                      .valueOf(value),
+                                                       readString()));
+    }
+
+    final int propertiesCount = readCount();
+    final List<ImmutableDatabaseProperty> properties = new ArrayList<>(propertiesCount);
+    for (int i = 0; i < propertiesCount; i++)
+    {
+      properties.add(new ImmutableDatabaseProperty(readString(), readValue()));
+    }
+    databaseInfo.addAll(properties);
+  }
+
+  private <E extends Enum<E>> E readEnum(final Class<E> enumClass)
+    throws IOException
+  {
+    final String name = readString();
+    if (name == null)
+    {
+      return null;
+    }
+    try
+    {
+      return Enum.valueOf(enumClass, name);
+    }
+    catch (final IllegalArgumentException e)
+    {
+      throw new StreamCorruptedException(String
+        .format("Unknown value <%s> of %s", name, enumClass.getSimpleName()));
+    }
+  }
+
+  private void readForeignKey()
+    throws IOException
+  {
+    final MutableForeignKey foreignKey = new MutableForeignKey(readString());
+    foreignKey.setSpecificName(readString());
+    readRemarksAndAttributes(foreignKey);
+    foreignKey.setUpdateRule(readEnum(ForeignKeyUpdateRule.class));
+    foreignKey.setDeleteRule(readEnum(ForeignKeyUpdateRule.class));
+    foreignKey.setDeferrability(readEnum(ForeignKeyDeferrability.class));
+    foreignKey.appendDefinition(readString());
+
+    final int columnReferencesCount = readCount();
+    for (int i = 0; i < columnReferencesCount; i++)
+    {
+      final int keySequence = readInt();
+      final Column pkColumn = readColumnReference();
+      final Column fkColumn = readColumnReference();
+      foreignKey.addColumnReference(keySequence, pkColumn, fkColumn);
+    }
+
+    // Link the foreign key to the tables at both of its ends, in the
+    // same way as when it was crawled
+    for (final ForeignKeyColumnReference columnReference: foreignKey)
+    {
+      addForeignKey(columnReference.getForeignKeyColumn().getParent(),
+                    foreignKey);
+      addForeignKey(columnReference.getPrimaryKeyColumn().getParent(),
+                    foreignKey);
+    }
+  }
+
+  private void readIndex(final MutableTable table, final MutableIndex index)
+    throws IOException
+  {
+    readRemarksAndAttributes(index);
+    index.setUnique(readBoolean());
+    index.setIndexType(readEnum(IndexType.class));
+    index.setCardinality(readInt());
+    index.setPages(readInt());
+    index.appendDefinition(readString());
+
+    final int columnsCount = readCount();
+    for (int i = 0; i < columnsCount; i++)
+    {
+      final String columnName = readString();
+      final Optional<MutableColumn> tableColumn = table
+        .lookupColumn(columnName);
+      final Column column;
+      if (tableColumn.isPresent())
+      {
+        column = tableColumn.get();
+      }
+      else
+      {
+        // Indexes may have pseudo-columns, that are not part of the
+        // table
+        column = new ColumnPartial(table, columnName);
+      }
+      final MutableIndexColumn indexColumn = new MutableIndexColumn(index,
+                                                                    column);
+      readRemarksAndAttributes(indexColumn);
+      indexColumn.setIndexOrdinalPosition(readInt());
+      indexColumn.setSortSequence(readEnum(IndexColumnSortSequence.class));
+      indexColumn.appendDefinition(readString());
+      index.addColumn(indexColumn);
+    }
+  }
+
+  private int readInt()
+    throws IOException
+  {
+    final int zigzag = readCount();
+    return zigzag >>> 1 ^ -(zigzag & 1);
+  }
+
+  private void readJdbcDriverInfo(final MutableJdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    jdbcDriverInfo.setDriverName(readString());
+    jdbcDriverInfo.setDriverVersion(readString());
+    jdbcDriverInfo.setJdbcDriverClassName(readString());
+    jdbcDriverInfo.setConnectionUrl(readString());
+    jdbcDriverInfo.setJdbcCompliant(readBoolean());
+
+    final int propertiesCount = readCount();
+    for (int i = 0; i < propertiesCount; i++)
+    {
+      final DriverPropertyInfo driverPropertyInfo = new DriverPropertyInfo(readString(),
+                                                                           readString());
+      driverPropertyInfo.description = readString();
+      driverPropertyInfo.required = readBoolean();
+      final int choicesCount = readCount();
+      if (choicesCount > 0)
+      {
+        driverPropertyInfo.choices = new String[choicesCount];
+        for (int j = 0; j < choicesCount; j++)
+        {
+          driverPropertyInfo.choices[j] = readString();
+        }
+      }
+      jdbcDriverInfo
+        .addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+  }
+
+  private long readLong()
+    throws IOException
+  {
+    long zigzag = 0;
+    for (int shift = 0; shift < 64; shift = shift + 7)
+    {
+      final byte b = readByte();
+      zigzag = zigzag | (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0)
+      {
+        return zigzag >>> 1 ^ -(zigzag & 1);
+      }
+    }
+    throw new StreamCorruptedException("Malformed number");
+  }
+
+  private <D extends DatabaseObject> MutablePrivilege<D> readPrivilege(final DatabaseObjectReference<D> parent)
+    throws IOException
+  {
+    final MutablePrivilege<D> privilege = new MutablePrivilege<>(parent,
+                                                                 readString());
+    readRemarksAndAttributes(privilege);
+    final int grantsCount = readCount();
+    for (int i = 0; i < grantsCount; i++)
+    {
+      privilege.addGrant(readString(), readString(), readBoolean());
+    }
+    return privilege;
+  }
+
+  private BaseProductVersion readProductVersion()
+    throws IOException
+  {
+    return new BaseProductVersion(readString(), readString());
+  }
+
+  private void readRemarksAndAttributes(final AbstractNamedObjectWithAttributes object)
+    throws IOException
+  {
+    final String remarks = readString();
+    if (remarks != null)
+    {
+      object.setRemarks(remarks);
+    }
+    readAttributes(object);
+  }
+
+  private MutableRoutine readRoutine()
+    throws IOException
+  {
+    final int routineType = readCount();
+    final Schema schema = readSchemaReference();
+    final String name = readString();
+    final MutableRoutine routine;
+    final MutableFunction function;
+    final MutableProcedure procedure;
+    if (routineType == FUNCTION)
+    {
+      function = new MutableFunction(schema, name);
+      procedure = null;
+      routine = function;
+    }
+    else
+    {
+      function = null;
+      procedure = new MutableProcedure(schema, name);
+      routine = procedure;
+    }
+    routines.add(routine);
+
+    routine.setSpecificName(readString());
+    readRemarksAndAttributes(routine);
+    routine.setRoutineBodyType(readEnum(RoutineBodyType.class));
+    routine.appendDefinition(readString());
+    if (function != null)
+    {
+      function.setReturnType(readEnum(FunctionReturnType.class));
+    }
+    else
+    {
+      procedure.setReturnType(readEnum(ProcedureReturnType.class));
+    }
+
+    final int parametersCount = readCount();
+    for (int i = 0; i < parametersCount; i++)
+    {
+      final String parameterName = readString();
+      final MutableRoutineParameter<?> parameter;
+      if (function != null)
+      {
+        final MutableFunctionParameter functionParameter = new MutableFunctionParameter(function,
+                                                                                        parameterName);
+        function.addColumn(functionParameter);
+        parameter = functionParameter;
+      }
+      else
+      {
+        final MutableProcedureParameter procedureParameter = new MutableProcedureParameter(procedure,
+                                                                                           parameterName);
+        procedure.addColumn(procedureParameter);
+        parameter = procedureParameter;
+      }
+      readRemarksAndAttributes(parameter);
+      parameter.setColumnDataType(readColumnDataTypeReference());
+      parameter.setOrdinalPosition(readInt());
+      parameter.setSize(readInt());
+      parameter.setDecimalDigits(readInt());
+      parameter.setNullable(readBoolean());
+      parameter.setParameterMode(readEnum(ParameterModeType.class));
+    }
+    return routine;
+  }
+
+  private SchemaReference readSchemaReference()
+    throws IOException
+  {
+    final int reference = readCount();
+    if (reference == REFERENCE_NULL)
+    {
+      return null;
+    }
+    else if (reference != REFERENCE_NEW)
+    {
+      return lookup(schemas, reference - REFERENCE_OFFSET);
+    }
+
+    final SchemaReference schema = new SchemaReference(readString(),
+                                                       readString());
+    schemas.add(schema);
+    final int attributesCount = readCount();
+    for (int i = 0; i < attributesCount; i++)
+    {
+      schema.setAttribute(readString(), readValue());
+    }
+    return schema;
+  }
+
+  private MutableSequence readSequence()
+    throws IOException
+  {
+    final Schema schema = readSchemaReference();
+    final MutableSequence sequence = new MutableSequence(schema,
+                                                         readString());
+    readRemarksAndAttributes(sequence);
+    sequence.setIncrement(readLong());
+    sequence.setMinimumValue((BigInteger) readValue());
+    sequence.setMaximumValue((BigInteger) readValue());
+    sequence.setCycle(readBoolean());
+    return sequence;
+  }
+
+  private String readString()
+    throws IOException
+  {
+    final int reference = readCount();
+    if (reference == REFERENCE_NULL)
+    {
+      return null;
+    }
+    else if (reference != REFERENCE_NEW)
+    {
+      return lookup(strings, reference - REFERENCE_OFFSET);
+    }
+
+    final int length = readCount();
+    final String string;
+    if (limit - position >= length)
+    {
+      string = new String(buffer, position, length, UTF_8);
+      position = position + length;
+    }
+    else
+    {
+      string = new String(readBytes(length), UTF_8);
+    }
+    strings.add(string);
+    return string;
+  }
+
+  private MutableSynonym readSynonym()
+    throws IOException
+  {
+    final Schema schema = readSchemaReference();
+    final MutableSynonym synonym = new MutableSynonym(schema, readString());
+    readRemarksAndAttributes(synonym);
+
+    final int referencedObjectType = readCount();
+    switch (referencedObjectType)
+    {
+      case REFERENCED_TABLE:
+        synonym.setReferencedObject(readTableReference());
+        break;
+      case REFERENCED_ROUTINE:
+        synonym.setReferencedObject(lookup(routines, readCount()));
+        break;
+      case REFERENCED_OTHER:
+        final Schema referencedSchema = readSchemaReference();
+        synonym
+          .setReferencedObject(new AbstractDatabaseObject(referencedSchema,
+                                                          readString())
+          {
+
+            private static final long serialVersionUID = -2212843304418302122L;
+
+          });
+        break;
+      default:
+        break;
+    }
+    return synonym;
+  }
+
+  private MutableTable readTable()
+    throws IOException
+  {
+    final boolean isView = readCount() == VIEW;
+    final Schema schema = readSchemaReference();
+    final String name = readString();
+    final MutableTable table;
+    if (isView)
+    {
+      table = new MutableView(schema, name);
+    }
+    else
+    {
+      table = new MutableTable(schema, name);
+    }
+    tables.add(table);
+
+    readRemarksAndAttributes(table);
+    table.setTableType(new TableType(readString()));
+    table.appendDefinition(readString());
+    table.setSortIndex(readInt());
+    if (isView)
+    {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(CheckOptionType.class));
+      view.setUpdatable(readBoolean());
+    }
+
+    final int columnsCount = readCount();
+    for (int i = 0; i < columnsCount; i++)
+    {
+      table.addColumn(readColumn(table));
+    }
+    final int hiddenColumnsCount = readCount();
+    for (int i = 0; i < hiddenColumnsCount; i++)
+    {
+      table.addHiddenColumn(readColumn(table));
+    }
+
+    // The primary key is set before the indexes are added, so that it
+    // does not replace any of them
+    if (readBoolean())
+    {
+      final MutablePrimaryKey primaryKey = new MutablePrimaryKey(table,
+                                                                 readString());
+      readIndex(table, primaryKey);
+      table.setPrimaryKeyAndReplaceIndex(primaryKey);
+    }
+    final int indexesCount = readCount();
+    for (int i = 0; i < indexesCount; i++)
+    {
+      final MutableIndex index = new MutableIndex(table, readString());
+      readIndex(table, index);
+      table.addIndex(index);
+    }
+
+    final int tableConstraintsCount = readCount();
+    for (int i = 0; i < tableConstraintsCount; i++)
+    {
+      final MutableTableConstraint tableConstraint = new MutableTableConstraint(table,
+                                                                                readString());
+      readRemarksAndAttributes(tableConstraint);
+      tableConstraint
+        .setTableConstraintType(readEnum(TableConstraintType.class));
+      tableConstraint.setDeferrable(readBoolean());
+      tableConstraint.setInitiallyDeferred(readBoolean());
+      tableConstraint.appendDefinition(readString());
+      final int constraintColumnsCount = readCount();
+      for (int j = 0; j < constraintColumnsCount; j++)
+      {
+        final Optional<MutableColumn> column = table
+          .lookupColumn(readString());
+        final int ordinalPosition = readInt();
+        if (column.isPresent())
+        {
+          final MutableTableConstraintColumn constraintColumn = new MutableTableConstraintColumn(tableConstraint,
+                                                                                                 column
+                                                                                                   .get());
+          constraintColumn.setTableConstraintOrdinalPosition(ordinalPosition);
+          tableConstraint.addColumn(constraintColumn);
+        }
+      }
+      table.addTableConstraint(tableConstraint);
+    }
+
+    final int triggersCount = readCount();
+    for (int i = 0; i < triggersCount; i++)
+    {
+      final MutableTrigger trigger = new MutableTrigger(table, readString());
+      readRemarksAndAttributes(trigger);
+      trigger
+        .setEventManipulationType(readEnum(EventManipulationType.class));
+      trigger.setActionOrder(readInt());
+      trigger.appendActionCondition(readString());
+      trigger.appendActionStatement(readString());
+      trigger.setActionOrientation(readEnum(ActionOrientationType.class));
+      trigger.setConditionTiming(readEnum(ConditionTimingType.class));
+      table.addTrigger(trigger);
+    }
+
+    final int privilegesCount = readCount();
+    for (int i = 0; i < privilegesCount; i++)
+    {
+      table.addPrivilege(readPrivilege(new TableReference(table)));
+    }
+    return table;
+  }
+
+  private Table readTableReference()
+    throws IOException
+  {
+    final int reference = readCount();
+    if (reference == REFERENCE_NULL)
+    {
+      return null;
+    }
+    else if (reference != REFERENCE_NEW)
+    {
+      return lookup(tables, reference - REFERENCE_OFFSET);
+    }
+
+    final Schema schema = readSchemaReference();
+    final TablePartial table = new TablePartial(schema, readString());
+    tables.add(table);
+    readAttributes(table);
+    return table;
+  }
+
+  private Object readValue()
+    throws IOException
+  {
+    final int valueType = readCount();
+    switch (valueType)
+    {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString();
+      case VALUE_BOOLEAN:
+        return readBoolean();
+      case VALUE_INTEGER:
+        return readInt();
+      case VALUE_LONG:
+        return readLong();
+      case VALUE_SHORT:
+        return (short) readInt();
+      case VALUE_BYTE:
+        return (byte) readInt();
+      case VALUE_DOUBLE:
+        return Double.longBitsToDouble(readLong());
+      case VALUE_FLOAT:
+        return Float.intBitsToFloat(readInt());
+      case VALUE_BIG_DECIMAL:
+        return new BigDecimal(readString());
+      case VALUE_BIG_INTEGER:
+        return new BigInteger(readString());
+      case VALUE_CHARACTER:
+        return (char) readInt();
+      case VALUE_TIMESTAMP:
+        final Timestamp timestamp = new Timestamp(readLong());
+        timestamp.setNanos(readInt());
+        return timestamp;
+      case VALUE_DATE:
+        return new java.sql.Date(readLong());
+      case VALUE_TIME:
+        return new Time(readLong());
+      case VALUE_BYTES:
+        return readBytes();
+      case VALUE_LIST:
+        final int count = readCount();
+        final List<Object> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+        {
+          list.add(readValue());
+        }
+        return list;
+      case VALUE_SERIALIZED:
+        try (final ObjectInputStream objIn = new ObjectInputStream(new ByteArrayInputStream(readBytes()));)
+        {
+          return objIn.readObject();
+        }
+        catch (final ClassNotFoundException e)
+        {
+          throw new IOException("Cannot read attribute value", e);
+        }
+      default:
+        throw new StreamCorruptedException("Unknown type of value, "
+                                           + valueType);
+    }
+  }
+
+  private void setReferencedColumn(final Column column,
+                                   final Column referencedColumn)
+  {
+    if (column instanceof MutableColumn)
+    {
+      ((MutableColumn) column).setReferencedColumn(referencedColumn);
+    }
+    else if (column instanceof ColumnPartial)
+    {
+      ((ColumnPartial) column).setReferencedColumn(referencedColumn);
+    }
+  }
+
+}
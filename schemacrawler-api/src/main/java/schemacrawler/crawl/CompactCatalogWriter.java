@@ -0,0 +1,890 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.CompactCatalogFormat.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.*;
+
+/**
+ * Writes a catalog in a compact binary format, one field at a time, so
+ * that it can be read back with a {@link CompactCatalogReader} without
+ * Java serialization. Schemas, column data types, tables, columns and
+ * routines are written once, and referred to by their position after
+ * that. Tables and columns that are not in the catalog, such as those
+ * in other schemas that foreign keys refer to, are written by name, and
+ * are read back as partial tables and columns, as if they had not been
+ * crawled. Foreign keys are written once, after all the tables. Any
+ * table details that have not been loaded yet are loaded before they
+ * are written.
+ */
+public final class CompactCatalogWriter
+{
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int position;
+  private final Map<String, Integer> strings;
+  private final Map<Schema, Integer> schemas;
+  private final Map<ColumnDataType, Integer> columnDataTypes;
+  private final Map<Table, Integer> tables;
+  private final Map<Column, Integer> columns;
+  private final List<Column> columnsList;
+  private final Map<Routine, Integer> routines;
+
+  public CompactCatalogWriter(final OutputStream out)
+  {
+    this.out = requireNonNull(out, "No output stream provided");
+    buffer = new byte[BUFFER_SIZE];
+    strings = new HashMap<>();
+    schemas = new IdentityHashMap<>();
+    columnDataTypes = new IdentityHashMap<>();
+    tables = new IdentityHashMap<>();
+    columns = new IdentityHashMap<>();
+    columnsList = new ArrayList<>();
+    routines = new IdentityHashMap<>();
+  }
+
+  /**
+   * Writes the catalog, and flushes the output stream.
+   *
+   * @param catalog
+   *        Catalog to write
+   * @throws IOException
+   *         On an exception writing the catalog
+   */
+  public void write(final Catalog catalog)
+    throws IOException
+  {
+    requireNonNull(catalog, "No catalog provided");
+
+    writeString(catalog.getName());
+    final SchemaCrawlerInfo schemaCrawlerInfo = catalog.getSchemaCrawlerInfo();
+    writeProductVersion(schemaCrawlerInfo);
+    writeString(schemaCrawlerInfo.getSchemaCrawlerAbout());
+    writeProductVersion(catalog.getOperatingSystemInfo());
+    writeProductVersion(catalog.getJvmSystemInfo());
+    writeRemarksAndAttributes(catalog);
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+    writeCrawlInfo(catalog.getCrawlInfo());
+
+    final Collection<Schema> catalogSchemas = catalog.getSchemas();
+    writeCount(catalogSchemas.size());
+    for (final Schema schema: catalogSchemas)
+    {
+      writeSchemaReference(schema);
+    }
+
+    final Collection<ColumnDataType> catalogColumnDataTypes = catalog
+      .getColumnDataTypes();
+    writeCount(catalogColumnDataTypes.size());
+    for (final ColumnDataType columnDataType: catalogColumnDataTypes)
+    {
+      writeColumnDataTypeReference(columnDataType);
+    }
+
+    final Collection<Table> catalogTables = catalog.getTables();
+    writeCount(catalogTables.size());
+    for (final Table table: catalogTables)
+    {
+      writeTable(table);
+    }
+
+    final Collection<Routine> catalogRoutines = catalog.getRoutines();
+    writeCount(catalogRoutines.size());
+    for (final Routine routine: catalogRoutines)
+    {
+      writeRoutine(routine);
+    }
+
+    final Collection<Sequence> sequences = catalog.getSequences();
+    writeCount(sequences.size());
+    for (final Sequence sequence: sequences)
+    {
+      writeSequence(sequence);
+    }
+
+    final Collection<Synonym> synonyms = catalog.getSynonyms();
+    writeCount(synonyms.size());
+    for (final Synonym synonym: synonyms)
+    {
+      writeSynonym(synonym);
+    }
+
+    // Foreign keys are shared by the tables at both of their ends, so
+    // each one is written once
+    final List<ForeignKey> foreignKeys = new ArrayList<>();
+    final Map<ForeignKey, Boolean> seenForeignKeys = new IdentityHashMap<>();
+    for (final Table table: catalogTables)
+    {
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        if (seenForeignKeys.put(foreignKey, Boolean.TRUE) == null)
+        {
+          foreignKeys.add(foreignKey);
+        }
+      }
+    }
+    writeCount(foreignKeys.size());
+    for (final ForeignKey foreignKey: foreignKeys)
+    {
+      writeForeignKey(foreignKey);
+    }
+
+    // Referenced columns are written last, since they may be in any
+    // table, and columns may be added to the list as they are written
+    for (int i = 0; i < columnsList.size(); i++)
+    {
+      final Column referencedColumn = columnsList.get(i)
+        .getReferencedColumn();
+      if (referencedColumn != null)
+      {
+        writeCount(i + 1);
+        writeColumnReference(referencedColumn);
+      }
+    }
+    writeCount(0);
+
+    flush();
+    out.flush();
+  }
+
+  private void ensureCapacity(final int length)
+    throws IOException
+  {
+    if (position + length > buffer.length)
+    {
+      flush();
+    }
+  }
+
+  private void flush()
+    throws IOException
+  {
+    if (position > 0)
+    {
+      out.write(buffer, 0, position);
+      position = 0;
+    }
+  }
+
+  private void writeAttributes(final Map<String, Object> attributes)
+    throws IOException
+  {
+    writeCount(attributes.size());
+    for (final Entry<String, Object> attribute: attributes.entrySet())
+    {
+      writeString(attribute.getKey());
+      writeValue(attribute.getValue());
+    }
+  }
+
+  private void writeBoolean(final boolean value)
+    throws IOException
+  {
+    ensureCapacity(1);
+    buffer[position++] = (byte) (value? 1: 0);
+  }
+
+  private void writeBytes(final byte[] bytes)
+    throws IOException
+  {
+    writeCount(bytes.length);
+    if (bytes.length > buffer.length)
+    {
+      flush();
+      out.write(bytes);
+    }
+    else
+    {
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position = position + bytes.length;
+    }
+  }
+
+  private void writeColumn(final Column column)
+    throws IOException
+  {
+    columns.put(column, columns.size());
+    columnsList.add(column);
+
+    writeString(column.getName());
+    writeRemarksAndAttributes(column);
+    writeColumnDataTypeReference(column.getColumnDataType());
+    writeInt(column.getOrdinalPosition());
+    writeInt(column.getSize());
+    writeInt(column.getDecimalDigits());
+    writeBoolean(column.isNullable());
+    writeString(column.getDefaultValue());
+    writeBoolean(column.isAutoIncremented());
+    writeBoolean(column.isGenerated());
+    writeBoolean(column.isHidden());
+    writeBoolean(column.isPartOfPrimaryKey());
+    writeBoolean(column.isPartOfUniqueIndex());
+    writeBoolean(column.isPartOfIndex());
+    writePrivileges(column.getPrivileges());
+  }
+
+  private void writeColumnDataTypeReference(final ColumnDataType columnDataType)
+    throws IOException
+  {
+    if (columnDataType == null)
+    {
+      writeCount(REFERENCE_NULL);
+      return;
+    }
+    final Integer id = columnDataTypes.get(columnDataType);
+    if (id != null)
+    {
+      writeCount(REFERENCE_OFFSET + id);
+      return;
+    }
+    writeCount(REFERENCE_NEW);
+    columnDataTypes.put(columnDataType, columnDataTypes.size());
+
+    writeSchemaReference(columnDataType.getSchema());
+    writeString(columnDataType.getName());
+    writeRemarksAndAttributes(columnDataType);
+    writeInt(columnDataType.getJavaSqlType().getVendorTypeNumber());
+    writeString(columnDataType.getTypeMappedClass().getName());
+    writeBoolean(columnDataType.isUserDefined());
+    writeLong(columnDataType.getPrecision());
+    writeString(columnDataType.getLiteralPrefix());
+    writeString(columnDataType.getLiteralSuffix());
+    writeString(columnDataType.getCreateParameters());
+    writeBoolean(columnDataType.isNullable());
+    writeBoolean(columnDataType.isCaseSensitive());
+    writeEnum(columnDataType.getSearchable());
+    writeBoolean(columnDataType.isUnsigned());
+    writeBoolean(columnDataType.isFixedPrecisionScale());
+    writeBoolean(columnDataType.isAutoIncrementable());
+    writeString(columnDataType.getLocalTypeName());
+    writeInt(columnDataType.getMinimumScale());
+    writeInt(columnDataType.getMaximumScale());
+    writeInt(columnDataType.getNumPrecisionRadix());
+    writeColumnDataTypeReference(columnDataType.getBaseType());
+  }
+
+  /**
+   * Writes a reference to a column that has been written, or else the
+   * table and name of the column, which is read back as a partial
+   * column.
+   */
+  private void writeColumnReference(final Column column)
+    throws IOException
+  {
+    if (column == null)
+    {
+      writeCount(REFERENCE_NULL);
+      return;
+    }
+    final Integer id = columns.get(column);
+    if (id != null)
+    {
+      writeCount(REFERENCE_OFFSET + id);
+      return;
+    }
+    writeCount(REFERENCE_NEW);
+    columns.put(column, columns.size());
+    columnsList.add(column);
+
+    writeTableReference(column.getParent());
+    writeString(column.getName());
+    writeAttributes(column.getAttributes());
+  }
+
+  private void writeCount(final int count)
+    throws IOException
+  {
+    ensureCapacity(5);
+    int value = count;
+    while ((value & ~0x7F) != 0)
+    {
+      buffer[position++] = (byte) (value & 0x7F | 0x80);
+      value = value >>> 7;
+    }
+    buffer[position++] = (byte) value;
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo)
+    throws IOException
+  {
+    if (!(crawlInfo instanceof ImmutableCrawlInfo))
+    {
+      writeBoolean(false);
+      return;
+    }
+    writeBoolean(true);
+
+    final ImmutableCrawlInfo immutableCrawlInfo = (ImmutableCrawlInfo) crawlInfo;
+    writeProductVersion(immutableCrawlInfo.getSchemaCrawlerProductVersion());
+    writeProductVersion(immutableCrawlInfo.getJdbcDriverProductVersion());
+    writeProductVersion(immutableCrawlInfo.getDatabaseProductVersion());
+    writeProductVersion(immutableCrawlInfo
+      .getOperatingSystemProductVersion());
+    writeProductVersion(immutableCrawlInfo.getJvmSystemProductVersion());
+    final LocalDateTime crawlTimestamp = immutableCrawlInfo
+      .getCrawlTimestamp();
+    writeLong(crawlTimestamp.toLocalDate().toEpochDay());
+    writeLong(crawlTimestamp.toLocalTime().toNanoOfDay());
+    writeString(immutableCrawlInfo.getRunId());
+  }
+
+  private void writeDatabaseInfo(final DatabaseInfo databaseInfo)
+    throws IOException
+  {
+    writeString(databaseInfo.getUserName());
+    writeString(databaseInfo.getProductName());
+    writeString(databaseInfo.getProductVersion());
+
+    final Collection<Property> serverInfo = databaseInfo.getServerInfo();
+    writeCount(serverInfo.size());
+    for (final Property property: serverInfo)
+    {
+      writeString(property.getName());
+      writeValue(property.getValue());
+      writeString(property.getDescription());
+    }
+
+    final Collection<DatabaseProperty> properties = databaseInfo
+      .getProperties();
+    writeCount(properties.size());
+    for (final DatabaseProperty property: properties)
+    {
+      writeString(property.getName());
+      writeValue(property.getValue());
+    }
+  }
+
+  private void writeEnum(final Enum<?> value)
+    throws IOException
+  {
+    writeString(value == null? null: value.name());
+  }
+
+  private void writeForeignKey(final ForeignKey foreignKey)
+    throws IOException
+  {
+    writeString(foreignKey.getName());
+    writeString(foreignKey.getSpecificName());
+    writeRemarksAndAttributes(foreignKey);
+    writeEnum(foreignKey.getUpdateRule());
+    writeEnum(foreignKey.getDeleteRule());
+    writeEnum(foreignKey.getDeferrability());
+    writeString(foreignKey.getDefinition());
+
+    final List<ForeignKeyColumnReference> columnReferences = foreignKey
+      .getColumnReferences();
+    writeCount(columnReferences.size());
+    for (final ForeignKeyColumnReference columnReference: columnReferences)
+    {
+      writeInt(columnReference.getKeySequence());
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      writeColumnReference(columnReference.getForeignKeyColumn());
+    }
+  }
+
+  private void writeIndex(final Index index)
+    throws IOException
+  {
+    writeString(index.getName());
+    writeRemarksAndAttributes(index);
+    writeBoolean(index.isUnique());
+    writeEnum(index.getIndexType());
+    writeInt(index.getCardinality());
+    writeInt(index.getPages());
+    writeString(index.getDefinition());
+
+    final List<IndexColumn> indexColumns = index.getColumns();
+    writeCount(indexColumns.size());
+    for (final IndexColumn indexColumn: indexColumns)
+    {
+      writeString(indexColumn.getName());
+      writeRemarksAndAttributes(indexColumn);
+      writeInt(indexColumn.getIndexOrdinalPosition());
+      writeEnum(indexColumn.getSortSequence());
+      writeString(indexColumn.getDefinition());
+    }
+  }
+
+  private void writeInt(final int value)
+    throws IOException
+  {
+    writeCount(value << 1 ^ value >> 31);
+  }
+
+  private void writeJdbcDriverInfo(final JdbcDriverInfo jdbcDriverInfo)
+    throws IOException
+  {
+    writeString(jdbcDriverInfo.getProductName());
+    writeString(jdbcDriverInfo.getProductVersion());
+    writeString(jdbcDriverInfo.getDriverClassName());
+    writeString(jdbcDriverInfo.getConnectionUrl());
+    writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+
+    final Collection<JdbcDriverProperty> driverProperties = jdbcDriverInfo
+      .getDriverProperties();
+    writeCount(driverProperties.size());
+    for (final JdbcDriverProperty property: driverProperties)
+    {
+      writeString(property.getName());
+      writeString(property.getValue());
+      writeString(property.getDescription());
+      writeBoolean(property.isRequired());
+      final Collection<String> choices = property.getChoices();
+      writeCount(choices.size());
+      for (final String choice: choices)
+      {
+        writeString(choice);
+      }
+    }
+  }
+
+  private void writeLong(final long value)
+    throws IOException
+  {
+    ensureCapacity(10);
+    long zigzag = value << 1 ^ value >> 63;
+    while ((zigzag & ~0x7FL) != 0)
+    {
+      buffer[position++] = (byte) (zigzag & 0x7F | 0x80);
+      zigzag = zigzag >>> 7;
+    }
+    buffer[position++] = (byte) zigzag;
+  }
+
+  private void writePrivileges(final Collection<? extends Privilege<?>> privileges)
+    throws IOException
+  {
+    writeCount(privileges.size());
+    for (final Privilege<?> privilege: privileges)
+    {
+      writeString(privilege.getName());
+      writeRemarksAndAttributes(privilege);
+      final Collection<? extends Grant<?>> grants = privilege.getGrants();
+      writeCount(grants.size());
+      for (final Grant<?> grant: grants)
+      {
+        writeString(grant.getGrantor());
+        writeString(grant.getGrantee());
+        writeBoolean(grant.isGrantable());
+      }
+    }
+  }
+
+  private void writeProductVersion(final ProductVersion productVersion)
+    throws IOException
+  {
+    writeString(productVersion.getProductName());
+    writeString(productVersion.getProductVersion());
+  }
+
+  private <O extends AttributedObject & DescribedObject> void writeRemarksAndAttributes(final O object)
+    throws IOException
+  {
+    writeString(object.getRemarks());
+    writeAttributes(object.getAttributes());
+  }
+
+  private void writeRoutine(final Routine routine)
+    throws IOException
+  {
+    routines.put(routine, routines.size());
+
+    final boolean isFunction = routine instanceof Function;
+    writeCount(isFunction? FUNCTION: PROCEDURE);
+    writeSchemaReference(routine.getSchema());
+    writeString(routine.getName());
+    writeString(routine.getSpecificName());
+    writeRemarksAndAttributes(routine);
+    writeEnum(routine.getRoutineBodyType());
+    writeString(routine.getDefinition());
+
+    final List<? extends RoutineParameter<?>> parameters;
+    if (isFunction)
+    {
+      final Function function = (Function) routine;
+      writeEnum(function.getReturnType());
+      parameters = function.getParameters();
+    }
+    else
+    {
+      final Procedure procedure = (Procedure) routine;
+      writeEnum(procedure.getReturnType());
+      parameters = procedure.getParameters();
+    }
+    writeCount(parameters.size());
+    for (final RoutineParameter<?> parameter: parameters)
+    {
+      writeString(parameter.getName());
+      writeRemarksAndAttributes(parameter);
+      writeColumnDataTypeReference(parameter.getColumnDataType());
+      writeInt(parameter.getOrdinalPosition());
+      writeInt(parameter.getSize());
+      writeInt(parameter.getDecimalDigits());
+      writeBoolean(parameter.isNullable());
+      writeEnum(parameter.getParameterMode());
+    }
+  }
+
+  private void writeSchemaReference(final Schema schema)
+    throws IOException
+  {
+    if (schema == null)
+    {
+      writeCount(REFERENCE_NULL);
+      return;
+    }
+    final Integer id = schemas.get(schema);
+    if (id != null)
+    {
+      writeCount(REFERENCE_OFFSET + id);
+      return;
+    }
+    writeCount(REFERENCE_NEW);
+    schemas.put(schema, schemas.size());
+
+    writeString(schema.getCatalogName());
+    writeString(schema.getName());
+    writeAttributes(schema.getAttributes());
+  }
+
+  private void writeSequence(final Sequence sequence)
+    throws IOException
+  {
+    writeSchemaReference(sequence.getSchema());
+    writeString(sequence.getName());
+    writeRemarksAndAttributes(sequence);
+    writeLong(sequence.getIncrement());
+    writeValue(sequence.getMinimumValue());
+    writeValue(sequence.getMaximumValue());
+    writeBoolean(sequence.isCycle());
+  }
+
+  private void writeString(final String string)
+    throws IOException
+  {
+    if (string == null)
+    {
+      writeCount(REFERENCE_NULL);
+      return;
+    }
+    final Integer id = strings.get(string);
+    if (id != null)
+    {
+      writeCount(REFERENCE_OFFSET + id);
+      return;
+    }
+    writeCount(REFERENCE_NEW);
+    strings.put(string, strings.size());
+    writeBytes(string.getBytes(UTF_8));
+  }
+
+  private void writeSynonym(final Synonym synonym)
+    throws IOException
+  {
+    writeSchemaReference(synonym.getSchema());
+    writeString(synonym.getName());
+    writeRemarksAndAttributes(synonym);
+
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    if (referencedObject == null)
+    {
+      writeCount(REFERENCED_NONE);
+    }
+    else if (referencedObject instanceof Table)
+    {
+      writeCount(REFERENCED_TABLE);
+      writeTableReference((Table) referencedObject);
+    }
+    else if (routines.containsKey(referencedObject))
+    {
+      writeCount(REFERENCED_ROUTINE);
+      writeCount(routines.get(referencedObject));
+    }
+    else
+    {
+      writeCount(REFERENCED_OTHER);
+      writeSchemaReference(referencedObject.getSchema());
+      writeString(referencedObject.getName());
+    }
+  }
+
+  private void writeTable(final Table table)
+    throws IOException
+  {
+    tables.put(table, tables.size());
+
+    final boolean isView = table instanceof View;
+    writeCount(isView? VIEW: TABLE);
+    writeSchemaReference(table.getSchema());
+    writeString(table.getName());
+    writeRemarksAndAttributes(table);
+    writeString(table.getTableType().getTableType());
+    writeString(table.getDefinition());
+    if (table instanceof MutableTable)
+    {
+      writeInt(((MutableTable) table).getSortIndex());
+    }
+    else
+    {
+      writeInt(0);
+    }
+    if (isView)
+    {
+      final View view = (View) table;
+      writeEnum(view.getCheckOption());
+      writeBoolean(view.isUpdatable());
+    }
+
+    final List<Column> tableColumns = table.getColumns();
+    writeCount(tableColumns.size());
+    for (final Column column: tableColumns)
+    {
+      writeColumn(column);
+    }
+    final Collection<Column> hiddenColumns = table.getHiddenColumns();
+    writeCount(hiddenColumns.size());
+    for (final Column column: hiddenColumns)
+    {
+      writeColumn(column);
+    }
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    writeBoolean(primaryKey != null);
+    if (primaryKey != null)
+    {
+      writeIndex(primaryKey);
+    }
+    final Collection<Index> indexes = table.getIndexes();
+    writeCount(indexes.size());
+    for (final Index index: indexes)
+    {
+      writeIndex(index);
+    }
+
+    final Collection<TableConstraint> tableConstraints = table
+      .getTableConstraints();
+    writeCount(tableConstraints.size());
+    for (final TableConstraint tableConstraint: tableConstraints)
+    {
+      writeString(tableConstraint.getName());
+      writeRemarksAndAttributes(tableConstraint);
+      writeEnum(tableConstraint.getConstraintType());
+      writeBoolean(tableConstraint.isDeferrable());
+      writeBoolean(tableConstraint.isInitiallyDeferred());
+      writeString(tableConstraint.getDefinition());
+      final List<TableConstraintColumn> constraintColumns = tableConstraint
+        .getColumns();
+      writeCount(constraintColumns.size());
+      for (final TableConstraintColumn constraintColumn: constraintColumns)
+      {
+        writeString(constraintColumn.getName());
+        writeInt(constraintColumn.getTableConstraintOrdinalPosition());
+      }
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    writeCount(triggers.size());
+    for (final Trigger trigger: triggers)
+    {
+      writeString(trigger.getName());
+      writeRemarksAndAttributes(trigger);
+      writeEnum(trigger.getEventManipulationType());
+      writeInt(trigger.getActionOrder());
+      writeString(trigger.getActionCondition());
+      writeString(trigger.getActionStatement());
+      writeEnum(trigger.getActionOrientation());
+      writeEnum(trigger.getConditionTiming());
+    }
+
+    writePrivileges(table.getPrivileges());
+  }
+
+  /**
+   * Writes a reference to a table that has been written, or else the
+   * schema, name and attributes of the table, which is read back as a
+   * partial table.
+   */
+  private void writeTableReference(final Table table)
+    throws IOException
+  {
+    if (table == null)
+    {
+      writeCount(REFERENCE_NULL);
+      return;
+    }
+    final Integer id = tables.get(table);
+    if (id != null)
+    {
+      writeCount(REFERENCE_OFFSET + id);
+      return;
+    }
+    writeCount(REFERENCE_NEW);
+    tables.put(table, tables.size());
+
+    writeSchemaReference(table.getSchema());
+    writeString(table.getName());
+    writeAttributes(table.getAttributes());
+  }
+
+  private void writeValue(final Object value)
+    throws IOException
+  {
+    if (value == null)
+    {
+      writeCount(VALUE_NULL);
+    }
+    else if (value instanceof String)
+    {
+      writeCount(VALUE_STRING);
+      writeString((String) value);
+    }
+    else if (value instanceof Boolean)
+    {
+      writeCount(VALUE_BOOLEAN);
+      writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer)
+    {
+      writeCount(VALUE_INTEGER);
+      writeInt((Integer) value);
+    }
+    else if (value instanceof Long)
+    {
+      writeCount(VALUE_LONG);
+      writeLong((Long) value);
+    }
+    else if (value instanceof Short)
+    {
+      writeCount(VALUE_SHORT);
+      writeInt((Short) value);
+    }
+    else if (value instanceof Byte)
+    {
+      writeCount(VALUE_BYTE);
+      writeInt((Byte) value);
+    }
+    else if (value instanceof Double)
+    {
+      writeCount(VALUE_DOUBLE);
+      writeLong(Double.doubleToRawLongBits((Double) value));
+    }
+    else if (value instanceof Float)
+    {
+      writeCount(VALUE_FLOAT);
+      writeInt(Float.floatToRawIntBits((Float) value));
+    }
+    else if (value instanceof BigDecimal)
+    {
+      writeCount(VALUE_BIG_DECIMAL);
+      writeString(value.toString());
+    }
+    else if (value instanceof BigInteger)
+    {
+      writeCount(VALUE_BIG_INTEGER);
+      writeString(value.toString());
+    }
+    else if (value instanceof Character)
+    {
+      writeCount(VALUE_CHARACTER);
+      writeInt((Character) value);
+    }
+    else if (value.getClass() == Timestamp.class)
+    {
+      final Timestamp timestamp = (Timestamp) value;
+      writeCount(VALUE_TIMESTAMP);
+      writeLong(timestamp.getTime());
+      writeInt(timestamp.getNanos());
+    }
+    else if (value.getClass() == java.sql.Date.class)
+    {
+      writeCount(VALUE_DATE);
+      writeLong(((java.sql.Date) value).getTime());
+    }
+    else if (value.getClass() == Time.class)
+    {
+      writeCount(VALUE_TIME);
+      writeLong(((Time) value).getTime());
+    }
+    else if (value instanceof byte[])
+    {
+      writeCount(VALUE_BYTES);
+      writeBytes((byte[]) value);
+    }
+    else if (value instanceof List)
+    {
+      final List<?> list = (List<?>) value;
+      writeCount(VALUE_LIST);
+      writeCount(list.size());
+      for (final Object item: list)
+      {
+        writeValue(item);
+      }
+    }
+    else
+    {
+      // Values of other types are rare, and may be of types that are
+      // not known here, so they are written with Java serialization
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (final ObjectOutputStream objOut = new ObjectOutputStream(bytes);)
+      {
+        objOut.writeObject(value);
+      }
+      writeCount(VALUE_SERIALIZED);
+      writeBytes(bytes.toByteArray());
+    }
+  }
+
+}
@@ -39,7 +39,6 @@ import java.util.*;
 import java.util.logging.Level;
 
 import schemacrawler.schema.*;
-import schemacrawler.schemacrawler.IncludeAll;
 import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
@@ -338,7 +337,8 @@ final class DatabaseInfoRetriever
     try (final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(serverInfoSql,
                                                               statement,
-                                                              new IncludeAll()))
+                                                              getOptions(),
+                                                              getRetrieverConnection().getFetchSize(InformationSchemaKey.SERVER_INFORMATION)))
     {
       results.setDescription("retrieveServerInfo");
       while (results.next())
@@ -398,12 +398,14 @@ final class DatabaseInfoRetriever
       statement = connection.createStatement();
       results = new MetadataResultSet(typeInfoSql,
                                       statement,
-                                      getSchemaInclusionRule());
+                                      getOptions(),
+                                      getRetrieverConnection().getFetchSize(InformationSchemaKey.OVERRIDE_TYPE_INFO));
     }
     else
     {
       statement = null;
-      results = new MetadataResultSet(getMetaData().getTypeInfo());
+      results = new MetadataResultSet(getMetaData().getTypeInfo(),
+                                      getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));
     }
 
     try
@@ -456,7 +458,7 @@ final class DatabaseInfoRetriever
         columnDataType.setMaximumScale(maximumScale);
         columnDataType.setNumPrecisionRadix(numPrecisionRadix);
 
-        columnDataType.addAttributes(results.getAttributes());
+        addMetadataAttributes(columnDataType, results);
 
         catalog.addColumnDataType(columnDataType);
       }
@@ -499,7 +501,8 @@ final class DatabaseInfoRetriever
                                                                      catalogName,
                                                                      schemaName,
                                                                      "%",
-                                                                     null)))
+                                                                     null),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata)))
     {
       while (results.next())
       {
@@ -532,7 +535,7 @@ final class DatabaseInfoRetriever
         columnDataType.setBaseType(baseType);
         columnDataType.setRemarks(remarks);
 
-        columnDataType.addAttributes(results.getAttributes());
+        addMetadataAttributes(columnDataType, results);
 
         catalog.addColumnDataType(columnDataType);
       }
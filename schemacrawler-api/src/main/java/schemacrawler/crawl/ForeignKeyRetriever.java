@@ -36,12 +36,13 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Column;
-import schemacrawler.schema.ForeignKey;
 import schemacrawler.schema.ForeignKeyDeferrability;
 import schemacrawler.schema.ForeignKeyUpdateRule;
 import schemacrawler.schema.Schema;
@@ -94,12 +95,17 @@ final class ForeignKeyRetriever
       return;
     }
 
+    // Foreign keys that were loaded with the tables of another schema
+    // may already have their definitions
     final NamedObjectList<MutableForeignKey> allFks = new NamedObjectList<>();
     for (final MutableTable table: allTables)
     {
-      for (final ForeignKey foreignKey: table.getForeignKeys())
+      for (final MutableForeignKey foreignKey: table.getLoadedForeignKeys())
       {
-        allFks.add((MutableForeignKey) foreignKey);
+        if (!foreignKey.hasDefinition())
+        {
+          allFks.add(foreignKey);
+        }
       }
     }
 
@@ -109,7 +115,8 @@ final class ForeignKeyRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(extForeignKeysSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_FOREIGN_KEYS));)
     {
       while (results.next())
       {
@@ -121,7 +128,7 @@ final class ForeignKeyRetriever
         final String definition = results.getString("FOREIGN_KEY_DEFINITION");
 
         final Optional<MutableForeignKey> optionalFk = allFks
-          .lookup(Arrays.asList(fkName, fkName));
+          .lookup(new NamedObjectKey(fkName, fkName));
         if (optionalFk.isPresent())
         {
           final MutableForeignKey fkConstraint = optionalFk.get();
@@ -179,6 +186,14 @@ final class ForeignKeyRetriever
   private void createForeignKeys(final MetadataResultSet results,
                                  final NamedObjectList<MutableForeignKey> foreignKeys)
     throws SQLException
+  {
+    createForeignKeys(results, foreignKeys, new NamedObjectList<>());
+  }
+
+  private void createForeignKeys(final MetadataResultSet results,
+                                 final NamedObjectList<MutableForeignKey> foreignKeys,
+                                 final NamedObjectList<MutableForeignKey> loadedForeignKeys)
+    throws SQLException
   {
     while (results.next())
     {
@@ -237,8 +252,15 @@ final class ForeignKeyRetriever
         specificName = foreignKeyName;
       }
 
+      final NamedObjectKey foreignKeyLookupKey = new NamedObjectKey(foreignKeyName,
+                                                                    specificName);
+      if (loadedForeignKeys.lookup(foreignKeyLookupKey).isPresent())
+      {
+        continue;
+      }
+
       final Optional<MutableForeignKey> foreignKeyOptional = foreignKeys
-        .lookup(Arrays.asList(foreignKeyName, specificName));
+        .lookup(foreignKeyLookupKey);
       final MutableForeignKey foreignKey;
       if (foreignKeyOptional.isPresent())
       {
@@ -257,7 +279,7 @@ final class ForeignKeyRetriever
       foreignKey.setUpdateRule(updateRule);
       foreignKey.setDeleteRule(deleteRule);
       foreignKey.setDeferrability(deferrability);
-      foreignKey.addAttributes(results.getAttributes());
+      addMetadataAttributes(foreignKey, results);
 
       if (fkColumn instanceof MutableColumn)
       {
@@ -342,7 +364,8 @@ final class ForeignKeyRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(fkSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.FOREIGN_KEYS));)
     {
       results.setDescription("retrieveForeignKeysUsingSql");
       createForeignKeys(results, foreignKeys);
@@ -358,48 +381,45 @@ final class ForeignKeyRetriever
   private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
     throws SchemaCrawlerSQLException
   {
-    final NamedObjectList<MutableForeignKey> foreignKeys = new NamedObjectList<>();
+    final List<MutableTable> tables = new ArrayList<>();
     for (final MutableTable table: allTables)
     {
-      if (table instanceof View)
+      if (!(table instanceof View))
       {
-        continue;
-      }
-
-      final DatabaseMetaData metaData = getMetaData();
-
-      // Get imported foreign keys
-      try (final MetadataResultSet results = new MetadataResultSet(metaData
-        .getImportedKeys(table.getSchema().getCatalogName(),
-                         table.getSchema().getName(),
-                         table.getName()));)
-      {
-        createForeignKeys(results, foreignKeys);
-      }
-      catch (final SQLException e)
-      {
-        throw new SchemaCrawlerSQLException("Could not retrieve foreign keys for table "
-                                            + table,
-                                            e);
+        tables.add(table);
       }
+    }
 
-      // We need to get exported keys as well, since if only a single
-      // table is selected, we have not retrieved it's keys that are
-      // imported by other tables.
-      try (final MetadataResultSet results = new MetadataResultSet(metaData
-        .getExportedKeys(table.getSchema().getCatalogName(),
-                         table.getSchema().getName(),
-                         table.getName()));)
-      {
-        createForeignKeys(results, foreignKeys);
-      }
-      catch (final SQLException e)
+    // When table details are loaded lazily, a schema's tables may
+    // already have foreign keys that were loaded with the tables of
+    // another schema, and these are skipped when they are seen again
+    final NamedObjectList<MutableForeignKey> loadedForeignKeys = new NamedObjectList<>();
+    for (final MutableTable table: tables)
+    {
+      for (final MutableForeignKey foreignKey: table.getLoadedForeignKeys())
       {
-        throw new SchemaCrawlerSQLException("Could not retrieve foreign keys for table "
-                                            + table,
-                                            e);
+        loadedForeignKeys.add(foreignKey);
       }
     }
+
+    final NamedObjectList<MutableForeignKey> foreignKeys = new NamedObjectList<>();
+    final PerTableMetadataExecutor executor = new PerTableMetadataExecutor(getRetrieverConnection(),
+                                                                           "foreign keys");
+    // Get imported foreign keys. We need to get exported keys as well,
+    // since if only a single table is selected, we have not retrieved
+    // it's keys that are imported by other tables.
+    executor.execute(tables,
+                     (table, results) -> createForeignKeys(results,
+                                                           foreignKeys,
+                                                           loadedForeignKeys),
+                     (metaData, table) -> metaData
+                       .getImportedKeys(table.getSchema().getCatalogName(),
+                                        table.getSchema().getName(),
+                                        table.getName()),
+                     (metaData, table) -> metaData
+                       .getExportedKeys(table.getSchema().getCatalogName(),
+                                        table.getSchema().getName(),
+                                        table.getName()));
   }
 
   private void retrieveForeignKeysFromMetadataForAllTables()
@@ -410,7 +430,8 @@ final class ForeignKeyRetriever
 
     // Get imported foreign keys
     try (final MetadataResultSet results = new MetadataResultSet(metaData
-      .getImportedKeys(null, null, "%"));)
+      .getImportedKeys(null, null, "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       createForeignKeys(results, foreignKeys);
     }
@@ -419,7 +440,8 @@ final class ForeignKeyRetriever
     // table is selected, we have not retrieved it's keys that are
     // imported by other tables.
     try (final MetadataResultSet results = new MetadataResultSet(metaData
-      .getExportedKeys(null, null, "%"));)
+      .getExportedKeys(null, null, "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       createForeignKeys(results, foreignKeys);
     }
@@ -33,7 +33,6 @@ import static java.util.Objects.requireNonNull;
 import static sf.util.Utility.isBlank;
 
 import java.sql.*;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -144,12 +143,11 @@ final class FunctionColumnRetriever
       return;
     }
 
-    final Optional<MutableRoutine> optionalRoutine = allRoutines.lookup(Arrays
-                                                                          .asList(
-                                                                            columnCatalogName,
-                                                                            schemaName,
-                                                                            functionName,
-                                                                            specificName));
+    final Optional<MutableRoutine> optionalRoutine = allRoutines
+      .lookup(new NamedObjectKey(columnCatalogName,
+                                 schemaName,
+                                 functionName,
+                                 specificName));
     if (!optionalRoutine.isPresent())
     {
       return;
@@ -189,7 +187,7 @@ final class FunctionColumnRetriever
       column.setNullable(isNullable);
       column.setRemarks(remarks);
 
-      column.addAttributes(results.getAttributes());
+      addMetadataAttributes(column, results);
 
       LOGGER.log(Level.FINER,
                  new StringFormat("Adding column to function <%s>",
@@ -252,7 +250,8 @@ final class FunctionColumnRetriever
     try (final Statement statement = connection.createStatement();
       final MetadataResultSet results = new MetadataResultSet(functionColumnsSql,
                                                               statement,
-                                                              getSchemaInclusionRule());)
+                                                              getOptions(),
+                                                              getRetrieverConnection().getFetchSize(InformationSchemaKey.FUNCTION_COLUMNS));)
     {
       results.setDescription("retrieveFunctionColumnsFromDataDictionary");
       while (results.next())
@@ -285,7 +284,8 @@ final class FunctionColumnRetriever
                                                                          .getName(),
                                                                        function
                                                                          .getName(),
-                                                                       null));)
+                                                                       null),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));)
       {
         while (results.next())
         {
@@ -316,7 +316,8 @@ final class FunctionColumnRetriever
                                                                      null,
                                                                      null,
                                                                      "%",
-                                                                     "%"));)
+                                                                     "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       while (results.next())
       {
@@ -76,6 +76,28 @@ final class ImmutableCrawlInfo
     runId = UUID.randomUUID();
   }
 
+  ImmutableCrawlInfo(final ProductVersion schemaCrawlerInfo,
+                     final ProductVersion jdbcDriverInfo,
+                     final ProductVersion databaseInfo,
+                     final ProductVersion osInfo,
+                     final ProductVersion jvmInfo,
+                     final LocalDateTime crawlTimestamp,
+                     final UUID runId)
+  {
+    this.schemaCrawlerInfo = requireNonNull(schemaCrawlerInfo,
+                                            "No SchemaCrawler information provided");
+    this.jdbcDriverInfo = requireNonNull(jdbcDriverInfo,
+                                         "No JDBC driver information provided");
+    this.databaseInfo = requireNonNull(databaseInfo,
+                                       "No database information provided");
+    this.osInfo = requireNonNull(osInfo,
+                                 "No operating system information provided");
+    this.jvmInfo = requireNonNull(jvmInfo, "No JVM information provided");
+    this.crawlTimestamp = requireNonNull(crawlTimestamp,
+                                         "No crawl timestamp provided");
+    this.runId = requireNonNull(runId, "No run id provided");
+  }
+
   @Override
   public LocalDateTime getCrawlTimestamp()
   {
@@ -142,4 +164,29 @@ final class ImmutableCrawlInfo
     return info.toString();
   }
 
+  ProductVersion getDatabaseProductVersion()
+  {
+    return databaseInfo;
+  }
+
+  ProductVersion getJdbcDriverProductVersion()
+  {
+    return jdbcDriverInfo;
+  }
+
+  ProductVersion getJvmSystemProductVersion()
+  {
+    return jvmInfo;
+  }
+
+  ProductVersion getOperatingSystemProductVersion()
+  {
+    return osInfo;
+  }
+
+  ProductVersion getSchemaCrawlerProductVersion()
+  {
+    return schemaCrawlerInfo;
+  }
+
 }
@@ -35,13 +35,15 @@ import static sf.util.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.IndexColumnSortSequence;
 import schemacrawler.schema.IndexType;
+import schemacrawler.schema.Schema;
 import schemacrawler.schema.View;
 import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
@@ -233,7 +235,7 @@ final class IndexRetriever
     index.setIndexType(type);
     index.setCardinality(cardinality);
     index.setPages(pages);
-    index.addAttributes(results.getAttributes());
+    addMetadataAttributes(index, results);
   }
 
   private void createPrimaryKeyForTable(final MutableTable table,
@@ -283,7 +285,7 @@ final class IndexRetriever
     final String tableName = results.getString("TABLE_NAME");
 
     final Optional<MutableTable> optionalTable = allTables
-      .lookup(Arrays.asList(catalogName, schemaName, tableName));
+      .lookup(new NamedObjectKey(catalogName, schemaName, tableName));
     return optionalTable;
   }
 
@@ -305,7 +307,8 @@ final class IndexRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(indexesSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.INDEXES));)
     {
       results.setDescription("retrieveIndexesFromDataDictionary");
       while (results.next())
@@ -328,36 +331,25 @@ final class IndexRetriever
     }
   }
 
-  private void retrieveIndexesFromMetadata(final MutableTable table,
-                                           final boolean unique)
-    throws SQLException
-  {
-
-    try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getIndexInfo(table.getSchema().getCatalogName(),
-                    table.getSchema().getName(),
-                    table.getName(),
-                    unique,
-                    true/* approximate */));)
-    {
-      createIndexes(table, results);
-    }
-    catch (final SQLException e)
-    {
-      throw new SchemaCrawlerSQLException("Could not retrieve indexes for table "
-                                          + table,
-                                          e);
-    }
-  }
-
   private void retrieveIndexesFromMetadata(final NamedObjectList<MutableTable> allTables)
     throws SQLException
   {
-    for (final MutableTable table: allTables)
-    {
-      retrieveIndexesFromMetadata(table, false);
-      retrieveIndexesFromMetadata(table, true);
-    }
+    final PerTableMetadataExecutor executor = new PerTableMetadataExecutor(getRetrieverConnection(),
+                                                                           "indexes");
+    executor.execute(allTables.values(),
+                     this::createIndexes,
+                     (metaData, table) -> metaData
+                       .getIndexInfo(table.getSchema().getCatalogName(),
+                                     table.getSchema().getName(),
+                                     table.getName(),
+                                     false,
+                                     true/* approximate */),
+                     (metaData, table) -> metaData
+                       .getIndexInfo(table.getSchema().getCatalogName(),
+                                     table.getSchema().getName(),
+                                     table.getName(),
+                                     true,
+                                     true/* approximate */));
   }
 
   private void retrieveIndexesFromMetadataForAllTables(final NamedObjectList<MutableTable> allTables)
@@ -371,8 +363,14 @@ final class IndexRetriever
                                                        final boolean unique)
     throws SQLException
   {
+    final Optional<Schema> tablesSchema = lookupCommonSchema(allTables);
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getIndexInfo(null, null, "%", unique, true/* approximate */));)
+      .getIndexInfo(tablesSchema.map(Schema::getCatalogName).orElse(null),
+                    tablesSchema.map(Schema::getName).orElse(null),
+                    "%",
+                    unique,
+                    true/* approximate */),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       while (results.next())
       {
@@ -413,7 +411,8 @@ final class IndexRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(pkSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.PRIMARY_KEYS));)
     {
       results.setDescription("retrievePrimaryKeysFromDataDictionary");
       while (results.next())
@@ -439,36 +438,37 @@ final class IndexRetriever
   private void retrievePrimaryKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
     throws SQLException
   {
+    final List<MutableTable> tables = new ArrayList<>();
     for (final MutableTable table: allTables)
     {
-      if (table instanceof View)
+      if (!(table instanceof View))
       {
-        continue;
+        tables.add(table);
       }
-      try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-        .getPrimaryKeys(table.getSchema().getCatalogName(),
-                        table.getSchema().getName(),
-                        table.getName()));)
-      {
-        while (results.next())
-        {
-          createPrimaryKeyForTable(table, results);
-        }
-      }
-      catch (final SQLException e)
+    }
+
+    final PerTableMetadataExecutor executor = new PerTableMetadataExecutor(getRetrieverConnection(),
+                                                                           "primary keys");
+    executor.execute(tables, (table, results) -> {
+      while (results.next())
       {
-        throw new SchemaCrawlerSQLException("Could not retrieve primary keys for table "
-                                            + table,
-                                            e);
+        createPrimaryKeyForTable(table, results);
       }
-    }
+    }, (metaData, table) -> metaData
+      .getPrimaryKeys(table.getSchema().getCatalogName(),
+                      table.getSchema().getName(),
+                      table.getName()));
   }
 
   private void retrievePrimaryKeysFromMetadataForAllTables(final NamedObjectList<MutableTable> allTables)
     throws SQLException
   {
+    final Optional<Schema> tablesSchema = lookupCommonSchema(allTables);
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getPrimaryKeys(null, null, "%"));)
+      .getPrimaryKeys(tablesSchema.map(Schema::getCatalogName).orElse(null),
+                      tablesSchema.map(Schema::getName).orElse(null),
+                      "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       while (results.next())
       {
@@ -42,17 +42,15 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
 import java.util.logging.Level;
 
-import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.utility.Query;
 import sf.util.IdentifiedEnum;
 import sf.util.SchemaCrawlerLogger;
@@ -62,7 +60,8 @@ import sf.util.StringFormat;
  * A wrapper around a JDBC resultset obtained from a database metadata
  * call. This allows type-safe methods to obtain boolean, integer and
  * string data, while abstracting away the quirks of the JDBC metadata
- * API.
+ * API. Column names are resolved to column indexes once, when the
+ * results are opened.
  *
  * @author Sualeh Fatehi
  */
@@ -73,45 +72,92 @@ final class MetadataResultSet
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(MetadataResultSet.class.getName());
 
-  private static final int FETCHSIZE = 20;
+  private static ResultSet executeWithFetchSize(final Query query,
+                                               final Statement statement,
+                                               final SchemaCrawlerOptions options,
+                                               final int fetchSize)
+    throws SQLException
+  {
+    // Set the fetch size before executing, since some drivers fetch
+    // the first batch of rows with the query
+    try
+    {
+      statement.setFetchSize(fetchSize);
+    }
+    catch (final NullPointerException | SQLException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+    return executeAgainstSchema(query,
+                                statement,
+                                options.getSchemaInclusionRule(),
+                                options.getTableInclusionRule(),
+                                options.getColumnInclusionRule());
+  }
 
   private String description;
   private final ResultSet results;
-  private final List<String> resultSetColumns;
-  private Set<String> readColumns;
+  // Distinct column names, with the index of the first result set
+  // column with each name
+  private final String[] resultSetColumns;
+  private final int[] resultSetColumnIndexes;
+  private final Map<String, Integer> resultSetColumnLookup;
+  private final boolean[] readColumns;
+  // Unread columns are worked out again only when a row reads a
+  // different set of columns, which is rare
+  private boolean[] projectionReadColumns;
+  private int[] unreadColumns;
+  private final int fetchSize;
+  private final long startTime;
 
   private int rowCount;
 
   MetadataResultSet(final Query query,
                     final Statement statement,
-                    final InclusionRule schemaInclusionRule)
+                    final SchemaCrawlerOptions options,
+                    final int fetchSize)
     throws SQLException
   {
-    this(executeAgainstSchema(query, statement, schemaInclusionRule));
+    this(System.nanoTime(),
+         executeWithFetchSize(query, statement, options, fetchSize),
+         fetchSize);
     if (query.hasName())
     {
       description = query.getName();
     }
   }
 
-  MetadataResultSet(final ResultSet resultSet)
+  MetadataResultSet(final ResultSet resultSet, final int fetchSize)
+    throws SQLException
+  {
+    this(System.nanoTime(), resultSet, fetchSize);
+  }
+
+  private MetadataResultSet(final long startTime,
+                            final ResultSet resultSet,
+                            final int fetchSize)
     throws SQLException
   {
+    this.startTime = startTime;
+    this.fetchSize = fetchSize;
     results = requireNonNull(resultSet, "Cannot use null results");
     try
     {
-      results.setFetchSize(FETCHSIZE);
+      results.setFetchSize(fetchSize);
     }
     catch (final NullPointerException | SQLException e)
     {
       LOGGER.log(Level.WARNING, "Could not set fetch size", e);
     }
 
-    final List<String> resultSetColumns = new ArrayList<>();
+    final Map<String, Integer> resultSetColumnLookup = new HashMap<>();
+    int[] resultSetColumnIndexes = new int[0];
     try
     {
       final ResultSetMetaData rsMetaData = resultSet.getMetaData();
-      for (int i = 0; i < rsMetaData.getColumnCount(); i++)
+      final int columnCount = rsMetaData.getColumnCount();
+      resultSetColumnIndexes = new int[columnCount];
+      for (int i = 0; i < columnCount; i++)
       {
         String columnName;
         columnName = rsMetaData.getColumnLabel(i + 1);
@@ -119,16 +165,30 @@ final class MetadataResultSet
         {
           columnName = rsMetaData.getColumnName(i + 1);
         }
-        resultSetColumns.add(columnName.toUpperCase());
+        columnName = columnName.toUpperCase();
+        if (!resultSetColumnLookup.containsKey(columnName))
+        {
+          resultSetColumnIndexes[resultSetColumnLookup.size()] = i + 1;
+          resultSetColumnLookup.put(columnName, resultSetColumnLookup.size());
+        }
       }
     }
     catch (final SQLException e)
     {
       LOGGER.log(Level.WARNING, "Could not get columns list");
     }
-    this.resultSetColumns = Collections.unmodifiableList(resultSetColumns);
+    final int distinctColumnCount = resultSetColumnLookup.size();
+    this.resultSetColumnLookup = resultSetColumnLookup;
+    this.resultSetColumnIndexes = Arrays.copyOf(resultSetColumnIndexes,
+                                                distinctColumnCount);
+    resultSetColumns = new String[distinctColumnCount];
+    for (final Map.Entry<String, Integer> entry: resultSetColumnLookup
+      .entrySet())
+    {
+      resultSetColumns[entry.getValue()] = entry.getKey();
+    }
 
-    readColumns = new HashSet<>();
+    readColumns = new boolean[distinctColumnCount];
   }
 
   /**
@@ -148,9 +208,11 @@ final class MetadataResultSet
     if (LOGGER.isLoggable(Level.INFO) && !isBlank(description))
     {
       LOGGER.log(Level.INFO,
-                 new StringFormat("Processed %d rows for <%s>",
+                 new StringFormat("Processed %d rows for <%s>, in %d ms, with fetch size %d",
                                   rowCount,
-                                  description));
+                                  description,
+                                  getElapsedTime().toMillis(),
+                                  fetchSize));
     }
   }
 
@@ -163,31 +225,51 @@ final class MetadataResultSet
    */
   Map<String, Object> getAttributes()
   {
-    final Map<String, Object> attributes = new HashMap<>();
-    for (final String columnName: resultSetColumns)
+    if (unreadColumns == null
+        || !Arrays.equals(readColumns, projectionReadColumns))
     {
-      if (!readColumns.contains(columnName))
+      projectionReadColumns = readColumns.clone();
+      int unreadCount = 0;
+      final int[] unreadColumns = new int[readColumns.length];
+      for (int i = 0; i < readColumns.length; i++)
       {
-        try
-        {
-          final Object value = results.getObject(columnName);
-          attributes.put(columnName, value);
-        }
-        catch (final SQLException | ArrayIndexOutOfBoundsException e)
+        if (!readColumns[i])
         {
-          /*
-           * MySQL connector is broken and can cause
-           * ArrayIndexOutOfBoundsExceptions for no good reason (tested
-           * with connector 5.1.26 and server version 5.0.95). Ignoring
-           * the exception, we can still get some useful data out of the
-           * database.
-           */
-          LOGGER.log(Level.WARNING,
-                     new StringFormat("Could not read value for column <%s>",
-                                      columnName),
-                     e);
+          unreadColumns[unreadCount++] = i;
         }
       }
+      this.unreadColumns = Arrays.copyOf(unreadColumns, unreadCount);
+    }
+
+    if (unreadColumns.length == 0)
+    {
+      return Collections.emptyMap();
+    }
+    final Map<String, Object> attributes = new HashMap<>(unreadColumns.length
+                                                         * 2);
+    for (final int column: unreadColumns)
+    {
+      final String columnName = resultSetColumns[column];
+      try
+      {
+        final Object value = results
+          .getObject(resultSetColumnIndexes[column]);
+        attributes.put(columnName, value);
+      }
+      catch (final SQLException | ArrayIndexOutOfBoundsException e)
+      {
+        /*
+         * MySQL connector is broken and can cause
+         * ArrayIndexOutOfBoundsExceptions for no good reason (tested
+         * with connector 5.1.26 and server version 5.0.95). Ignoring
+         * the exception, we can still get some useful data out of the
+         * database.
+         */
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("Could not read value for column <%s>",
+                                    columnName),
+                   e);
+      }
     }
     return attributes;
   }
@@ -223,11 +305,12 @@ final class MetadataResultSet
    */
   boolean getBoolean(final String columnName)
   {
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        final Object booleanValue = results.getObject(columnName);
+        final Object booleanValue = results.getObject(columnIndex);
         final String stringBooleanValue;
         if (results.wasNull() || booleanValue == null)
         {
@@ -268,6 +351,17 @@ final class MetadataResultSet
     return false;
   }
 
+  /**
+   * Time taken since the query was executed, including reading all the
+   * rows that have been read so far.
+   *
+   * @return Elapsed time
+   */
+  Duration getElapsedTime()
+  {
+    return Duration.ofNanos(System.nanoTime() - startTime);
+  }
+
   /**
    * Reads the value of a column from the result set as an enum.
    *
@@ -333,11 +427,12 @@ final class MetadataResultSet
   int getInt(final String columnName, final int defaultValue)
   {
     int value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getInt(columnName);
+        value = results.getInt(columnIndex);
         if (results.wasNull())
         {
           LOGGER
@@ -373,11 +468,12 @@ final class MetadataResultSet
   long getLong(final String columnName, final long defaultValue)
   {
     long value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getLong(columnName);
+        value = results.getLong(columnIndex);
         if (results.wasNull())
         {
           LOGGER
@@ -399,6 +495,16 @@ final class MetadataResultSet
     return value;
   }
 
+  /**
+   * Number of rows that have been read so far.
+   *
+   * @return Row count
+   */
+  int getRowCount()
+  {
+    return rowCount;
+  }
+
   /**
    * Reads the value of a column from the result set as a short. If the
    * value was null, returns the default.
@@ -412,11 +518,12 @@ final class MetadataResultSet
   short getShort(final String columnName, final short defaultValue)
   {
     short value = defaultValue;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getShort(columnName);
+        value = results.getShort(columnIndex);
         if (results.wasNull())
         {
           LOGGER
@@ -449,11 +556,12 @@ final class MetadataResultSet
   String getString(final String columnName)
   {
     String value = null;
-    if (useColumn(columnName))
+    final int columnIndex = useColumn(columnName);
+    if (columnIndex > 0)
     {
       try
       {
-        value = results.getString(columnName);
+        value = results.getString(columnIndex);
         if (results.wasNull())
         {
           value = null;
@@ -491,7 +599,7 @@ final class MetadataResultSet
   boolean next()
     throws SQLException
   {
-    readColumns = new HashSet<>();
+    Arrays.fill(readColumns, false);
 
     final boolean next = results.next();
     logSQLWarnings(results);
@@ -507,15 +615,26 @@ final class MetadataResultSet
     this.description = description;
   }
 
-  private boolean useColumn(final String columnName)
+  /**
+   * Marks a column as read for the current row.
+   *
+   * @param columnName
+   *        Column name
+   * @return Result set column index, or 0 if there is no such column
+   */
+  private int useColumn(final String columnName)
   {
-    final boolean useColumn = columnName != null
-                              && resultSetColumns.contains(columnName);
-    if (useColumn)
+    if (columnName == null)
+    {
+      return 0;
+    }
+    final Integer column = resultSetColumnLookup.get(columnName);
+    if (column == null)
     {
-      readColumns.add(columnName);
+      return 0;
     }
-    return useColumn;
+    readColumns[column] = true;
+    return resultSetColumnIndexes[column];
   }
 
 }
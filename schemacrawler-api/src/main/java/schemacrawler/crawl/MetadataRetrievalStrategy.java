@@ -39,6 +39,10 @@ public enum MetadataRetrievalStrategy
   metadata_all,
   // use the INFORMATION_SCHEMA or database-specific data dictionary queries to
   // retrieve information for all database objects together
-  data_dictionary_all;
+  data_dictionary_all,
+  // choose one of the other strategies once tables have been retrieved,
+  // based on the number of tables, and how many of them were included;
+  // uses per-object calls for small or highly filtered sets of tables
+  auto;
 
 }
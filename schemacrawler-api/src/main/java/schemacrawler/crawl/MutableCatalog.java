@@ -31,6 +31,8 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -89,6 +91,7 @@ final class MutableCatalog
   private final NamedObjectList<MutableSynonym> synonyms = new NamedObjectList<>();
   private final NamedObjectList<MutableSequence> sequences = new NamedObjectList<>();
   private ImmutableCrawlInfo crawlInfo;
+  private transient TableDetailsLoader tableDetailsLoader;
 
   MutableCatalog(final String name)
   {
@@ -100,6 +103,21 @@ final class MutableCatalog
     jvmInfo = new JvmSystemInfo();
   }
 
+  MutableCatalog(final String name,
+                 final SchemaCrawlerInfo schemaCrawlerInfo,
+                 final OperatingSystemInfo osInfo,
+                 final JvmSystemInfo jvmInfo)
+  {
+    super(name);
+    databaseInfo = new MutableDatabaseInfo();
+    jdbcDriverInfo = new MutableJdbcDriverInfo();
+    this.schemaCrawlerInfo = requireNonNull(schemaCrawlerInfo,
+                                            "No SchemaCrawler information provided");
+    this.osInfo = requireNonNull(osInfo,
+                                 "No operating system information provided");
+    this.jvmInfo = requireNonNull(jvmInfo, "No JVM information provided");
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -496,4 +514,29 @@ final class MutableCatalog
     crawlInfo = new ImmutableCrawlInfo(jdbcDriverInfo, databaseInfo);
   }
 
+  void setCrawlInfo(final ImmutableCrawlInfo crawlInfo)
+  {
+    this.crawlInfo = crawlInfo;
+  }
+
+  void setTableDetailsLoader(final TableDetailsLoader tableDetailsLoader)
+  {
+    this.tableDetailsLoader = tableDetailsLoader;
+  }
+
+  /**
+   * Loads any table details that have not been loaded yet, before
+   * anything is written, so that the serialized catalog is complete.
+   */
+  private void writeObject(final ObjectOutputStream out)
+    throws IOException
+  {
+    final TableDetailsLoader loader = tableDetailsLoader;
+    if (loader != null)
+    {
+      loader.loadAll();
+    }
+    out.defaultWriteObject();
+  }
+
 }
@@ -206,6 +206,7 @@ final class MutableForeignKey
                                                                                                     pkColumn,
                                                                                                     fkColumn);
     columnReferences.add(fkColumnReference);
+    sortOrderChanged();
   }
 
   void appendDefinition(final String definition)
@@ -229,6 +230,7 @@ final class MutableForeignKey
   void setSpecificName(final String specificName)
   {
     this.specificName = specificName;
+    resetKey();
   }
 
   final void setUpdateRule(final ForeignKeyUpdateRule updateRule)
@@ -208,6 +208,7 @@ class MutableIndex
   final void addColumn(final MutableIndexColumn column)
   {
     columns.add(column);
+    sortOrderChanged();
   }
 
   final void appendDefinition(final String definition)
@@ -226,6 +227,7 @@ class MutableIndex
   final void setIndexType(final IndexType indexType)
   {
     this.indexType = requireNonNull(indexType, "Null index type");
+    sortOrderChanged();
   }
 
   final void setPages(final int pages)
@@ -236,6 +238,7 @@ class MutableIndex
   final void setUnique(final boolean unique)
   {
     isUnique = unique;
+    sortOrderChanged();
   }
 
 }
@@ -311,6 +311,12 @@ final class MutableIndexColumn
   void setIndexOrdinalPosition(final int indexOrdinalPosition)
   {
     this.indexOrdinalPosition = indexOrdinalPosition;
+    sortOrderChanged();
+    // Indexes are sorted on their columns
+    if (index instanceof AbstractNamedObject)
+    {
+      ((AbstractNamedObject) index).sortOrderChanged();
+    }
   }
 
   void setSortSequence(final IndexColumnSortSequence sortSequence)
@@ -29,6 +29,8 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -82,6 +84,7 @@ class MutableTable
   private final NamedObjectList<MutablePrivilege<Table>> privileges = new NamedObjectList<>();
   private int sortIndex;
   private final StringBuilder definition;
+  private transient TableDetailsLoader tableDetailsLoader;
 
   MutableTable(final Schema schema, final String name)
   {
@@ -120,6 +123,7 @@ class MutableTable
   @Override
   public List<Column> getColumns()
   {
+    loadColumns();
     return new ArrayList<>(columns.values());
   }
 
@@ -156,6 +160,7 @@ class MutableTable
   @Override
   public Collection<Column> getHiddenColumns()
   {
+    loadColumns();
     return new HashSet<>(hiddenColumns.values());
   }
 
@@ -171,6 +176,7 @@ class MutableTable
   @Override
   public Collection<Index> getIndexes()
   {
+    loadDetails();
     return new ArrayList<>(indexes.values());
   }
 
@@ -180,6 +186,7 @@ class MutableTable
   @Override
   public MutablePrimaryKey getPrimaryKey()
   {
+    loadDetails();
     return primaryKey;
   }
 
@@ -198,6 +205,7 @@ class MutableTable
   @Override
   public Collection<Table> getRelatedTables(final TableRelationshipType tableRelationshipType)
   {
+    loadDetails();
     final Set<Table> relatedTables = new HashSet<>();
     if (tableRelationshipType != null
         && tableRelationshipType != TableRelationshipType.none)
@@ -295,6 +303,7 @@ class MutableTable
   @Override
   public Optional<MutableColumn> lookupColumn(final String name)
   {
+    loadColumns();
     Optional<MutableColumn> optionalColumn = columns.lookup(this, name);
     if (!optionalColumn.isPresent())
     {
@@ -309,6 +318,7 @@ class MutableTable
   @Override
   public Optional<MutableForeignKey> lookupForeignKey(final String name)
   {
+    loadDetails();
     return foreignKeys.lookup(this, name);
   }
 
@@ -318,6 +328,7 @@ class MutableTable
   @Override
   public Optional<MutableIndex> lookupIndex(final String name)
   {
+    loadDetails();
     if (primaryKey != null && primaryKey.getName().equals(name))
     {
       return Optional.of(primaryKey);
@@ -393,6 +404,27 @@ class MutableTable
     }
   }
 
+  /**
+   * Gets the foreign keys that have been loaded so far, without loading
+   * the details of the table.
+   *
+   * @return Foreign keys that have been loaded
+   */
+  final Collection<MutableForeignKey> getLoadedForeignKeys()
+  {
+    return new ArrayList<>(foreignKeys.values());
+  }
+
+  final int getSortIndex()
+  {
+    return sortIndex;
+  }
+
+  final void removeForeignKey(final MutableForeignKey foreignKey)
+  {
+    foreignKeys.remove(foreignKey);
+  }
+
   final void setPrimaryKeyAndReplaceIndex(final MutablePrimaryKey primaryKey)
   {
     if (primaryKey == null)
@@ -415,9 +447,15 @@ class MutableTable
     }
   }
 
+  final void setTableDetailsLoader(final TableDetailsLoader tableDetailsLoader)
+  {
+    this.tableDetailsLoader = tableDetailsLoader;
+  }
+
   final void setSortIndex(final int sortIndex)
   {
     this.sortIndex = sortIndex;
+    sortOrderChanged();
   }
 
   final void setTableType(final TableType tableType)
@@ -430,10 +468,12 @@ class MutableTable
     {
       this.tableType = tableType;
     }
+    sortOrderChanged();
   }
 
   private Collection<ForeignKey> getForeignKeys(final TableAssociationType tableAssociationType)
   {
+    loadDetails();
     final List<ForeignKey> foreignKeysList = new ArrayList<>(foreignKeys
       .values());
     if (tableAssociationType != null
@@ -478,4 +518,42 @@ class MutableTable
     return foreignKeysList;
   }
 
+  private void loadAll()
+  {
+    final TableDetailsLoader loader = tableDetailsLoader;
+    if (loader != null)
+    {
+      loader.loadAll();
+    }
+  }
+
+  private void loadColumns()
+  {
+    final TableDetailsLoader loader = tableDetailsLoader;
+    if (loader != null)
+    {
+      loader.loadColumns(this);
+    }
+  }
+
+  private void loadDetails()
+  {
+    final TableDetailsLoader loader = tableDetailsLoader;
+    if (loader != null)
+    {
+      loader.loadDetails(this);
+    }
+  }
+
+  /**
+   * Loads any table details that have not been loaded yet, since they
+   * cannot be loaded once the table has been deserialized.
+   */
+  private void writeObject(final ObjectOutputStream out)
+    throws IOException
+  {
+    loadAll();
+    out.defaultWriteObject();
+  }
+
 }
@@ -119,6 +119,7 @@ class MutableTableConstraint
   public void setTableConstraintType(final TableConstraintType tableConstraintType)
   {
     this.tableConstraintType = tableConstraintType;
+    sortOrderChanged();
   }
 
   void addColumn(final MutableTableConstraintColumn column)
@@ -269,6 +269,7 @@ final class MutableTableConstraintColumn
   void setTableConstraintOrdinalPosition(final int indexOrdinalPosition)
   {
     tableConstraintOrdinalPosition = indexOrdinalPosition;
+    sortOrderChanged();
   }
 
 }
@@ -0,0 +1,111 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable lookup key for named objects, made up of the catalog,
+ * schema and object names. Unlike a list, the hash code is computed
+ * once, and the key can be extended with a dependent object name
+ * without copying through an intermediate list. Null names are allowed,
+ * and only match other null names.
+ */
+public final class NamedObjectKey
+  implements Serializable
+{
+
+  private static final long serialVersionUID = -6281468916537497617L;
+
+  private final String[] key;
+  private final int hashCode;
+
+  NamedObjectKey(final List<String> key)
+  {
+    this(requireNonNull(key, "No key provided").toArray(new String[0]));
+  }
+
+  public NamedObjectKey(final String... key)
+  {
+    this.key = requireNonNull(key, "No key provided");
+    hashCode = Arrays.hashCode(key);
+  }
+
+  @Override
+  public boolean equals(final Object obj)
+  {
+    if (this == obj)
+    {
+      return true;
+    }
+    if (!(obj instanceof NamedObjectKey))
+    {
+      return false;
+    }
+    final NamedObjectKey other = (NamedObjectKey) obj;
+    return hashCode == other.hashCode && Arrays.equals(key, other.key);
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return hashCode;
+  }
+
+  @Override
+  public String toString()
+  {
+    return Arrays.toString(key);
+  }
+
+  List<String> toList()
+  {
+    return new ArrayList<>(Arrays.asList(key));
+  }
+
+  /**
+   * Creates a key for a dependent object, by appending its name.
+   *
+   * @param name
+   *        Name of the dependent object
+   * @return Extended key
+   */
+  NamedObjectKey with(final String name)
+  {
+    final String[] extendedKey = Arrays.copyOf(key, key.length + 1);
+    extendedKey[key.length] = name;
+    return new NamedObjectKey(extendedKey);
+  }
+
+}
@@ -32,8 +32,11 @@ package schemacrawler.crawl;
 import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -53,58 +56,80 @@ import sf.util.ObjectToString;
  * is not created yet. That is, by NamedObject + String. Returns values
  * sorted in natural sort order, and is iterable. The iterator does not
  * allow modifications to the underlying data structure.
+ * <p>
+ * The values are kept in a list that is sorted when it is read after a
+ * change, and reads return an unmodifiable snapshot of that list, which
+ * is only copied again after the list changes. Added objects are
+ * appended, so a bulk load is sorted once, on the next read. The sort
+ * order of some objects (such as indexes, foreign keys and tables)
+ * depends on state that is set after they are added, so setters of
+ * that state call {@link AbstractNamedObject#sortOrderChanged()}, which
+ * marks only the lists that hold that object for re-sorting.
  */
 final class NamedObjectList<N extends NamedObject>
   implements Serializable, ReducibleCollection<N>
 {
 
-  private static final long serialVersionUID = 3257847666804142128L;
+  private static final long serialVersionUID = 3835932187464738218L;
 
-  private static List<String> makeLookupKey(final NamedObject namedObject)
+  private static NamedObjectKey makeLookupKey(final NamedObject namedObject)
   {
-    final List<String> key;
+    final NamedObjectKey key;
     if (namedObject == null)
     {
       key = null;
     }
+    else if (namedObject instanceof AbstractNamedObject)
+    {
+      key = ((AbstractNamedObject) namedObject).key();
+    }
     else
     {
-      key = namedObject.toUniqueLookupKey();
+      key = new NamedObjectKey(namedObject.toUniqueLookupKey());
     }
     return key;
   }
 
-  private static List<String> makeLookupKey(final NamedObject namedObject,
-                                            final String name)
+  private static NamedObjectKey makeLookupKey(final NamedObject namedObject,
+                                              final String name)
   {
-    final List<String> key = makeLookupKey(namedObject);
+    final NamedObjectKey key = makeLookupKey(namedObject);
     if (key != null)
     {
-      key.add(name);
+      return key.with(name);
     }
     return key;
   }
 
-  private final Map<List<String>, N> objects = new HashMap<>();
+  private final Map<NamedObjectKey, N> objects = new HashMap<>();
+  private transient List<N> sorted;
+  private transient volatile boolean unsorted;
+  private transient List<N> snapshot;
 
   @Override
-  public void filter(final Predicate<? super N> predicate)
+  public synchronized void filter(final Predicate<? super N> predicate)
   {
     if (predicate == null)
     {
       return;
     }
 
-    final Set<Entry<List<String>, N>> entrySet = objects.entrySet();
-    for (final Iterator<Entry<List<String>, N>> iterator = entrySet
+    final Set<Entry<NamedObjectKey, N>> entrySet = objects.entrySet();
+    for (final Iterator<Entry<NamedObjectKey, N>> iterator = entrySet
       .iterator(); iterator.hasNext();)
     {
-      final Entry<List<String>, N> entry = iterator.next();
-      if (!predicate.test(entry.getValue()))
+      final Entry<NamedObjectKey, N> entry = iterator.next();
+      final N namedObject = entry.getValue();
+      if (!predicate.test(namedObject))
       {
         iterator.remove();
+        removedFrom(namedObject);
       }
     }
+    // Rebuilt on the next read, so that the predicate is evaluated only
+    // once for each object
+    sorted = null;
+    snapshot = null;
   }
 
   @Override
@@ -167,20 +192,40 @@ final class NamedObjectList<N extends NamedObject>
    * @param namedObject
    *        Named object
    */
-  boolean add(final N namedObject)
+  synchronized boolean add(final N namedObject)
   {
     requireNonNull(namedObject, "Cannot add a null object to the list");
-    final List<String> key = makeLookupKey(namedObject);
-    objects.put(key, namedObject);
+    final NamedObjectKey key = makeLookupKey(namedObject);
+    final N previous = objects.put(key, namedObject);
+    if (previous != null && previous != namedObject)
+    {
+      removedFrom(previous);
+    }
+    if (namedObject instanceof AbstractNamedObject)
+    {
+      ((AbstractNamedObject) namedObject).addedTo(this);
+    }
+    if (sorted != null)
+    {
+      if (previous != null)
+      {
+        removeSorted(previous);
+      }
+      // Sorted on the next read, which is a merge of the sorted values
+      // and the appended ones
+      sorted.add(namedObject);
+      unsorted = true;
+    }
+    snapshot = null;
     return true;
   }
 
-  boolean contains(final NamedObject namedObject)
+  synchronized boolean contains(final NamedObject namedObject)
   {
     return objects.containsKey(makeLookupKey(namedObject));
   }
 
-  boolean isEmpty()
+  synchronized boolean isEmpty()
   {
     return objects.isEmpty();
   }
@@ -193,19 +238,45 @@ final class NamedObjectList<N extends NamedObject>
    * @return Named object
    */
   Optional<N> lookup(final List<String> lookupKey)
+  {
+    if (lookupKey == null)
+    {
+      return Optional.empty();
+    }
+    return internalGet(new NamedObjectKey(lookupKey));
+  }
+
+  /**
+   * Looks up a named object by lookup key.
+   *
+   * @param lookupKey
+   *        Lookup key
+   * @return Named object
+   */
+  Optional<N> lookup(final NamedObjectKey lookupKey)
   {
     return internalGet(lookupKey);
   }
 
   Optional<N> lookup(final NamedObject namedObject, final String name)
   {
-    final List<String> key = makeLookupKey(namedObject, name);
+    final NamedObjectKey key = makeLookupKey(namedObject, name);
     return internalGet(key);
   }
 
-  N remove(final N namedObject)
+  synchronized N remove(final N namedObject)
   {
-    return objects.remove(makeLookupKey(namedObject));
+    final N removed = objects.remove(makeLookupKey(namedObject));
+    if (removed != null)
+    {
+      removedFrom(removed);
+      if (sorted != null)
+      {
+        removeSorted(removed);
+      }
+      snapshot = null;
+    }
+    return removed;
   }
 
   /**
@@ -213,7 +284,7 @@ final class NamedObjectList<N extends NamedObject>
    *
    * @return Number of elements in this list.
    */
-  int size()
+  synchronized int size()
   {
     return objects.size();
   }
@@ -221,18 +292,114 @@ final class NamedObjectList<N extends NamedObject>
   /**
    * Gets all named objects in the list, in sorted order.
    *
-   * @return All named objects
+   * @return All named objects, as an unmodifiable list
+   */
+  synchronized List<N> values()
+  {
+    if (snapshot != null && !unsorted)
+    {
+      return snapshot;
+    }
+
+    if (sorted == null)
+    {
+      sorted = new ArrayList<>(objects.values());
+      unsorted = true;
+    }
+    if (unsorted)
+    {
+      // Cleared before sorting, so that a sort order change while
+      // sorting causes another sort on the next read
+      unsorted = false;
+      // A single linear pass when the list is still in order
+      sorted.sort(naturalOrder());
+    }
+    snapshot = Collections.unmodifiableList(new ArrayList<>(sorted));
+    return snapshot;
+  }
+
+  /**
+   * Notes that the sort order of an object in this list has changed, so
+   * that the list is re-sorted before it is read again.
    */
-  List<N> values()
+  void sortOrderChanged()
+  {
+    unsorted = true;
+  }
+
+  private void readObject(final ObjectInputStream in)
+    throws IOException, ClassNotFoundException
+  {
+    in.defaultReadObject();
+    for (final N namedObject: objects.values())
+    {
+      if (namedObject instanceof AbstractNamedObject)
+      {
+        ((AbstractNamedObject) namedObject).addedTo(this);
+      }
+    }
+  }
+
+  private void removedFrom(final N namedObject)
   {
-    final List<N> all = new ArrayList<>(objects.values());
-    all.sort(naturalOrder());
-    return all;
+    if (namedObject instanceof AbstractNamedObject)
+    {
+      ((AbstractNamedObject) namedObject).removedFrom(this);
+    }
   }
 
-  private Optional<N> internalGet(final List<String> key)
+  private synchronized Optional<N> internalGet(final NamedObjectKey key)
   {
     return Optional.ofNullable(objects.get(key));
   }
 
+  /**
+   * Finds the object by binary search, and then looks at neighbouring
+   * objects that sort the same. If the list is not sorted, or the sort
+   * order has changed since the list was sorted, the object may not be
+   * where it is expected, so the whole list is searched.
+   */
+  private void removeSorted(final N namedObject)
+  {
+    final int index;
+    if (unsorted)
+    {
+      index = -1;
+    }
+    else
+    {
+      index = Collections.binarySearch(sorted, namedObject, naturalOrder());
+    }
+    if (index >= 0)
+    {
+      for (int i = index; i >= 0
+                          && sorted.get(i).compareTo(namedObject) == 0; i--)
+      {
+        if (sorted.get(i) == namedObject)
+        {
+          sorted.remove(i);
+          return;
+        }
+      }
+      for (int i = index + 1; i < sorted.size()
+                              && sorted.get(i).compareTo(namedObject) == 0; i++)
+      {
+        if (sorted.get(i) == namedObject)
+        {
+          sorted.remove(i);
+          return;
+        }
+      }
+    }
+
+    for (final Iterator<N> iterator = sorted.iterator(); iterator.hasNext();)
+    {
+      if (iterator.next() == namedObject)
+      {
+        iterator.remove();
+        return;
+      }
+    }
+  }
+
 }
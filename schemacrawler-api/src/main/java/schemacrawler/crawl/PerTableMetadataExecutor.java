@@ -0,0 +1,350 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+
+import schemacrawler.schemacrawler.SchemaCrawlerSQLException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs database metadata calls that need to be made once for every
+ * table. The calls are either made one after the other on the retriever
+ * connection, or spread across a number of additional connections,
+ * with each connection taking a contiguous run of tables, so that
+ * tables in the same schema are mostly retrieved together. When
+ * additional connections are used, each connection reads the rows for
+ * a table into memory concurrently with the others, and only adding
+ * the buffered rows to the catalog is done one table at a time. If the
+ * driver's results cannot be read into a {@link CachedRowSet}, rows are
+ * read from the driver while they are added to the catalog instead, so
+ * that the calls still overlap, but reading the rows does not.
+ *
+ * @author Sualeh Fatehi
+ */
+final class PerTableMetadataExecutor
+{
+
+  /**
+   * Makes a metadata call for a single table.
+   */
+  @FunctionalInterface
+  interface MetadataCall
+  {
+
+    ResultSet call(DatabaseMetaData metaData, MutableTable table)
+      throws SQLException;
+
+  }
+
+  /**
+   * Handles the results of a metadata call for a single table.
+   */
+  @FunctionalInterface
+  interface MetadataResultsHandler
+  {
+
+    void handle(MutableTable table, MetadataResultSet results)
+      throws SQLException;
+
+  }
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(PerTableMetadataExecutor.class.getName());
+
+  private final RetrieverConnection retrieverConnection;
+  private final String description;
+  private final Object resultsLock = new Object();
+  private final AtomicLong rowCount = new AtomicLong();
+  private final AtomicLong elapsedNanos = new AtomicLong();
+  private volatile boolean isBufferResults = true;
+
+  PerTableMetadataExecutor(final RetrieverConnection retrieverConnection,
+                           final String description)
+  {
+    this.retrieverConnection = requireNonNull(retrieverConnection,
+                                              "No retriever connection provided");
+    this.description = requireNonNull(description, "No description provided");
+  }
+
+  /**
+   * Makes each of the metadata calls for every table, in order, and
+   * hands the results to the handler. The number of rows read, and the
+   * time taken by the calls, are logged once all tables are done.
+   *
+   * @param tables
+   *        Tables to retrieve metadata for
+   * @param handler
+   *        Handler for the results of each call
+   * @param calls
+   *        Metadata calls to make for each table
+   * @throws SchemaCrawlerSQLException
+   *         On an exception for any table
+   */
+  void execute(final Collection<MutableTable> tables,
+               final MetadataResultsHandler handler,
+               final MetadataCall... calls)
+    throws SchemaCrawlerSQLException
+  {
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(handler, "No results handler provided");
+
+    executeOnConnections(tables, handler, calls);
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Processed %d rows of %s for %d tables, in %d ms of queries, with fetch size %d",
+                                rowCount.get(),
+                                description,
+                                tables.size(),
+                                Duration.ofNanos(elapsedNanos.get()).toMillis(),
+                                retrieverConnection
+                                  .getFetchSize(MetadataRetrievalStrategy.metadata)));
+  }
+
+  private void executeOnConnections(final Collection<MutableTable> tables,
+                                    final MetadataResultsHandler handler,
+                                    final MetadataCall... calls)
+    throws SchemaCrawlerSQLException
+  {
+    final int connectionsCount = Math
+      .min(retrieverConnection.getMetadataRetrievalConnections(),
+           tables.size());
+    if (connectionsCount <= 1)
+    {
+      execute(retrieverConnection.getMetaData(),
+              tables,
+              handler,
+              null,
+              calls);
+      return;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Retrieving %s for %d tables, using %d connections",
+                                description,
+                                tables.size(),
+                                connectionsCount));
+
+    final List<List<MutableTable>> partitions = partition(tables,
+                                                          connectionsCount);
+    final Supplier<Connection> connectionSupplier = retrieverConnection
+      .getConnectionSupplier();
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(connectionsCount);
+    try
+    {
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (final List<MutableTable> partition: partitions)
+      {
+        futures.add(executorService.submit(() -> {
+          try (final Connection connection = connectionSupplier.get();)
+          {
+            if (connection == null)
+            {
+              throw new SQLException("No connection supplied");
+            }
+            execute(connection.getMetaData(),
+                    partition,
+                    handler,
+                    RowSetProvider.newFactory(),
+                    calls);
+          }
+          return null;
+        }));
+      }
+      for (final Future<Void> future: futures)
+      {
+        future.get();
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SchemaCrawlerSQLException)
+      {
+        throw (SchemaCrawlerSQLException) cause;
+      }
+      throw new SchemaCrawlerSQLException("Could not retrieve " + description,
+                                          cause instanceof Exception? (Exception) cause: e);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerSQLException("Interrupted while retrieving "
+                                          + description, e);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+  private void execute(final DatabaseMetaData metaData,
+                       final Collection<MutableTable> tables,
+                       final MetadataResultsHandler handler,
+                       final RowSetFactory rowSetFactory,
+                       final MetadataCall... calls)
+    throws SchemaCrawlerSQLException
+  {
+    final int fetchSize = retrieverConnection
+      .getFetchSize(MetadataRetrievalStrategy.metadata);
+    for (final MutableTable table: tables)
+    {
+      LOGGER.log(Level.FINE,
+                 new StringFormat("Retrieving %s for %s",
+                                  description,
+                                  table));
+      for (final MetadataCall call: calls)
+      {
+        try
+        {
+          ResultSet resultSet = call.call(metaData, table);
+          if (rowSetFactory != null && isBufferResults)
+          {
+            try
+            {
+              resultSet = buffer(rowSetFactory, resultSet, fetchSize);
+            }
+            catch (final SQLException e)
+            {
+              // Some drivers return results that CachedRowSet cannot
+              // read, so read them on the connection instead
+              if (isBufferResults)
+              {
+                isBufferResults = false;
+                LOGGER.log(Level.WARNING,
+                           new StringFormat("Could not buffer %s, so reading them while other connections wait",
+                                            description),
+                           e);
+              }
+              resultSet = call.call(metaData, table);
+            }
+          }
+          handle(table, handler, resultSet, fetchSize);
+        }
+        catch (final SQLException e)
+        {
+          throw new SchemaCrawlerSQLException(String
+            .format("Could not retrieve %s for %s <%s>",
+                    description,
+                    table.getTableType(),
+                    table), e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads all the rows of a metadata call into memory, so that the
+   * driver does not need to be called while the catalog is locked.
+   */
+  private ResultSet buffer(final RowSetFactory rowSetFactory,
+                           final ResultSet resultSet,
+                           final int fetchSize)
+    throws SQLException
+  {
+    final long startTime = System.nanoTime();
+    try (final ResultSet results = resultSet;)
+    {
+      try
+      {
+        results.setFetchSize(fetchSize);
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+      }
+      final CachedRowSet rows = rowSetFactory.createCachedRowSet();
+      rows.populate(results);
+      return rows;
+    }
+    finally
+    {
+      elapsedNanos.addAndGet(System.nanoTime() - startTime);
+    }
+  }
+
+  private void handle(final MutableTable table,
+                      final MetadataResultsHandler handler,
+                      final ResultSet resultSet,
+                      final int fetchSize)
+    throws SQLException
+  {
+    synchronized (resultsLock)
+    {
+      try (final MetadataResultSet results = new MetadataResultSet(resultSet,
+                                                                   fetchSize);)
+      {
+        handler.handle(table, results);
+        rowCount.addAndGet(results.getRowCount());
+        if (!(resultSet instanceof CachedRowSet))
+        {
+          elapsedNanos.addAndGet(results.getElapsedTime().toNanos());
+        }
+      }
+    }
+  }
+
+  private List<List<MutableTable>> partition(final Collection<MutableTable> tables,
+                                             final int partitionsCount)
+  {
+    final List<MutableTable> allTables = new ArrayList<>(tables);
+    final List<List<MutableTable>> partitions = new ArrayList<>();
+    final int size = allTables.size();
+    for (int i = 0; i < partitionsCount; i++)
+    {
+      final int from = (int) ((long) size * i / partitionsCount);
+      final int to = (int) ((long) size * (i + 1) / partitionsCount);
+      partitions.add(allTables.subList(from, to));
+    }
+    return partitions;
+  }
+
+}
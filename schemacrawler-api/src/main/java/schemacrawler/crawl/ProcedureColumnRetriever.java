@@ -36,7 +36,6 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -147,12 +146,11 @@ final class ProcedureColumnRetriever
       return;
     }
 
-    final Optional<MutableRoutine> optionalRoutine = allRoutines.lookup(Arrays
-                                                                          .asList(
-                                                                            columnCatalogName,
-                                                                            schemaName,
-                                                                            procedureName,
-                                                                            specificName));
+    final Optional<MutableRoutine> optionalRoutine = allRoutines
+      .lookup(new NamedObjectKey(columnCatalogName,
+                                 schemaName,
+                                 procedureName,
+                                 specificName));
     if (!optionalRoutine.isPresent())
     {
       return;
@@ -192,7 +190,7 @@ final class ProcedureColumnRetriever
       column.setNullable(isNullable);
       column.setRemarks(remarks);
 
-      column.addAttributes(results.getAttributes());
+      addMetadataAttributes(column, results);
 
       LOGGER.log(Level.FINER,
                  new StringFormat("Adding column to procedure <%s>",
@@ -257,7 +255,8 @@ final class ProcedureColumnRetriever
       final MetadataResultSet results = new MetadataResultSet(
         procedureColumnsSql,
         statement,
-        getSchemaInclusionRule());)
+        getOptions(),
+        getRetrieverConnection().getFetchSize(InformationSchemaKey.PROCEDURE_COLUMNS));)
     {
       results.setDescription("retrieveProcedureColumnsFromDataDictionary");
       while (results.next())
@@ -290,7 +289,8 @@ final class ProcedureColumnRetriever
                                                                          .getName(),
                                                                        procedure
                                                                          .getName(),
-                                                                       null));)
+                                                                       null),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));)
       {
         while (results.next())
         {
@@ -315,7 +315,8 @@ final class ProcedureColumnRetriever
                                                                      null,
                                                                      null,
                                                                      "%",
-                                                                     "%"));)
+                                                                     "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       while (results.next())
       {
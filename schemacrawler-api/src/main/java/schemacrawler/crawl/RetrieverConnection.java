@@ -30,13 +30,17 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.isFilteredByTableInclusionRule;
 import static sf.util.DatabaseUtility.checkConnection;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.utility.JavaSqlTypes;
@@ -56,18 +60,67 @@ final class RetrieverConnection
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(RetrieverConnection.class.getName());
 
+  /**
+   * Rough number of bulk result rows that can be read in the time
+   * taken for a single metadata call round trip.
+   */
+  private static final int ROWS_PER_ROUND_TRIP = 50;
+
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final DatabaseMetaData metaData;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final TableTypes tableTypes;
   private final JavaSqlTypes javaSqlTypes;
+  private final AutoRetrieval autoRetrieval;
 
   RetrieverConnection(final Connection connection,
                       final SchemaRetrievalOptions schemaRetrievalOptions)
     throws SQLException
   {
+    this(connection, null, schemaRetrievalOptions, new AutoRetrieval());
+  }
+
+  RetrieverConnection(final Connection connection,
+                      final Supplier<Connection> connectionSupplier,
+                      final SchemaRetrievalOptions schemaRetrievalOptions)
+    throws SQLException
+  {
+    this(connection,
+         connectionSupplier,
+         schemaRetrievalOptions,
+         new AutoRetrieval());
+  }
+
+  /**
+   * Creates a retriever connection for another connection in the same
+   * crawl, which shares the retrieval strategies that were chosen
+   * automatically.
+   *
+   * @param connection
+   *        Database connection
+   * @param crawlConnection
+   *        Retriever connection for the crawl
+   */
+  RetrieverConnection(final Connection connection,
+                      final RetrieverConnection crawlConnection)
+    throws SQLException
+  {
+    this(connection,
+         crawlConnection.connectionSupplier,
+         crawlConnection.schemaRetrievalOptions,
+         crawlConnection.autoRetrieval);
+  }
+
+  private RetrieverConnection(final Connection connection,
+                              final Supplier<Connection> connectionSupplier,
+                              final SchemaRetrievalOptions schemaRetrievalOptions,
+                              final AutoRetrieval autoRetrieval)
+    throws SQLException
+  {
 
     this.connection = checkConnection(connection);
+    this.connectionSupplier = connectionSupplier;
     metaData = connection.getMetaData();
     this.schemaRetrievalOptions = requireNonNull(schemaRetrievalOptions,
                                                  "No database specific overrides provided");
@@ -77,6 +130,7 @@ final class RetrieverConnection
                new StringFormat("Supported table types are <%s>", tableTypes));
 
     javaSqlTypes = new JavaSqlTypes();
+    this.autoRetrieval = autoRetrieval;
   }
 
   Connection getConnection()
@@ -84,24 +138,50 @@ final class RetrieverConnection
     return connection;
   }
 
+  /**
+   * Supplier for additional connections, which may be null if only a
+   * single connection is available.
+   *
+   * @return Connection supplier, or null
+   */
+  Supplier<Connection> getConnectionSupplier()
+  {
+    return connectionSupplier;
+  }
+
   MetadataRetrievalStrategy getForeignKeyRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getForeignKeyRetrievalStrategy();
+    return selectRetrievalStrategy(schemaRetrievalOptions
+      .getForeignKeyRetrievalStrategy(), InformationSchemaKey.FOREIGN_KEYS);
   }
 
   MetadataRetrievalStrategy getFunctionColumnRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getFunctionColumnRetrievalStrategy();
+    return selectRoutineParameterRetrievalStrategy(schemaRetrievalOptions
+      .getFunctionColumnRetrievalStrategy(),
+                                                   InformationSchemaKey.FUNCTION_COLUMNS);
   }
 
   MetadataRetrievalStrategy getFunctionRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getFunctionRetrievalStrategy();
+    return selectNamesRetrievalStrategy(schemaRetrievalOptions
+      .getFunctionRetrievalStrategy(), InformationSchemaKey.FUNCTIONS);
+  }
+
+  int getFetchSize(final InformationSchemaKey key)
+  {
+    return schemaRetrievalOptions.getFetchSize(key);
+  }
+
+  int getFetchSize(final MetadataRetrievalStrategy strategy)
+  {
+    return schemaRetrievalOptions.getFetchSize(strategy);
   }
 
   MetadataRetrievalStrategy getIndexRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getIndexRetrievalStrategy();
+    return selectRetrievalStrategy(schemaRetrievalOptions
+      .getIndexRetrievalStrategy(), InformationSchemaKey.INDEXES);
   }
 
   /**
@@ -124,29 +204,51 @@ final class RetrieverConnection
     return metaData;
   }
 
+  /**
+   * Number of connections that per-table metadata calls can be spread
+   * across. This is always 1 if there is no supplier for additional
+   * connections.
+   *
+   * @return Number of connections for per-table metadata calls
+   */
+  int getMetadataRetrievalConnections()
+  {
+    if (connectionSupplier == null)
+    {
+      return 1;
+    }
+    return schemaRetrievalOptions.getMetadataRetrievalConnections();
+  }
+
   MetadataRetrievalStrategy getPrimaryKeyRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getPrimaryKeyRetrievalStrategy();
+    return selectRetrievalStrategy(schemaRetrievalOptions
+      .getPrimaryKeyRetrievalStrategy(), InformationSchemaKey.PRIMARY_KEYS);
   }
 
   MetadataRetrievalStrategy getProcedureColumnRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getProcedureColumnRetrievalStrategy();
+    return selectRoutineParameterRetrievalStrategy(schemaRetrievalOptions
+      .getProcedureColumnRetrievalStrategy(),
+                                                   InformationSchemaKey.PROCEDURE_COLUMNS);
   }
 
   MetadataRetrievalStrategy getProcedureRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getProcedureRetrievalStrategy();
+    return selectNamesRetrievalStrategy(schemaRetrievalOptions
+      .getProcedureRetrievalStrategy(), InformationSchemaKey.PROCEDURES);
   }
 
   MetadataRetrievalStrategy getTableColumnRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getTableColumnRetrievalStrategy();
+    return selectRetrievalStrategy(schemaRetrievalOptions
+      .getTableColumnRetrievalStrategy(), InformationSchemaKey.TABLE_COLUMNS);
   }
 
   MetadataRetrievalStrategy getTableRetrievalStrategy()
   {
-    return schemaRetrievalOptions.getTableRetrievalStrategy();
+    return selectNamesRetrievalStrategy(schemaRetrievalOptions
+      .getTableRetrievalStrategy(), InformationSchemaKey.TABLES);
   }
 
   TableTypes getTableTypes()
@@ -159,6 +261,24 @@ final class RetrieverConnection
     return schemaRetrievalOptions.getTypeMap();
   }
 
+  /**
+   * Whether table details are loaded on first access. This is never
+   * the case when there is a supplier for additional connections,
+   * since those connections are closed once the crawl is done.
+   *
+   * @return Whether table details are loaded lazily
+   */
+  boolean isLoadTableDetailsLazily()
+  {
+    return connectionSupplier == null
+           && schemaRetrievalOptions.isLoadTableDetailsLazily();
+  }
+
+  boolean isRetrieveMetadataAttributes()
+  {
+    return schemaRetrievalOptions.isRetrieveMetadataAttributes();
+  }
+
   boolean isSupportsCatalogs()
   {
     return schemaRetrievalOptions.isSupportsCatalogs();
@@ -169,4 +289,167 @@ final class RetrieverConnection
     return schemaRetrievalOptions.isSupportsSchemas();
   }
 
+  /**
+   * Decides how to retrieve table details for objects that have the
+   * automatic retrieval strategy. Per-table metadata calls cost a round
+   * trip for each included table, while bulk retrieval costs reading a
+   * row for every table in the included schemas, whether or not it
+   * passes the table inclusion rules.
+   * <p>
+   * If the tables data dictionary query was narrowed by the table
+   * inclusion rule, the number of tables in the included schemas is
+   * not known. Bulk retrieval is then only used with data dictionary
+   * queries that are narrowed in the same way, since they read rows
+   * only for the included tables.
+   *
+   * @param tablesCount
+   *        Number of tables that were included
+   * @param tablesScanned
+   *        Number of tables that were read from the database, before
+   *        table inclusion rules were applied
+   * @param tableInclusionRule
+   *        Table inclusion rule
+   */
+  void selectAutoRetrievalStrategy(final int tablesCount,
+                                   final int tablesScanned,
+                                   final InclusionRule tableInclusionRule)
+  {
+    final boolean isTablesFiltered = getTableRetrievalStrategy() == MetadataRetrievalStrategy.data_dictionary_all
+                                     && isFilteredByTableInclusionRule(getInformationSchemaViews()
+                                       .getQuery(InformationSchemaKey.TABLES),
+                                                                       tableInclusionRule);
+    if (isTablesFiltered)
+    {
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Using bulk retrieval for table details of %d objects only with data dictionary queries that are narrowed by the table inclusion rule",
+                                  tablesCount));
+      autoRetrieval.tableInclusionRule = tableInclusionRule;
+      autoRetrieval.isTablesFiltered = true;
+      autoRetrieval.isBulkRetrieval = true;
+    }
+    else
+    {
+      autoRetrieval.isTablesFiltered = false;
+      autoRetrieval.isBulkRetrieval = isBulkRetrievalCheaper("table details",
+                                                             tablesCount,
+                                                             tablesScanned);
+    }
+  }
+
+  /**
+   * Decides how to retrieve routine parameters for objects that have
+   * the automatic retrieval strategy, in the same way as for table
+   * details.
+   *
+   * @param routinesCount
+   *        Number of routines that were included
+   * @param routinesScanned
+   *        Number of routines in the included schemas, before routine
+   *        inclusion rules were applied
+   */
+  void selectAutoRoutineRetrievalStrategy(final int routinesCount,
+                                          final int routinesScanned)
+  {
+    autoRetrieval.isBulkRoutineRetrieval = isBulkRetrievalCheaper("routine parameters",
+                                                                  routinesCount,
+                                                                  routinesScanned);
+  }
+
+  private boolean isBulkRetrievalCheaper(final String description,
+                                         final int count,
+                                         final int scanned)
+  {
+    final long perObjectCost = (long) count * ROWS_PER_ROUND_TRIP;
+    final boolean bulkRetrieval = perObjectCost >= scanned;
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Using %s retrieval for %s of %d objects, out of %d in the included schemas (%.1f%% selectivity)",
+                                bulkRetrieval? "bulk": "per-object",
+                                description,
+                                count,
+                                scanned,
+                                scanned == 0? 100D: count * 100D / scanned));
+    return bulkRetrieval;
+  }
+
+  /**
+   * Objects such as tables and routines need to be retrieved before
+   * their number is known, so use the data dictionary if possible,
+   * since it is restricted to the included schemas.
+   */
+  private MetadataRetrievalStrategy selectNamesRetrievalStrategy(final MetadataRetrievalStrategy retrievalStrategy,
+                                                                 final InformationSchemaKey dataDictionaryKey)
+  {
+    if (retrievalStrategy != MetadataRetrievalStrategy.auto)
+    {
+      return retrievalStrategy;
+    }
+    if (getInformationSchemaViews().hasQuery(dataDictionaryKey))
+    {
+      return MetadataRetrievalStrategy.data_dictionary_all;
+    }
+    return MetadataRetrievalStrategy.metadata;
+  }
+
+  private MetadataRetrievalStrategy selectRetrievalStrategy(final MetadataRetrievalStrategy retrievalStrategy,
+                                                            final InformationSchemaKey dataDictionaryKey)
+  {
+    if (retrievalStrategy == MetadataRetrievalStrategy.auto
+        && autoRetrieval.isTablesFiltered)
+    {
+      final InformationSchemaViews informationSchemaViews = getInformationSchemaViews();
+      if (informationSchemaViews.hasQuery(dataDictionaryKey)
+          && isFilteredByTableInclusionRule(informationSchemaViews
+            .getQuery(dataDictionaryKey), autoRetrieval.tableInclusionRule))
+      {
+        return MetadataRetrievalStrategy.data_dictionary_all;
+      }
+      return MetadataRetrievalStrategy.metadata;
+    }
+    return selectAutoRetrievalStrategy(retrievalStrategy,
+                                       dataDictionaryKey,
+                                       autoRetrieval.isBulkRetrieval);
+  }
+
+  private MetadataRetrievalStrategy selectRoutineParameterRetrievalStrategy(final MetadataRetrievalStrategy retrievalStrategy,
+                                                                            final InformationSchemaKey dataDictionaryKey)
+  {
+    return selectAutoRetrievalStrategy(retrievalStrategy,
+                                       dataDictionaryKey,
+                                       autoRetrieval.isBulkRoutineRetrieval);
+  }
+
+  private MetadataRetrievalStrategy selectAutoRetrievalStrategy(final MetadataRetrievalStrategy retrievalStrategy,
+                                                                final InformationSchemaKey dataDictionaryKey,
+                                                                final boolean bulkRetrieval)
+  {
+    if (retrievalStrategy != MetadataRetrievalStrategy.auto)
+    {
+      return retrievalStrategy;
+    }
+    if (!bulkRetrieval)
+    {
+      return MetadataRetrievalStrategy.metadata;
+    }
+    if (getInformationSchemaViews().hasQuery(dataDictionaryKey))
+    {
+      return MetadataRetrievalStrategy.data_dictionary_all;
+    }
+    return MetadataRetrievalStrategy.metadata_all;
+  }
+
+  /**
+   * Retrieval strategies chosen automatically during a crawl, which are
+   * shared by all the connections used for the crawl.
+   */
+  private static final class AutoRetrieval
+  {
+
+    private volatile boolean isBulkRetrieval;
+    private volatile boolean isBulkRoutineRetrieval;
+    private volatile boolean isTablesFiltered;
+    private volatile InclusionRule tableInclusionRule;
+
+  }
+
 }
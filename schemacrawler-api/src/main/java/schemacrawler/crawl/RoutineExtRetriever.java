@@ -93,7 +93,8 @@ final class RoutineExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(routineDefinitionsSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.ROUTINES));)
     {
       while (results.next())
       {
@@ -36,7 +36,6 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -69,6 +68,8 @@ final class RoutineRetriever
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(RoutineRetriever.class.getName());
 
+  private int routinesScanned;
+
   RoutineRetriever(final RetrieverConnection retrieverConnection,
                    final MutableCatalog catalog,
                    final SchemaCrawlerOptions options)
@@ -164,6 +165,18 @@ final class RoutineRetriever
 
   }
 
+  /**
+   * Number of routines in the included schemas that were read from the
+   * database while retrieving routines, before routine inclusion rules
+   * were applied.
+   *
+   * @return Number of routines read
+   */
+  int getRoutinesScanned()
+  {
+    return routinesScanned;
+  }
+
   private void createFunction(final MetadataResultSet results,
                               final NamedObjectList<SchemaReference> schemas,
                               final InclusionRuleFilter<Function> functionFilter)
@@ -190,12 +203,13 @@ final class RoutineRetriever
     final String specificName = results.getString("SPECIFIC_NAME");
 
     final Optional<SchemaReference> optionalSchema = schemas
-      .lookup(Arrays.asList(catalogName, schemaName));
+      .lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
     }
     final Schema schema = optionalSchema.get();
+    routinesScanned = routinesScanned + 1;
 
     final MutableFunction function = new MutableFunction(schema, functionName);
     if (functionFilter.test(function))
@@ -203,7 +217,7 @@ final class RoutineRetriever
       function.setReturnType(functionType);
       function.setSpecificName(specificName);
       function.setRemarks(remarks);
-      function.addAttributes(results.getAttributes());
+      addMetadataAttributes(function, results);
 
       catalog.addRoutine(function);
     }
@@ -233,12 +247,13 @@ final class RoutineRetriever
     final String specificName = results.getString("SPECIFIC_NAME");
 
     final Optional<SchemaReference> optionalSchema = schemas
-      .lookup(Arrays.asList(catalogName, schemaName));
+      .lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
     }
     final Schema schema = optionalSchema.get();
+    routinesScanned = routinesScanned + 1;
 
     final MutableProcedure procedure = new MutableProcedure(schema,
                                                             procedureName);
@@ -247,7 +262,7 @@ final class RoutineRetriever
       procedure.setReturnType(procedureType);
       procedure.setSpecificName(specificName);
       procedure.setRemarks(remarks);
-      procedure.addAttributes(results.getAttributes());
+      addMetadataAttributes(procedure, results);
 
       catalog.addRoutine(procedure);
     }
@@ -269,7 +284,8 @@ final class RoutineRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(functionsSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.FUNCTIONS));)
     {
       results.setDescription("retrieveFunctionsFromDataDictionary");
       int numFunctions = 0;
@@ -296,7 +312,8 @@ final class RoutineRetriever
       final String schemaName = schema.getName();
 
       try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-        .getFunctions(catalogName, schemaName, "%"));)
+        .getFunctions(catalogName, schemaName, "%"),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));)
       {
         results.setDescription("retrieveFunctionsFromMetadata");
         int numFunctions = 0;
@@ -326,7 +343,8 @@ final class RoutineRetriever
     throws SQLException
   {
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getFunctions(null, null, "%"));)
+      .getFunctions(null, null, "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       results.setDescription("retrieveFunctionsFromMetadataForAllFunctions");
       int numFunctions = 0;
@@ -366,7 +384,8 @@ final class RoutineRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(proceduresSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.PROCEDURES));)
     {
       results.setDescription("retrieveProceduresFromDataDictionary");
       int numProcedures = 0;
@@ -394,7 +413,8 @@ final class RoutineRetriever
       final String schemaName = schema.getName();
 
       try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-        .getProcedures(catalogName, schemaName, "%"));)
+        .getProcedures(catalogName, schemaName, "%"),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));)
       {
         results.setDescription("retrieveProceduresFromMetadata");
         int numProcedures = 0;
@@ -414,7 +434,8 @@ final class RoutineRetriever
     throws SQLException
   {
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getProcedures(null, null, "%"));)
+      .getProcedures(null, null, "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       results.setDescription("retrieveProceduresFromMetadataForAllProcedures");
       int numProcedures = 0;
@@ -30,11 +30,20 @@ package schemacrawler.crawl;
 
 
 import static java.util.Objects.requireNonNull;
+import static schemacrawler.filter.FilterFactory.tableFilter;
 import static schemacrawler.filter.ReducerFactory.*;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.schema.*;
@@ -55,6 +64,61 @@ public final class SchemaCrawler
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(SchemaCrawler.class.getName());
 
+  private static void crawlColumnAttributes(final MutableCatalog catalog,
+                                            final RetrieverConnection retrieverConnection,
+                                            final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    if (allTables.isEmpty())
+    {
+      return;
+    }
+
+    if (isLoadTableDetailsLazily(retrieverConnection, options))
+    {
+      LOGGER.log(Level.INFO,
+                 "Not retrieving additional column attributes, since table details are loaded lazily");
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlColumnAttributes");
+
+    LOGGER.log(Level.INFO, "Crawling additional column attributes");
+
+    try
+    {
+      final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+      final TableExtRetriever retrieverExtra = new TableExtRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+
+      stopWatch.time("retrieveAdditionalColumnAttributes", () -> {
+        if (infoLevel.isRetrieveAdditionalColumnAttributes())
+        {
+          retrieverExtra.retrieveAdditionalColumnAttributes();
+        }
+        return null;
+      });
+
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+    }
+    catch (final SchemaCrawlerSQLException e)
+    {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception retrieving additional column attributes",
+                                       e);
+    }
+  }
+
   private static void crawlColumnDataTypes(final MutableCatalog catalog,
                                            final RetrieverConnection retrieverConnection,
                                            final SchemaCrawlerOptions options)
@@ -286,6 +350,13 @@ public final class SchemaCrawler
         return;
       }
 
+      stopWatch.time("selectAutoRetrievalStrategy", () -> {
+        retrieverConnection
+          .selectAutoRoutineRetrievalStrategy(allRoutines.size(),
+                                              retriever.getRoutinesScanned());
+        return null;
+      });
+
       stopWatch.time("retrieveRoutineParameters", () -> {
         LOGGER.log(Level.INFO, "Retrieving routine columns");
         if (infoLevel.isRetrieveRoutineParameters())
@@ -535,10 +606,6 @@ public final class SchemaCrawler
         retrieverConnection,
         catalog,
         options);
-      final TableConstraintRetriever constraintRetriever = new TableConstraintRetriever(
-        retrieverConnection,
-        catalog,
-        options);
       final TableExtRetriever retrieverExtra = new TableExtRetriever(
         retrieverConnection,
         catalog,
@@ -563,6 +630,41 @@ public final class SchemaCrawler
         return;
       }
 
+      stopWatch.time("selectAutoRetrievalStrategy", () -> {
+        retrieverConnection.selectAutoRetrievalStrategy(allTables.size(),
+                                                        retriever
+                                                          .getTablesScanned(),
+                                                        options
+                                                          .getTableInclusionRule());
+        return null;
+      });
+
+      if (isLoadTableDetailsLazily(retrieverConnection, options))
+      {
+        stopWatch.time("filterTables", () -> {
+          LOGGER.log(Level.INFO,
+                     "Table details will be loaded when they are first accessed");
+          // Tables cannot be sorted using foreign keys that are not
+          // loaded yet, so they keep their alphabetical order
+          catalog.reduce(Table.class, getTableReducer(tableFilter(options)));
+
+          final TableDetailsLoader tableDetailsLoader = new TableDetailsLoader(
+            retrieverConnection,
+            catalog,
+            options);
+          tableDetailsLoader.addTables(catalog.getAllTables());
+          return null;
+        });
+
+        LOGGER.log(Level.INFO, stopWatch.stringify());
+        return;
+      }
+      else if (retrieverConnection.isLoadTableDetailsLazily())
+      {
+        LOGGER.log(Level.INFO,
+                   "Loading table details during the crawl, since tables are filtered by grep or by related tables");
+      }
+
       stopWatch.time("retrieveColumns", () -> {
         LOGGER.log(Level.INFO, "Retrieving table columns");
         if (infoLevel.isRetrieveTableColumns())
@@ -625,7 +727,57 @@ public final class SchemaCrawler
         return null;
       });
 
-      LOGGER.log(Level.INFO, "Retrieving additional table information");
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+    }
+    catch (final SchemaCrawlerSQLException e)
+    {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception retrieving table information",
+                                       e);
+    }
+  }
+
+  private static void crawlTableConstraints(final MutableCatalog catalog,
+                                            final RetrieverConnection retrieverConnection,
+                                            final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    if (allTables.isEmpty())
+    {
+      return;
+    }
+
+    if (isLoadTableDetailsLazily(retrieverConnection, options))
+    {
+      LOGGER.log(Level.INFO,
+                 "Not retrieving table constraints and index information, since table details are loaded lazily");
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlTableConstraints");
+
+    LOGGER.log(Level.INFO, "Crawling table constraints and index information");
+
+    try
+    {
+      final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+      final TableConstraintRetriever constraintRetriever = new TableConstraintRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+      final TableExtRetriever retrieverExtra = new TableExtRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+
       stopWatch.time("retrieveTableConstraintInformation", () -> {
         if (infoLevel.isRetrieveTableConstraintInformation())
         {
@@ -640,13 +792,58 @@ public final class SchemaCrawler
         }
         return null;
       });
-      stopWatch.time("retrieveTriggerInformation", () -> {
-        if (infoLevel.isRetrieveTriggerInformation())
+      stopWatch.time("retrieveIndexInformation", () -> {
+        if (infoLevel.isRetrieveIndexInformation())
         {
-          retrieverExtra.retrieveTriggerInformation();
+          retrieverExtra.retrieveIndexInformation();
+          if (infoLevel.isRetrieveIndexColumnInformation())
+          {
+            retrieverExtra.retrieveIndexColumnInformation();
+          }
         }
         return null;
       });
+
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+    }
+    catch (final SchemaCrawlerSQLException e)
+    {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception retrieving table constraint information",
+                                       e);
+    }
+  }
+
+  private static void crawlTableDefinitions(final MutableCatalog catalog,
+                                            final RetrieverConnection retrieverConnection,
+                                            final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    if (allTables.isEmpty())
+    {
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlTableDefinitions");
+
+    LOGGER.log(Level.INFO, "Crawling view and table definitions");
+
+    try
+    {
+      final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+      final TableExtRetriever retrieverExtra = new TableExtRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+
       stopWatch.time("retrieveViewInformation", () -> {
         if (infoLevel.isRetrieveViewInformation())
         {
@@ -661,18 +858,6 @@ public final class SchemaCrawler
         }
         return null;
       });
-      stopWatch.time("retrieveIndexInformation", () -> {
-        if (infoLevel.isRetrieveIndexInformation())
-        {
-          retrieverExtra.retrieveIndexInformation();
-          if (infoLevel.isRetrieveIndexColumnInformation())
-          {
-            retrieverExtra.retrieveIndexColumnInformation();
-          }
-        }
-        return null;
-      });
-
       stopWatch.time("retrieveAdditionalTableAttributes", () -> {
         if (infoLevel.isRetrieveAdditionalTableAttributes())
         {
@@ -680,6 +865,47 @@ public final class SchemaCrawler
         }
         return null;
       });
+
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+    }
+    catch (final SchemaCrawlerSQLException e)
+    {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception retrieving table definitions",
+                                       e);
+    }
+  }
+
+  private static void crawlTablePrivileges(final MutableCatalog catalog,
+                                           final RetrieverConnection retrieverConnection,
+                                           final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    if (allTables.isEmpty())
+    {
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlTablePrivileges");
+
+    LOGGER.log(Level.INFO, "Crawling table and column privileges");
+
+    try
+    {
+      final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+      final TableExtRetriever retrieverExtra = new TableExtRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+
       stopWatch.time("retrieveTablePrivileges", () -> {
         if (infoLevel.isRetrieveTablePrivileges())
         {
@@ -687,18 +913,59 @@ public final class SchemaCrawler
         }
         return null;
       });
-
-      stopWatch.time("retrieveAdditionalColumnAttributes", () -> {
-        if (infoLevel.isRetrieveAdditionalColumnAttributes())
+      stopWatch.time("retrieveTableColumnPrivileges", () -> {
+        if (infoLevel.isRetrieveTableColumnPrivileges()
+            && !isLoadTableDetailsLazily(retrieverConnection, options))
         {
-          retrieverExtra.retrieveAdditionalColumnAttributes();
+          retrieverExtra.retrieveTableColumnPrivileges();
         }
         return null;
       });
-      stopWatch.time("retrieveTableColumnPrivileges", () -> {
-        if (infoLevel.isRetrieveTableColumnPrivileges())
+
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+    }
+    catch (final SchemaCrawlerSQLException e)
+    {
+      throw new SchemaCrawlerException(e.getMessage(), e.getCause());
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception retrieving table privileges",
+                                       e);
+    }
+  }
+
+  private static void crawlTableTriggers(final MutableCatalog catalog,
+                                         final RetrieverConnection retrieverConnection,
+                                         final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+    if (allTables.isEmpty())
+    {
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlTableTriggers");
+
+    LOGGER.log(Level.INFO, "Crawling triggers");
+
+    try
+    {
+      final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+      final TableExtRetriever retrieverExtra = new TableExtRetriever(
+        retrieverConnection,
+        catalog,
+        options);
+
+      stopWatch.time("retrieveTriggerInformation", () -> {
+        if (infoLevel.isRetrieveTriggerInformation())
         {
-          retrieverExtra.retrieveTableColumnPrivileges();
+          retrieverExtra.retrieveTriggerInformation();
         }
         return null;
       });
@@ -715,12 +982,27 @@ public final class SchemaCrawler
     }
     catch (final Exception e)
     {
-      throw new SchemaCrawlerException("Exception retrieving table information",
+      throw new SchemaCrawlerException("Exception retrieving trigger information",
                                        e);
     }
   }
 
+  /**
+   * Table details can only be loaded lazily if tables are not filtered
+   * by grep or by related tables, since those filters need the columns
+   * and foreign keys of every table.
+   */
+  private static boolean isLoadTableDetailsLazily(final RetrieverConnection retrieverConnection,
+                                                  final SchemaCrawlerOptions options)
+  {
+    return retrieverConnection.isLoadTableDetailsLazily()
+           && !options.isGrepColumns() && !options.isGrepDefinitions()
+           && options.getChildTableFilterDepth() == 0
+           && options.getParentTableFilterDepth() == 0;
+  }
+
   private final Connection connection;
+  private final Supplier<Connection> connectionSupplier;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final SchemaCrawlerOptions schemaCrawlerOptions;
 
@@ -736,6 +1018,34 @@ public final class SchemaCrawler
                        final SchemaCrawlerOptions schemaCrawlerOptions)
   {
     this.connection = requireNonNull(connection, "No connection specified");
+    connectionSupplier = null;
+    this.schemaRetrievalOptions = requireNonNull(schemaRetrievalOptions,
+                                                 "No database-specific schema retrieval overrides provided");
+    this.schemaCrawlerOptions = requireNonNull(schemaCrawlerOptions,
+                                               "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Constructs a SchemaCrawler object that crawls independent phases
+   * concurrently. Database information, schemas, column data types and
+   * tables are crawled first on a single connection. After that,
+   * additional table information, routines and synonyms, and sequences
+   * are crawled at the same time, each on its own connection. Every
+   * connection obtained from the supplier is closed once it is no
+   * longer needed, so the supplier would typically be backed by a
+   * connection pool.
+   *
+   * @param connectionSupplier     Supplier of database connections.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param schemaCrawlerOptions   SchemaCrawler options
+   */
+  public SchemaCrawler(final Supplier<Connection> connectionSupplier,
+                       final SchemaRetrievalOptions schemaRetrievalOptions,
+                       final SchemaCrawlerOptions schemaCrawlerOptions)
+  {
+    connection = null;
+    this.connectionSupplier = requireNonNull(connectionSupplier,
+                                             "No connection supplier specified");
     this.schemaRetrievalOptions = requireNonNull(schemaRetrievalOptions,
                                                  "No database-specific schema retrieval overrides provided");
     this.schemaCrawlerOptions = requireNonNull(schemaCrawlerOptions,
@@ -754,6 +1064,12 @@ public final class SchemaCrawler
     final MutableCatalog catalog = new MutableCatalog("catalog");
     try
     {
+      if (connectionSupplier != null)
+      {
+        crawlConcurrently(catalog);
+        return catalog;
+      }
+
       final RetrieverConnection retrieverConnection = new RetrieverConnection(
         connection,
         schemaRetrievalOptions);
@@ -764,6 +1080,11 @@ public final class SchemaCrawler
       crawlSchemas(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlColumnDataTypes(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlTables(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlTableConstraints(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlTableTriggers(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlTableDefinitions(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlTablePrivileges(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlColumnAttributes(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlRoutines(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlSynonyms(catalog, retrieverConnection, schemaCrawlerOptions);
       crawlSequences(catalog, retrieverConnection, schemaCrawlerOptions);
@@ -776,4 +1097,191 @@ public final class SchemaCrawler
     }
   }
 
+  private void crawlConcurrently(final MutableCatalog catalog)
+    throws SQLException, SchemaCrawlerException
+  {
+    final RetrieverConnection retrieverConnection;
+    try (final Connection connection = connectionSupplier.get();)
+    {
+      retrieverConnection = new RetrieverConnection(connection,
+                                                    connectionSupplier,
+                                                    schemaRetrievalOptions);
+
+      crawlDatabaseInfo(catalog, retrieverConnection, schemaCrawlerOptions);
+      LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
+
+      crawlSchemas(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlColumnDataTypes(catalog, retrieverConnection, schemaCrawlerOptions);
+      crawlTables(catalog, retrieverConnection, schemaCrawlerOptions);
+    }
+
+    // The lists of tables and schemas are no longer modified, so they
+    // can safely be read from all phases. Phases may set attributes on
+    // the same objects, and named object lists and attribute maps are
+    // synchronized for that. Synonyms refer to routines, so they are
+    // crawled after routines are filtered.
+    final SchemaInfoLevel infoLevel = schemaCrawlerOptions
+      .getSchemaInfoLevel();
+    final List<CrawlPhase> phases = new ArrayList<>();
+    if (!catalog.getAllTables().isEmpty())
+    {
+      if (infoLevel.isRetrieveTableConstraintInformation()
+          || infoLevel.isRetrieveTableConstraintDefinitions()
+          || infoLevel.isRetrieveIndexInformation())
+      {
+        phases.add(new CrawlPhase("crawlTableConstraints",
+                                  SchemaCrawler::crawlTableConstraints));
+      }
+      if (infoLevel.isRetrieveTriggerInformation())
+      {
+        phases.add(new CrawlPhase("crawlTableTriggers",
+                                  SchemaCrawler::crawlTableTriggers));
+      }
+      if (infoLevel.isRetrieveViewInformation()
+          || infoLevel.isRetrieveTableDefinitionsInformation()
+          || infoLevel.isRetrieveAdditionalTableAttributes())
+      {
+        phases.add(new CrawlPhase("crawlTableDefinitions",
+                                  SchemaCrawler::crawlTableDefinitions));
+      }
+      if (infoLevel.isRetrieveTablePrivileges()
+          || infoLevel.isRetrieveTableColumnPrivileges())
+      {
+        phases.add(new CrawlPhase("crawlTablePrivileges",
+                                  SchemaCrawler::crawlTablePrivileges));
+      }
+      if (infoLevel.isRetrieveAdditionalColumnAttributes())
+      {
+        phases.add(new CrawlPhase("crawlColumnAttributes",
+                                  SchemaCrawler::crawlColumnAttributes));
+      }
+    }
+    if (infoLevel.isRetrieveRoutines()
+        || infoLevel.isRetrieveSynonymInformation())
+    {
+      phases.add(new CrawlPhase("crawlRoutinesAndSynonyms",
+                                SchemaCrawler::crawlRoutines,
+                                SchemaCrawler::crawlSynonyms));
+    }
+    if (infoLevel.isRetrieveSequenceInformation())
+    {
+      phases.add(new CrawlPhase("crawlSequences",
+                                SchemaCrawler::crawlSequences));
+    }
+    if (phases.isEmpty())
+    {
+      return;
+    }
+
+    final StopWatch stopWatch = new StopWatch("crawlConcurrently");
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(phases.size());
+    try
+    {
+      final Duration phasesDuration = stopWatch.time("crawlPhases", () -> {
+        final List<Future<Duration>> futures = new ArrayList<>();
+        for (final CrawlPhase phase: phases)
+        {
+          futures.add(executorService
+            .submit(() -> phase.crawl(catalog, retrieverConnection)));
+        }
+        Duration totalPhasesDuration = Duration.ZERO;
+        for (final Future<Duration> future: futures)
+        {
+          totalPhasesDuration = totalPhasesDuration.plus(future.get());
+        }
+        return totalPhasesDuration;
+      });
+
+      final long elapsedMillis = stopWatch.getTotalDuration().toMillis();
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Crawled %d phases concurrently in %d ms, with a total phase time of %d ms (%.1fx overlap)",
+                                  phases.size(),
+                                  elapsedMillis,
+                                  phasesDuration.toMillis(),
+                                  phasesDuration.toMillis()
+                                                  / (double) Math
+                                                    .max(elapsedMillis, 1)));
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SchemaCrawlerException)
+      {
+        throw (SchemaCrawlerException) cause;
+      }
+      throw new SchemaCrawlerException("Exception crawling concurrently",
+                                       cause);
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Exception crawling concurrently", e);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+
+    LOGGER.log(Level.INFO, stopWatch.stringify());
+  }
+
+  /**
+   * A named sequence of crawl steps that run one after the other on a
+   * connection of their own.
+   */
+  private final class CrawlPhase
+  {
+
+    private final String name;
+    private final CrawlStep[] steps;
+
+    CrawlPhase(final String name, final CrawlStep... steps)
+    {
+      this.name = name;
+      this.steps = steps;
+    }
+
+    /**
+     * Crawls on a new connection, sharing the retrieval strategies
+     * chosen automatically for the crawl.
+     */
+    Duration crawl(final MutableCatalog catalog,
+                   final RetrieverConnection crawlConnection)
+      throws Exception
+    {
+      final StopWatch stopWatch = new StopWatch(name);
+      try (final Connection connection = connectionSupplier.get();)
+      {
+        final RetrieverConnection retrieverConnection = new RetrieverConnection(
+          connection,
+          crawlConnection);
+        stopWatch.time(name, () -> {
+          for (final CrawlStep step: steps)
+          {
+            step.crawl(catalog, retrieverConnection, schemaCrawlerOptions);
+          }
+          return null;
+        });
+      }
+      LOGGER.log(Level.INFO, stopWatch.stringify());
+      return stopWatch.getTotalDuration();
+    }
+
+  }
+
+  @FunctionalInterface
+  private interface CrawlStep
+  {
+
+    void crawl(MutableCatalog catalog,
+               RetrieverConnection retrieverConnection,
+               SchemaCrawlerOptions options)
+      throws SchemaCrawlerException;
+
+  }
+
 }
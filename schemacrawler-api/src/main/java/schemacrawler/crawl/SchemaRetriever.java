@@ -178,7 +178,8 @@ final class SchemaRetriever
     {
       int numSchemas = 0;
       try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-        .getSchemas());)
+        .getSchemas(),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
       {
         results.setDescription("retrieveAllSchemas");
         while (results.next())
@@ -250,7 +251,8 @@ final class SchemaRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(schemataSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.SCHEMATA));)
     {
       results.setDescription("retrieveAllSchemasFromInformationSchemaViews");
       int numSchemas = 0;
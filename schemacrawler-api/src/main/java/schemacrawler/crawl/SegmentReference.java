@@ -0,0 +1,143 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+
+/**
+ * Stands in for a database object that belongs to a different segment
+ * of a catalog snapshot than the one that is being written. The object
+ * is looked up again by its unique lookup key when the segment is read
+ * back.
+ */
+final class SegmentReference
+  implements Serializable
+{
+
+  enum ReferenceType
+  {
+   schema,
+   columnDataType,
+   table,
+   column,
+   routine;
+  }
+
+  private static final long serialVersionUID = -3197433260926311508L;
+
+  static SegmentReference column(final Column column)
+  {
+    return new SegmentReference(ReferenceType.column,
+                                column.getParent().toUniqueLookupKey(),
+                                column.getName());
+  }
+
+  static SegmentReference reference(final ReferenceType referenceType,
+                                    final NamedObject namedObject)
+  {
+    return new SegmentReference(referenceType,
+                                namedObject.toUniqueLookupKey(),
+                                null);
+  }
+
+  private final ReferenceType referenceType;
+  private final ArrayList<String> lookupKey;
+  private final String columnName;
+
+  private SegmentReference(final ReferenceType referenceType,
+                           final List<String> lookupKey,
+                           final String columnName)
+  {
+    this.referenceType = requireNonNull(referenceType,
+                                        "No reference type provided");
+    this.lookupKey = new ArrayList<>(requireNonNull(lookupKey,
+                                                    "No lookup key provided"));
+    this.columnName = columnName;
+  }
+
+  /**
+   * Unique lookup key of the referenced schema, column data type, table
+   * or routine. For columns, this is the lookup key of the table.
+   */
+  List<String> getLookupKey()
+  {
+    return lookupKey;
+  }
+
+  String getColumnName()
+  {
+    return columnName;
+  }
+
+  /**
+   * Name of the referenced object, which comes after the schema in the
+   * lookup key.
+   */
+  String getName()
+  {
+    return lookupKey.get(2);
+  }
+
+  ReferenceType getReferenceType()
+  {
+    return referenceType;
+  }
+
+  /**
+   * Schema of the referenced object, made up from the lookup key.
+   */
+  Schema getSchema()
+  {
+    return new SchemaReference(lookupKey.get(0), lookupKey.get(1));
+  }
+
+  /**
+   * Stand-in for a referenced object that could not be found, in the
+   * same way as a synonym for an object that was not crawled.
+   */
+  DatabaseObject toDatabaseObject()
+  {
+    return new AbstractDatabaseObject(getSchema(), getName())
+    {
+
+      private static final long serialVersionUID = 2394571130238841027L;
+    };
+  }
+
+}
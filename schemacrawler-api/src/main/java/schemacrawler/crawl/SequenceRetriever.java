@@ -33,7 +33,6 @@ import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.Optional;
 import java.util.logging.Level;
 
@@ -109,7 +108,8 @@ final class SequenceRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(sequencesDefinitionSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.SEQUENCES));)
     {
       while (results.next())
       {
@@ -125,7 +125,7 @@ final class SequenceRetriever
         final boolean cycle = results.getBoolean("CYCLE_OPTION");
 
         final Optional<SchemaReference> optionalSchema = schemas
-          .lookup(Arrays.asList(catalogName, schemaName));
+          .lookup(new NamedObjectKey(catalogName, schemaName));
         if (!optionalSchema.isPresent())
         {
           continue;
@@ -36,15 +36,14 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Level;
 
 import schemacrawler.filter.InclusionRuleFilter;
 import schemacrawler.schema.Column;
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
@@ -90,7 +89,7 @@ final class TableColumnRetriever
       return;
     }
 
-    final Set<List<String>> hiddenColumns = retrieveHiddenTableColumns();
+    final Set<NamedObjectKey> hiddenColumns = retrieveHiddenTableColumns();
 
     final MetadataRetrievalStrategy tableColumnRetrievalStrategy = getRetrieverConnection()
       .getTableColumnRetrievalStrategy();
@@ -129,7 +128,7 @@ final class TableColumnRetriever
   private void createTableColumn(final MetadataResultSet results,
                                  final NamedObjectList<MutableTable> allTables,
                                  final InclusionRuleFilter<Column> columnFilter,
-                                 final Set<List<String>> hiddenColumns)
+                                 final Set<NamedObjectKey> hiddenColumns)
   {
     // Get the "COLUMN_DEF" value first as it the Oracle drivers
     // don't handle it properly otherwise.
@@ -156,7 +155,7 @@ final class TableColumnRetriever
     }
 
     final Optional<MutableTable> optionalTable = allTables
-      .lookup(Arrays.asList(columnCatalogName, schemaName, tableName));
+      .lookup(new NamedObjectKey(columnCatalogName, schemaName, tableName));
     if (!optionalTable.isPresent())
     {
       return;
@@ -179,8 +178,10 @@ final class TableColumnRetriever
       final boolean isGenerated = results.getBoolean("IS_GENERATEDCOLUMN");
       final String remarks = results.getString("REMARKS");
 
-      final List<String> lookupKey = Arrays
-        .asList(columnCatalogName, schemaName, tableName, columnName);
+      final NamedObjectKey lookupKey = new NamedObjectKey(columnCatalogName,
+                                                          schemaName,
+                                                          tableName,
+                                                          columnName);
       final boolean isHidden = hiddenColumns.contains(lookupKey);
 
       String columnDataTypeName = null;
@@ -213,7 +214,7 @@ final class TableColumnRetriever
         column.setDefaultValue(defaultValue);
       }
 
-      column.addAttributes(results.getAttributes());
+      addMetadataAttributes(column, results);
 
       LOGGER.log(Level.FINER,
                  new StringFormat("Adding %scolumn to table <%s>",
@@ -249,11 +250,11 @@ final class TableColumnRetriever
     return column;
   }
 
-  private Set<List<String>> retrieveHiddenTableColumns()
+  private Set<NamedObjectKey> retrieveHiddenTableColumns()
     throws SQLException
   {
 
-    final Set<List<String>> hiddenColumns = new HashSet<>();
+    final Set<NamedObjectKey> hiddenColumns = new HashSet<>();
 
     final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
       .getInformationSchemaViews();
@@ -269,7 +270,8 @@ final class TableColumnRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(hiddenColumnsSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_HIDDEN_TABLE_COLUMNS));)
     {
       results.setDescription("retrieveHiddenColumns");
       while (results.next())
@@ -290,8 +292,10 @@ final class TableColumnRetriever
                                     tableName,
                                     columnName));
 
-        final List<String> lookupKey = Arrays
-          .asList(catalogName, schemaName, tableName, columnName);
+        final NamedObjectKey lookupKey = new NamedObjectKey(catalogName,
+                                                            schemaName,
+                                                            tableName,
+                                                            columnName);
         hiddenColumns.add(lookupKey);
       }
     }
@@ -301,7 +305,7 @@ final class TableColumnRetriever
 
   private void retrieveTableColumnsFromDataDictionary(final NamedObjectList<MutableTable> allTables,
                                                       final InclusionRuleFilter<Column> columnFilter,
-                                                      final Set<List<String>> hiddenColumns)
+                                                      final Set<NamedObjectKey> hiddenColumns)
     throws SQLException
   {
     final InformationSchemaViews informationSchemaViews = getRetrieverConnection()
@@ -317,7 +321,8 @@ final class TableColumnRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tableColumnsSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.TABLE_COLUMNS));)
     {
       results.setDescription("retrieveTableColumnsFromDataDictionary");
       while (results.next())
@@ -329,40 +334,35 @@ final class TableColumnRetriever
 
   private void retrieveTableColumnsFromMetadata(final NamedObjectList<MutableTable> allTables,
                                                 final InclusionRuleFilter<Column> columnFilter,
-                                                final Set<List<String>> hiddenColumns)
+                                                final Set<NamedObjectKey> hiddenColumns)
     throws SchemaCrawlerSQLException
   {
-    for (final MutableTable table: allTables)
-    {
-      LOGGER.log(Level.FINE, "Retrieving table columns for " + table);
-      try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-        .getColumns(table.getSchema().getCatalogName(),
-                    table.getSchema().getName(),
-                    table.getName(),
-                    null));)
-      {
-        while (results.next())
-        {
-          createTableColumn(results, allTables, columnFilter, hiddenColumns);
-        }
-      }
-      catch (final SQLException e)
+    final PerTableMetadataExecutor executor = new PerTableMetadataExecutor(getRetrieverConnection(),
+                                                                           "table columns");
+    executor.execute(allTables.values(), (table, results) -> {
+      while (results.next())
       {
-        throw new SchemaCrawlerSQLException(String
-          .format("Could not retrieve table columns for %s <%s>",
-                  table.getTableType(),
-                  table), e);
+        createTableColumn(results, allTables, columnFilter, hiddenColumns);
       }
-    }
+    }, (metaData, table) -> metaData
+      .getColumns(table.getSchema().getCatalogName(),
+                  table.getSchema().getName(),
+                  table.getName(),
+                  null));
   }
 
   private void retrieveTableColumnsFromMetadataForAllTables(final NamedObjectList<MutableTable> allTables,
                                                             final InclusionRuleFilter<Column> columnFilter,
-                                                            final Set<List<String>> hiddenColumns)
+                                                            final Set<NamedObjectKey> hiddenColumns)
     throws SQLException
   {
+    final Optional<Schema> tablesSchema = lookupCommonSchema(allTables);
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getColumns(null, null, "%", "%"));)
+      .getColumns(tablesSchema.map(Schema::getCatalogName).orElse(null),
+                  tablesSchema.map(Schema::getName).orElse(null),
+                  "%",
+                  "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       while (results.next())
       {
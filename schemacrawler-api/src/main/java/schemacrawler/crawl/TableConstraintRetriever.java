@@ -99,7 +99,8 @@ final class TableConstraintRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(extTableConstraintInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_TABLE_CONSTRAINTS));)
     {
       while (results.next())
       {
@@ -178,7 +179,8 @@ final class TableConstraintRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tableConstraintsInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.TABLE_CONSTRAINTS));)
     {
 
       while (results.next())
@@ -259,7 +261,8 @@ final class TableConstraintRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tableConstraintsColumnsInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.CONSTRAINT_COLUMN_USAGE));)
     {
       while (results.next())
       {
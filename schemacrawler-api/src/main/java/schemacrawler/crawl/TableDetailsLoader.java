@@ -0,0 +1,367 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import static java.util.Objects.requireNonNull;
+import static sf.util.Utility.isBlank;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerRuntimeException;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Loads the columns, primary keys, indexes and foreign keys of tables
+ * when they are first accessed, instead of during the crawl. Details
+ * are loaded for all the tables of a schema at a time, so that a
+ * schema takes the same few calls as it would during a crawl, rather
+ * than a call for each table. Foreign keys refer to columns of tables
+ * in other schemas, so loading them may load the columns, but not the
+ * other details, of those schemas. Details are loaded on the connection
+ * that the catalog was crawled with, so that connection needs to stay
+ * open until all details have been loaded, or the catalog has been
+ * serialized. If details cannot be loaded, an exception is thrown, and
+ * the tables are left to be loaded again on the next access. Table
+ * constraints, index information, column privileges and additional
+ * column attributes are retrieved for the whole catalog at once, so
+ * they are not loaded.
+ *
+ * @author Sualeh Fatehi
+ */
+final class TableDetailsLoader
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(TableDetailsLoader.class.getName());
+
+  private final RetrieverConnection retrieverConnection;
+  private final MutableCatalog catalog;
+  private final SchemaCrawlerOptions options;
+  private final Map<Schema, NamedObjectList<MutableTable>> pendingColumns;
+  private final Map<Schema, NamedObjectList<MutableTable>> pendingDetails;
+  private boolean isAllForeignKeysLoaded;
+
+  TableDetailsLoader(final RetrieverConnection retrieverConnection,
+                     final MutableCatalog catalog,
+                     final SchemaCrawlerOptions options)
+  {
+    this.retrieverConnection = requireNonNull(retrieverConnection,
+                                              "No retriever connection provided");
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.options = requireNonNull(options, "No options provided");
+    pendingColumns = new HashMap<>();
+    pendingDetails = new HashMap<>();
+  }
+
+  /**
+   * Registers tables to have their details loaded on first access.
+   *
+   * @param tables
+   *        Tables with details that have not been loaded
+   */
+  synchronized void addTables(final NamedObjectList<MutableTable> tables)
+  {
+    for (final MutableTable table: tables)
+    {
+      final Schema schema = table.getSchema();
+      pendingColumns.computeIfAbsent(schema, key -> new NamedObjectList<>())
+        .add(table);
+      pendingDetails.computeIfAbsent(schema, key -> new NamedObjectList<>())
+        .add(table);
+      table.setTableDetailsLoader(this);
+    }
+    catalog.setTableDetailsLoader(this);
+  }
+
+  /**
+   * Loads the details of all tables that have not been loaded yet, so
+   * that nothing is left to load after the catalog has been serialized.
+   */
+  synchronized void loadAll()
+  {
+    final Set<Schema> schemas = new LinkedHashSet<>();
+    schemas.addAll(pendingColumns.keySet());
+    schemas.addAll(pendingDetails.keySet());
+    for (final Schema schema: schemas)
+    {
+      loadDetails(schema);
+    }
+    catalog.setTableDetailsLoader(null);
+  }
+
+  /**
+   * Loads the columns of all the tables in the schema of the given
+   * table, unless they have already been loaded.
+   *
+   * @param table
+   *        Table that was accessed
+   */
+  synchronized void loadColumns(final MutableTable table)
+  {
+    loadColumns(table.getSchema());
+  }
+
+  /**
+   * Loads the columns, foreign keys, indexes and primary keys of all
+   * the tables in the schema of the given table, unless they have
+   * already been loaded.
+   *
+   * @param table
+   *        Table that was accessed
+   */
+  synchronized void loadDetails(final MutableTable table)
+  {
+    loadDetails(table.getSchema());
+  }
+
+  /**
+   * Details cannot be loaded once the connection has been closed, and
+   * tables would otherwise be left without them, so fail instead.
+   */
+  private void checkConnection(final Schema schema)
+  {
+    final Connection connection = retrieverConnection.getConnection();
+    try
+    {
+      if (connection == null || connection.isClosed())
+      {
+        throw new SchemaCrawlerRuntimeException(String
+          .format("Cannot load table details for schema <%s>, since the connection is closed",
+                  schema));
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerRuntimeException(String
+        .format("Cannot load table details for schema <%s>", schema), e);
+    }
+  }
+
+  private void loadColumns(final Schema schema)
+  {
+    if (!pendingColumns.containsKey(schema))
+    {
+      return;
+    }
+
+    final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+    if (infoLevel.isRetrieveTableColumns())
+    {
+      // Check before tables are taken off the pending list, so that
+      // they are not left without columns
+      checkConnection(schema);
+    }
+    // Tables are removed from the pending list before they are loaded,
+    // so that lookups made while loading do not load them again
+    final NamedObjectList<MutableTable> tables = pendingColumns
+      .remove(schema);
+    if (!infoLevel.isRetrieveTableColumns())
+    {
+      return;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Loading columns for %d tables in schema <%s>",
+                                tables.size(),
+                                schema));
+    try
+    {
+      final TableColumnRetriever columnRetriever = new TableColumnRetriever(
+        retrieverConnection,
+        catalog,
+        schemaOptions(schema));
+      columnRetriever.retrieveTableColumns(tables,
+                                           options.getColumnInclusionRule());
+    }
+    catch (final Exception e)
+    {
+      // Columns that were loaded are replaced when they are loaded again
+      pendingColumns.put(schema, tables);
+      throw new SchemaCrawlerRuntimeException(String
+        .format("Could not load columns for tables in schema <%s>", schema),
+                                              e);
+    }
+  }
+
+  private void loadDetails(final Schema schema)
+  {
+    loadColumns(schema);
+
+    if (!pendingDetails.containsKey(schema))
+    {
+      return;
+    }
+
+    final SchemaInfoLevel infoLevel = options.getSchemaInfoLevel();
+    if (infoLevel.isRetrieveTableColumns())
+    {
+      checkConnection(schema);
+    }
+    final NamedObjectList<MutableTable> tables = pendingDetails
+      .remove(schema);
+    if (!infoLevel.isRetrieveTableColumns())
+    {
+      clearTableDetailsLoader(tables);
+      return;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Loading primary keys, indexes and foreign keys for %d tables in schema <%s>",
+                                tables.size(),
+                                schema));
+    try
+    {
+      if (infoLevel.isRetrieveForeignKeys())
+      {
+        loadForeignKeys(tables);
+      }
+
+      final SchemaCrawlerOptions schemaOptions = schemaOptions(schema);
+      final IndexRetriever indexRetriever = new IndexRetriever(
+        retrieverConnection,
+        catalog,
+        schemaOptions);
+      if (infoLevel.isRetrieveIndexes())
+      {
+        indexRetriever.retrieveIndexes(tables);
+      }
+      // Setting primary keys will use indexes with a similar name,
+      // if available
+      indexRetriever.retrievePrimaryKeys(tables);
+      if (infoLevel.isRetrievePrimaryKeyDefinitions())
+      {
+        final TableExtRetriever retrieverExtra = new TableExtRetriever(
+          retrieverConnection,
+          catalog,
+          schemaOptions);
+        retrieverExtra.retrievePrimaryKeyDefinitions(tables);
+      }
+    }
+    catch (final Exception e)
+    {
+      // Keys and indexes that were loaded are looked up by name, and
+      // are not added again when they are loaded again
+      pendingDetails.put(schema, tables);
+      throw new SchemaCrawlerRuntimeException(String
+        .format("Could not load details for tables in schema <%s>", schema),
+                                              e);
+    }
+
+    clearTableDetailsLoader(tables);
+  }
+
+  private void clearTableDetailsLoader(final NamedObjectList<MutableTable> tables)
+  {
+    for (final MutableTable table: tables)
+    {
+      table.setTableDetailsLoader(null);
+    }
+  }
+
+  private void loadForeignKeys(final NamedObjectList<MutableTable> tables)
+    throws SQLException
+  {
+    final ForeignKeyRetriever fkRetriever = new ForeignKeyRetriever(
+      retrieverConnection,
+      catalog,
+      options);
+    final boolean isBulkRetrieval = retrieverConnection
+      .getForeignKeyRetrievalStrategy() != MetadataRetrievalStrategy.metadata;
+    final NamedObjectList<MutableTable> fkTables;
+    if (!isBulkRetrieval)
+    {
+      fkTables = tables;
+    }
+    else if (!isAllForeignKeysLoaded)
+    {
+      // Bulk retrieval returns the foreign keys of all tables at once,
+      // so they are only retrieved the first time
+      fkTables = catalog.getAllTables();
+    }
+    else
+    {
+      return;
+    }
+
+    fkRetriever.retrieveForeignKeys(fkTables);
+    if (options.getSchemaInfoLevel().isRetrieveForeignKeyDefinitions())
+    {
+      fkRetriever.retrieveForeignKeyDefinitions(fkTables);
+    }
+    if (isBulkRetrieval)
+    {
+      isAllForeignKeysLoaded = true;
+    }
+  }
+
+  /**
+   * Gets options to load the details of one schema with. Data
+   * dictionary queries match the schema inclusion rule against schema
+   * names in the query itself, so the rule is narrowed to the name of
+   * that schema alone, rather than retrieving details for every schema
+   * each time a schema is loaded.
+   */
+  private SchemaCrawlerOptions schemaOptions(final Schema schema)
+  {
+    final String schemaName = schema.getName();
+    if (isBlank(schemaName))
+    {
+      return options;
+    }
+
+    final StringBuilder schemaPattern = new StringBuilder("^");
+    for (final char ch: schemaName.toCharArray())
+    {
+      if ("\\.[]{}()*+?^$|".indexOf(ch) >= 0)
+      {
+        schemaPattern.append('\\');
+      }
+      schemaPattern.append(ch);
+    }
+    schemaPattern.append('$');
+
+    return SchemaCrawlerOptionsBuilder.builder().fromOptions(options)
+      .includeSchemas(new RegularExpressionInclusionRule(schemaPattern
+        .toString()))
+      .toOptions();
+  }
+
+}
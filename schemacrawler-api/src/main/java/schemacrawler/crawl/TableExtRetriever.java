@@ -34,7 +34,6 @@ import static java.util.Objects.requireNonNull;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -102,7 +101,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(columnAttributesSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.ADDITIONAL_COLUMN_ATTRIBUTES));)
     {
 
       while (results.next())
@@ -186,7 +186,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tableAttributesSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.ADDITIONAL_TABLE_ATTRIBUTES));)
     {
 
       while (results.next())
@@ -257,7 +258,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(extIndexColumnsInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_INDEX_COLUMNS));)
     {
 
       while (results.next())
@@ -368,7 +370,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(extIndexesInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_INDEXES));)
     {
 
       while (results.next())
@@ -460,7 +463,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(extPrimaryKeysSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_PRIMARY_KEYS));)
     {
       while (results.next())
       {
@@ -471,8 +475,10 @@ final class TableExtRetriever
         final String tableName = results.getString("PRIMARY_KEY_TABLE_NAME");
         final String pkName = results.getString("PRIMARY_KEY_NAME");
 
-        final List<String> constraintLookupKey = Arrays
-          .asList(catalogName, schemaName, tableName, pkName);
+        final NamedObjectKey constraintLookupKey = new NamedObjectKey(catalogName,
+                                                                      schemaName,
+                                                                      tableName,
+                                                                      pkName);
         LOGGER.log(Level.FINER,
                    new StringFormat("Retrieving definition of primary key <%s>",
                                     constraintLookupKey));
@@ -506,7 +512,8 @@ final class TableExtRetriever
     throws SQLException
   {
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getColumnPrivileges(null, null, "%", "%"));)
+      .getColumnPrivileges(null, null, "%", "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       createPrivileges(results, true);
     }
@@ -549,7 +556,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tableDefinitionsInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.EXT_TABLES));)
     {
 
       while (results.next())
@@ -596,7 +604,8 @@ final class TableExtRetriever
     throws SQLException
   {
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getTablePrivileges(null, null, "%"));)
+      .getTablePrivileges(null, null, "%"),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       createPrivileges(results, false);
     }
@@ -636,7 +645,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(triggerInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.TRIGGERS));)
     {
 
       while (results.next())
@@ -734,7 +744,8 @@ final class TableExtRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(viewInformationSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.VIEWS));)
     {
 
       while (results.next())
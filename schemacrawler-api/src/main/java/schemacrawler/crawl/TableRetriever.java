@@ -67,6 +67,8 @@ final class TableRetriever
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(TableRetriever.class.getName());
 
+  private int tablesScanned;
+
   TableRetriever(final RetrieverConnection retrieverConnection,
                  final MutableCatalog catalog,
                  final SchemaCrawlerOptions options)
@@ -127,6 +129,19 @@ final class TableRetriever
     }
   }
 
+  /**
+   * Number of tables in the included schemas that were read from the
+   * database while retrieving tables, before table inclusion rules
+   * were applied. The tables data dictionary query may already be
+   * narrowed by the table inclusion rule.
+   *
+   * @return Number of tables read
+   */
+  int getTablesScanned()
+  {
+    return tablesScanned;
+  }
+
   private void createTable(final MetadataResultSet results,
                            final NamedObjectList<SchemaReference> schemas,
                            final InclusionRuleFilter<Table> tableFilter,
@@ -146,12 +161,13 @@ final class TableRetriever
     final String remarks = results.getString("REMARKS");
 
     final Optional<SchemaReference> optionalSchema = schemas
-      .lookup(Arrays.asList(catalogName, schemaName));
+      .lookup(new NamedObjectKey(catalogName, schemaName));
     if (!optionalSchema.isPresent())
     {
       return;
     }
     final Schema schema = optionalSchema.get();
+    tablesScanned = tablesScanned + 1;
 
     final TableType tableType = supportedTableTypes
       .lookupTableType(tableTypeString).orElse(TableType.UNKNOWN);
@@ -204,7 +220,8 @@ final class TableRetriever
     try (final Statement statement = connection.createStatement();
         final MetadataResultSet results = new MetadataResultSet(tablesSql,
                                                                 statement,
-                                                                getSchemaInclusionRule());)
+                                                                getOptions(),
+                                                                getRetrieverConnection().getFetchSize(InformationSchemaKey.TABLES));)
     {
       results.setDescription("retrieveTablesFromDataDictionary");
       int numTables = 0;
@@ -245,7 +262,8 @@ final class TableRetriever
         .getTables(catalogName,
                    schemaName,
                    tableNamePattern,
-                   filteredTableTypes));)
+                   filteredTableTypes),
+                                                                   getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata));)
       {
         results.setDescription("retrieveTablesFromMetadata");
         int numTables = 0;
@@ -276,7 +294,8 @@ final class TableRetriever
                                   .asList(filteredTableTypes)));
 
     try (final MetadataResultSet results = new MetadataResultSet(getMetaData()
-      .getTables(null, null, tableNamePattern, filteredTableTypes));)
+      .getTables(null, null, tableNamePattern, filteredTableTypes),
+                                                                 getRetrieverConnection().getFetchSize(MetadataRetrievalStrategy.metadata_all));)
     {
       results.setDescription("retrieveTablesFromMetadataForAllTables");
       int numTables = 0;
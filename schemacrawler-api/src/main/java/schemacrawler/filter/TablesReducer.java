@@ -30,8 +30,12 @@ package schemacrawler.filter;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -48,6 +52,64 @@ final class TablesReducer
   implements Reducer<Table>
 {
 
+  /**
+   * Parent and child tables of tables, from their foreign keys. Each
+   * table is indexed once, the first time it is looked up, so a
+   * reduction only does work for the tables it reaches.
+   */
+  private static final class RelatedTablesIndex
+  {
+
+    private final Map<Table, List<Table>> childTablesMap = new HashMap<>();
+    private final Map<Table, List<Table>> parentTablesMap = new HashMap<>();
+
+    List<Table> getRelatedTables(final Table table,
+                                final TableRelationshipType tableRelationshipType)
+    {
+      if (!childTablesMap.containsKey(table))
+      {
+        index(table);
+      }
+      switch (tableRelationshipType)
+      {
+        case child:
+          return childTablesMap.get(table);
+        case parent:
+          return parentTablesMap.get(table);
+        default:
+          return new ArrayList<>();
+      }
+    }
+
+    private void index(final Table table)
+    {
+      // Tables may be listed more than once, for multiple foreign keys
+      final List<Table> childTables = new ArrayList<>();
+      final List<Table> parentTables = new ArrayList<>();
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        for (final ForeignKeyColumnReference columnReference: foreignKey)
+        {
+          final Table parentTable = columnReference.getPrimaryKeyColumn()
+            .getParent();
+          final Table childTable = columnReference.getForeignKeyColumn()
+            .getParent();
+          if (table.equals(parentTable))
+          {
+            childTables.add(childTable);
+          }
+          if (table.equals(childTable))
+          {
+            parentTables.add(parentTable);
+          }
+        }
+      }
+      childTablesMap.put(table, childTables);
+      parentTablesMap.put(table, parentTables);
+    }
+
+  }
+
   private final SchemaCrawlerOptions options;
   private final Predicate<Table> tableFilter;
 
@@ -65,12 +127,14 @@ final class TablesReducer
     {
       return;
     }
-    doReduce(allTables);
+    final RelatedTablesIndex relatedTablesIndex = new RelatedTablesIndex();
+    doReduce(allTables, relatedTablesIndex);
 
-    removeForeignKeys(allTables);
+    removeForeignKeys(allTables, relatedTablesIndex);
   }
 
-  private void doReduce(final ReducibleCollection<? extends Table> allTables)
+  private void doReduce(final ReducibleCollection<? extends Table> allTables,
+                        final RelatedTablesIndex relatedTablesIndex)
   {
     // Filter tables, keeping the ones we need
     final Set<Table> reducedTables = new HashSet<>();
@@ -84,11 +148,13 @@ final class TablesReducer
 
     // Add in referenced tables
     final int childTableFilterDepth = options.getChildTableFilterDepth();
-    final Collection<Table> childTables = includeRelatedTables(TableRelationshipType.child,
+    final Collection<Table> childTables = includeRelatedTables(relatedTablesIndex,
+                                                               TableRelationshipType.child,
                                                                childTableFilterDepth,
                                                                reducedTables);
     final int parentTableFilterDepth = options.getParentTableFilterDepth();
-    final Collection<Table> parentTables = includeRelatedTables(TableRelationshipType.parent,
+    final Collection<Table> parentTables = includeRelatedTables(relatedTablesIndex,
+                                                                TableRelationshipType.parent,
                                                                 parentTableFilterDepth,
                                                                 reducedTables);
 
@@ -109,26 +175,34 @@ final class TablesReducer
     allTables.filter(table -> keepTables.contains(table));
   }
 
-  private Collection<Table> includeRelatedTables(final TableRelationshipType tableRelationshipType,
+  /**
+   * Includes related tables, breadth first to the given depth. Only the
+   * tables newly found at one depth are expanded at the next.
+   */
+  private Collection<Table> includeRelatedTables(final RelatedTablesIndex relatedTablesIndex,
+                                                 final TableRelationshipType tableRelationshipType,
                                                  final int depth,
                                                  final Set<Table> greppedTables)
   {
     final Set<Table> includedTables = new HashSet<>();
     includedTables.addAll(greppedTables);
 
-    for (int i = 0; i < depth; i++)
+    Collection<Table> frontier = greppedTables;
+    for (int i = 0; i < depth && !frontier.isEmpty(); i++)
     {
-      for (final Table table: new HashSet<>(includedTables))
+      final List<Table> nextFrontier = new ArrayList<>();
+      for (final Table table: frontier)
       {
-        for (final Table relatedTable: table
-          .getRelatedTables(tableRelationshipType))
+        for (final Table relatedTable: relatedTablesIndex
+          .getRelatedTables(table, tableRelationshipType))
         {
-          if (!isTablePartial(relatedTable))
+          if (!isTablePartial(relatedTable) && includedTables.add(relatedTable))
           {
-            includedTables.add(relatedTable);
+            nextFrontier.add(relatedTable);
           }
         }
       }
+      frontier = nextFrontier;
     }
 
     return includedTables;
@@ -148,21 +222,19 @@ final class TablesReducer
     }
   }
 
-  private void removeForeignKeys(final ReducibleCollection<? extends Table> allTables)
+  private void removeForeignKeys(final ReducibleCollection<? extends Table> allTables,
+                                 final RelatedTablesIndex relatedTablesIndex)
   {
     for (final Table table: allTables)
     {
-      for (final ForeignKey foreignKey: table.getExportedForeignKeys())
+      // Tables referencing this table from their foreign keys
+      for (final Table referencedTable: relatedTablesIndex
+        .getRelatedTables(table, TableRelationshipType.child))
       {
-        for (final ForeignKeyColumnReference fkColumnRef: foreignKey)
+        if (isTablePartial(referencedTable)
+            || allTables.isFiltered(referencedTable))
         {
-          final Table referencedTable = fkColumnRef.getForeignKeyColumn()
-            .getParent();
-          if (isTablePartial(referencedTable)
-              || allTables.isFiltered(referencedTable))
-          {
-            markTableFilteredOut(referencedTable);
-          }
+          markTableFilteredOut(referencedTable);
         }
       }
     }
@@ -44,10 +44,12 @@ public enum InformationSchemaKey
  EXT_HIDDEN_TABLE_COLUMNS(METADATA_EXTENSION),
  EXT_INDEXES(METADATA_EXTENSION),
  EXT_INDEX_COLUMNS(METADATA_EXTENSION),
+ EXT_OBJECT_CHANGE_MARKERS(METADATA_EXTENSION),
  EXT_PRIMARY_KEYS(METADATA_EXTENSION),
  EXT_SYNONYMS(METADATA_EXTENSION),
  EXT_TABLES(METADATA_EXTENSION),
  EXT_TABLE_CONSTRAINTS(METADATA_EXTENSION),
+ EXT_TABLE_ROW_COUNTS(METADATA_EXTENSION),
  FOREIGN_KEYS(DATABASE_METADATA),
  FUNCTIONS(DATABASE_METADATA),
  FUNCTION_COLUMNS(DATABASE_METADATA),
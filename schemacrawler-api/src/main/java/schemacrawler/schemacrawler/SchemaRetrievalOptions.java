@@ -30,6 +30,9 @@ package schemacrawler.schemacrawler;
 
 import static sf.util.Utility.isBlank;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 import schemacrawler.crawl.MetadataRetrievalStrategy;
 import schemacrawler.utility.Identifiers;
 import schemacrawler.utility.TypeMap;
@@ -63,6 +66,11 @@ public final class SchemaRetrievalOptions
   private final InformationSchemaViews informationSchemaViews;
   private final TypeMap typeMap;
   private final Identifiers identifiers;
+  private final int metadataRetrievalConnections;
+  private final Map<MetadataRetrievalStrategy, Integer> strategyFetchSizes;
+  private final Map<InformationSchemaKey, Integer> queryFetchSizes;
+  private final boolean retrieveMetadataAttributes;
+  private final boolean loadTableDetailsLazily;
 
   protected SchemaRetrievalOptions(final SchemaRetrievalOptionsBuilder builder)
   {
@@ -85,6 +93,11 @@ public final class SchemaRetrievalOptions
     informationSchemaViews = bldr.getInformationSchemaViews();
     identifiers = bldr.getIdentifiers();
     typeMap = bldr.getTypeMap();
+    metadataRetrievalConnections = bldr.getMetadataRetrievalConnections();
+    strategyFetchSizes = bldr.getStrategyFetchSizes();
+    queryFetchSizes = bldr.getQueryFetchSizes();
+    retrieveMetadataAttributes = bldr.isRetrieveMetadataAttributes();
+    loadTableDetailsLazily = bldr.isLoadTableDetailsLazily();
   }
 
   public DatabaseServerType getDatabaseServerType()
@@ -107,6 +120,41 @@ public final class SchemaRetrievalOptions
     return functionRetrievalStrategy;
   }
 
+  /**
+   * Gets the fetch size for a data dictionary query. Unless it is
+   * overridden for the query, this is the fetch size for the data
+   * dictionary retrieval strategy.
+   *
+   * @param key
+   *        Data dictionary query
+   * @return Number of rows to fetch in each round trip
+   */
+  public int getFetchSize(final InformationSchemaKey key)
+  {
+    if (queryFetchSizes.containsKey(key))
+    {
+      return queryFetchSizes.get(key);
+    }
+    return getFetchSize(MetadataRetrievalStrategy.data_dictionary_all);
+  }
+
+  /**
+   * Gets the fetch size for results of metadata calls made with a
+   * retrieval strategy.
+   *
+   * @param strategy
+   *        Metadata retrieval strategy
+   * @return Number of rows to fetch in each round trip
+   */
+  public int getFetchSize(final MetadataRetrievalStrategy strategy)
+  {
+    if (strategyFetchSizes.containsKey(strategy))
+    {
+      return strategyFetchSizes.get(strategy);
+    }
+    return strategyFetchSizes.get(MetadataRetrievalStrategy.metadata);
+  }
+
   public String getIdentifierQuoteString()
   {
     if (!hasOverrideForIdentifierQuoteString())
@@ -131,6 +179,11 @@ public final class SchemaRetrievalOptions
     return informationSchemaViews;
   }
 
+  public int getMetadataRetrievalConnections()
+  {
+    return metadataRetrievalConnections;
+  }
+
   public MetadataRetrievalStrategy getPrimaryKeyRetrievalStrategy()
   {
     return pkRetrievalStrategy;
@@ -156,6 +209,16 @@ public final class SchemaRetrievalOptions
     return tableRetrievalStrategy;
   }
 
+  Map<InformationSchemaKey, Integer> getQueryFetchSizes()
+  {
+    return new EnumMap<>(queryFetchSizes);
+  }
+
+  Map<MetadataRetrievalStrategy, Integer> getStrategyFetchSizes()
+  {
+    return new EnumMap<>(strategyFetchSizes);
+  }
+
   public TypeMap getTypeMap()
   {
     return typeMap;
@@ -171,6 +234,29 @@ public final class SchemaRetrievalOptions
     return typeMap != null;
   }
 
+  /**
+   * Whether to load the columns, primary keys, indexes and foreign
+   * keys of tables on first access, using the crawled connection.
+   *
+   * @return Whether table details are loaded lazily
+   */
+  public boolean isLoadTableDetailsLazily()
+  {
+    return loadTableDetailsLazily;
+  }
+
+  /**
+   * Whether to keep columns from database metadata results that
+   * SchemaCrawler does not otherwise use, as attributes of database
+   * objects.
+   *
+   * @return Whether to keep unused metadata columns as attributes
+   */
+  public boolean isRetrieveMetadataAttributes()
+  {
+    return retrieveMetadataAttributes;
+  }
+
   public boolean isSupportsCatalogs()
   {
     return supportsCatalogs;
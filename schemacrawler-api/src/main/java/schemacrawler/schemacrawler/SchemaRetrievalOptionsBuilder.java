@@ -33,6 +33,7 @@ import static sf.util.Utility.isBlank;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
@@ -65,6 +66,14 @@ public final class SchemaRetrievalOptionsBuilder
   private static final String SC_RETRIEVAL_FUNCTION_COLUMNS = prefix
                                                               + ".functioncolumns";
 
+  private static final String SC_RETRIEVAL_CONNECTIONS = "schemacrawler.schema.retrieval.connections";
+
+  private static final String SC_RETRIEVAL_FETCH_SIZE = "schemacrawler.schema.retrieval.fetchsize";
+
+  private static final String SC_RETRIEVAL_ATTRIBUTES = "schemacrawler.schema.retrieval.attributes";
+
+  private static final String SC_RETRIEVAL_LAZY_TABLE_DETAILS = "schemacrawler.schema.retrieval.lazy_table_details";
+
   public static SchemaRetrievalOptionsBuilder builder()
   {
     return new SchemaRetrievalOptionsBuilder();
@@ -103,6 +112,11 @@ public final class SchemaRetrievalOptionsBuilder
   private MetadataRetrievalStrategy functionRetrievalStrategy;
   private MetadataRetrievalStrategy functionColumnRetrievalStrategy;
   private Optional<TypeMap> overridesTypeMap;
+  private int metadataRetrievalConnections;
+  private final Map<MetadataRetrievalStrategy, Integer> strategyFetchSizes;
+  private final Map<InformationSchemaKey, Integer> queryFetchSizes;
+  private boolean retrieveMetadataAttributes;
+  private boolean loadTableDetailsLazily;
 
   private SchemaRetrievalOptionsBuilder()
   {
@@ -124,6 +138,17 @@ public final class SchemaRetrievalOptionsBuilder
     functionRetrievalStrategy = MetadataRetrievalStrategy.metadata;
     functionColumnRetrievalStrategy = MetadataRetrievalStrategy.metadata;
     overridesTypeMap = Optional.empty();
+    metadataRetrievalConnections = 1;
+    // Per-object calls return a few rows each, while calls for all
+    // objects can return millions of rows, and so need far fewer
+    // round trips with a large fetch size
+    strategyFetchSizes = new EnumMap<>(MetadataRetrievalStrategy.class);
+    strategyFetchSizes.put(MetadataRetrievalStrategy.metadata, 20);
+    strategyFetchSizes.put(MetadataRetrievalStrategy.metadata_all, 500);
+    strategyFetchSizes.put(MetadataRetrievalStrategy.data_dictionary_all, 500);
+    queryFetchSizes = new EnumMap<>(InformationSchemaKey.class);
+    retrieveMetadataAttributes = true;
+    loadTableDetailsLazily = false;
   }
 
   @Override
@@ -161,6 +186,28 @@ public final class SchemaRetrievalOptionsBuilder
     functionColumnRetrievalStrategy = configProperties
       .getEnumValue(SC_RETRIEVAL_FUNCTION_COLUMNS,
                     functionColumnRetrievalStrategy);
+    withMetadataRetrievalConnections(configProperties
+      .getIntegerValue(SC_RETRIEVAL_CONNECTIONS, metadataRetrievalConnections));
+    for (final MetadataRetrievalStrategy strategy: strategyFetchSizes.keySet())
+    {
+      withFetchSize(strategy,
+                    configProperties
+                      .getIntegerValue(SC_RETRIEVAL_FETCH_SIZE + "."
+                                       + strategy.name(),
+                                       strategyFetchSizes.get(strategy)));
+    }
+    for (final InformationSchemaKey key: InformationSchemaKey.values())
+    {
+      final String fetchSizeKey = SC_RETRIEVAL_FETCH_SIZE + "." + key.name();
+      if (configProperties.hasValue(fetchSizeKey))
+      {
+        withFetchSize(key, configProperties.getIntegerValue(fetchSizeKey, -1));
+      }
+    }
+    retrieveMetadataAttributes = configProperties
+      .getBooleanValue(SC_RETRIEVAL_ATTRIBUTES, retrieveMetadataAttributes);
+    loadTableDetailsLazily = configProperties
+      .getBooleanValue(SC_RETRIEVAL_LAZY_TABLE_DETAILS, loadTableDetailsLazily);
 
     return this;
   }
@@ -227,6 +274,12 @@ public final class SchemaRetrievalOptionsBuilder
     functionColumnRetrievalStrategy = options
       .getFunctionColumnRetrievalStrategy();
     overridesTypeMap = Optional.empty();
+    metadataRetrievalConnections = options.getMetadataRetrievalConnections();
+    strategyFetchSizes.putAll(options.getStrategyFetchSizes());
+    queryFetchSizes.clear();
+    queryFetchSizes.putAll(options.getQueryFetchSizes());
+    retrieveMetadataAttributes = options.isRetrieveMetadataAttributes();
+    loadTableDetailsLazily = options.isLoadTableDetailsLazily();
 
     return this;
   }
@@ -271,6 +324,29 @@ public final class SchemaRetrievalOptionsBuilder
     return informationSchemaViewsBuilder.toOptions();
   }
 
+  public int getFetchSize(final InformationSchemaKey key)
+  {
+    if (queryFetchSizes.containsKey(key))
+    {
+      return queryFetchSizes.get(key);
+    }
+    return getFetchSize(MetadataRetrievalStrategy.data_dictionary_all);
+  }
+
+  public int getFetchSize(final MetadataRetrievalStrategy strategy)
+  {
+    if (strategyFetchSizes.containsKey(strategy))
+    {
+      return strategyFetchSizes.get(strategy);
+    }
+    return strategyFetchSizes.get(MetadataRetrievalStrategy.metadata);
+  }
+
+  public int getMetadataRetrievalConnections()
+  {
+    return metadataRetrievalConnections;
+  }
+
   public MetadataRetrievalStrategy getPrimaryKeyRetrievalStrategy()
   {
     return pkRetrievalStrategy;
@@ -301,6 +377,16 @@ public final class SchemaRetrievalOptionsBuilder
     return overridesTypeMap.orElse(new TypeMap());
   }
 
+  public boolean isLoadTableDetailsLazily()
+  {
+    return loadTableDetailsLazily;
+  }
+
+  public boolean isRetrieveMetadataAttributes()
+  {
+    return retrieveMetadataAttributes;
+  }
+
   public boolean isSupportsCatalogs()
   {
     return supportsCatalogs;
@@ -311,6 +397,16 @@ public final class SchemaRetrievalOptionsBuilder
     return supportsSchemas;
   }
 
+  Map<InformationSchemaKey, Integer> getQueryFetchSizes()
+  {
+    return new EnumMap<>(queryFetchSizes);
+  }
+
+  Map<MetadataRetrievalStrategy, Integer> getStrategyFetchSizes()
+  {
+    return new EnumMap<>(strategyFetchSizes);
+  }
+
   @Override
   public Config toConfig()
   {
@@ -356,6 +452,58 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Sets the fetch size for a data dictionary query, overriding the
+   * fetch size for the data dictionary retrieval strategy.
+   *
+   * @param key
+   *        Data dictionary query
+   * @param fetchSize
+   *        Number of rows to fetch in each round trip, or a negative
+   *        number to remove the override
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final InformationSchemaKey key,
+                                                     final int fetchSize)
+  {
+    if (key == null)
+    {
+      return this;
+    }
+    if (fetchSize < 0)
+    {
+      queryFetchSizes.remove(key);
+    }
+    else
+    {
+      queryFetchSizes.put(key, fetchSize);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the fetch size for results from metadata calls or data
+   * dictionary queries made with a retrieval strategy. Strategies that
+   * retrieve information for all database objects together should have
+   * a larger fetch size than those that make one call for each object.
+   *
+   * @param strategy
+   *        Metadata retrieval strategy
+   * @param fetchSize
+   *        Number of rows to fetch in each round trip, with 0 leaving it
+   *        to the JDBC driver
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final MetadataRetrievalStrategy strategy,
+                                                     final int fetchSize)
+  {
+    if (strategy == null || strategy == MetadataRetrievalStrategy.auto
+        || fetchSize < 0)
+    {
+      return this;
+    }
+    strategyFetchSizes.put(strategy, fetchSize);
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withForeignKeyRetrievalStrategy(final MetadataRetrievalStrategy fkRetrievalStrategy)
   {
     if (fkRetrievalStrategy == null)
@@ -452,6 +600,72 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Number of connections to spread per-table metadata calls across,
+   * when the metadata retrieval strategy is used. Additional
+   * connections are only used when SchemaCrawler is given a connection
+   * supplier.
+   *
+   * @param metadataRetrievalConnections
+   *        Number of connections, with 1 meaning that tables are
+   *        retrieved one after the other
+   */
+  public SchemaRetrievalOptionsBuilder withMetadataRetrievalConnections(final int metadataRetrievalConnections)
+  {
+    if (metadataRetrievalConnections < 1)
+    {
+      this.metadataRetrievalConnections = 1;
+    }
+    else
+    {
+      this.metadataRetrievalConnections = metadataRetrievalConnections;
+    }
+    return this;
+  }
+
+  /**
+   * Whether to load the columns, primary keys, indexes and foreign
+   * keys of tables only when they are first accessed, instead of
+   * during the crawl. Details are loaded for all the tables of a
+   * schema at a time, using the connection that was crawled, so that
+   * connection needs to stay open for as long as the catalog is used.
+   * Accessing details that have not been loaded once the connection is
+   * closed throws an exception. Serializing the catalog loads all
+   * details first.
+   * This lets interactive and scripted use of very large databases
+   * pay only for the tables that are actually looked at.
+   * Table constraints, index information, column privileges and
+   * additional column attributes are retrieved for the whole catalog
+   * at once, so they are not retrieved at all when details are loaded
+   * lazily. Tables also keep their alphabetical order, and cannot be
+   * filtered by grep or by related tables.
+   *
+   * @param loadTableDetailsLazily
+   *        Whether to load table details on first access
+   */
+  public SchemaRetrievalOptionsBuilder withLazyTableDetails(final boolean loadTableDetailsLazily)
+  {
+    this.loadTableDetailsLazily = loadTableDetailsLazily;
+    return this;
+  }
+
+  /**
+   * Whether to keep columns from database metadata results that
+   * SchemaCrawler does not otherwise use, as attributes of tables,
+   * columns, indexes, foreign keys, routines and column data types.
+   * Turning this off can make crawls of very large databases much
+   * quicker. Attributes from additional attributes and metadata
+   * extension queries are always kept.
+   *
+   * @param retrieveMetadataAttributes
+   *        Whether to keep unused metadata columns as attributes
+   */
+  public SchemaRetrievalOptionsBuilder withMetadataAttributes(final boolean retrieveMetadataAttributes)
+  {
+    this.retrieveMetadataAttributes = retrieveMetadataAttributes;
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withoutIdentifierQuoteString()
   {
     identifierQuoteString = "";
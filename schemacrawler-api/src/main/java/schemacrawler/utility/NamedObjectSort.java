@@ -31,7 +31,9 @@ package schemacrawler.utility;
 
 import static sf.util.Utility.convertForComparison;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import schemacrawler.schema.NamedObject;
 
@@ -49,8 +51,8 @@ public enum NamedObjectSort
    public int compare(final NamedObject namedObject1,
                       final NamedObject namedObject2)
    {
-     return convertForComparison(namedObject1.getFullName())
-       .compareTo(convertForComparison(namedObject2.getFullName()));
+     return compareForComparison(namedObject1.getFullName(),
+                                 namedObject2.getFullName());
    }
  },
 
@@ -67,6 +69,61 @@ public enum NamedObjectSort
    }
  };
 
+  /**
+   * Compares two strings as if they were first converted with
+   * convertForComparison, but without creating the converted strings.
+   */
+  private static int compareForComparison(final String text1,
+                                          final String text2)
+  {
+    final int length1 = text1.length();
+    final int length2 = text2.length();
+    int i = 0;
+    int j = 0;
+    while (true)
+    {
+      while (i < length1 && !isComparable(text1.charAt(i)))
+      {
+        i++;
+      }
+      while (j < length2 && !isComparable(text2.charAt(j)))
+      {
+        j++;
+      }
+      if (i == length1 || j == length2)
+      {
+        break;
+      }
+
+      final char ch1 = Character.toLowerCase(text1.charAt(i));
+      final char ch2 = Character.toLowerCase(text2.charAt(j));
+      if (ch1 != ch2)
+      {
+        return ch1 - ch2;
+      }
+      i++;
+      j++;
+    }
+
+    if (i == length1 && j == length2)
+    {
+      return 0;
+    }
+    else if (i == length1)
+    {
+      return -1;
+    }
+    else
+    {
+      return 1;
+    }
+  }
+
+  private static boolean isComparable(final char ch)
+  {
+    return Character.isLetterOrDigit(ch) || ch == '_' || ch == '.';
+  }
+
   public static NamedObjectSort getNamedObjectSort(final boolean alphabeticalSort)
   {
     if (alphabeticalSort)
@@ -86,4 +143,47 @@ public enum NamedObjectSort
   public abstract int compare(final NamedObject namedObject1,
                               final NamedObject namedObject2);
 
+  /**
+   * Sorts a list of named objects in place. An alphabetical sort
+   * converts each full name for comparison only once, instead of on
+   * every comparison.
+   *
+   * @param namedObjects
+   *        List of named objects to sort
+   */
+  @SuppressWarnings("unchecked")
+  public <N extends NamedObject> void sort(final List<N> namedObjects)
+  {
+    if (namedObjects == null || namedObjects.size() < 2)
+    {
+      return;
+    }
+    if (this != alphabetical)
+    {
+      namedObjects.sort(this);
+      return;
+    }
+
+    final int size = namedObjects.size();
+    final String[] keys = new String[size];
+    final Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++)
+    {
+      keys[i] = convertForComparison(namedObjects.get(i).getFullName());
+      order[i] = i;
+    }
+    // Sorting is stable, so objects with the same key keep their order
+    Arrays.sort(order, Comparator.comparing(index -> keys[index]));
+
+    final Object[] sorted = new Object[size];
+    for (int i = 0; i < size; i++)
+    {
+      sorted[i] = namedObjects.get(order[i]);
+    }
+    for (int i = 0; i < size; i++)
+    {
+      namedObjects.set(i, (N) sorted[i]);
+    }
+  }
+
 }
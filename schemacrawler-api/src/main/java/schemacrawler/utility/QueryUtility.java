@@ -44,6 +44,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
+import java.util.regex.Pattern;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.JavaSqlTypeGroup;
@@ -63,13 +64,57 @@ public final class QueryUtility
   private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
     .getLogger(QueryUtility.class.getName());
 
+  private static final String MATCH_ALL = ".*";
+
   public static ResultSet executeAgainstSchema(final Query query,
                                                final Statement statement,
                                                final InclusionRule schemaInclusionRule)
     throws SQLException
+  {
+    return executeAgainstSchema(query,
+                                statement,
+                                schemaInclusionRule,
+                                null,
+                                null);
+  }
+
+  /**
+   * Executes a query, with schema, table and column inclusion rules
+   * substituted for the ${schemas}, ${tables} and ${columns}
+   * parameters. Table and column rules are pushed down only when they
+   * can be matched the same way by database regular expressions, and
+   * match everything otherwise. The query is expected to match ${tables}
+   * against unquoted table names qualified with the schema name, and
+   * ${columns} against unquoted column names qualified with the table
+   * name. Rows for tables or columns that are not wanted still need to
+   * be filtered out by the caller.
+   *
+   * @param query
+   *        Query to execute
+   * @param statement
+   *        Statement to execute the query with
+   * @param schemaInclusionRule
+   *        Schema inclusion rule
+   * @param tableInclusionRule
+   *        Table inclusion rule
+   * @param columnInclusionRule
+   *        Column inclusion rule
+   * @return Results of the query
+   * @throws SQLException
+   *         On an exception executing the query
+   */
+  public static ResultSet executeAgainstSchema(final Query query,
+                                               final Statement statement,
+                                               final InclusionRule schemaInclusionRule,
+                                               final InclusionRule tableInclusionRule,
+                                               final InclusionRule columnInclusionRule)
+    throws SQLException
   {
     requireNonNull(query, "No query provided");
-    final String sql = getQuery(query, schemaInclusionRule);
+    final String sql = getQuery(query,
+                                schemaInclusionRule,
+                                tableInclusionRule,
+                                columnInclusionRule);
     LOGGER.log(Level.FINE,
                new StringFormat("Executing %s: %n%s", query.getName(), sql));
     return executeSql(statement, sql);
@@ -131,6 +176,28 @@ public final class QueryUtility
     return executeSqlForScalar(connection, sql);
   }
 
+  /**
+   * Whether a query only returns rows for tables that match the table
+   * inclusion rule. This is the case when the query has a ${tables}
+   * parameter, and the rule can be pushed down into the database.
+   *
+   * @param query
+   *        Query
+   * @param tableInclusionRule
+   *        Table inclusion rule
+   * @return Whether the query is narrowed by the table inclusion rule
+   */
+  public static boolean isFilteredByTableInclusionRule(final Query query,
+                                                       final InclusionRule tableInclusionRule)
+  {
+    if (query == null || isBlank(query.getQuery())
+        || !query.getQuery().contains("${tables}"))
+    {
+      return false;
+    }
+    return !MATCH_ALL.equals(getPortableInclusionPattern(tableInclusionRule));
+  }
+
   private static String getColumnsListAsString(final List<Column> columns,
                                                final boolean omitLargeObjectColumns,
                                                final Identifiers identifiers)
@@ -151,6 +218,44 @@ public final class QueryUtility
     return String.join(", ", columnsList);
   }
 
+  /**
+   * Gets an inclusion pattern that matches the same names in database
+   * regular expression dialects (such as Oracle REGEXP_LIKE and
+   * PostgreSQL ~) as it does in Java. Only literal characters,
+   * wildcards, groups, alternation, bracket expressions, simple
+   * quantifiers and escaped metacharacters are passed through. The
+   * exclusion pattern is not pushed down, since the rule is applied to
+   * the results later anyway.
+   *
+   * @param inclusionRule
+   *        Inclusion rule
+   * @return Anchored pattern, or a pattern that matches everything
+   */
+  private static String getPortableInclusionPattern(final InclusionRule inclusionRule)
+  {
+    if (inclusionRule == null
+        || !(inclusionRule instanceof InclusionRuleWithRegularExpression))
+    {
+      return MATCH_ALL;
+    }
+
+    final Pattern inclusionPattern = ((InclusionRuleWithRegularExpression) inclusionRule)
+      .getInclusionPattern();
+    if (inclusionPattern == null || inclusionPattern.flags() != 0)
+    {
+      return MATCH_ALL;
+    }
+    final String pattern = inclusionPattern.pattern();
+    if (isBlank(pattern) || MATCH_ALL.equals(pattern)
+        || !isPortableRegularExpression(pattern))
+    {
+      return MATCH_ALL;
+    }
+
+    // Java matches the whole name
+    return "^(" + pattern + ")$";
+  }
+
   private static String getQuery(final Query query)
   {
     return expandTemplate(query.getQuery());
@@ -161,10 +266,16 @@ public final class QueryUtility
    *
    * @param schemaInclusionRule
    *        Schema inclusion rule
+   * @param tableInclusionRule
+   *        Table inclusion rule
+   * @param columnInclusionRule
+   *        Column inclusion rule
    * @return Ready-to-execute query
    */
   private static String getQuery(final Query query,
-                                 final InclusionRule schemaInclusionRule)
+                                 final InclusionRule schemaInclusionRule,
+                                 final InclusionRule tableInclusionRule,
+                                 final InclusionRule columnInclusionRule)
   {
     final Map<String, String> properties = new HashMap<>();
 
@@ -179,6 +290,9 @@ public final class QueryUtility
         properties.put("schemas", schemaInclusionPattern);
       }
     }
+    properties.put("tables", getPortableInclusionPattern(tableInclusionRule));
+    properties.put("columns",
+                   getPortableInclusionPattern(columnInclusionRule));
 
     String sql = query.getQuery();
     sql = expandTemplate(sql, properties);
@@ -222,6 +336,114 @@ public final class QueryUtility
     return sql;
   }
 
+  /**
+   * Checks that a Java regular expression only uses syntax that has the
+   * same meaning in POSIX extended regular expressions, and cannot break
+   * out of a SQL string literal. Identifier quotes are not allowed,
+   * since the database matches unquoted names.
+   */
+  private static boolean isPortableRegularExpression(final String pattern)
+  {
+    boolean isQuantifiable = false;
+    int groupDepth = 0;
+    for (int i = 0; i < pattern.length(); i++)
+    {
+      final char ch = pattern.charAt(i);
+      if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '#'
+          || ch == '@' || ch == ' ' || ch == '-')
+      {
+        isQuantifiable = true;
+      }
+      else if (ch == '.')
+      {
+        isQuantifiable = true;
+      }
+      else if (ch == '\\')
+      {
+        // Only escaped metacharacters, not character classes such as \d
+        i++;
+        if (i >= pattern.length() || ".^$|()[]{}*+?\\".indexOf(pattern
+          .charAt(i)) == -1)
+        {
+          return false;
+        }
+        isQuantifiable = true;
+      }
+      else if (ch == '[')
+      {
+        // Simple bracket expressions only, with no escapes, nesting or
+        // intersections
+        final int end = pattern.indexOf(']', i + 2);
+        if (end == -1)
+        {
+          return false;
+        }
+        for (int j = i + 1; j < end; j++)
+        {
+          final char bracketCh = pattern.charAt(j);
+          if (!(Character.isLetterOrDigit(bracketCh) || bracketCh == '_'
+                || bracketCh == '-' || bracketCh == '.' || bracketCh == '#'
+                || bracketCh == '@' || bracketCh == '$' || bracketCh == ' '
+                || bracketCh == '^' && j == i + 1))
+          {
+            return false;
+          }
+        }
+        i = end;
+        isQuantifiable = true;
+      }
+      else if (ch == '*' || ch == '+' || ch == '?')
+      {
+        // No lazy or possessive quantifiers
+        if (!isQuantifiable)
+        {
+          return false;
+        }
+        isQuantifiable = false;
+      }
+      else if (ch == '{')
+      {
+        final int end = pattern.indexOf('}', i);
+        if (!isQuantifiable || end == -1 || !pattern.substring(i + 1, end)
+          .matches("[0-9]+(,[0-9]*)?"))
+        {
+          return false;
+        }
+        i = end;
+        isQuantifiable = false;
+      }
+      else if (ch == '(')
+      {
+        // No special groups, such as (?i) or look-aheads
+        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '?')
+        {
+          return false;
+        }
+        groupDepth++;
+        isQuantifiable = false;
+      }
+      else if (ch == ')')
+      {
+        groupDepth--;
+        if (groupDepth < 0)
+        {
+          return false;
+        }
+        isQuantifiable = true;
+      }
+      else if (ch == '|' || ch == '^' || ch == '$')
+      {
+        isQuantifiable = false;
+      }
+      else
+      {
+        // Including quotes, which could break out of a SQL string
+        return false;
+      }
+    }
+    return groupDepth == 0;
+  }
+
   private QueryUtility()
   {
     // Prevent instantiation
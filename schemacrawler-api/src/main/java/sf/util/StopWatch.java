@@ -98,6 +98,16 @@ public final class StopWatch
     return id;
   }
 
+  /**
+   * Total time taken by all the tasks that have been timed so far.
+   *
+   * @return Total duration
+   */
+  public Duration getTotalDuration()
+  {
+    return totalDuration;
+  }
+
   /**
    * Return whether the stop watch is currently running.
    *
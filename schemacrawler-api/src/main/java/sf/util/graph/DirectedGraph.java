@@ -28,8 +28,10 @@ http://www.gnu.org/licenses/
 package sf.util.graph;
 
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -39,13 +41,18 @@ public class DirectedGraph<T extends Comparable<? super T>>
 
   private final String name;
   private final Map<T, Vertex<T>> verticesMap;
+  private final List<Vertex<T>> vertices;
   private final Set<DirectedEdge<T>> edges;
+  // Outgoing edges for each vertex, by vertex index
+  private final List<List<DirectedEdge<T>>> adjacencyLists;
 
   public DirectedGraph(final String name)
   {
     this.name = name;
     verticesMap = new HashMap<>();
+    vertices = new ArrayList<>();
     edges = new HashSet<>();
+    adjacencyLists = new ArrayList<>();
   }
 
   /**
@@ -62,7 +69,13 @@ public class DirectedGraph<T extends Comparable<? super T>>
   {
     if (!from.equals(to))
     {
-      edges.add(new DirectedEdge<>(addVertex(from), addVertex(to)));
+      final Vertex<T> vertexFrom = addVertex(from);
+      final DirectedEdge<T> edge = new DirectedEdge<>(vertexFrom,
+                                                      addVertex(to));
+      if (edges.add(edge))
+      {
+        adjacencyLists.get(vertexFrom.getIndex()).add(edge);
+      }
     }
   }
 
@@ -82,8 +95,10 @@ public class DirectedGraph<T extends Comparable<? super T>>
     }
     else
     {
-      vertex = new Vertex<>(value);
+      vertex = new Vertex<>(value, vertices.size());
       verticesMap.put(value, vertex);
+      vertices.add(vertex);
+      adjacencyLists.add(new ArrayList<>());
     }
     return vertex;
   }
@@ -106,9 +121,10 @@ public class DirectedGraph<T extends Comparable<? super T>>
     Objects.requireNonNull(vertexFrom, "No vertex provided");
 
     final Set<DirectedEdge<T>> outgoingEdges = new HashSet<>();
-    for (final DirectedEdge<T> edge: edges)
+    final Vertex<T> vertex = verticesMap.get(vertexFrom.getValue());
+    if (vertex != null)
     {
-      if (edge.getFrom().equals(vertexFrom))
+      for (final DirectedEdge<T> edge: adjacencyLists.get(vertex.getIndex()))
       {
         outgoingEdges.add(edge);
       }
@@ -148,4 +164,26 @@ public class DirectedGraph<T extends Comparable<? super T>>
     return new HashSet<>(verticesMap.values());
   }
 
+  /**
+   * Outgoing edges of the vertex at an index, in the order in which
+   * they were added. The list is not a copy, and should not be changed.
+   */
+  List<DirectedEdge<T>> adjacencyList(final int index)
+  {
+    return adjacencyLists.get(index);
+  }
+
+  /**
+   * Vertex at an index, in the order in which vertices were added.
+   */
+  Vertex<T> vertex(final int index)
+  {
+    return vertices.get(index);
+  }
+
+  int vertexCount()
+  {
+    return vertices.size();
+  }
+
 }
@@ -28,7 +28,10 @@ http://www.gnu.org/licenses/
 package sf.util.graph;
 
 
-import java.util.Collection;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
 
 public class SimpleCycleDetector<T extends Comparable<? super T>>
@@ -56,8 +59,6 @@ public class SimpleCycleDetector<T extends Comparable<? super T>>
 
   }
 
-  private static final String ATTRIBUTE_TRAVERSAL_STATE = "traversalstate";
-
   private final DirectedGraph<T> graph;
 
   public SimpleCycleDetector(final DirectedGraph<T> graph)
@@ -72,13 +73,16 @@ public class SimpleCycleDetector<T extends Comparable<? super T>>
    */
   public boolean containsCycle()
   {
-    final Collection<Vertex<T>> vertices = clearTraversalStates();
-    for (final Vertex<T> vertex: vertices)
+    // Traversal states, by vertex index
+    final TraversalState[] traversalStates = new TraversalState[graph
+      .vertexCount()];
+    Arrays.fill(traversalStates, TraversalState.notStarted);
+
+    for (int vertexIndex = 0; vertexIndex < traversalStates.length; vertexIndex++)
     {
-      if (vertex
-        .getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
+      if (traversalStates[vertexIndex] == TraversalState.notStarted)
       {
-        if (visitForCyles(vertex))
+        if (visitForCyles(vertexIndex, traversalStates))
         {
           return true;
         }
@@ -88,44 +92,47 @@ public class SimpleCycleDetector<T extends Comparable<? super T>>
     return false;
   }
 
-  private Collection<Vertex<T>> clearTraversalStates()
-  {
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    for (final Vertex<T> vertex: vertices)
-    {
-      vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.notStarted);
-    }
-    return vertices;
-  }
-
-  private boolean visitForCyles(final Vertex<T> vertex)
+  /**
+   * Visits vertices depth-first from a starting vertex, with an
+   * explicit stack rather than recursion, so that long chains of
+   * relationships do not overflow the call stack.
+   */
+  private boolean visitForCyles(final int startVertexIndex,
+                                final TraversalState[] traversalStates)
   {
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.inProgress);
+    // Each entry holds a vertex index, and the position of the next
+    // outgoing edge to follow
+    final Deque<int[]> stack = new ArrayDeque<>();
+    traversalStates[startVertexIndex] = TraversalState.inProgress;
+    stack.push(new int[] { startVertexIndex, 0 });
 
-    for (final DirectedEdge<T> edge: graph.edgeSet())
+    while (!stack.isEmpty())
     {
-      if (edge.isFrom(vertex))
+      final int[] entry = stack.peek();
+      final List<DirectedEdge<T>> outgoingEdges = graph
+        .adjacencyList(entry[0]);
+      if (entry[1] < outgoingEdges.size())
       {
-        final Vertex<T> to = edge.getTo();
-        if (to
-          .getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.inProgress)
+        final int to = outgoingEdges.get(entry[1]).getTo().getIndex();
+        entry[1]++;
+        if (traversalStates[to] == TraversalState.inProgress)
         {
-          to.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.marked);
+          traversalStates[to] = TraversalState.marked;
           return true;
         }
-        else if (to
-          .getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
+        else if (traversalStates[to] == TraversalState.notStarted)
         {
-          if (visitForCyles(to))
-          {
-            return true;
-          }
+          traversalStates[to] = TraversalState.inProgress;
+          stack.push(new int[] { to, 0 });
         }
       }
+      else
+      {
+        traversalStates[entry[0]] = TraversalState.complete;
+        stack.pop();
+      }
     }
 
-    vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.complete);
-
     return false;
   }
 
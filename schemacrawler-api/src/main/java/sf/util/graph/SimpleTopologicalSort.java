@@ -28,14 +28,23 @@ http://www.gnu.org/licenses/
 package sf.util.graph;
 
 
-import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.comparing;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Topological sort, using <a href=
+ * "https://en.wikipedia.org/wiki/Topological_sorting#Kahn's_algorithm">Kahn's
+ * algorithm</a>. Vertices are sorted level by level, where a level has
+ * the vertices with no incoming edges once the previous levels are
+ * removed, and vertices in each level are in their natural order.
+ *
+ * @param <T>
+ *        Any comparable class
+ */
 public class SimpleTopologicalSort<T extends Comparable<? super T>>
 {
 
@@ -49,105 +58,76 @@ public class SimpleTopologicalSort<T extends Comparable<? super T>>
   public List<T> topologicalSort()
     throws GraphException
   {
-    if (containsCycle())
-    {
-      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
-    }
+    final int vertexCount = graph.vertexCount();
 
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    final int collectionSize = vertices.size();
-
-    final Collection<DirectedEdge<T>> edges = new ArrayList<>(graph.edgeSet());
-    final List<T> sortedValues = new ArrayList<>(collectionSize);
-
-    while (!vertices.isEmpty())
+    final int[] inDegrees = new int[vertexCount];
+    for (int vertexIndex = 0; vertexIndex < vertexCount; vertexIndex++)
     {
-
-      final List<T> nodesAtLevel = new ArrayList<>(collectionSize);
-
-      // Remove unattached nodes
-      for (final Iterator<Vertex<T>> iterator = vertices.iterator(); iterator
-        .hasNext();)
-      {
-        final Vertex<T> vertex = iterator.next();
-        if (isUnattachedNode(vertex, edges))
-        {
-          nodesAtLevel.add(vertex.getValue());
-          iterator.remove();
-        }
-      }
-
-      // Find all nodes at the current level
-      final List<Vertex<T>> startNodes = new ArrayList<>(collectionSize);
-      for (final Vertex<T> vertex: vertices)
+      for (final DirectedEdge<T> edge: graph.adjacencyList(vertexIndex))
       {
-        if (isStartNode(vertex, edges))
-        {
-          startNodes.add(vertex);
-        }
+        inDegrees[edge.getTo().getIndex()]++;
       }
-
-      for (final Vertex<T> vertex: startNodes)
-      {
-        // Save the vertex value
-        nodesAtLevel.add(vertex.getValue());
-        // Remove all out edges
-        dropOutEdges(vertex, edges);
-        // Remove the vertex itself
-        vertices.remove(vertex);
-      }
-
-      nodesAtLevel.sort(naturalOrder());
-      sortedValues.addAll(nodesAtLevel);
     }
 
-    return sortedValues;
-  }
-
-  private boolean containsCycle()
-  {
-    final SimpleCycleDetector<T> cycleDetector = new SimpleCycleDetector<>(graph);
-    return cycleDetector.containsCycle();
-  }
-
-  private void dropOutEdges(final Vertex<T> vertex,
-                            final Collection<DirectedEdge<T>> edges)
-  {
-    for (final Iterator<DirectedEdge<T>> iterator = edges.iterator(); iterator
-      .hasNext();)
+    // Vertices that compare as equal are ordered with vertices that have
+    // no edges left first, and then in the order of the vertex set of
+    // the graph
+    final int[] vertexSetPositions = new int[vertexCount];
+    int position = 0;
+    for (final Vertex<T> vertex: graph.vertexSet())
     {
-      final DirectedEdge<T> edge = iterator.next();
-      if (edge.isFrom(vertex))
+      vertexSetPositions[vertex.getIndex()] = position;
+      position++;
+    }
+    final Comparator<Vertex<T>> levelOrder = Comparator
+      .<Vertex<T>, T> comparing(Vertex::getValue)
+      .thenComparing(vertex -> !graph.adjacencyList(vertex.getIndex())
+        .isEmpty())
+      .thenComparing(comparing(vertex -> vertexSetPositions[vertex
+        .getIndex()]));
+
+    List<Vertex<T>> level = new ArrayList<>();
+    for (int vertexIndex = 0; vertexIndex < vertexCount; vertexIndex++)
+    {
+      if (inDegrees[vertexIndex] == 0)
       {
-        iterator.remove();
+        level.add(graph.vertex(vertexIndex));
       }
     }
-  }
 
-  private boolean isStartNode(final Vertex<T> vertex,
-                              final Collection<DirectedEdge<T>> edges)
-  {
-    for (final DirectedEdge<T> edge: edges)
+    final List<T> sortedValues = new ArrayList<>(vertexCount);
+    while (!level.isEmpty())
     {
-      if (edge.isTo(vertex))
+      level.sort(levelOrder);
+
+      final List<Vertex<T>> nextLevel = new ArrayList<>();
+      for (final Vertex<T> vertex: level)
       {
-        return false;
+        // Save the vertex value
+        sortedValues.add(vertex.getValue());
+        // Remove all out edges
+        for (final DirectedEdge<T> edge: graph
+          .adjacencyList(vertex.getIndex()))
+        {
+          final int to = edge.getTo().getIndex();
+          inDegrees[to]--;
+          if (inDegrees[to] == 0)
+          {
+            nextLevel.add(edge.getTo());
+          }
+        }
       }
+      level = nextLevel;
     }
-    return true;
-  }
 
-  private boolean isUnattachedNode(final Vertex<T> vertex,
-                                   final Collection<DirectedEdge<T>> edges)
-  {
-    for (final DirectedEdge<T> edge: edges)
+    // Vertices on a cycle, or reachable from one, never lose all of
+    // their incoming edges
+    if (sortedValues.size() < vertexCount)
     {
-      if (edge.isTo(vertex) || edge.isFrom(vertex))
-      {
-        return false;
-      }
+      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
     }
-    return true;
+
+    return sortedValues;
   }
 
 }
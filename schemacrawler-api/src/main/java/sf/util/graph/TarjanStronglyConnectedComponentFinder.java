@@ -29,6 +29,7 @@ package sf.util.graph;
 
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
@@ -48,12 +49,34 @@ import java.util.Objects;
 public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super T>>
 {
 
-  private static final String ATTRIBUTE_LOWLINK = "lowlink";
-  private static final String ATTRIBUTE_INDEX = "index";
+  /**
+   * A vertex being visited, with the position of the next successor to
+   * visit.
+   */
+  private static final class Frame
+  {
+    private final int vertexIndex;
+    private final int[] successors;
+    private int position;
+
+    Frame(final int vertexIndex, final int[] successors)
+    {
+      this.vertexIndex = vertexIndex;
+      this.successors = successors;
+    }
+  }
+
+  private static final int NOT_VISITED = -1;
 
   private final DirectedGraph<T> graph;
   private final Collection<List<T>> stronglyConnectedComponents;
-  private final Deque<Vertex<T>> stack;
+  // Vertex indexes on the stack of the algorithm
+  private final Deque<Integer> stack;
+  // Index, lowlink, and whether on the stack, by vertex index
+  private int[] indexes;
+  private int[] lowlinks;
+  private boolean[] onStack;
+  private int index;
 
   public TarjanStronglyConnectedComponentFinder(final DirectedGraph<T> graph)
   {
@@ -70,62 +93,109 @@ public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super
    */
   public Collection<List<T>> detectCycles()
   {
+    final int vertexCount = graph.vertexCount();
+    indexes = new int[vertexCount];
+    Arrays.fill(indexes, NOT_VISITED);
+    lowlinks = new int[vertexCount];
+    onStack = new boolean[vertexCount];
+    index = 0;
+
+    stronglyConnectedComponents.clear();
     for (final Vertex<T> vertex: graph.vertexSet())
     {
-      if (!vertex.hasAttribute(ATTRIBUTE_INDEX))
+      if (indexes[vertex.getIndex()] == NOT_VISITED)
       {
-        strongConnect(vertex, 0);
+        strongConnect(vertex.getIndex());
       }
     }
     return stronglyConnectedComponents;
   }
 
-  private void strongConnect(final Vertex<T> vertexFrom, final int index)
+  /**
+   * Successors of a vertex, in the order of the outgoing edges of the
+   * graph.
+   */
+  private int[] successors(final int vertexIndex)
   {
-    vertexFrom.putAttribute(ATTRIBUTE_INDEX, index);
-    vertexFrom.putAttribute(ATTRIBUTE_LOWLINK, index);
-    stack.push(vertexFrom);
+    final Collection<DirectedEdge<T>> outgoingEdges = graph
+      .getOutgoingEdges(graph.vertex(vertexIndex));
+    final int[] successors = new int[outgoingEdges.size()];
+    int i = 0;
+    for (final DirectedEdge<T> edge: outgoingEdges)
+    {
+      successors[i++] = edge.getTo().getIndex();
+    }
+    return successors;
+  }
 
-    for (final DirectedEdge<T> edge: graph.getOutgoingEdges(vertexFrom))
+  /**
+   * Visits vertices depth-first from a starting vertex, with an
+   * explicit stack rather than recursion, so that long chains of
+   * relationships do not overflow the call stack.
+   */
+  private void strongConnect(final int startVertexIndex)
+  {
+    final Deque<Frame> frames = new ArrayDeque<>();
+    frames.push(visit(startVertexIndex));
+
+    while (!frames.isEmpty())
     {
-      final Vertex<T> vertexTo = edge.getTo();
-      if (!vertexTo.hasAttribute(ATTRIBUTE_INDEX))
+      final Frame frame = frames.peek();
+      final int vertexFrom = frame.vertexIndex;
+
+      if (frame.position < frame.successors.length)
       {
-        // Successor vertex has not yet been visited; recurse on it
-        strongConnect(vertexTo, index + 1);
-        vertexFrom
-          .putAttribute(ATTRIBUTE_LOWLINK,
-                        Math
-                          .min((int) vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                               (int) vertexTo.getAttribute(ATTRIBUTE_LOWLINK)));
+        final int vertexTo = frame.successors[frame.position];
+        frame.position++;
+        if (indexes[vertexTo] == NOT_VISITED)
+        {
+          // Successor vertex has not yet been visited; descend into it
+          frames.push(visit(vertexTo));
+        }
+        else if (onStack[vertexTo])
+        {
+          // Successor vertex is on stack, hence in the current SCC
+          lowlinks[vertexFrom] = Math.min(lowlinks[vertexFrom],
+                                          indexes[vertexTo]);
+        }
+        continue;
       }
-      else if (stack.contains(vertexTo))
+
+      // All successors have been visited
+      frames.pop();
+
+      if (lowlinks[vertexFrom] == indexes[vertexFrom])
       {
-        // Successor vertex is on stack, hence in the current SCC
-        vertexFrom
-          .putAttribute(ATTRIBUTE_LOWLINK,
-                        Math
-                          .min((int) vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                               (int) vertexTo.getAttribute(ATTRIBUTE_INDEX)));
+        final LinkedList<T> scc = new LinkedList<>();
+        int sccVertex;
+        do
+        {
+          sccVertex = stack.pop();
+          onStack[sccVertex] = false;
+          scc.addFirst(graph.vertex(sccVertex).getValue());
+        } while (sccVertex != vertexFrom);
+        if (scc.size() > 1)
+        {
+          stronglyConnectedComponents.add(scc);
+        }
       }
-    }
 
-    if (vertexFrom.getAttribute(ATTRIBUTE_LOWLINK) == vertexFrom
-      .getAttribute(ATTRIBUTE_INDEX))
-    {
-      final LinkedList<T> scc = new LinkedList<>();
-      Vertex<T> sccVertex;
-      do
+      if (!frames.isEmpty())
       {
-        sccVertex = stack.pop();
-        scc.addFirst(sccVertex.getValue());
-      } while (!vertexFrom.equals(sccVertex));
-      if (scc.size() > 1)
-      {
-        stronglyConnectedComponents.add(scc);
+        final int parent = frames.peek().vertexIndex;
+        lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[vertexFrom]);
       }
     }
+  }
 
+  private Frame visit(final int vertexIndex)
+  {
+    indexes[vertexIndex] = index;
+    lowlinks[vertexIndex] = index;
+    index++;
+    stack.push(vertexIndex);
+    onStack[vertexIndex] = true;
+    return new Frame(vertexIndex, successors(vertexIndex));
   }
 
 }
@@ -38,11 +38,13 @@ public final class Vertex<T>
 {
 
   private final T value;
+  private final int index;
   private final Map<String, Object> attributes;
 
-  Vertex(final T value)
+  Vertex(final T value, final int index)
   {
     this.value = value;
+    this.index = index;
     attributes = new HashMap<>();
   }
 
@@ -86,6 +88,15 @@ public final class Vertex<T>
     return value;
   }
 
+  /**
+   * Position of the vertex in the graph, in the order in which vertices
+   * were added.
+   */
+  int getIndex()
+  {
+    return index;
+  }
+
   boolean hasAttribute(final String key)
   {
     return attributes.containsKey(key);
@@ -29,16 +29,21 @@ package schemacrawler.crawl;
 
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import schemacrawler.schema.NamedObject;
+import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
 
@@ -66,6 +71,103 @@ public class CoverageTest
     assertThat(list.toString(), equalTo("name1, name2"));
   }
 
+  @Test
+  public void namedObjectListKeepsSortOrder()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "SCHEMA");
+    final MutableTable table1 = new MutableTable(schema, "TABLE1");
+    final MutableTable table2 = new MutableTable(schema, "TABLE2");
+    final MutableTable table3 = new MutableTable(schema, "TABLE3");
+
+    final NamedObjectList<MutableTable> list = new NamedObjectList<>();
+    list.add(table3);
+    list.add(table1);
+    assertThat(list.values(), contains(table1, table3));
+
+    list.add(table2);
+    assertThat(list.values(), contains(table1, table2, table3));
+    assertThat("Unchanged list should return the same values",
+               list.values(),
+               sameInstance(list.values()));
+    assertThrows(UnsupportedOperationException.class,
+                 () -> list.values().remove(table1));
+
+    // Sort order changes after the tables were added
+    table1.setSortIndex(2);
+    table2.setSortIndex(1);
+    assertThat(list.values(), contains(table3, table2, table1));
+
+    list.remove(table2);
+    assertThat(list.values(), contains(table3, table1));
+
+    list.filter(table -> table != table3);
+    assertThat(list.values(), contains(table1));
+  }
+
+  @Test
+  public void namedObjectListResortsOnlyListsThatHoldChangedObjects()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "SCHEMA");
+    final MutableTable table1 = new MutableTable(schema, "TABLE1");
+    final MutableTable table2 = new MutableTable(schema, "TABLE2");
+    final MutableTable table3 = new MutableTable(schema, "TABLE3");
+
+    final NamedObjectList<MutableTable> list = new NamedObjectList<>();
+    list.add(table1);
+    list.add(table2);
+    final NamedObjectList<MutableTable> otherList = new NamedObjectList<>();
+    otherList.add(table3);
+
+    final List<MutableTable> values = list.values();
+    final List<MutableTable> otherValues = otherList.values();
+    table3.setSortIndex(1);
+    assertThat("List without the changed table should not be re-sorted",
+               list.values(),
+               sameInstance(values));
+    assertThat(otherList.values(), not(sameInstance(otherValues)));
+
+    table1.setSortIndex(2);
+    assertThat(list.values(), contains(table2, table1));
+
+    list.remove(table1);
+    table1.setSortIndex(0);
+    assertThat("Removed table should no longer affect the list",
+               list.values(),
+               sameInstance(list.values()));
+  }
+
+  @Test
+  public void namedObjectListResortsIndexesOnColumnPositions()
+  {
+    final MutableCatalog catalog = new MutableCatalog("DATABASE");
+    final Schema schema = catalog.addSchema("CATALOG", "SCHEMA");
+    final MutableTable table = new MutableTable(schema, "TABLE");
+    final MutableColumn column1 = new MutableColumn(table, "COLUMN1");
+    final MutableColumn column2 = new MutableColumn(table, "COLUMN2");
+    table.addColumn(column1);
+    table.addColumn(column2);
+
+    final MutableIndex index1 = new MutableIndex(table, "INDEX1");
+    final MutableIndex index2 = new MutableIndex(table, "INDEX2");
+    table.addIndex(index1);
+    table.addIndex(index2);
+
+    final MutableIndexColumn index1Column = new MutableIndexColumn(index1,
+                                                                   column2);
+    index1.addColumn(index1Column);
+    final MutableIndexColumn index2Column = new MutableIndexColumn(index2,
+                                                                   column1);
+    index2.addColumn(index2Column);
+    assertThat(table.getIndexes(), contains(index2, index1));
+
+    index1Column.setIndexOrdinalPosition(1);
+    index2Column.setIndexOrdinalPosition(2);
+    assertThat(index1.getColumns(), contains(index1Column));
+    assertThat(table.getIndexes(), contains(index1, index2));
+  }
+
   @Test
   public void namedObjectListNull()
   {
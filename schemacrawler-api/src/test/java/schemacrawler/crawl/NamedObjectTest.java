@@ -30,6 +30,7 @@ package schemacrawler.crawl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.jupiter.api.Test;
 
@@ -70,6 +71,20 @@ public class NamedObjectTest
     }
     assertThat(tables.size(), is(schemaNames.length * tableNames.length));
 
+    for (final String schemaName: schemaNames)
+    {
+      for (final String tableName: tableNames)
+      {
+        final NamedObjectKey key = new NamedObjectKey("CATALOG",
+                                                      schemaName,
+                                                      tableName);
+        final Table table = tables.lookup(key).get();
+        assertThat(table.getFullName(),
+                   is("CATALOG." + schemaName + "." + tableName));
+        assertThat(tables.lookup(key.toList()).get(), is(sameInstance(table)));
+      }
+    }
+
   }
 
 }
@@ -0,0 +1,226 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.MetadataRetrievalStrategy;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.*;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class MetadataRetrievalStrategyTest
+{
+
+  private static String describe(final Catalog catalog)
+  {
+    final StringBuilder buffer = new StringBuilder();
+    for (final Table table: catalog.getTables())
+    {
+      buffer.append(table.getFullName()).append(" - ")
+        .append(table.getColumns().size()).append(" columns, ")
+        .append(table.getIndexes().size()).append(" indexes, ")
+        .append(table.getForeignKeys().size()).append(" foreign keys, ")
+        .append(table.hasPrimaryKey()? "": "no ").append("primary key")
+        .append("\n");
+    }
+    return buffer.toString();
+  }
+
+  private static String describeRoutines(final Catalog catalog)
+  {
+    final StringBuilder buffer = new StringBuilder();
+    for (final Routine routine: catalog.getRoutines())
+    {
+      buffer.append(routine.getFullName()).append(" - ")
+        .append(routine.getParameters().size()).append(" parameters")
+        .append("\n");
+    }
+    return buffer.toString();
+  }
+
+  private static Catalog crawlRoutines(final Connection connection,
+                                       final MetadataRetrievalStrategy retrievalStrategy)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder().fromConfig(loadHsqldbConfig())
+      .withProcedureRetrievalStrategy(retrievalStrategy)
+      .withProcedureColumnRetrievalStrategy(retrievalStrategy)
+      .withFunctionRetrievalStrategy(retrievalStrategy)
+      .withFunctionColumnRetrievalStrategy(retrievalStrategy).toOptions();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeAllRoutines().toOptions();
+    return getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+  }
+
+  private static Catalog crawl(final Connection connection,
+                               final MetadataRetrievalStrategy retrievalStrategy,
+                               final InclusionRule tableInclusionRule)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder().fromConfig(loadHsqldbConfig())
+      .withTableRetrievalStrategy(retrievalStrategy)
+      .withTableColumnRetrievalStrategy(retrievalStrategy)
+      .withPrimaryKeyRetrievalStrategy(retrievalStrategy)
+      .withIndexRetrievalStrategy(retrievalStrategy)
+      .withForeignKeyRetrievalStrategy(retrievalStrategy).toOptions();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeTables(tableInclusionRule).toOptions();
+    return getCatalog(connection, schemaRetrievalOptions, schemaCrawlerOptions);
+  }
+
+  @Test
+  public void allTablesWithSmallFetchSize(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder().fromConfig(loadHsqldbConfig())
+      .withTableColumnRetrievalStrategy(MetadataRetrievalStrategy.metadata_all)
+      .withFetchSize(MetadataRetrievalStrategy.metadata_all, 1).toOptions();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+    assertThat(describe(getCatalog(connection,
+                                   schemaRetrievalOptions,
+                                   schemaCrawlerOptions)),
+               equalTo(describe(crawl(connection,
+                                      MetadataRetrievalStrategy.metadata,
+                                      new IncludeAll()))));
+  }
+
+  @Test
+  public void autoForAllTables(final Connection connection)
+    throws Exception
+  {
+    final InclusionRule tableInclusionRule = new IncludeAll();
+    assertThat(describe(crawl(connection,
+                              MetadataRetrievalStrategy.auto,
+                              tableInclusionRule)),
+               equalTo(describe(crawl(connection,
+                                      MetadataRetrievalStrategy.metadata,
+                                      tableInclusionRule))));
+  }
+
+  @Test
+  public void autoForFilteredTables(final Connection connection)
+    throws Exception
+  {
+    final InclusionRule tableInclusionRule = new RegularExpressionInclusionRule(".*\\.AUTHORS");
+    assertThat(describe(crawl(connection,
+                              MetadataRetrievalStrategy.auto,
+                              tableInclusionRule)),
+               equalTo(describe(crawl(connection,
+                                      MetadataRetrievalStrategy.metadata,
+                                      tableInclusionRule))));
+  }
+
+  @Test
+  public void autoForRoutines(final Connection connection)
+    throws Exception
+  {
+    assertThat(describeRoutines(crawlRoutines(connection,
+                                              MetadataRetrievalStrategy.auto)),
+               equalTo(describeRoutines(crawlRoutines(connection,
+                                                      MetadataRetrievalStrategy.metadata))));
+  }
+
+  @Test
+  public void fetchSizesFromConfig()
+  {
+    final Config config = new Config();
+    config.put("schemacrawler.schema.retrieval.fetchsize.metadata_all", "1000");
+    config.put("schemacrawler.schema.retrieval.fetchsize.TABLE_COLUMNS",
+               "5000");
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(config);
+
+    assertThat(schemaRetrievalOptions
+      .getFetchSize(MetadataRetrievalStrategy.metadata), is(20));
+    assertThat(schemaRetrievalOptions
+      .getFetchSize(MetadataRetrievalStrategy.metadata_all), is(1000));
+    assertThat(schemaRetrievalOptions
+      .getFetchSize(MetadataRetrievalStrategy.data_dictionary_all), is(500));
+    assertThat(schemaRetrievalOptions
+      .getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(5000));
+    assertThat(schemaRetrievalOptions.getFetchSize(InformationSchemaKey.TABLES),
+               is(500));
+    assertThat(SchemaRetrievalOptionsBuilder.builder(schemaRetrievalOptions)
+      .toOptions().getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(5000));
+  }
+
+  @Test
+  public void withoutMetadataAttributes(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder().fromConfig(loadHsqldbConfig()).withMetadataAttributes(false)
+      .toOptions();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+    final Catalog catalog = getCatalog(connection,
+                                       schemaRetrievalOptions,
+                                       schemaCrawlerOptions);
+
+    assertThat(describe(catalog),
+               equalTo(describe(crawl(connection,
+                                      MetadataRetrievalStrategy.metadata,
+                                      new IncludeAll()))));
+    for (final Table table: catalog.getTables())
+    {
+      for (final Column column: table.getColumns())
+      {
+        assertThat(column.getFullName(),
+                   column.getAttributes().isEmpty(),
+                   is(true));
+      }
+    }
+  }
+
+}
@@ -30,6 +30,7 @@ package schemacrawler.test;
 
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -46,6 +47,7 @@ import java.sql.Statement;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import schemacrawler.schemacrawler.IncludeAll;
 import schemacrawler.schemacrawler.InclusionRule;
 import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
 import schemacrawler.test.utility.TestContext;
@@ -108,6 +110,57 @@ public class QueryUtilityTest
     executeAgainstSchemaTest(testContext, cxn, query, schemaInclusionRule);
   }
 
+  @Test
+  public void executeAgainstTables(final TestContext testContext,
+                                   final Connection cxn)
+    throws Exception
+  {
+    final Query query = new Query("Selected tables",
+                                  "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_CATALOG || '.' || TABLE_SCHEMA || '.' || TABLE_NAME, '${tables}') ORDER BY TABLE_NAME");
+    final InclusionRule tableInclusionRule = new RegularExpressionInclusionRule(".*\\.BOOKS\\.(AUTHORS|BOOKS)");
+
+    assertThat(countRows(cxn, query, tableInclusionRule), is(2));
+  }
+
+  @Test
+  public void executeAgainstTablesNotPortable(final TestContext testContext,
+                                              final Connection cxn)
+    throws Exception
+  {
+    final Query query = new Query("Selected tables",
+                                  "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_CATALOG || '.' || TABLE_SCHEMA || '.' || TABLE_NAME, '${tables}') ORDER BY TABLE_NAME");
+    // Inline flags are not pushed down, so all tables are returned
+    final InclusionRule tableInclusionRule = new RegularExpressionInclusionRule("(?i).*\\.books\\.authors");
+
+    assertThat(countRows(cxn, query, tableInclusionRule), is(greaterThan(2)));
+  }
+
+  @Test
+  public void filteredByTableInclusionRule()
+  {
+    final Query query = new Query("Selected tables",
+                                  "SELECT * FROM INFORMATION_SCHEMA.TABLES WHERE REGEXP_MATCHES(TABLE_CATALOG || '.' || TABLE_SCHEMA || '.' || TABLE_NAME, '${tables}') ORDER BY TABLE_NAME");
+    final Query unfilteredQuery = new Query("All tables",
+                                            "SELECT * FROM INFORMATION_SCHEMA.TABLES ORDER BY TABLE_NAME");
+
+    assertThat(QueryUtility
+      .isFilteredByTableInclusionRule(query,
+                                      new RegularExpressionInclusionRule(".*\\.BOOKS\\.AUTHORS")),
+               is(true));
+    assertThat(QueryUtility
+      .isFilteredByTableInclusionRule(unfilteredQuery,
+                                      new RegularExpressionInclusionRule(".*\\.BOOKS\\.AUTHORS")),
+               is(false));
+    // Rules that cannot be pushed down match everything
+    assertThat(QueryUtility.isFilteredByTableInclusionRule(query,
+                                                           new IncludeAll()),
+               is(false));
+    assertThat(QueryUtility
+      .isFilteredByTableInclusionRule(query,
+                                      new RegularExpressionInclusionRule("(?i).*\\.books\\.authors")),
+               is(false));
+  }
+
   @Test
   public void executeForScalar(final TestContext testContext,
                                final Connection cxn)
@@ -135,6 +188,29 @@ public class QueryUtilityTest
     assertThat(scalar, nullValue());
   }
 
+  private int countRows(final Connection cxn,
+                        final Query query,
+                        final InclusionRule tableInclusionRule)
+    throws SQLException
+  {
+    int rows = 0;
+    try (final Connection connection = cxn;
+        final Statement statement = connection.createStatement();
+        final ResultSet resultSet = QueryUtility
+          .executeAgainstSchema(query,
+                                statement,
+                                null,
+                                tableInclusionRule,
+                                null);)
+    {
+      while (resultSet.next())
+      {
+        rows++;
+      }
+    }
+    return rows;
+  }
+
   private void executeAgainstSchemaTest(final TestContext testContext,
                                         final Connection cxn,
                                         final Query query,
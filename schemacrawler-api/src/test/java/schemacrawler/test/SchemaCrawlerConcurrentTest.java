@@ -0,0 +1,290 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.MetadataRetrievalStrategy;
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.*;
+import schemacrawler.schemacrawler.*;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class SchemaCrawlerConcurrentTest
+{
+
+  private static void describe(final StringBuilder buffer,
+                               final String indent,
+                               final AttributedObject object)
+  {
+    // Sorted, so that only the values are compared
+    for (final Map.Entry<String, Object> attribute: new TreeMap<>(object
+      .getAttributes()).entrySet())
+    {
+      buffer.append(indent).append(attribute.getKey()).append(" = ")
+        .append(attribute.getValue()).append("\n");
+    }
+  }
+
+  private static String describe(final Catalog catalog)
+  {
+    final StringBuilder buffer = new StringBuilder();
+    for (final Table table: catalog.getTables())
+    {
+      buffer.append(table.getFullName()).append(" [")
+        .append(table.getTableType()).append("]\n");
+      buffer.append("  definition: ").append(table.getDefinition())
+        .append("\n");
+      describe(buffer, "  ", table);
+      for (final Column column: table.getColumns())
+      {
+        buffer.append("  column ").append(column.getName()).append(" ")
+          .append(column.getColumnDataType()).append("\n");
+        describe(buffer, "    ", column);
+        for (final Privilege<Column> privilege: column.getPrivileges())
+        {
+          buffer.append("    privilege ").append(privilege.getName())
+            .append(" ").append(privilege.getGrants().size()).append("\n");
+        }
+      }
+      for (final Index index: table.getIndexes())
+      {
+        buffer.append("  index ").append(index.getName()).append(" ")
+          .append(index.getColumns()).append("\n");
+        describe(buffer, "    ", index);
+      }
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        buffer.append("  foreign key ").append(foreignKey.getName())
+          .append(" ").append(foreignKey.getColumnReferences())
+          .append("\n");
+      }
+      for (final TableConstraint constraint: table.getTableConstraints())
+      {
+        buffer.append("  constraint ").append(constraint.getName())
+          .append(" ").append(constraint.getConstraintType()).append(" ")
+          .append(constraint.getColumns()).append(" ")
+          .append(constraint.getDefinition()).append("\n");
+      }
+      for (final Trigger trigger: table.getTriggers())
+      {
+        buffer.append("  trigger ").append(trigger.getName()).append(" ")
+          .append(trigger.getActionStatement()).append("\n");
+      }
+      for (final Privilege<Table> privilege: table.getPrivileges())
+      {
+        buffer.append("  privilege ").append(privilege.getName())
+          .append(" ").append(privilege.getGrants().size()).append("\n");
+      }
+    }
+    for (final Routine routine: catalog.getRoutines())
+    {
+      buffer.append(routine.getFullName()).append(" ")
+        .append(routine.getDefinition()).append("\n");
+      for (final RoutineParameter<?> parameter: routine.getParameters())
+      {
+        buffer.append("  parameter ").append(parameter.getName())
+          .append("\n");
+      }
+    }
+    for (final Synonym synonym: catalog.getSynonyms())
+    {
+      buffer.append(synonym.getFullName()).append(" -> ")
+        .append(synonym.getReferencedObject().getFullName()).append("\n");
+    }
+    for (final Sequence sequence: catalog.getSequences())
+    {
+      buffer.append(sequence.getFullName()).append(" ")
+        .append(sequence.getIncrement()).append("\n");
+    }
+    return buffer.toString();
+  }
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo,
+                                                        final AtomicInteger connectionCount,
+                                                        final List<Connection> connections)
+  {
+    return () -> {
+      try
+      {
+        final Connection newConnection = DriverManager
+          .getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+        connectionCount.incrementAndGet();
+        synchronized (connections)
+        {
+          connections.add(newConnection);
+        }
+        return newConnection;
+      }
+      catch (final SQLException e)
+      {
+        throw new RuntimeException(e);
+      }
+    };
+  }
+
+  @Test
+  public void concurrentCrawlMatchesSerialCrawl(final Connection connection,
+                                                final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeAllSynonyms().includeAllSequences().toOptions();
+
+    final Catalog serialCatalog = new SchemaCrawler(connection,
+                                                    schemaRetrievalOptions,
+                                                    schemaCrawlerOptions)
+      .crawl();
+
+    final String serialDescription = describe(serialCatalog);
+
+    // Concurrent phases write to shared objects, so crawl repeatedly to
+    // give races a chance to show up
+    for (int i = 0; i < 10; i++)
+    {
+      final AtomicInteger connectionCount = new AtomicInteger();
+      final List<Connection> connections = new ArrayList<>();
+      final Supplier<Connection> connectionSupplier = connectionSupplier(connectionInfo,
+                                                                         connectionCount,
+                                                                         connections);
+      final Catalog concurrentCatalog = new SchemaCrawler(connectionSupplier,
+                                                          schemaRetrievalOptions,
+                                                          schemaCrawlerOptions)
+        .crawl();
+
+      assertThat(describe(concurrentCatalog), equalTo(serialDescription));
+      assertThat("Expected more than one connection to be used",
+                 connectionCount.get() > 1,
+                 is(true));
+      for (final Connection usedConnection: connections)
+      {
+        assertThat("Connection was not closed",
+                   usedConnection.isClosed(),
+                   is(true));
+      }
+    }
+  }
+
+  @Test
+  public void concurrentMetadataRetrievalMatchesSerialCrawl(final Connection connection,
+                                                            final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(loadHsqldbConfig());
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+
+    final Catalog serialCatalog = new SchemaCrawler(connection,
+                                                    schemaRetrievalOptions,
+                                                    schemaCrawlerOptions)
+      .crawl();
+
+    final SchemaRetrievalOptions concurrentSchemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions).withMetadataRetrievalConnections(4)
+      .toOptions();
+    final AtomicInteger connectionCount = new AtomicInteger();
+    final List<Connection> connections = new ArrayList<>();
+    final Catalog concurrentCatalog = new SchemaCrawler(connectionSupplier(connectionInfo,
+                                                                           connectionCount,
+                                                                           connections),
+                                                        concurrentSchemaRetrievalOptions,
+                                                        schemaCrawlerOptions)
+      .crawl();
+
+    assertThat(describe(concurrentCatalog),
+               equalTo(describe(serialCatalog)));
+    for (final Connection usedConnection: connections)
+    {
+      assertThat("Connection was not closed",
+                 usedConnection.isClosed(),
+                 is(true));
+    }
+  }
+
+  @Test
+  public void concurrentAutoRetrievalMatchesSerialCrawl(final Connection connection,
+                                                        final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    // Strategies chosen automatically on the first connection are
+    // shared by the connections of the concurrent phases
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder().fromConfig(loadHsqldbConfig())
+      .withTableColumnRetrievalStrategy(MetadataRetrievalStrategy.auto)
+      .withPrimaryKeyRetrievalStrategy(MetadataRetrievalStrategy.auto)
+      .withIndexRetrievalStrategy(MetadataRetrievalStrategy.auto)
+      .withForeignKeyRetrievalStrategy(MetadataRetrievalStrategy.auto)
+      .toOptions();
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .includeTables(new RegularExpressionInclusionRule(".*\\.BOOKS\\..*"))
+      .toOptions();
+
+    final Catalog serialCatalog = new SchemaCrawler(connection,
+                                                    schemaRetrievalOptions,
+                                                    schemaCrawlerOptions)
+      .crawl();
+
+    final Catalog concurrentCatalog = new SchemaCrawler(connectionSupplier(connectionInfo,
+                                                                           new AtomicInteger(),
+                                                                           new ArrayList<>()),
+                                                        schemaRetrievalOptions,
+                                                        schemaCrawlerOptions)
+      .crawl();
+
+    assertThat(describe(concurrentCatalog),
+               equalTo(describe(serialCatalog)));
+  }
+
+}
@@ -0,0 +1,282 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.loadHsqldbConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.crawl.MetadataRetrievalStrategy;
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.*;
+import schemacrawler.schemacrawler.*;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class SchemaCrawlerLazyTest
+{
+
+  private static String describe(final Catalog catalog)
+  {
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    tables.sort((table1, table2) -> table1.getFullName()
+      .compareTo(table2.getFullName()));
+
+    final StringBuilder buffer = new StringBuilder();
+    for (final Table table: tables)
+    {
+      buffer.append(table.getFullName()).append("\n");
+      buffer.append("  columns: ").append(table.getColumns()).append("\n");
+      buffer.append("  primary key: ").append(table.getPrimaryKey())
+        .append("\n");
+      buffer.append("  indexes: ").append(table.getIndexes().size())
+        .append("\n");
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        buffer.append("  foreign key: ").append(foreignKey.getName());
+        for (final ForeignKeyColumnReference columnReference: foreignKey)
+        {
+          buffer.append(" ").append(columnReference);
+        }
+        buffer.append("\n");
+      }
+    }
+    return buffer.toString();
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions()
+  {
+    return schemaCrawlerOptions(SchemaInfoLevelBuilder.standard());
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(final SchemaInfoLevel schemaInfoLevel)
+  {
+    return SchemaCrawlerOptionsBuilder.builder()
+      .withSchemaInfoLevel(schemaInfoLevel)
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+  }
+
+  @Test
+  public void lazyCrawlFailedLoadIsRetried(final Connection connection)
+    throws Exception
+  {
+    // There is no data dictionary query for table columns, so columns
+    // cannot be loaded
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder()
+      .withTableColumnRetrievalStrategy(MetadataRetrievalStrategy.data_dictionary_all)
+      .withLazyTableDetails(true).toOptions();
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions())
+      .crawl();
+
+    assertThat(catalog.getTables(), is(not(empty())));
+    final Table table = catalog.getTables().iterator().next();
+    assertThrows(SchemaCrawlerRuntimeException.class, table::getColumns);
+    // The table is not marked as loaded, so it is not left without
+    // columns
+    assertThrows(SchemaCrawlerRuntimeException.class, table::getColumns);
+  }
+
+  @Test
+  public void lazyCrawlOmitsCatalogWideDetails(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(loadHsqldbConfig());
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions(SchemaInfoLevelBuilder
+                                                .maximum()))
+      .crawl();
+
+    final SchemaRetrievalOptions lazySchemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions).withLazyTableDetails(true).toOptions();
+    final Catalog lazyCatalog = new SchemaCrawler(connection,
+                                                  lazySchemaRetrievalOptions,
+                                                  schemaCrawlerOptions(SchemaInfoLevelBuilder
+                                                    .maximum()))
+      .crawl();
+
+    final List<Boolean> hasTableConstraints = new ArrayList<>();
+    for (final Table table: catalog.getTables())
+    {
+      hasTableConstraints.add(!table.getTableConstraints().isEmpty());
+    }
+    assertThat(hasTableConstraints, hasItem(true));
+
+    // Table constraints and column privileges are retrieved for the
+    // whole catalog at once, so they are not loaded lazily
+    assertThat(describe(lazyCatalog), equalTo(describe(catalog)));
+    for (final Table table: lazyCatalog.getTables())
+    {
+      assertThat(table.getTableConstraints(), is(empty()));
+      for (final Column column: table.getColumns())
+      {
+        assertThat(column.getPrivileges(), is(empty()));
+      }
+    }
+  }
+
+  @Test
+  public void lazyCrawlWithBulkMetadataMatchesCrawl(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(SchemaRetrievalOptionsBuilder
+        .newSchemaRetrievalOptions(loadHsqldbConfig()))
+      .withTableColumnRetrievalStrategy(MetadataRetrievalStrategy.metadata_all)
+      .withIndexRetrievalStrategy(MetadataRetrievalStrategy.metadata_all)
+      .withPrimaryKeyRetrievalStrategy(MetadataRetrievalStrategy.metadata_all)
+      .withForeignKeyRetrievalStrategy(MetadataRetrievalStrategy.metadata_all)
+      .toOptions();
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions())
+      .crawl();
+
+    // Details are loaded a schema at a time, with the bulk metadata
+    // calls limited to that schema
+    final SchemaRetrievalOptions lazySchemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions).withLazyTableDetails(true).toOptions();
+    final Catalog lazyCatalog = new SchemaCrawler(connection,
+                                                  lazySchemaRetrievalOptions,
+                                                  schemaCrawlerOptions())
+      .crawl();
+
+    assertThat(describe(lazyCatalog), equalTo(describe(catalog)));
+  }
+
+  @Test
+  public void lazyCrawlMatchesCrawl(final Connection connection)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(loadHsqldbConfig());
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions())
+      .crawl();
+
+    final SchemaRetrievalOptions lazySchemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions).withLazyTableDetails(true).toOptions();
+    final Catalog lazyCatalog = new SchemaCrawler(connection,
+                                                  lazySchemaRetrievalOptions,
+                                                  schemaCrawlerOptions())
+      .crawl();
+
+    assertThat(describe(lazyCatalog), equalTo(describe(catalog)));
+  }
+
+  @Test
+  public void lazyCrawlWithClosedConnection(final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(SchemaRetrievalOptionsBuilder
+        .newSchemaRetrievalOptions(loadHsqldbConfig()))
+      .withLazyTableDetails(true).toOptions();
+
+    final Catalog catalog;
+    try (final Connection connection = DriverManager
+      .getConnection(connectionInfo.getConnectionUrl(), "sa", "");)
+    {
+      catalog = new SchemaCrawler(connection,
+                                  schemaRetrievalOptions,
+                                  schemaCrawlerOptions())
+        .crawl();
+    }
+
+    assertThat(catalog.getTables(), is(not(empty())));
+    for (final Table table: catalog.getTables())
+    {
+      assertThrows(SchemaCrawlerRuntimeException.class, table::getColumns);
+      assertThrows(SchemaCrawlerRuntimeException.class,
+                   table::getForeignKeys);
+    }
+  }
+
+  @Test
+  public void lazyCrawlSerialized(final Connection connection,
+                                  final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions(loadHsqldbConfig());
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions())
+      .crawl();
+
+    final SchemaRetrievalOptions lazySchemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .builder(schemaRetrievalOptions).withLazyTableDetails(true).toOptions();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final Connection lazyConnection = DriverManager
+      .getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);)
+    {
+      final Catalog lazyCatalog = new SchemaCrawler(lazyConnection,
+                                                    lazySchemaRetrievalOptions,
+                                                    schemaCrawlerOptions())
+        .crawl();
+      // Nothing has been accessed, so all details are loaded when the
+      // catalog is serialized
+      out.writeObject(lazyCatalog);
+    }
+
+    final Catalog deserializedCatalog;
+    try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes
+      .toByteArray()));)
+    {
+      deserializedCatalog = (Catalog) in.readObject();
+    }
+
+    assertThat(describe(deserializedCatalog), equalTo(describe(catalog)));
+  }
+
+}
@@ -34,9 +34,14 @@ import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static sf.util.Utility.convertForComparison;
 
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -57,6 +62,28 @@ import schemacrawler.utility.NamedObjectSort;
 public class SortingTest
 {
 
+  @Test
+  public void alphabeticalTableSort(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final List<Table> expectedTables = new ArrayList<>(catalog.getTables());
+    expectedTables.sort(Comparator
+      .comparing(table -> convertForComparison(table.getFullName())));
+
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    Collections.reverse(tables);
+    NamedObjectSort.alphabetical.sort(tables);
+    assertThat(tables, equalTo(expectedTables));
+
+    final List<Table> comparedTables = new ArrayList<>(catalog.getTables());
+    Collections.reverse(comparedTables);
+    comparedTables.sort(NamedObjectSort.alphabetical);
+    assertThat(comparedTables, equalTo(expectedTables));
+  }
+
   @Test
   public void columnSort(final Connection connection)
     throws Exception
@@ -0,0 +1,96 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test.graph;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import sf.util.graph.DirectedGraph;
+import sf.util.graph.TarjanStronglyConnectedComponentFinder;
+
+public class DirectedGraphLargeTest
+  extends GraphTestBase
+{
+
+  @Test
+  public void longChain()
+    throws Exception
+  {
+    final int verticesCount = 100_000;
+    final DirectedGraph<Integer> graph = new DirectedGraph<>("");
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 1; i < verticesCount; i++)
+    {
+      graph.addEdge(i - 1, i);
+    }
+    for (int i = 0; i < verticesCount; i++)
+    {
+      expected.add(i);
+    }
+
+    assertThat(containsCycleSimple(graph), is(false));
+    assertThat(containsCycleTarjan(graph), is(false));
+    assertThat(topologicalSort(graph), is(expected));
+
+    graph.addEdge(verticesCount - 1, 0);
+
+    assertThat(containsCycleSimple(graph), is(true));
+    final Collection<List<Integer>> sccs = new TarjanStronglyConnectedComponentFinder<>(graph)
+      .detectCycles();
+    assertThat(sccs, hasSize(1));
+    assertThat(sccs.iterator().next(), hasSize(verticesCount));
+  }
+
+  @Test
+  public void stronglyConnectedThroughSeveralPaths()
+    throws Exception
+  {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("A", "C");
+    graph.addEdge("A", "B");
+    graph.addEdge("B", "A");
+    graph.addEdge("C", "B");
+
+    final Collection<List<String>> sccs = new TarjanStronglyConnectedComponentFinder<>(graph)
+      .detectCycles();
+    assertThat(sccs, hasSize(1));
+    final List<String> scc = new ArrayList<>(sccs.iterator().next());
+    scc.sort(null);
+    assertThat(scc, contains("A", "B", "C"));
+  }
+
+}
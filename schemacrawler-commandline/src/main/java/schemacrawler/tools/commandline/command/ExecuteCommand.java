@@ -150,6 +150,11 @@ public class ExecuteCommand
       executable.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       executable.setConnection(connection);
+      if (connection != null)
+      {
+        // Commands can open more connections to spread work across
+        executable.setConnectionSupplier(state.getDataSource());
+      }
       executable.setCatalog(catalog);
 
       executable.execute();
@@ -118,7 +118,10 @@ public final class GraphRenderer
     {
       aCatalog = new CatalogWithCounts(aCatalog,
                                        connection,
-                                       schemaCrawlerOptions);
+                                       connectionSupplier,
+                                       schemaRetrievalOptions,
+                                       schemaCrawlerOptions,
+                                       additionalConfiguration);
     }
 
     // Set the format, in case we are using the default
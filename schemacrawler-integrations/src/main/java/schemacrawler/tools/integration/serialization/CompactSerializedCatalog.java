@@ -0,0 +1,226 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import schemacrawler.crawl.CompactCatalogReader;
+import schemacrawler.crawl.CompactCatalogWriter;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Decorates a database to allow for serialization to and from a
+ * compressed snapshot. The catalog is written one field at a time in a
+ * compact binary format, rather than with Java serialization, inside a
+ * container with a header that has a magic number, a format version,
+ * and flags. Strings, schemas, data types, tables and columns are
+ * written only once, and referred to after that, so equal strings are
+ * shared once the snapshot is read back in. Only attribute values of
+ * unusual types are written with Java serialization. Tables that are
+ * not in the catalog, such as those in other schemas that foreign keys
+ * refer to, are read back as partial tables. Snapshots are compressed by
+ * default, and are always read and written through buffers.
+ */
+public final class CompactSerializedCatalog
+  extends BaseCatalogDecorator
+  implements SerializableCatalog
+{
+
+  private static final long serialVersionUID = -2460312834561275392L;
+
+  private static final int MAGIC = 0x5343534E; // "SCSN"
+  private static final int VERSION = 2;
+  private static final int FLAG_COMPRESSED = 0x01;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Checks whether an input stream starts with a compact snapshot
+   * header. The stream is reset to where it was, so it needs to support
+   * mark and reset.
+   *
+   * @param in
+   *        Input stream
+   * @return Whether the stream has a compact snapshot
+   * @throws IOException
+   *         On an exception reading the stream
+   */
+  public static boolean isCompactSnapshot(final InputStream in)
+    throws IOException
+  {
+    return SnapshotUtility.startsWithMagic(in, MAGIC);
+  }
+
+  private static Catalog readCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(in, "No input stream provided");
+    final Inflater inflater = new Inflater();
+    try (final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in,
+                                                                                    BUFFER_SIZE));)
+    {
+      if (dataIn.readInt() != MAGIC)
+      {
+        throw new SchemaCrawlerException("Not a compact catalog snapshot");
+      }
+      final int version = dataIn.readInt();
+      if (version != VERSION)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Cannot read version %d of a compact catalog snapshot, only version %d",
+                  version,
+                  VERSION));
+      }
+      final int flags = dataIn.readInt();
+
+      final InputStream snapshotIn;
+      if ((flags & FLAG_COMPRESSED) != 0)
+      {
+        snapshotIn = new BufferedInputStream(new InflaterInputStream(dataIn,
+                                                                     inflater,
+                                                                     BUFFER_SIZE),
+                                             BUFFER_SIZE);
+      }
+      else
+      {
+        snapshotIn = dataIn;
+      }
+
+      return new CompactCatalogReader(snapshotIn).read();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Cannot deserialize catalog", e);
+    }
+    finally
+    {
+      inflater.end();
+    }
+  }
+
+  private final boolean compressed;
+
+  public CompactSerializedCatalog(final Catalog catalog)
+  {
+    this(catalog, true);
+  }
+
+  /**
+   * Decorates a catalog for a compressed snapshot.
+   *
+   * @param catalog
+   *        Catalog to save
+   * @param compressed
+   *        Whether to compress the snapshot
+   */
+  public CompactSerializedCatalog(final Catalog catalog,
+                                  final boolean compressed)
+  {
+    super(catalog);
+    this.compressed = compressed;
+  }
+
+  public CompactSerializedCatalog(final InputStream in)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(in));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final <T> Optional<T> lookupAttribute(final String name)
+  {
+    return Optional.ofNullable(getAttribute(name));
+  }
+
+  /**
+   * Serializes the database to the output stream, as a compressed
+   * snapshot.
+   *
+   * @param out
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream out)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(out, "No output stream provided");
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try (final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out,
+                                                                                        BUFFER_SIZE));)
+    {
+      dataOut.writeInt(MAGIC);
+      dataOut.writeInt(VERSION);
+      dataOut.writeInt(compressed? FLAG_COMPRESSED: 0);
+
+      final OutputStream snapshotOut;
+      if (compressed)
+      {
+        snapshotOut = new BufferedOutputStream(new DeflaterOutputStream(dataOut,
+                                                                        deflater,
+                                                                        BUFFER_SIZE),
+                                               BUFFER_SIZE);
+      }
+      else
+      {
+        snapshotOut = dataOut;
+      }
+
+      new CompactCatalogWriter(snapshotOut).write(catalog);
+      snapshotOut.close();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+    finally
+    {
+      deflater.end();
+    }
+  }
+
+}
@@ -0,0 +1,625 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+
+import schemacrawler.crawl.CatalogSegmentReader;
+import schemacrawler.crawl.CatalogSegmentWriter;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
+import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Decorates a database to allow for serialization to and from an
+ * indexed snapshot. An indexed snapshot is written in segments, one for
+ * the catalog, and one for each table and each routine, followed by an
+ * index of the segments by schema and name. The snapshot file is memory
+ * mapped when it is loaded, and only the segments for the tables and
+ * routines that are selected by the inclusion rules are read, so that
+ * loading time and memory depend on what is selected, rather than on
+ * the size of the snapshot. Tables and routines are selected once, when
+ * the snapshot is loaded, and are not read in later on first access.
+ * Foreign keys to tables that were not selected refer to partial
+ * tables, in the same way as for a crawl with the same inclusion rules.
+ */
+public final class IndexedSerializedCatalog
+  extends BaseCatalogDecorator
+  implements SerializableCatalog
+{
+
+  /**
+   * Reads a memory mapped segment of a snapshot file.
+   */
+  private static final class MappedSegmentInputStream
+    extends InputStream
+  {
+
+    private final ByteBuffer buffer;
+
+    MappedSegmentInputStream(final ByteBuffer buffer)
+    {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int available()
+    {
+      return buffer.remaining();
+    }
+
+    @Override
+    public int read()
+    {
+      if (!buffer.hasRemaining())
+      {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length)
+    {
+      if (length == 0)
+      {
+        return 0;
+      }
+      if (!buffer.hasRemaining())
+      {
+        return -1;
+      }
+      final int readLength = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, readLength);
+      return readLength;
+    }
+
+  }
+
+  /**
+   * Index entry for a table or routine segment.
+   */
+  private static final class SegmentIndexEntry
+  {
+
+    private final String schemaFullName;
+    private final String fullName;
+    private final long offset;
+    private final int length;
+    private final int[] parentTables;
+    private final int[] childTables;
+
+    SegmentIndexEntry(final String schemaFullName,
+                      final String fullName,
+                      final long offset,
+                      final int length,
+                      final int[] parentTables,
+                      final int[] childTables)
+    {
+      this.schemaFullName = schemaFullName;
+      this.fullName = fullName;
+      this.offset = offset;
+      this.length = length;
+      this.parentTables = parentTables;
+      this.childTables = childTables;
+    }
+
+  }
+
+  private static final long serialVersionUID = 6032184457917438612L;
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(IndexedSerializedCatalog.class.getName());
+
+  private static final int MAGIC = 0x53435349; // "SCSI"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Checks whether an input stream starts with an indexed snapshot
+   * header. The stream is reset to where it was, so it needs to support
+   * mark and reset.
+   *
+   * @param in
+   *        Input stream
+   * @return Whether the stream has an indexed snapshot
+   * @throws IOException
+   *         On an exception reading the stream
+   */
+  public static boolean isIndexedSnapshot(final InputStream in)
+    throws IOException
+  {
+    return SnapshotUtility.startsWithMagic(in, MAGIC);
+  }
+
+  private static BitSet includeRelatedTables(final List<SegmentIndexEntry> tableEntries,
+                                             final BitSet selectedTables,
+                                             final TableRelationshipType tableRelationshipType,
+                                             final int depth)
+  {
+    final BitSet includedTables = (BitSet) selectedTables.clone();
+    BitSet currentTables = selectedTables;
+    for (int i = 0; i < depth && !currentTables.isEmpty(); i++)
+    {
+      final BitSet nextTables = new BitSet();
+      for (int t = currentTables.nextSetBit(0); t >= 0; t = currentTables
+        .nextSetBit(t + 1))
+      {
+        final SegmentIndexEntry tableEntry = tableEntries.get(t);
+        final int[] relatedTables;
+        if (tableRelationshipType == TableRelationshipType.child)
+        {
+          relatedTables = tableEntry.childTables;
+        }
+        else
+        {
+          relatedTables = tableEntry.parentTables;
+        }
+        for (final int relatedTable: relatedTables)
+        {
+          if (!includedTables.get(relatedTable))
+          {
+            includedTables.set(relatedTable);
+            nextTables.set(relatedTable);
+          }
+        }
+      }
+      currentTables = nextTables;
+    }
+    return includedTables;
+  }
+
+  /**
+   * Gets a segment of the snapshot file. Snapshot files that are small
+   * enough are mapped once, and segments are slices of that mapping.
+   * Pages of the file are only read in when a segment is read.
+   */
+  private static InputStream mapSegment(final FileChannel channel,
+                                        final MappedByteBuffer snapshot,
+                                        final long offset,
+                                        final long length)
+    throws IOException
+  {
+    final ByteBuffer segment;
+    if (snapshot != null)
+    {
+      segment = snapshot.duplicate();
+      segment.limit((int) (offset + length));
+      segment.position((int) offset);
+    }
+    else
+    {
+      segment = channel.map(READ_ONLY, offset, length);
+    }
+    return new MappedSegmentInputStream(segment);
+  }
+
+  private static Catalog readCatalog(final Path snapshotFile,
+                                     final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(snapshotFile, "No snapshot file provided");
+    try (final FileChannel channel = FileChannel
+      .open(snapshotFile, StandardOpenOption.READ);)
+    {
+      final long size = channel.size();
+      if (size < HEADER_SIZE + TRAILER_SIZE)
+      {
+        throw new SchemaCrawlerException("Not an indexed catalog snapshot");
+      }
+      final MappedByteBuffer snapshot;
+      if (size <= Integer.MAX_VALUE)
+      {
+        snapshot = channel.map(READ_ONLY, 0, size);
+      }
+      else
+      {
+        snapshot = null;
+      }
+
+      final DataInputStream headerIn = new DataInputStream(mapSegment(channel,
+                                                                      snapshot,
+                                                                      0,
+                                                                      HEADER_SIZE));
+      if (headerIn.readInt() != MAGIC)
+      {
+        throw new SchemaCrawlerException("Not an indexed catalog snapshot");
+      }
+      final int version = headerIn.readInt();
+      if (version != VERSION)
+      {
+        throw new SchemaCrawlerException(String
+          .format("Cannot read version %d of an indexed catalog snapshot, only version %d",
+                  version,
+                  VERSION));
+      }
+
+      final long trailerOffset = size - TRAILER_SIZE;
+      final DataInputStream trailerIn = new DataInputStream(mapSegment(channel,
+                                                                       snapshot,
+                                                                       trailerOffset,
+                                                                       TRAILER_SIZE));
+      final long indexOffset = trailerIn.readLong();
+      if (trailerIn.readInt() != MAGIC || indexOffset < HEADER_SIZE
+          || indexOffset > trailerOffset)
+      {
+        throw new SchemaCrawlerException("Indexed catalog snapshot is incomplete");
+      }
+
+      // Read the index
+      final long indexLength = trailerOffset - indexOffset;
+      final DataInputStream indexIn = new DataInputStream(mapSegment(channel,
+                                                                     snapshot,
+                                                                     indexOffset,
+                                                                     indexLength));
+      final long catalogOffset = indexIn.readLong();
+      final int catalogLength = indexIn.readInt();
+      final List<SegmentIndexEntry> tableEntries = readIndexEntries(indexIn,
+                                                                    true);
+      final List<SegmentIndexEntry> routineEntries = readIndexEntries(indexIn,
+                                                                      false);
+      final long classDescriptorsOffset = indexIn.readLong();
+      final int classDescriptorsLength = indexIn.readInt();
+
+      // Read only the selected segments
+      final CatalogSegmentReader reader = new CatalogSegmentReader();
+      reader.readClassDescriptors(mapSegment(channel,
+                                             snapshot,
+                                             classDescriptorsOffset,
+                                             classDescriptorsLength));
+      reader.readCatalog(mapSegment(channel,
+                                    snapshot,
+                                    catalogOffset,
+                                    catalogLength));
+
+      final BitSet tables = selectTables(tableEntries, options);
+      for (int t = tables.nextSetBit(0); t >= 0; t = tables.nextSetBit(t + 1))
+      {
+        final SegmentIndexEntry tableEntry = tableEntries.get(t);
+        reader.readTable(mapSegment(channel,
+                                    snapshot,
+                                    tableEntry.offset,
+                                    tableEntry.length));
+      }
+
+      final BitSet routines = selectRoutines(routineEntries, options);
+      for (int r = routines.nextSetBit(0); r >= 0; r = routines
+        .nextSetBit(r + 1))
+      {
+        final SegmentIndexEntry routineEntry = routineEntries.get(r);
+        reader.readRoutine(mapSegment(channel,
+                                      snapshot,
+                                      routineEntry.offset,
+                                      routineEntry.length));
+      }
+
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Loaded %d of %d tables, and %d of %d routines, from the indexed snapshot",
+                                  tables.cardinality(),
+                                  tableEntries.size(),
+                                  routines.cardinality(),
+                                  routineEntries.size()));
+
+      return reader.toCatalog();
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Cannot deserialize catalog", e);
+    }
+  }
+
+  private static List<SegmentIndexEntry> readIndexEntries(final DataInputStream indexIn,
+                                                          final boolean hasRelatedTables)
+    throws IOException
+  {
+    final int count = indexIn.readInt();
+    final List<SegmentIndexEntry> entries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++)
+    {
+      final String schemaFullName = indexIn.readUTF();
+      final String fullName = indexIn.readUTF();
+      final long offset = indexIn.readLong();
+      final int length = indexIn.readInt();
+      final int[] parentTables;
+      final int[] childTables;
+      if (hasRelatedTables)
+      {
+        parentTables = readRelatedTables(indexIn);
+        childTables = readRelatedTables(indexIn);
+      }
+      else
+      {
+        parentTables = new int[0];
+        childTables = new int[0];
+      }
+      entries.add(new SegmentIndexEntry(schemaFullName,
+                                        fullName,
+                                        offset,
+                                        length,
+                                        parentTables,
+                                        childTables));
+    }
+    return entries;
+  }
+
+  private static int[] readRelatedTables(final DataInputStream indexIn)
+    throws IOException
+  {
+    final int[] relatedTables = new int[indexIn.readInt()];
+    for (int i = 0; i < relatedTables.length; i++)
+    {
+      relatedTables[i] = indexIn.readInt();
+    }
+    return relatedTables;
+  }
+
+  private static BitSet selectByName(final List<SegmentIndexEntry> entries,
+                                     final InclusionRule schemaInclusionRule,
+                                     final InclusionRule inclusionRule)
+  {
+    final BitSet selected = new BitSet(entries.size());
+    for (int i = 0; i < entries.size(); i++)
+    {
+      final SegmentIndexEntry entry = entries.get(i);
+      if ((schemaInclusionRule == null
+           || schemaInclusionRule.test(entry.schemaFullName))
+          && (inclusionRule == null || inclusionRule.test(entry.fullName)))
+      {
+        selected.set(i);
+      }
+    }
+    return selected;
+  }
+
+  private static BitSet selectRoutines(final List<SegmentIndexEntry> routineEntries,
+                                       final SchemaCrawlerOptions options)
+  {
+    if (options == null)
+    {
+      return selectByName(routineEntries, null, null);
+    }
+    return selectByName(routineEntries,
+                        options.getSchemaInclusionRule(),
+                        options.getRoutineInclusionRule());
+  }
+
+  /**
+   * Selects tables by the schema and table inclusion rules, in the same
+   * way as the table filter, and adds in related tables up to the parent
+   * and child table filter depths, so that the tables that are kept
+   * when the catalog is reduced are all read.
+   */
+  private static BitSet selectTables(final List<SegmentIndexEntry> tableEntries,
+                                     final SchemaCrawlerOptions options)
+  {
+    if (options == null)
+    {
+      return selectByName(tableEntries, null, null);
+    }
+
+    final BitSet selectedTables = selectByName(tableEntries,
+                                               options.getSchemaInclusionRule(),
+                                               options.getTableInclusionRule());
+    final BitSet tables = (BitSet) selectedTables.clone();
+    tables.or(includeRelatedTables(tableEntries,
+                                   selectedTables,
+                                   TableRelationshipType.child,
+                                   options.getChildTableFilterDepth()));
+    tables.or(includeRelatedTables(tableEntries,
+                                   selectedTables,
+                                   TableRelationshipType.parent,
+                                   options.getParentTableFilterDepth()));
+    return tables;
+  }
+
+  private static void writeIndexEntry(final DataOutputStream indexOut,
+                                      final DatabaseObject databaseObject,
+                                      final long offset,
+                                      final int length)
+    throws IOException
+  {
+    indexOut.writeUTF(databaseObject.getSchema().getFullName());
+    indexOut.writeUTF(databaseObject.getFullName());
+    indexOut.writeLong(offset);
+    indexOut.writeInt(length);
+  }
+
+  private static void writeRelatedTables(final DataOutputStream indexOut,
+                                         final Collection<Table> relatedTables,
+                                         final Map<Table, Integer> tableIndexes)
+    throws IOException
+  {
+    final List<Integer> indexes = new ArrayList<>(relatedTables.size());
+    for (final Table relatedTable: relatedTables)
+    {
+      final Integer index = tableIndexes.get(relatedTable);
+      if (index != null)
+      {
+        indexes.add(index);
+      }
+    }
+    indexOut.writeInt(indexes.size());
+    for (final int index: indexes)
+    {
+      indexOut.writeInt(index);
+    }
+  }
+
+  public IndexedSerializedCatalog(final Catalog catalog)
+  {
+    super(catalog);
+  }
+
+  /**
+   * Loads a catalog from an indexed snapshot file, reading only the
+   * tables and routines that are selected by the inclusion rules.
+   *
+   * @param snapshotFile
+   *        Indexed snapshot file
+   * @param options
+   *        Options with inclusion rules, or null to read all tables and
+   *        routines
+   * @throws SchemaCrawlerException
+   *         On an exception reading the snapshot
+   */
+  public IndexedSerializedCatalog(final Path snapshotFile,
+                                  final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    this(readCatalog(snapshotFile, options));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public final <T> Optional<T> lookupAttribute(final String name)
+  {
+    return Optional.ofNullable(getAttribute(name));
+  }
+
+  /**
+   * Serializes the database to the output stream, as an indexed
+   * snapshot.
+   *
+   * @param out
+   *        Output stream to save to
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  @Override
+  public void save(final OutputStream out)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(out, "No output stream provided");
+    final CatalogSegmentWriter writer = new CatalogSegmentWriter(catalog);
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    final List<Routine> routines = new ArrayList<>(catalog.getRoutines());
+
+    try (final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out,
+                                                                                        BUFFER_SIZE));)
+    {
+      dataOut.writeInt(MAGIC);
+      dataOut.writeInt(VERSION);
+
+      // Write segments, and keep the index in memory until the end
+      final ByteArrayOutputStream segment = new ByteArrayOutputStream(BUFFER_SIZE);
+      final ByteArrayOutputStream index = new ByteArrayOutputStream(BUFFER_SIZE);
+      final DataOutputStream indexOut = new DataOutputStream(index);
+      long offset = HEADER_SIZE;
+
+      writer.writeCatalog(segment);
+      indexOut.writeLong(offset);
+      indexOut.writeInt(segment.size());
+      offset += segment.size();
+      segment.writeTo(dataOut);
+
+      final Map<Table, Integer> tableIndexes = new HashMap<>();
+      for (int t = 0; t < tables.size(); t++)
+      {
+        tableIndexes.put(tables.get(t), t);
+      }
+      indexOut.writeInt(tables.size());
+      for (final Table table: tables)
+      {
+        segment.reset();
+        writer.writeTable(table, segment);
+        writeIndexEntry(indexOut, table, offset, segment.size());
+        writeRelatedTables(indexOut,
+                           table.getRelatedTables(TableRelationshipType.parent),
+                           tableIndexes);
+        writeRelatedTables(indexOut,
+                           table.getRelatedTables(TableRelationshipType.child),
+                           tableIndexes);
+        offset += segment.size();
+        segment.writeTo(dataOut);
+      }
+
+      indexOut.writeInt(routines.size());
+      for (final Routine routine: routines)
+      {
+        segment.reset();
+        writer.writeRoutine(routine, segment);
+        writeIndexEntry(indexOut, routine, offset, segment.size());
+        offset += segment.size();
+        segment.writeTo(dataOut);
+      }
+
+      // Class descriptors are shared by all segments, so they are known
+      // only once all the segments are written
+      segment.reset();
+      writer.writeClassDescriptors(segment);
+      indexOut.writeLong(offset);
+      indexOut.writeInt(segment.size());
+      offset += segment.size();
+      segment.writeTo(dataOut);
+
+      index.writeTo(dataOut);
+      dataOut.writeLong(offset);
+      dataOut.writeInt(MAGIC);
+    }
+    catch (final IOException e)
+    {
+      throw new SchemaCrawlerException("Could not serialize catalog", e);
+    }
+  }
+
+}
@@ -30,6 +30,8 @@ package schemacrawler.tools.integration.serialization;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
@@ -56,7 +58,7 @@ public final class JavaSerializedCatalog
     throws SchemaCrawlerException
   {
     requireNonNull(in, "No input stream provided");
-    try (final ObjectInputStream objIn = new ObjectInputStream(in);)
+    try (final ObjectInputStream objIn = new ObjectInputStream(new BufferedInputStream(in));)
     {
       return (Catalog) objIn.readObject();
     }
@@ -99,7 +101,7 @@ public final class JavaSerializedCatalog
     throws SchemaCrawlerException
   {
     requireNonNull(out, "No output stream provided");
-    try (final ObjectOutputStream objOut = new ObjectOutputStream(out);)
+    try (final ObjectOutputStream objOut = new ObjectOutputStream(new BufferedOutputStream(out));)
     {
       objOut.writeObject(catalog);
     }
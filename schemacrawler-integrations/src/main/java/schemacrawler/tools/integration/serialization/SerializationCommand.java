@@ -48,6 +48,8 @@ public final class SerializationCommand
 
   static final String COMMAND = "serialize";
 
+  private static final String COMPRESSED = "schemacrawler.format.serialize.compressed";
+
   public SerializationCommand()
   {
     this(COMMAND);
@@ -82,8 +84,23 @@ public final class SerializationCommand
                                         .withOutputFile(outputFile)
                                         .toOptions();
 
-    final SerializableCatalog serializableCatalog = new JavaSerializedCatalog(
-      catalog);
+    final SerializationFormat serializationFormat = SerializationFormat
+      .fromFormat(outputOptions.getOutputFormatValue());
+    final SerializableCatalog serializableCatalog;
+    if (serializationFormat == SerializationFormat.compact)
+    {
+      final boolean compressed = additionalConfiguration
+        .getBooleanValue(COMPRESSED, true);
+      serializableCatalog = new CompactSerializedCatalog(catalog, compressed);
+    }
+    else if (serializationFormat == SerializationFormat.indexed)
+    {
+      serializableCatalog = new IndexedSerializedCatalog(catalog);
+    }
+    else
+    {
+      serializableCatalog = new JavaSerializedCatalog(catalog);
+    }
     try (final OutputStream out = newOutputStream(outputFile))
     {
       serializableCatalog.save(out);
@@ -0,0 +1,87 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+final class SnapshotUtility
+{
+
+  /**
+   * Checks whether an input stream starts with a magic number. The
+   * stream is reset to where it was, so it needs to support mark and
+   * reset.
+   *
+   * @param in
+   *        Input stream
+   * @param magic
+   *        Magic number that a snapshot starts with
+   * @return Whether the stream starts with the magic number
+   * @throws IOException
+   *         On an exception reading the stream
+   */
+  static boolean startsWithMagic(final InputStream in, final int magic)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    if (!in.markSupported())
+    {
+      throw new IOException("Input stream does not support mark");
+    }
+
+    in.mark(Integer.BYTES);
+    try
+    {
+      int header = 0;
+      for (int i = 0; i < Integer.BYTES; i++)
+      {
+        final int b = in.read();
+        if (b == -1)
+        {
+          return false;
+        }
+        header = header << 8 | b;
+      }
+      return header == magic;
+    }
+    finally
+    {
+      in.reset();
+    }
+  }
+
+  private SnapshotUtility()
+  {
+    // Prevent instantiation
+  }
+
+}
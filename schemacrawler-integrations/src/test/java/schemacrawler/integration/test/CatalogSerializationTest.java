@@ -31,29 +31,247 @@ package schemacrawler.integration.test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
 
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
+import java.util.Arrays;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.integration.serialization.CompactSerializedCatalog;
+import schemacrawler.tools.integration.serialization.IndexedSerializedCatalog;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
 import sf.util.IOUtility;
 
 @ExtendWith(TestDatabaseConnectionParameterResolver.class)
 public class CatalogSerializationTest
 {
 
+  /**
+   * Overwrites the table segments of an indexed snapshot that are not in
+   * the given schema, so that they cannot be read. Follows the layout
+   * that the indexed snapshot is written with.
+   */
+  private static int corruptTableSegmentsOutside(final Path snapshotFile,
+                                                 final String schemaFullName)
+    throws Exception
+  {
+    int corrupted = 0;
+    try (final RandomAccessFile file = new RandomAccessFile(snapshotFile
+      .toFile(), "rw");)
+    {
+      file.seek(file.length() - Long.BYTES - Integer.BYTES);
+      file.seek(file.readLong());
+      file.readLong(); // catalog segment offset
+      file.readInt(); // catalog segment length
+      final int tableCount = file.readInt();
+      for (int i = 0; i < tableCount; i++)
+      {
+        final String tableSchemaFullName = file.readUTF();
+        file.readUTF(); // table full name
+        final long offset = file.readLong();
+        final int length = file.readInt();
+        file.skipBytes(file.readInt() * Integer.BYTES); // parent tables
+        file.skipBytes(file.readInt() * Integer.BYTES); // child tables
+
+        if (!tableSchemaFullName.equals(schemaFullName))
+        {
+          final long indexPosition = file.getFilePointer();
+          final byte[] garbage = new byte[length];
+          Arrays.fill(garbage, (byte) 0xFF);
+          file.seek(offset);
+          file.write(garbage);
+          file.seek(indexPosition);
+          corrupted++;
+        }
+      }
+    }
+    return corrupted;
+  }
+
+  private static String details(final Connection connection,
+                                final SchemaCrawlerOptions schemaCrawlerOptions,
+                                final Catalog catalog)
+    throws Exception
+  {
+    final StringWriter out = new StringWriter();
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("details");
+    executable.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    executable.setOutputOptions(OutputOptionsBuilder.builder()
+      .withOutputFormat(TextOutputFormat.json).withOutputWriter(out)
+      .toOptions());
+    executable.setCatalog(catalog);
+    executable.setConnection(connection);
+    executable.execute();
+
+    return out.toString();
+  }
+
+  @Test
+  public void catalogSerializationWithCompactSnapshot(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    for (final boolean compressed: new boolean[] { true, false })
+    {
+      final Path testOutputFile = IOUtility
+        .createTempFilePath("sc_compact_serialization", "ser");
+      try (final FileOutputStream out = new FileOutputStream(testOutputFile
+        .toFile()))
+      {
+        new CompactSerializedCatalog(catalog, compressed).save(out);
+      }
+      assertThat("Catalog was not serialized",
+                 Files.size(testOutputFile),
+                 greaterThan(0L));
+
+      final Catalog catalogDeserialized;
+      try (final FileInputStream in = new FileInputStream(testOutputFile
+        .toFile()))
+      {
+        catalogDeserialized = new CompactSerializedCatalog(in);
+      }
+
+      final Schema schemaDeserialized = catalogDeserialized
+        .lookupSchema("PUBLIC.BOOKS").orElse(null);
+      assertThat("Could not obtain schema",
+                 schemaDeserialized,
+                 notNullValue());
+      assertThat("Unexpected number of tables in the schema",
+                 catalogDeserialized.getTables(schemaDeserialized),
+                 hasSize(10));
+      assertThat(catalogDeserialized.getTables().size(),
+                 is(catalog.getTables().size()));
+      assertThat(catalogDeserialized.lookupAttribute("no_such_attribute")
+        .isPresent(), is(false));
+
+      for (final Table table: catalog.getTables())
+      {
+        final Table tableDeserialized = catalogDeserialized
+          .lookupTable(table.getSchema(), table.getName()).orElse(null);
+        assertThat("Could not find table " + table.getFullName(),
+                   tableDeserialized,
+                   notNullValue());
+        assertThat(tableDeserialized.getAttributes(),
+                   is(table.getAttributes()));
+        for (final Column column: table.getColumns())
+        {
+          assertThat(tableDeserialized.lookupColumn(column.getName()).get()
+            .getAttributes(), is(column.getAttributes()));
+        }
+      }
+
+      // The snapshot is not Java serialization, so check that it loads
+      // every detail, by comparing the full output for both catalogs
+      assertThat(details(connection, schemaCrawlerOptions, catalogDeserialized),
+                 is(details(connection, schemaCrawlerOptions, catalog)));
+    }
+  }
+
+  @Test
+  public void catalogSerializationWithIndexedSnapshot(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_indexed_serialization", "ser");
+    try (final FileOutputStream out = new FileOutputStream(testOutputFile
+      .toFile()))
+    {
+      new IndexedSerializedCatalog(catalog).save(out);
+    }
+    assertThat("Catalog was not serialized",
+               Files.size(testOutputFile),
+               greaterThan(0L));
+
+    final Catalog catalogDeserialized = new IndexedSerializedCatalog(testOutputFile,
+                                                                     null);
+
+    final Schema schemaDeserialized = catalogDeserialized
+      .lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat("Unexpected number of tables in the schema",
+               catalogDeserialized.getTables(schemaDeserialized),
+               hasSize(10));
+    assertThat(catalogDeserialized.getTables().size(),
+               is(catalog.getTables().size()));
+    assertThat(catalogDeserialized.getRoutines().size(),
+               is(catalog.getRoutines().size()));
+  }
+
+  @Test
+  public void catalogSerializationWithFilteredIndexedSnapshot(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path testOutputFile = IOUtility
+      .createTempFilePath("sc_indexed_serialization", "ser");
+    try (final FileOutputStream out = new FileOutputStream(testOutputFile
+      .toFile()))
+    {
+      new IndexedSerializedCatalog(catalog).save(out);
+    }
+
+    // Tables that are skipped are never read, so a filtered load works
+    // even when their segments cannot be deserialized
+    assertThat(corruptTableSegmentsOutside(testOutputFile, "PUBLIC.BOOKS"),
+               greaterThan(0));
+
+    final SchemaCrawlerOptions filteredOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .includeSchemas(new RegularExpressionInclusionRule("PUBLIC\\.BOOKS"))
+      .toOptions();
+    final Catalog catalogDeserialized = new IndexedSerializedCatalog(testOutputFile,
+                                                                     filteredOptions);
+
+    final Schema schemaDeserialized = catalogDeserialized
+      .lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat("Unexpected number of tables in the schema",
+               catalogDeserialized.getTables(schemaDeserialized),
+               hasSize(10));
+    assertThat("Tables outside the schema were loaded",
+               catalogDeserialized.getTables(),
+               hasSize(10));
+
+    assertThrows(SchemaCrawlerException.class,
+                 () -> new IndexedSerializedCatalog(testOutputFile, null));
+  }
+
   @Test
   public void catalogSerializationWithJava(final Connection connection)
     throws Exception
@@ -0,0 +1,170 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.integration.serialization;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.crawl.BenchmarkCatalogs;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import sf.util.IOUtility;
+
+/**
+ * Measures saving and loading of offline catalog snapshots, comparing
+ * plain Java serialization with compact snapshots, with and without
+ * compression, and indexed snapshots. Loading ten selected tables shows
+ * what a filtered offline run costs with each format. Run with the main
+ * method, from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xss64m" })
+public class SerializedCatalogBenchmark
+{
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(SerializedCatalogBenchmark.class.getSimpleName()).build())
+        .run();
+  }
+
+  @Param({ "1000", "10000" })
+  public int tablesCount;
+
+  @Param({ "java", "compact", "compact_uncompressed", "indexed" })
+  public String format;
+
+  private Catalog catalog;
+  private byte[] snapshot;
+  private Path snapshotFile;
+  private SchemaCrawlerOptions selectedTablesOptions;
+
+  @Setup
+  public void createSnapshot()
+    throws SchemaCrawlerException, IOException
+  {
+    catalog = BenchmarkCatalogs.newCatalog(tablesCount, 20);
+    snapshot = save();
+    snapshotFile = IOUtility.createTempFilePath("sc_benchmark", "ser");
+    Files.write(snapshotFile, snapshot);
+    selectedTablesOptions = SchemaCrawlerOptionsBuilder.builder()
+      .includeTables(new RegularExpressionInclusionRule(".*\\.TABLE0000\\d"))
+      .toOptions();
+  }
+
+  @Benchmark
+  public Catalog load()
+    throws SchemaCrawlerException
+  {
+    return load(null);
+  }
+
+  @Benchmark
+  public Catalog loadSelectedTables()
+    throws SchemaCrawlerException
+  {
+    return load(selectedTablesOptions);
+  }
+
+  @Benchmark
+  public byte[] save()
+    throws SchemaCrawlerException
+  {
+    final SerializableCatalog serializableCatalog;
+    switch (format)
+    {
+      case "compact":
+        serializableCatalog = new CompactSerializedCatalog(catalog, true);
+        break;
+      case "compact_uncompressed":
+        serializableCatalog = new CompactSerializedCatalog(catalog, false);
+        break;
+      case "indexed":
+        serializableCatalog = new IndexedSerializedCatalog(catalog);
+        break;
+      default:
+        serializableCatalog = new JavaSerializedCatalog(catalog);
+        break;
+    }
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    serializableCatalog.save(out);
+    return out.toByteArray();
+  }
+
+  @TearDown
+  public void deleteSnapshot()
+    throws IOException
+  {
+    Files.deleteIfExists(snapshotFile);
+  }
+
+  private Catalog load(final SchemaCrawlerOptions options)
+    throws SchemaCrawlerException
+  {
+    final ByteArrayInputStream in = new ByteArrayInputStream(snapshot);
+    switch (format)
+    {
+      case "java":
+        return new JavaSerializedCatalog(in);
+      case "indexed":
+        return new IndexedSerializedCatalog(snapshotFile, options);
+      default:
+        return new CompactSerializedCatalog(in);
+    }
+  }
+
+}
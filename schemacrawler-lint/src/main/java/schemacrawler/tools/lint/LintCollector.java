@@ -29,6 +29,7 @@ package schemacrawler.tools.lint;
 
 
 import static java.util.Comparator.naturalOrder;
+import static java.util.Objects.requireNonNull;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -59,10 +60,30 @@ public final class LintCollector
   }
 
   private final List<Lint<? extends Serializable>> lints;
+  private final LintCollector heldFor;
+  private final List<Runnable> heldLints;
 
   public LintCollector()
   {
     lints = new ArrayList<>();
+    heldFor = null;
+    heldLints = null;
+  }
+
+  /**
+   * Creates a collector that holds on to lints, without changing the
+   * linted objects, until they are added to the given collector. This
+   * allows a linter to run on its own thread, while lints are added to
+   * the catalog on one thread, in a fixed order.
+   *
+   * @param heldFor
+   *        Collector to add held lints to
+   */
+  LintCollector(final LintCollector heldFor)
+  {
+    lints = new ArrayList<>();
+    this.heldFor = requireNonNull(heldFor, "No lint collector provided");
+    heldLints = new ArrayList<>();
   }
 
   public <N extends NamedObject & AttributedObject> void addLint(final N namedObject,
@@ -71,6 +92,12 @@ public final class LintCollector
     if (namedObject != null && lint != null
         && namedObject.getFullName().equals(lint.getObjectName()))
     {
+      if (heldFor != null)
+      {
+        heldLints.add(() -> heldFor.addLint(namedObject, lint));
+        return;
+      }
+
       lints.add(lint);
 
       final Collection<Lint<?>> columnLints = namedObject
@@ -92,4 +119,21 @@ public final class LintCollector
     return lints.size();
   }
 
+  /**
+   * Adds held lints to the collector they are held for, in the order
+   * that they were found.
+   */
+  void addHeldLints()
+  {
+    if (heldFor == null)
+    {
+      return;
+    }
+    for (final Runnable heldLint: heldLints)
+    {
+      heldLint.run();
+    }
+    heldLints.clear();
+  }
+
 }
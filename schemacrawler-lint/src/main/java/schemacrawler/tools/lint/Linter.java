@@ -173,6 +173,22 @@ public abstract class Linter
     }
   }
 
+  /**
+   * Whether the linter runs SQL against the database connection. Linters
+   * that do are given a connection of their own, when there are
+   * connections to spare, and are otherwise run one after the other on
+   * the catalog connection. Linters that do not are run at the same time
+   * as other linters. Linters are assumed to use the connection, so this
+   * needs to be overridden by linters that only look at catalog
+   * metadata.
+   *
+   * @return Whether the linter uses the database connection
+   */
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
   /**
    * Allows subclasses to configure themselves with custom parameters.
    * Can be overridden.
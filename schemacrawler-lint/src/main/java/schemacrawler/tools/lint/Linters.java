@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
@@ -49,6 +50,9 @@ public final class Linters
   private final List<Linter> linters;
   private final LintCollector collector;
   private final LinterRegistry registry;
+  private int threadsCount;
+  private Supplier<Connection> connectionSupplier;
+  private int connectionsCount;
 
   public Linters(final LinterConfigs linterConfigs, final boolean runAllLinters)
     throws SchemaCrawlerException
@@ -58,6 +62,8 @@ public final class Linters
     linters = new ArrayList<>();
     collector = new LintCollector();
     registry = new LinterRegistry();
+    threadsCount = 1;
+    connectionsCount = 1;
 
     final Set<String> registeredLinters = registry.allRegisteredLinters();
 
@@ -194,6 +200,17 @@ public final class Linters
   public void lint(final Catalog catalog, final Connection connection)
     throws SchemaCrawlerException
   {
+    if (threadsCount > 1 && linters.size() > 1)
+    {
+      new ParallelLinterExecutor(threadsCount,
+                                 connectionSupplier,
+                                 connectionsCount).execute(linters,
+                                                           catalog,
+                                                           connection,
+                                                           collector);
+      return;
+    }
+
     for (final Linter linter : linters)
     {
       LOGGER.log(Level.FINE,
@@ -203,6 +220,43 @@ public final class Linters
     }
   }
 
+  /**
+   * Supplies additional connections, so that linters that run SQL can
+   * run at the same time as each other, when linting on several
+   * threads. Connections are closed once linting is done.
+   *
+   * @param connectionSupplier
+   *        Supplier of new connections to the same database
+   * @param connectionsCount
+   *        Largest number of connections to open
+   */
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier,
+                                    final int connectionsCount)
+  {
+    if (connectionsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    this.connectionSupplier = connectionSupplier;
+    this.connectionsCount = connectionsCount;
+  }
+
+  /**
+   * Number of threads to run linters on. Each linter runs on a single
+   * thread, and lints are the same whatever the number of threads.
+   *
+   * @param threadsCount
+   *        Number of threads, at least 1
+   */
+  public void setThreadsCount(final int threadsCount)
+  {
+    if (threadsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of threads should be at least 1");
+    }
+    this.threadsCount = threadsCount;
+  }
+
   /**
    * Number of linters configured to run
    *
@@ -0,0 +1,315 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.lint;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs linters at the same time, each linter on a single thread, since
+ * linters keep state from one table to the next. Linters that only look
+ * at catalog metadata run on a fork-join pool. Linters that run SQL get
+ * a connection of their own from a bounded pool of connections, if
+ * there is a connection supplier, or otherwise run one after the other
+ * on the catalog connection. Lints are held back while linters run, and
+ * added to the catalog in the order of the linters, so the lints are
+ * exactly the same as when the linters are run one after the other.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ParallelLinterExecutor
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(ParallelLinterExecutor.class.getName());
+
+  private final int threadsCount;
+  private final Supplier<Connection> connectionSupplier;
+  private final int connectionsCount;
+
+  ParallelLinterExecutor(final int threadsCount,
+                         final Supplier<Connection> connectionSupplier,
+                         final int connectionsCount)
+  {
+    if (threadsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of threads should be at least 1");
+    }
+    if (connectionsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    this.threadsCount = threadsCount;
+    this.connectionSupplier = connectionSupplier;
+    this.connectionsCount = connectionsCount;
+  }
+
+  /**
+   * Runs all linters against the catalog.
+   *
+   * @param linters
+   *        Linters, in the order that lints should be added
+   * @param catalog
+   *        Catalog to lint
+   * @param connection
+   *        Catalog connection
+   * @param collector
+   *        Collector for lints
+   * @throws SchemaCrawlerException
+   *         On an exception from any linter
+   */
+  void execute(final List<Linter> linters,
+               final Catalog catalog,
+               final Connection connection,
+               final LintCollector collector)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(linters, "No linters provided");
+    requireNonNull(catalog, "No catalog provided");
+    requireNonNull(collector, "No lint collector provided");
+
+    final List<LintCollector> heldCollectors = new ArrayList<>();
+    final List<Linter> sqlLinters = new ArrayList<>();
+    for (final Linter linter: linters)
+    {
+      final LintCollector heldCollector = new LintCollector(collector);
+      linter.setLintCollector(heldCollector);
+      heldCollectors.add(heldCollector);
+      if (linter.usesConnection())
+      {
+        sqlLinters.add(linter);
+      }
+    }
+
+    final int sqlConnectionsCount;
+    if (connectionSupplier != null && sqlLinters.size() > 1)
+    {
+      sqlConnectionsCount = Math.min(connectionsCount, sqlLinters.size());
+    }
+    else
+    {
+      sqlConnectionsCount = 0;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Running %d linters, using %d threads and %d additional connections",
+                                linters.size(),
+                                threadsCount,
+                                sqlConnectionsCount));
+
+    final ForkJoinPool forkJoinPool = new ForkJoinPool(threadsCount);
+    final ExecutorService sqlExecutorService;
+    final BlockingQueue<Connection> connections;
+    if (sqlConnectionsCount > 0)
+    {
+      sqlExecutorService = Executors.newFixedThreadPool(sqlConnectionsCount);
+      connections = new ArrayBlockingQueue<>(sqlConnectionsCount);
+    }
+    else
+    {
+      sqlExecutorService = null;
+      connections = null;
+    }
+
+    final List<Future<Void>> futures = new ArrayList<>();
+    try
+    {
+      for (int i = 0; i < sqlConnectionsCount; i++)
+      {
+        final Connection sqlConnection = connectionSupplier.get();
+        if (sqlConnection == null)
+        {
+          throw new SchemaCrawlerException("No connection supplied");
+        }
+        connections.add(sqlConnection);
+      }
+
+      final List<Linter> callerLinters = new ArrayList<>();
+      for (final Linter linter: linters)
+      {
+        if (!linter.usesConnection())
+        {
+          futures.add(forkJoinPool
+            .submit(lint(linter, catalog, () -> connection)));
+        }
+        else if (sqlExecutorService != null)
+        {
+          futures.add(sqlExecutorService
+            .submit(lint(linter, catalog, connections::take, connections)));
+        }
+        else
+        {
+          callerLinters.add(linter);
+        }
+      }
+
+      // Linters that run SQL on the catalog connection run on this
+      // thread, while the other linters run
+      for (final Linter linter: callerLinters)
+      {
+        lint(linter, catalog, () -> connection).call();
+      }
+
+      for (final Future<Void> future: futures)
+      {
+        future.get();
+      }
+
+      for (final LintCollector heldCollector: heldCollectors)
+      {
+        heldCollector.addHeldLints();
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof SchemaCrawlerException)
+      {
+        throw (SchemaCrawlerException) cause;
+      }
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException) cause;
+      }
+      throw new SchemaCrawlerException("Could not lint catalog",
+                                       cause instanceof Exception? (Exception) cause: e);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while linting catalog", e);
+    }
+    catch (final SchemaCrawlerException | RuntimeException e)
+    {
+      throw e;
+    }
+    catch (final Exception e)
+    {
+      throw new SchemaCrawlerException("Could not lint catalog", e);
+    }
+    finally
+    {
+      for (final Future<Void> future: futures)
+      {
+        future.cancel(true);
+      }
+      forkJoinPool.shutdownNow();
+      if (sqlExecutorService != null)
+      {
+        sqlExecutorService.shutdownNow();
+        closeConnections(connections, sqlExecutorService);
+      }
+      for (final Linter linter: linters)
+      {
+        linter.setLintCollector(collector);
+      }
+    }
+  }
+
+  private void closeConnections(final BlockingQueue<Connection> connections,
+                                final ExecutorService executorService)
+  {
+    try
+    {
+      // Wait for any linter still running to hand back its connection
+      executorService.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+
+    final List<Connection> openConnections = new ArrayList<>();
+    connections.drainTo(openConnections);
+    for (final Connection connection: openConnections)
+    {
+      try
+      {
+        connection.close();
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not close connection", e);
+      }
+    }
+  }
+
+  private Callable<Void> lint(final Linter linter,
+                              final Catalog catalog,
+                              final Callable<Connection> connectionSource)
+  {
+    return lint(linter, catalog, connectionSource, null);
+  }
+
+  private Callable<Void> lint(final Linter linter,
+                              final Catalog catalog,
+                              final Callable<Connection> connectionSource,
+                              final BlockingQueue<Connection> connections)
+  {
+    return () -> {
+      final Connection connection = connectionSource.call();
+      try
+      {
+        LOGGER.log(Level.FINE,
+                   new StringFormat("Linting with <%s>",
+                                    linter.getLinterInstanceId()));
+        linter.lint(catalog, connection);
+        return null;
+      }
+      finally
+      {
+        if (connections != null)
+        {
+          connections.put(connection);
+        }
+      }
+    };
+  }
+
+}
@@ -31,9 +31,10 @@ package schemacrawler.tools.lint.executable;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.tools.lint.LintUtility.readLinterConfigs;
 
+import java.sql.Connection;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
@@ -52,6 +53,7 @@ public class LintCommand
   public static final String COMMAND = "lint";
 
   private LintOptions lintOptions;
+  private Supplier<Connection> connectionSupplier;
 
   public LintCommand()
   {
@@ -83,6 +85,12 @@ public class LintCommand
                                                           additionalConfiguration);
     final Linters linters = new Linters(linterConfigs,
                                         lintOptions.isRunAllLinters());
+    linters.setThreadsCount(lintOptions.getThreads());
+    if (connectionSupplier != null)
+    {
+      linters.setConnectionSupplier(connectionSupplier,
+                                    lintOptions.getConnections());
+    }
 
     final LintedCatalog lintedCatalog = new LintedCatalog(catalog,
                                                           connection,
@@ -99,6 +107,19 @@ public class LintCommand
     return false;
   }
 
+  /**
+   * Supplies additional connections, so that linters that run SQL can
+   * run at the same time as each other. Connections are closed once
+   * the command has run.
+   *
+   * @param connectionSupplier
+   *        Supplier of new connections to the same database
+   */
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   public final void setLintOptions(final LintOptions lintOptions)
   {
     this.lintOptions = requireNonNull(lintOptions, "No lint options provided");
@@ -138,8 +159,7 @@ public class LintCommand
     formatter.handle(catalog);
 
     final List<? extends Table> tablesList = new ArrayList<>(catalog.getTables());
-    Collections.sort(tablesList,
-                     NamedObjectSort.getNamedObjectSort(lintOptions.isAlphabeticalSortForTables()));
+    NamedObjectSort.getNamedObjectSort(lintOptions.isAlphabeticalSortForTables()).sort(tablesList);
     for (final Table table : tablesList)
     {
       formatter.handle(table);
@@ -66,7 +66,7 @@ final class LintJsonFormatter
       final JSONObject jsonDatabase = new JSONObject();
       try
       {
-        jsonRoot.accumulate("database_lints", jsonDatabase);
+        accumulate("database_lints", jsonDatabase);
 
         final JSONArray jsonLints = handleLints(lints);
         jsonDatabase.put("lints", jsonLints);
@@ -90,7 +90,7 @@ final class LintJsonFormatter
       final JSONObject jsonTable = new JSONObject();
       try
       {
-        jsonRoot.accumulate("table_lints", jsonTable);
+        accumulate("table_lints", jsonTable);
 
         jsonTable.put("name", table.getName());
         jsonTable.put("fullName", table.getFullName());
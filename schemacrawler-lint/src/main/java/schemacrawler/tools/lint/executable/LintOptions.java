@@ -38,6 +38,8 @@ public class LintOptions
   private final String linterConfigs;
   private final LintDispatch lintDispatch;
   private final boolean runAllLinters;
+  private final int threads;
+  private final int connections;
 
   public LintOptions(final LintOptionsBuilder builder)
   {
@@ -45,6 +47,29 @@ public class LintOptions
     linterConfigs = builder.linterConfigs;
     lintDispatch = builder.lintDispatch;
     runAllLinters = builder.runAllLinters;
+    threads = builder.threads;
+    connections = builder.connections;
+  }
+
+  /**
+   * Gets the number of threads to run linters on.
+   *
+   * @return Number of threads to run linters on.
+   */
+  public int getThreads()
+  {
+    return threads;
+  }
+
+  /**
+   * Gets the number of connections that linters that run SQL can use
+   * at the same time.
+   *
+   * @return Number of connections for linters that run SQL.
+   */
+  public int getConnections()
+  {
+    return connections;
   }
 
   /**
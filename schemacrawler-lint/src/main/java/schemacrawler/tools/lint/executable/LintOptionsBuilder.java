@@ -48,6 +48,9 @@ public final class LintOptionsBuilder
     SCHEMACRAWLER_LINT_PREFIX + CLI_LINT_DISPATCH;
   private static final String RUN_ALL_LINTERS =
     SCHEMACRAWLER_LINT_PREFIX + CLI_RUN_ALL_LINTERS;
+  private static final String THREADS = SCHEMACRAWLER_LINT_PREFIX + "threads";
+  private static final String CONNECTIONS =
+    SCHEMACRAWLER_LINT_PREFIX + "connections";
 
   public static LintOptionsBuilder builder()
   {
@@ -72,12 +75,16 @@ public final class LintOptionsBuilder
   LintDispatch lintDispatch;
   String linterConfigs;
   boolean runAllLinters;
+  int threads;
+  int connections;
 
   private LintOptionsBuilder()
   {
     linterConfigs = "";
     lintDispatch = LintDispatch.none;
     runAllLinters = true;
+    threads = 1;
+    connections = 1;
   }
 
   @Override
@@ -130,6 +137,9 @@ public final class LintOptionsBuilder
     }
     runAllLinters = config.getBooleanValue(runAllLintersKey, true);
 
+    threads = Math.max(1, config.getIntegerValue(THREADS, 1));
+    connections = Math.max(1, config.getIntegerValue(CONNECTIONS, 1));
+
     return this;
   }
 
@@ -145,6 +155,8 @@ public final class LintOptionsBuilder
     linterConfigs = options.getLinterConfigs();
     lintDispatch = options.getLintDispatch();
     runAllLinters = options.isRunAllLinters();
+    threads = options.getThreads();
+    connections = options.getConnections();
 
     return this;
   }
@@ -156,6 +168,8 @@ public final class LintOptionsBuilder
     config.setStringValue(LINTER_CONFIGS, linterConfigs);
     config.setEnumValue(LINT_DISPATCH, lintDispatch);
     config.setBooleanValue(RUN_ALL_LINTERS, runAllLinters);
+    config.setStringValue(THREADS, String.valueOf(threads));
+    config.setStringValue(CONNECTIONS, String.valueOf(connections));
     return config;
   }
 
@@ -207,4 +221,35 @@ public final class LintOptionsBuilder
     return this;
   }
 
+  /**
+   * With the number of threads to run linters on. Each linter runs on
+   * a single thread, and lints are the same whatever the number of
+   * threads.
+   */
+  public LintOptionsBuilder threads(final int threads)
+  {
+    if (threads < 1)
+    {
+      throw new IllegalArgumentException("Number of threads should be at least 1");
+    }
+    this.threads = threads;
+
+    return this;
+  }
+
+  /**
+   * With the number of connections that linters that run SQL can use
+   * at the same time, when the lint command has a connection supplier.
+   */
+  public LintOptionsBuilder connections(final int connections)
+  {
+    if (connections < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    this.connections = connections;
+
+    return this;
+  }
+
 }
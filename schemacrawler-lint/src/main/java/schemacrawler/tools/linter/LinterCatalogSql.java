@@ -99,4 +99,10 @@ public class LinterCatalogSql
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
 }
@@ -92,4 +92,11 @@ public class LinterForeignKeyMismatch
     }
     return mismatchedForeignKeys;
   }
+
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
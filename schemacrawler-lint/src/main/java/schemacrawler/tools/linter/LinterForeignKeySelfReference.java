@@ -90,4 +90,11 @@ public class LinterForeignKeySelfReference
     }
     return selfReferencingForeignKeys;
   }
+
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -98,4 +98,10 @@ public class LinterForeignKeyWithNoIndexes
     return foreignKeysWithoutIndexes;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -92,4 +92,10 @@ public class LinterNullColumnsInIndex
     return nullableColumnsInUniqueIndex;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
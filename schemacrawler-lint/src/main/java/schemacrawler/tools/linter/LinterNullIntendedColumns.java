@@ -82,4 +82,10 @@ public class LinterNullIntendedColumns
     return nullDefaultValueMayBeIntendedColumns;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -110,4 +110,10 @@ public class LinterRedundantIndexes
     return redundantIndexes;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -73,4 +73,10 @@ public class LinterTableAllNullableColumns
     return hasAllNullableColumns;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -103,4 +103,10 @@ public class LinterTableCycles
     tablesGraph = new DirectedGraph<>(getLinterId());
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
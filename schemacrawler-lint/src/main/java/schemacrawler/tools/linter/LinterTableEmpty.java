@@ -89,4 +89,10 @@ public class LinterTableEmpty
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
 }
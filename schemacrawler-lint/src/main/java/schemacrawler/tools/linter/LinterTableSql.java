@@ -112,4 +112,10 @@ public class LinterTableSql
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return true;
+  }
+
 }
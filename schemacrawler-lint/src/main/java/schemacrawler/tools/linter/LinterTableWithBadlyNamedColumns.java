@@ -104,4 +104,10 @@ public class LinterTableWithBadlyNamedColumns
     return badlyNamedColumns;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
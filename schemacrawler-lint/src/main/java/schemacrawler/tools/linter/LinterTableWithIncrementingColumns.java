@@ -219,4 +219,11 @@ public class LinterTableWithIncrementingColumns
 
     return incrementingColumns;
   }
+
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -64,4 +64,10 @@ public class LinterTableWithNoIndexes
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -84,4 +84,10 @@ public class LinterTableWithNoPrimaryKey
     return false;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
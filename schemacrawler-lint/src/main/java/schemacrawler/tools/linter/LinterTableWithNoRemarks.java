@@ -89,4 +89,10 @@ public class LinterTableWithNoRemarks
     return names;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
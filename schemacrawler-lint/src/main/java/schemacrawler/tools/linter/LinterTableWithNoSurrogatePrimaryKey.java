@@ -77,4 +77,10 @@ public class LinterTableWithNoSurrogatePrimaryKey
     return true;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -77,4 +77,10 @@ public class LinterTableWithPrimaryKeyNotFirst
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
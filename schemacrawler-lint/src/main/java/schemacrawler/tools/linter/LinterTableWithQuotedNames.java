@@ -97,4 +97,10 @@ public class LinterTableWithQuotedNames
     return columnsWithQuotedNames;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -59,4 +59,10 @@ public class LinterTableWithSingleColumn
     }
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
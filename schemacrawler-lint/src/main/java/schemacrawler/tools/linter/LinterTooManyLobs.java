@@ -95,4 +95,10 @@ public class LinterTooManyLobs
     return lobColumns;
   }
 
+  @Override
+  protected boolean usesConnection()
+  {
+    return false;
+  }
+
 }
@@ -0,0 +1,156 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.*;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.lint.*;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class LintParallelTest
+{
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo,
+                                                        final AtomicInteger connectionCount)
+  {
+    return () -> {
+      try
+      {
+        final Connection connection = DriverManager
+          .getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+        connectionCount.incrementAndGet();
+        return connection;
+      }
+      catch (final SQLException e)
+      {
+        throw new RuntimeException(e.getMessage(), e);
+      }
+    };
+  }
+
+  @Test
+  public void lintsOnSeveralThreads(final Connection connection,
+                                    final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final List<String> serialLints = lint(connection, linters());
+
+    final AtomicInteger connectionCount = new AtomicInteger();
+    final Linters linters = linters();
+    linters.setThreadsCount(4);
+    linters.setConnectionSupplier(connectionSupplier(connectionInfo,
+                                                     connectionCount),
+                                  2);
+    final List<String> parallelLints = lint(connection, linters);
+
+    assertThat(serialLints, not(empty()));
+    assertThat(parallelLints, equalTo(serialLints));
+    assertThat(connectionCount.get(), is(2));
+  }
+
+  @Test
+  public void lintsOnSeveralThreadsWithOneConnection(final Connection connection)
+    throws Exception
+  {
+    final List<String> serialLints = lint(connection, linters());
+
+    final Linters linters = linters();
+    linters.setThreadsCount(4);
+    final List<String> parallelLints = lint(connection, linters);
+
+    assertThat(parallelLints, equalTo(serialLints));
+  }
+
+  private List<String> lint(final Connection connection,
+                            final Linters linters)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .includeSchemas(new RegularExpressionInclusionRule(".*FOR_LINT"))
+      .toOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final LintedCatalog lintedCatalog = new LintedCatalog(catalog,
+                                                          connection,
+                                                          linters);
+
+    // Lints, in the order they were added to each table
+    final List<String> lints = new ArrayList<>();
+    for (final Table table : lintedCatalog.getTables())
+    {
+      final List<Lint<?>> tableLints = table
+        .getAttribute("schemacrawler.lint", new ArrayList<>());
+      for (final Lint<?> lint : tableLints)
+      {
+        lints.add(lint.getObjectName() + " " + lint.getLinterId() + " "
+                  + lint.getMessage() + " " + lint.getValueAsString());
+      }
+    }
+    for (final Lint<?> lint : lintedCatalog.getCollector())
+    {
+      lints.add(lint.toString());
+    }
+    return lints;
+  }
+
+  private Linters linters()
+    throws SchemaCrawlerException
+  {
+    final LinterConfigs linterConfigs = new LinterConfigs(new Config());
+    for (final String tableName : new String[] { "WRITERS", "PUBLICATIONS" })
+    {
+      final LinterConfig linterConfig = new LinterConfig(
+        "schemacrawler.tools.linter.LinterTableSql");
+      linterConfig.put("message", "rows in " + tableName);
+      linterConfig.put("sql",
+                       "SELECT COUNT(*) FROM PUBLIC.FOR_LINT." + tableName);
+      linterConfigs.add(linterConfig);
+    }
+    return new Linters(linterConfigs, true);
+  }
+
+}
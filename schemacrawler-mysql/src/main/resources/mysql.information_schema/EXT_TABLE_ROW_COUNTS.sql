@@ -0,0 +1,11 @@
+SELECT
+  TABLE_SCHEMA AS TABLE_CATALOG,
+  NULL AS TABLE_SCHEMA,
+  TABLE_NAME,
+  TABLE_ROWS AS ROW_COUNT
+FROM
+  INFORMATION_SCHEMA.TABLES
+WHERE
+  TABLE_TYPE = 'BASE TABLE'
+  AND TABLE_ROWS IS NOT NULL
+  AND TABLE_SCHEMA REGEXP '${schemas}'
@@ -1,7 +1,10 @@
 package schemacrawler.tools.offline;
 
 
-import java.io.FileInputStream;
+import static java.nio.file.Files.newInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.util.logging.Level;
@@ -9,6 +12,8 @@ import java.util.logging.Level;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.*;
 import schemacrawler.tools.catalogloader.CatalogLoader;
+import schemacrawler.tools.integration.serialization.CompactSerializedCatalog;
+import schemacrawler.tools.integration.serialization.IndexedSerializedCatalog;
 import schemacrawler.tools.integration.serialization.JavaSerializedCatalog;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
 import sf.util.SchemaCrawlerLogger;
@@ -31,6 +36,7 @@ public final class OfflineCatalogLoader
   private final String databaseSystemIdentifier;
   private Config additionalConfiguration;
   private Connection connection;
+  private SchemaCrawlerOptions schemaCrawlerOptions;
 
   public OfflineCatalogLoader()
   {
@@ -93,11 +99,26 @@ public final class OfflineCatalogLoader
     }
 
     final Path offlineDatabasePath = dbConnection.getOfflineDatabasePath();
-    final FileInputStream inputFileStream = new FileInputStream(
-      offlineDatabasePath.toFile());
-    final JavaSerializedCatalog catalog = new JavaSerializedCatalog(
-      inputFileStream);
-    return catalog;
+    // Snapshots can be in the indexed or compact formats, or plain Java
+    // serialization, and are told apart by the header
+    try (final InputStream inputFileStream = new BufferedInputStream(newInputStream(offlineDatabasePath));)
+    {
+      if (IndexedSerializedCatalog.isIndexedSnapshot(inputFileStream))
+      {
+        // Only the tables and routines that are selected by the
+        // inclusion rules are loaded
+        return new IndexedSerializedCatalog(offlineDatabasePath,
+                                            schemaCrawlerOptions);
+      }
+      else if (CompactSerializedCatalog.isCompactSnapshot(inputFileStream))
+      {
+        return new CompactSerializedCatalog(inputFileStream);
+      }
+      else
+      {
+        return new JavaSerializedCatalog(inputFileStream);
+      }
+    }
   }
 
   @Override
@@ -109,7 +130,7 @@ public final class OfflineCatalogLoader
   @Override
   public void setSchemaCrawlerOptions(final SchemaCrawlerOptions schemaCrawlerOptions)
   {
-    // No-op
+    this.schemaCrawlerOptions = schemaCrawlerOptions;
   }
 
   @Override
@@ -33,6 +33,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
 import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
@@ -49,11 +51,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.integration.serialization.CompactSerializedCatalog;
+import schemacrawler.tools.integration.serialization.IndexedSerializedCatalog;
 import schemacrawler.tools.integration.serialization.JavaSerializedCatalog;
+import schemacrawler.tools.offline.OfflineCatalogLoader;
+import schemacrawler.tools.offline.jdbc.OfflineConnection;
 import sf.util.IOUtility;
 
 @ExtendWith(TestDatabaseConnectionParameterResolver.class)
@@ -62,6 +71,82 @@ public class LoadSnapshotTest
 
   private Path serializedCatalogFile;
 
+  @Test
+  public void loadCompactSnapshot(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(connection,
+                                       DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Path compactCatalogFile = IOUtility.createTempFilePath("schemacrawler",
+                                                                 "ser");
+    try (final FileOutputStream out = new FileOutputStream(compactCatalogFile
+      .toFile());)
+    {
+      new CompactSerializedCatalog(catalog).save(out);
+    }
+    assertThat("Database was not serialized",
+               size(compactCatalogFile),
+               lessThan(size(serializedCatalogFile)));
+
+    for (final Path catalogFile: new Path[] { compactCatalogFile,
+                                              serializedCatalogFile })
+    {
+      final OfflineCatalogLoader catalogLoader = new OfflineCatalogLoader();
+      catalogLoader.setConnection(new OfflineConnection(catalogFile));
+      final Catalog loadedCatalog = catalogLoader.loadCatalog();
+
+      final Schema schema = loadedCatalog.lookupSchema("PUBLIC.BOOKS")
+        .orElse(null);
+      assertThat("Could not obtain schema", schema, notNullValue());
+      assertThat("Unexpected number of tables in the schema",
+                 loadedCatalog.getTables(schema),
+                 hasSize(10));
+    }
+  }
+
+  @Test
+  public void loadIndexedSnapshot(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = getCatalog(connection,
+                                       DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final Path indexedCatalogFile = IOUtility.createTempFilePath("schemacrawler",
+                                                                 "ser");
+    try (final FileOutputStream out = new FileOutputStream(indexedCatalogFile
+      .toFile());)
+    {
+      new IndexedSerializedCatalog(catalog).save(out);
+    }
+
+    final OfflineCatalogLoader catalogLoader = new OfflineCatalogLoader();
+    catalogLoader.setConnection(new OfflineConnection(indexedCatalogFile));
+    final Catalog loadedCatalog = catalogLoader.loadCatalog();
+    assertThat("Unexpected number of tables in the catalog",
+               loadedCatalog.getTables().size(),
+               is(catalog.getTables().size()));
+
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder()
+      .includeTables(new RegularExpressionInclusionRule(".*\\.BOOKS\\.AUTHORS"))
+      .toOptions();
+    final OfflineCatalogLoader filteredCatalogLoader = new OfflineCatalogLoader();
+    filteredCatalogLoader
+      .setConnection(new OfflineConnection(indexedCatalogFile));
+    filteredCatalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    final Catalog filteredCatalog = filteredCatalogLoader.loadCatalog();
+    assertThat("Unexpected number of tables in the catalog",
+               filteredCatalog.getTables(),
+               hasSize(1));
+
+    final Table table = filteredCatalog.lookupTable(filteredCatalog
+      .lookupSchema("PUBLIC.BOOKS").get(), "AUTHORS").orElse(null);
+    assertThat("Could not obtain table", table, notNullValue());
+    assertThat("Unexpected number of columns in the table",
+               table.getColumns().size(),
+               is(catalog.lookupTable(catalog.lookupSchema("PUBLIC.BOOKS")
+                 .get(), "AUTHORS").get().getColumns().size()));
+  }
+
   @Test
   public void loadSnapshot()
     throws Exception
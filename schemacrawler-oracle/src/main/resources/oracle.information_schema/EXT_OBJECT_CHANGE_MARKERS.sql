@@ -0,0 +1,49 @@
+SELECT /*+ PARALLEL(AUTO) */
+  NULL AS OBJECT_CATALOG,
+  COALESCE(INDEXES.TABLE_OWNER, TRIGGERS.TABLE_OWNER, OBJECTS.OWNER) 
+    AS OBJECT_SCHEMA,
+  COALESCE(INDEXES.TABLE_NAME, TRIGGERS.TABLE_NAME, OBJECTS.OBJECT_NAME) 
+    AS OBJECT_NAME,
+  CASE 
+    WHEN INDEXES.TABLE_NAME IS NOT NULL OR TRIGGERS.TABLE_NAME IS NOT NULL 
+      THEN 'TABLE DEPENDENTS' 
+    ELSE OBJECTS.OBJECT_TYPE 
+  END AS OBJECT_TYPE,
+  TO_CHAR(MAX(OBJECTS.LAST_DDL_TIME), 'YYYY-MM-DD HH24:MI:SS') 
+    || ':' || COUNT(*) AS CHANGE_MARKER
+FROM
+  ${catalogscope}_OBJECTS OBJECTS
+  LEFT OUTER JOIN ${catalogscope}_INDEXES INDEXES
+    ON OBJECTS.OBJECT_TYPE = 'INDEX'
+      AND INDEXES.OWNER = OBJECTS.OWNER
+      AND INDEXES.INDEX_NAME = OBJECTS.OBJECT_NAME
+  LEFT OUTER JOIN ${catalogscope}_TRIGGERS TRIGGERS
+    ON OBJECTS.OBJECT_TYPE = 'TRIGGER'
+      AND TRIGGERS.OWNER = OBJECTS.OWNER
+      AND TRIGGERS.TRIGGER_NAME = OBJECTS.OBJECT_NAME
+      AND TRIGGERS.BASE_OBJECT_TYPE IN ('TABLE', 'VIEW')
+WHERE
+  OBJECTS.OWNER NOT IN 
+    ('ANONYMOUS', 'APEX_PUBLIC_USER', 'APPQOSSYS', 'BI', 'CTXSYS', 'DBSNMP', 'DIP', 
+    'EXFSYS', 'FLOWS_30000', 'FLOWS_FILES', 'GSMADMIN_INTERNAL', 'IX', 'LBACSYS', 
+    'MDDATA', 'MDSYS', 'MGMT_VIEW', 'OE', 'OLAPSYS', 'ORACLE_OCM', 
+    'ORDPLUGINS', 'ORDSYS', 'OUTLN', 'OWBSYS', 'PM', 'SCOTT', 'SH', 
+    'SI_INFORMTN_SCHEMA', 'SPATIAL_CSW_ADMIN_USR', 'SPATIAL_WFS_ADMIN_USR', 
+    'SYS', 'SYSMAN', 'SYSTEM', 'TSMSYS', 'WKPROXY', 'WKSYS', 'WK_TEST', 
+    'WMSYS', 'XDB', 'XS$NULL', 'RDSADMIN')  
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^APEX_[0-9]{6}$')
+  AND NOT REGEXP_LIKE(OBJECTS.OWNER, '^FLOWS_[0-9]{5}$')
+  AND REGEXP_LIKE(OBJECTS.OWNER, '${schemas}')
+  AND OBJECTS.OBJECT_NAME NOT LIKE 'BIN$%'
+GROUP BY
+  COALESCE(INDEXES.TABLE_OWNER, TRIGGERS.TABLE_OWNER, OBJECTS.OWNER),
+  COALESCE(INDEXES.TABLE_NAME, TRIGGERS.TABLE_NAME, OBJECTS.OBJECT_NAME),
+  CASE 
+    WHEN INDEXES.TABLE_NAME IS NOT NULL OR TRIGGERS.TABLE_NAME IS NOT NULL 
+      THEN 'TABLE DEPENDENTS' 
+    ELSE OBJECTS.OBJECT_TYPE 
+  END
+ORDER BY
+  OBJECT_SCHEMA,
+  OBJECT_NAME,
+  OBJECT_TYPE
@@ -41,6 +41,9 @@ WHERE 1 = 1
   AND NOT REGEXP_LIKE(P.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(P.OWNER, '^FLOWS_[0-9]{5,6}$')
   AND REGEXP_LIKE(P.OWNER, '${schemas}')
+  -- Either table may be selected, since references to other tables are kept
+  AND (REGEXP_LIKE(P.OWNER || '.' || P.TABLE_NAME, '${tables}')
+    OR REGEXP_LIKE(F.OWNER || '.' || F.TABLE_NAME, '${tables}'))
   AND F.CONSTRAINT_TYPE = 'R'
   AND P.OWNER = F.R_OWNER
   AND P.CONSTRAINT_NAME = F.R_CONSTRAINT_NAME
@@ -18,6 +18,7 @@ WHERE
   AND NOT REGEXP_LIKE(TABLES.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(TABLES.OWNER, '^FLOWS_[0-9]{5,6}$')
   AND REGEXP_LIKE(TABLES.OWNER, '${schemas}')
+  AND REGEXP_LIKE(TABLES.OWNER || '.' || TABLES.TABLE_NAME, '${tables}')
   AND TABLES.TABLE_NAME NOT LIKE 'BIN$%'
   AND NOT REGEXP_LIKE(TABLES.TABLE_NAME, '^(SYS_IOT|MDOS|MDRS|MDRT|MDOT|MDXT)_.*$')
 UNION ALL
@@ -41,3 +42,4 @@ WHERE
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^APEX_[0-9]{6}$')
   AND NOT REGEXP_LIKE(MVIEWS.OWNER, '^FLOWS_[0-9]{5,6}$')
   AND REGEXP_LIKE(MVIEWS.OWNER, '${schemas}')
+  AND REGEXP_LIKE(MVIEWS.OWNER || '.' || MVIEWS.MVIEW_NAME, '${tables}')
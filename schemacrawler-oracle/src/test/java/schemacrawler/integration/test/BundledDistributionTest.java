@@ -50,7 +50,7 @@ public class BundledDistributionTest
     final DatabaseConnector databaseSystemIdentifier = registry.lookupDatabaseConnector(
       "oracle");
     assertThat(databaseSystemIdentifier.getSchemaRetrievalOptionsBuilder(
-      connection).toOptions().getInformationSchemaViews().size(), is(26));
+      connection).toOptions().getInformationSchemaViews().size(), is(28));
   }
 
   @Test
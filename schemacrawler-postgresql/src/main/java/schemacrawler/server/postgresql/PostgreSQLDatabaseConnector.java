@@ -29,10 +29,13 @@ package schemacrawler.server.postgresql;
 
 
 import java.io.IOException;
+import java.sql.Connection;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
+import schemacrawler.crawl.MetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.DatabaseServerType;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.databaseconnector.DatabaseConnector;
 import schemacrawler.tools.executable.commandline.PluginCommand;
 import schemacrawler.tools.iosource.ClasspathInputResource;
@@ -55,6 +58,32 @@ public final class PostgreSQLDatabaseConnector
             .fromResourceFolder("/postgresql.information_schema"));
   }
 
+  @Override
+  public SchemaRetrievalOptionsBuilder getSchemaRetrievalOptionsBuilder(final Connection connection)
+  {
+    final SchemaRetrievalOptionsBuilder schemaRetrievalOptionsBuilder = super.getSchemaRetrievalOptionsBuilder(
+      connection);
+    schemaRetrievalOptionsBuilder.withTableRetrievalStrategy(
+      MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withTableColumnRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withPrimaryKeyRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withForeignKeyRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withIndexRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withProcedureRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withProcedureColumnRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withFunctionRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all)
+                                 .withFunctionColumnRetrievalStrategy(
+                                   MetadataRetrievalStrategy.data_dictionary_all);
+    return schemaRetrievalOptionsBuilder;
+  }
+
   @Override
   public PluginCommand getHelpCommand()
   {
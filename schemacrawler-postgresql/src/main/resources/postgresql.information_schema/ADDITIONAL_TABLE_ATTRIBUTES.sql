@@ -9,3 +9,4 @@ FROM
     ON c.relowner = nc.nspowner
 WHERE
   c.relkind IN ('r', 'v')
+  AND (nc.nspname || '.' || c.relname) ~ '${tables}'
@@ -7,6 +7,8 @@ SELECT
   INDEXDEF AS INDEX_DEFINITION
 FROM
   PG_INDEXES
+WHERE
+  (SCHEMANAME || '.' || TABLENAME) ~ '${tables}'
 ORDER BY
   SCHEMANAME,
   TABLENAME,
@@ -0,0 +1,66 @@
+SELECT
+  NULL AS OBJECT_CATALOG,
+  n.nspname AS OBJECT_SCHEMA,
+  c.relname AS OBJECT_NAME,
+  c.relkind::text AS OBJECT_TYPE,
+  c.xmin::text || ':' || 
+    COALESCE((SELECT md5(string_agg(d.marker, ',' ORDER BY d.marker))
+              FROM (
+                SELECT 'a' || a.attnum || '=' || a.xmin::text AS marker
+                FROM pg_catalog.pg_attribute a
+                WHERE a.attrelid = c.oid
+                UNION ALL
+                SELECT 'i' || i.indexrelid || '=' || i.xmin::text || '/' || ic.xmin::text
+                FROM pg_catalog.pg_index i
+                  INNER JOIN pg_catalog.pg_class ic
+                    ON ic.oid = i.indexrelid
+                WHERE i.indrelid = c.oid
+                UNION ALL
+                SELECT 't' || t.oid || '=' || t.xmin::text
+                FROM pg_catalog.pg_trigger t
+                WHERE t.tgrelid = c.oid
+                UNION ALL
+                SELECT 'c' || o.oid || '=' || o.xmin::text
+                FROM pg_catalog.pg_constraint o
+                WHERE o.conrelid = c.oid OR o.confrelid = c.oid
+                UNION ALL
+                SELECT 'd' || ds.objsubid || '=' || ds.xmin::text
+                FROM pg_catalog.pg_description ds
+                WHERE ds.objoid = c.oid 
+                  AND ds.classoid = 'pg_catalog.pg_class'::regclass
+              ) d), '') 
+    AS CHANGE_MARKER
+FROM
+  pg_catalog.pg_class c
+  INNER JOIN pg_catalog.pg_namespace n
+    ON c.relnamespace = n.oid
+WHERE
+  c.relkind IN ('r', 'v', 'm', 'f', 'p', 'S')
+  AND n.nspname !~ '^pg_'
+  AND n.nspname <> 'information_schema'
+  AND n.nspname ~ '${schemas}'
+UNION ALL
+SELECT
+  NULL AS OBJECT_CATALOG,
+  n.nspname AS OBJECT_SCHEMA,
+  p.proname || '(' || p.oid::text || ')' AS OBJECT_NAME,
+  'routine' AS OBJECT_TYPE,
+  p.xmin::text || ':' || 
+    COALESCE((SELECT ds.xmin::text 
+              FROM pg_catalog.pg_description ds 
+              WHERE ds.objoid = p.oid 
+                AND ds.classoid = 'pg_catalog.pg_proc'::regclass
+                AND ds.objsubid = 0), '') 
+    AS CHANGE_MARKER
+FROM
+  pg_catalog.pg_proc p
+  INNER JOIN pg_catalog.pg_namespace n
+    ON p.pronamespace = n.oid
+WHERE
+  n.nspname !~ '^pg_'
+  AND n.nspname <> 'information_schema'
+  AND n.nspname ~ '${schemas}'
+ORDER BY
+  OBJECT_SCHEMA,
+  OBJECT_NAME,
+  OBJECT_TYPE
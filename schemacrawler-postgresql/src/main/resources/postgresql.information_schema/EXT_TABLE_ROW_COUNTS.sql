@@ -0,0 +1,16 @@
+SELECT
+  NULL AS TABLE_CATALOG,
+  n.nspname AS TABLE_SCHEMA,
+  c.relname AS TABLE_NAME,
+  c.reltuples::bigint AS ROW_COUNT
+FROM
+  pg_catalog.pg_class c
+  INNER JOIN pg_catalog.pg_namespace n
+    ON c.relnamespace = n.oid
+WHERE
+  c.relkind IN ('r', 'm', 'p')
+  AND c.reltuples >= 0
+  AND n.nspname !~ '^pg_'
+  AND n.nspname <> 'information_schema'
+  AND n.nspname ~ '${schemas}'
+  AND (n.nspname || '.' || c.relname) ~ '${tables}'
@@ -0,0 +1,68 @@
+SELECT
+  NULL AS PKTABLE_CAT,
+  pkn.nspname AS PKTABLE_SCHEM,
+  pkc.relname AS PKTABLE_NAME,
+  pka.attname AS PKCOLUMN_NAME,
+  NULL AS FKTABLE_CAT,
+  fkn.nspname AS FKTABLE_SCHEM,
+  fkc.relname AS FKTABLE_NAME,
+  fka.attname AS FKCOLUMN_NAME,
+  k.n AS KEY_SEQ,
+  CASE con.confupdtype
+    WHEN 'c' THEN 0
+    WHEN 'r' THEN 1
+    WHEN 'n' THEN 2
+    WHEN 'a' THEN 3
+    WHEN 'd' THEN 4
+  END AS UPDATE_RULE,
+  CASE con.confdeltype
+    WHEN 'c' THEN 0
+    WHEN 'r' THEN 1
+    WHEN 'n' THEN 2
+    WHEN 'a' THEN 3
+    WHEN 'd' THEN 4
+  END AS DELETE_RULE,
+  con.conname AS FK_NAME,
+  pkic.relname AS PK_NAME,
+  CASE
+    WHEN con.condeferrable AND con.condeferred THEN 5
+    WHEN con.condeferrable THEN 6
+    ELSE 7
+  END AS DEFERRABILITY
+FROM
+  pg_catalog.pg_constraint con
+  CROSS JOIN LATERAL pg_catalog.generate_subscripts(con.conkey, 1) AS k(n)
+  INNER JOIN pg_catalog.pg_class fkc
+    ON con.conrelid = fkc.oid
+  INNER JOIN pg_catalog.pg_namespace fkn
+    ON fkc.relnamespace = fkn.oid
+  INNER JOIN pg_catalog.pg_attribute fka
+    ON fka.attrelid = fkc.oid
+      AND fka.attnum = con.conkey[k.n]
+  INNER JOIN pg_catalog.pg_class pkc
+    ON con.confrelid = pkc.oid
+  INNER JOIN pg_catalog.pg_namespace pkn
+    ON pkc.relnamespace = pkn.oid
+  INNER JOIN pg_catalog.pg_attribute pka
+    ON pka.attrelid = pkc.oid
+      AND pka.attnum = con.confkey[k.n]
+  LEFT OUTER JOIN pg_catalog.pg_class pkic
+    ON con.conindid = pkic.oid
+WHERE
+  con.contype = 'f'
+  AND (
+    (
+      fkn.nspname ~ '${schemas}'
+      AND (fkn.nspname || '.' || fkc.relname) ~ '${tables}'
+    )
+    OR
+    (
+      pkn.nspname ~ '${schemas}'
+      AND (pkn.nspname || '.' || pkc.relname) ~ '${tables}'
+    )
+  )
+ORDER BY
+  FKTABLE_SCHEM,
+  FKTABLE_NAME,
+  FK_NAME,
+  KEY_SEQ
@@ -0,0 +1,27 @@
+SELECT
+  NULL AS FUNCTION_CAT,
+  n.nspname AS FUNCTION_SCHEM,
+  p.proname AS FUNCTION_NAME,
+  d.description AS REMARKS,
+  CASE
+    WHEN rt.typname = 'unknown' THEN 0
+    WHEN p.proretset THEN 2
+    ELSE 1
+  END AS FUNCTION_TYPE,
+  p.proname || '_' || p.oid AS SPECIFIC_NAME
+FROM
+  pg_catalog.pg_proc p
+  INNER JOIN pg_catalog.pg_namespace n
+    ON p.pronamespace = n.oid
+  INNER JOIN pg_catalog.pg_type rt
+    ON p.prorettype = rt.oid
+  LEFT OUTER JOIN pg_catalog.pg_description d
+    ON d.objoid = p.oid
+      AND d.objsubid = 0
+      AND d.classoid = 'pg_catalog.pg_proc'::regclass
+WHERE
+  n.nspname ~ '${schemas}'
+ORDER BY
+  FUNCTION_SCHEM,
+  FUNCTION_NAME,
+  SPECIFIC_NAME
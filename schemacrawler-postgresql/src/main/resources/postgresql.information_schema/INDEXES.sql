@@ -0,0 +1,46 @@
+SELECT
+  NULL AS TABLE_CAT,
+  n.nspname AS TABLE_SCHEM,
+  ct.relname AS TABLE_NAME,
+  NOT i.indisunique AS NON_UNIQUE,
+  NULL AS INDEX_QUALIFIER,
+  ci.relname AS INDEX_NAME,
+  CASE
+    WHEN i.indisclustered THEN 1
+    WHEN am.amname = 'hash' THEN 2
+    ELSE 3
+  END AS TYPE,
+  k.n AS ORDINAL_POSITION,
+  TRIM(BOTH '"' FROM pg_catalog.pg_get_indexdef(ci.oid, k.n, false))
+    AS COLUMN_NAME,
+  CASE
+    WHEN am.amname = 'btree' THEN
+      CASE i.indoption[k.n - 1] & 1
+        WHEN 1 THEN 'D'
+        ELSE 'A'
+      END
+  END AS ASC_OR_DESC,
+  ci.reltuples::bigint AS CARDINALITY,
+  ci.relpages AS PAGES,
+  pg_catalog.pg_get_expr(i.indpred, i.indrelid) AS FILTER_CONDITION
+FROM
+  pg_catalog.pg_class ct
+  INNER JOIN pg_catalog.pg_namespace n
+    ON ct.relnamespace = n.oid
+  INNER JOIN pg_catalog.pg_index i
+    ON ct.oid = i.indrelid
+  INNER JOIN pg_catalog.pg_class ci
+    ON ci.oid = i.indexrelid
+  INNER JOIN pg_catalog.pg_am am
+    ON ci.relam = am.oid
+  CROSS JOIN LATERAL pg_catalog.generate_series(1, i.indnatts) AS k(n)
+WHERE
+  n.nspname ~ '${schemas}'
+  AND (n.nspname || '.' || ct.relname) ~ '${tables}'
+ORDER BY
+  TABLE_SCHEM,
+  TABLE_NAME,
+  NON_UNIQUE,
+  TYPE,
+  INDEX_NAME,
+  ORDINAL_POSITION
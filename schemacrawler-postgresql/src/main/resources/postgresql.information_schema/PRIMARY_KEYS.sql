@@ -0,0 +1,27 @@
+SELECT
+  NULL AS TABLE_CAT,
+  n.nspname AS TABLE_SCHEM,
+  ct.relname AS TABLE_NAME,
+  a.attname AS COLUMN_NAME,
+  k.n AS KEY_SEQ,
+  ci.relname AS PK_NAME
+FROM
+  pg_catalog.pg_class ct
+  INNER JOIN pg_catalog.pg_namespace n
+    ON ct.relnamespace = n.oid
+  INNER JOIN pg_catalog.pg_index i
+    ON ct.oid = i.indrelid
+  INNER JOIN pg_catalog.pg_class ci
+    ON ci.oid = i.indexrelid
+  CROSS JOIN LATERAL pg_catalog.generate_series(1, i.indnatts) AS k(n)
+  INNER JOIN pg_catalog.pg_attribute a
+    ON a.attrelid = ct.oid
+      AND a.attnum = i.indkey[k.n - 1]
+WHERE
+  i.indisprimary
+  AND n.nspname ~ '${schemas}'
+  AND (n.nspname || '.' || ct.relname) ~ '${tables}'
+ORDER BY
+  TABLE_SCHEM,
+  TABLE_NAME,
+  KEY_SEQ
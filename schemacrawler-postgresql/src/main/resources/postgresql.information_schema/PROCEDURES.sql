@@ -0,0 +1,26 @@
+SELECT
+  NULL AS PROCEDURE_CAT,
+  n.nspname AS PROCEDURE_SCHEM,
+  p.proname AS PROCEDURE_NAME,
+  d.description AS REMARKS,
+  CASE
+    WHEN rt.typname = 'void' THEN 1
+    ELSE 2
+  END AS PROCEDURE_TYPE,
+  p.proname || '_' || p.oid AS SPECIFIC_NAME
+FROM
+  pg_catalog.pg_proc p
+  INNER JOIN pg_catalog.pg_namespace n
+    ON p.pronamespace = n.oid
+  INNER JOIN pg_catalog.pg_type rt
+    ON p.prorettype = rt.oid
+  LEFT OUTER JOIN pg_catalog.pg_description d
+    ON d.objoid = p.oid
+      AND d.objsubid = 0
+      AND d.classoid = 'pg_catalog.pg_proc'::regclass
+WHERE
+  n.nspname ~ '${schemas}'
+ORDER BY
+  PROCEDURE_SCHEM,
+  PROCEDURE_NAME,
+  SPECIFIC_NAME
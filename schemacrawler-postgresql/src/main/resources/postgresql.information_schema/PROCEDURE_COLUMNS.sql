@@ -0,0 +1,134 @@
+WITH
+  ROUTINES AS
+  (
+    SELECT
+      n.nspname AS ROUTINE_SCHEM,
+      p.proname AS ROUTINE_NAME,
+      p.proname || '_' || p.oid AS SPECIFIC_NAME,
+      p.prorettype AS RETURN_TYPE,
+      rt.typtype AS RETURN_TYPTYPE,
+      rt.typrelid AS RETURN_TYPRELID,
+      p.proargnames AS ARGUMENT_NAMES,
+      p.proargmodes AS ARGUMENT_MODES,
+      COALESCE(p.proallargtypes, p.proargtypes::oid[]) AS ARGUMENT_TYPES
+    FROM
+      pg_catalog.pg_proc p
+      INNER JOIN pg_catalog.pg_namespace n
+        ON p.pronamespace = n.oid
+      INNER JOIN pg_catalog.pg_type rt
+        ON p.prorettype = rt.oid
+    WHERE
+      n.nspname ~ '${schemas}'
+  ),
+  ROUTINE_COLUMNS AS
+  (
+    SELECT
+      r.ROUTINE_SCHEM,
+      r.ROUTINE_NAME,
+      r.SPECIFIC_NAME,
+      'returnValue' AS COLUMN_NAME,
+      5 AS COLUMN_TYPE,
+      r.RETURN_TYPE AS COLUMN_TYPE_OID,
+      0 AS ORDINAL_POSITION
+    FROM
+      ROUTINES r
+    WHERE
+      r.RETURN_TYPTYPE IN ('b', 'd', 'e')
+      OR (r.RETURN_TYPTYPE = 'p' AND r.ARGUMENT_MODES IS NULL)
+    UNION ALL
+    SELECT
+      r.ROUTINE_SCHEM,
+      r.ROUTINE_NAME,
+      r.SPECIFIC_NAME,
+      COALESCE(NULLIF(r.ARGUMENT_NAMES[a.n::int], ''), '$' || a.n)
+        AS COLUMN_NAME,
+      CASE r.ARGUMENT_MODES[a.n::int]
+        WHEN 'b' THEN 2
+        WHEN 'o' THEN 4
+        WHEN 't' THEN 3
+        ELSE 1
+      END AS COLUMN_TYPE,
+      a.type_oid AS COLUMN_TYPE_OID,
+      a.n AS ORDINAL_POSITION
+    FROM
+      ROUTINES r
+      CROSS JOIN LATERAL UNNEST(r.ARGUMENT_TYPES)
+        WITH ORDINALITY AS a(type_oid, n)
+    UNION ALL
+    SELECT
+      r.ROUTINE_SCHEM,
+      r.ROUTINE_NAME,
+      r.SPECIFIC_NAME,
+      att.attname AS COLUMN_NAME,
+      3 AS COLUMN_TYPE,
+      att.atttypid AS COLUMN_TYPE_OID,
+      COALESCE(ARRAY_LENGTH(r.ARGUMENT_TYPES, 1), 0) + att.attnum
+        AS ORDINAL_POSITION
+    FROM
+      ROUTINES r
+      INNER JOIN pg_catalog.pg_attribute att
+        ON att.attrelid = r.RETURN_TYPRELID
+          AND att.attnum > 0
+          AND NOT att.attisdropped
+    WHERE
+      r.RETURN_TYPTYPE = 'c'
+  )
+SELECT
+  NULL AS PROCEDURE_CAT,
+  rc.ROUTINE_SCHEM AS PROCEDURE_SCHEM,
+  rc.ROUTINE_NAME AS PROCEDURE_NAME,
+  rc.COLUMN_NAME,
+  rc.COLUMN_TYPE,
+  CASE
+    WHEN t.typtype = 'c' THEN 2002
+    WHEN t.typtype = 'd' THEN 2001
+    WHEN t.typtype = 'e' THEN 12
+    WHEN t.typcategory = 'A' THEN 2003
+    ELSE
+      CASE t.typname
+        WHEN 'int2' THEN 5
+        WHEN 'int4' THEN 4
+        WHEN 'oid' THEN -5
+        WHEN 'int8' THEN -5
+        WHEN 'money' THEN 8
+        WHEN 'numeric' THEN 2
+        WHEN 'float4' THEN 7
+        WHEN 'float8' THEN 8
+        WHEN 'char' THEN 1
+        WHEN 'bpchar' THEN 1
+        WHEN 'varchar' THEN 12
+        WHEN 'text' THEN 12
+        WHEN 'name' THEN 12
+        WHEN 'bytea' THEN -2
+        WHEN 'bool' THEN -7
+        WHEN 'bit' THEN -7
+        WHEN 'date' THEN 91
+        WHEN 'time' THEN 92
+        WHEN 'timetz' THEN 92
+        WHEN 'timestamp' THEN 93
+        WHEN 'timestamptz' THEN 93
+        WHEN 'refcursor' THEN 2012
+        WHEN 'xml' THEN 2009
+        ELSE 1111
+      END
+  END AS DATA_TYPE,
+  t.typname AS TYPE_NAME,
+  NULL AS PRECISION,
+  NULL AS LENGTH,
+  NULL AS SCALE,
+  10 AS RADIX,
+  2 AS NULLABLE,
+  NULL AS REMARKS,
+  NULL AS CHAR_OCTET_LENGTH,
+  rc.ORDINAL_POSITION,
+  '' AS IS_NULLABLE,
+  rc.SPECIFIC_NAME
+FROM
+  ROUTINE_COLUMNS rc
+  INNER JOIN pg_catalog.pg_type t
+    ON rc.COLUMN_TYPE_OID = t.oid
+ORDER BY
+  PROCEDURE_SCHEM,
+  PROCEDURE_NAME,
+  SPECIFIC_NAME,
+  ORDINAL_POSITION
@@ -0,0 +1,41 @@
+SELECT
+  NULL AS TABLE_CAT,
+  n.nspname AS TABLE_SCHEM,
+  c.relname AS TABLE_NAME,
+  CASE
+    WHEN n.nspname IN ('pg_catalog', 'information_schema') THEN
+      CASE c.relkind
+        WHEN 'r' THEN 'SYSTEM TABLE'
+        WHEN 'v' THEN 'SYSTEM VIEW'
+      END
+    WHEN n.nspname ~ '^pg_temp_' THEN
+      CASE c.relkind
+        WHEN 'r' THEN 'TEMPORARY TABLE'
+        WHEN 'p' THEN 'TEMPORARY TABLE'
+        WHEN 'v' THEN 'TEMPORARY VIEW'
+      END
+    ELSE
+      CASE c.relkind
+        WHEN 'r' THEN 'TABLE'
+        WHEN 'p' THEN 'TABLE'
+        WHEN 'v' THEN 'VIEW'
+        WHEN 'm' THEN 'MATERIALIZED VIEW'
+        WHEN 'f' THEN 'FOREIGN TABLE'
+      END
+  END AS TABLE_TYPE,
+  d.description AS REMARKS
+FROM
+  pg_catalog.pg_class c
+  INNER JOIN pg_catalog.pg_namespace n
+    ON c.relnamespace = n.oid
+  LEFT OUTER JOIN pg_catalog.pg_description d
+    ON d.objoid = c.oid
+      AND d.objsubid = 0
+      AND d.classoid = 'pg_catalog.pg_class'::regclass
+WHERE
+  c.relkind IN ('r', 'p', 'v', 'm', 'f')
+  AND n.nspname ~ '${schemas}'
+  AND (n.nspname || '.' || c.relname) ~ '${tables}'
+ORDER BY
+  TABLE_SCHEM,
+  TABLE_NAME
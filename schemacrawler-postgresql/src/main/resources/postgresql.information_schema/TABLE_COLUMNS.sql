@@ -0,0 +1,181 @@
+SELECT
+  NULL AS TABLE_CAT,
+  COLUMNS.TABLE_SCHEM,
+  COLUMNS.TABLE_NAME,
+  COLUMNS.COLUMN_NAME,
+  CASE
+    WHEN COLUMNS.TYPTYPE = 'c' THEN 2002
+    WHEN COLUMNS.TYPTYPE = 'd' THEN 2001
+    WHEN COLUMNS.TYPTYPE = 'e' THEN 12
+    WHEN COLUMNS.TYPCATEGORY = 'A' THEN 2003
+    ELSE
+      CASE COLUMNS.TYPNAME
+        WHEN 'int2' THEN 5
+        WHEN 'int4' THEN 4
+        WHEN 'oid' THEN -5
+        WHEN 'int8' THEN -5
+        WHEN 'money' THEN 8
+        WHEN 'numeric' THEN 2
+        WHEN 'float4' THEN 7
+        WHEN 'float8' THEN 8
+        WHEN 'char' THEN 1
+        WHEN 'bpchar' THEN 1
+        WHEN 'varchar' THEN 12
+        WHEN 'text' THEN 12
+        WHEN 'name' THEN 12
+        WHEN 'bytea' THEN -2
+        WHEN 'bool' THEN -7
+        WHEN 'bit' THEN -7
+        WHEN 'date' THEN 91
+        WHEN 'time' THEN 92
+        WHEN 'timetz' THEN 92
+        WHEN 'timestamp' THEN 93
+        WHEN 'timestamptz' THEN 93
+        WHEN 'refcursor' THEN 2012
+        WHEN 'xml' THEN 2009
+        ELSE 1111
+      END
+  END AS DATA_TYPE,
+  CASE
+    WHEN COLUMNS.TYPNAME = 'int4' AND COLUMNS.COLUMN_DEF LIKE '%nextval(%'
+      THEN 'serial'
+    WHEN COLUMNS.TYPNAME = 'int8' AND COLUMNS.COLUMN_DEF LIKE '%nextval(%'
+      THEN 'bigserial'
+    ELSE COLUMNS.TYPNAME
+  END AS TYPE_NAME,
+  CASE COLUMNS.BASE_TYPNAME
+    WHEN 'int2' THEN 5
+    WHEN 'int4' THEN 10
+    WHEN 'oid' THEN 10
+    WHEN 'int8' THEN 19
+    WHEN 'float4' THEN 8
+    WHEN 'float8' THEN 17
+    WHEN 'numeric' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 0
+        ELSE ((COLUMNS.TYPMOD - 4) >> 16) & 65535 END
+    WHEN 'bpchar' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 2147483647
+        ELSE COLUMNS.TYPMOD - 4 END
+    WHEN 'varchar' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 2147483647
+        ELSE COLUMNS.TYPMOD - 4 END
+    WHEN 'char' THEN 1
+    WHEN 'bool' THEN 1
+    WHEN 'bit' THEN COLUMNS.TYPMOD
+    WHEN 'varbit' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 2147483647
+        ELSE COLUMNS.TYPMOD END
+    WHEN 'date' THEN 13
+    WHEN 'time' THEN 15
+    WHEN 'timetz' THEN 21
+    WHEN 'timestamp' THEN 29
+    WHEN 'timestamptz' THEN 35
+    WHEN 'interval' THEN 49
+    ELSE 2147483647
+  END AS COLUMN_SIZE,
+  NULL AS BUFFER_LENGTH,
+  CASE COLUMNS.BASE_TYPNAME
+    WHEN 'float4' THEN 8
+    WHEN 'float8' THEN 17
+    WHEN 'numeric' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 0
+        ELSE (COLUMNS.TYPMOD - 4) & 65535 END
+    WHEN 'time' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 6 ELSE COLUMNS.TYPMOD END
+    WHEN 'timetz' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 6 ELSE COLUMNS.TYPMOD END
+    WHEN 'timestamp' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 6 ELSE COLUMNS.TYPMOD END
+    WHEN 'timestamptz' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 6 ELSE COLUMNS.TYPMOD END
+    WHEN 'interval' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 6 ELSE COLUMNS.TYPMOD & 65535 END
+    ELSE 0
+  END AS DECIMAL_DIGITS,
+  10 AS NUM_PREC_RADIX,
+  CASE WHEN COLUMNS.IS_NOT_NULL THEN 0 ELSE 1 END AS NULLABLE,
+  COLUMNS.REMARKS,
+  COLUMNS.COLUMN_DEF,
+  NULL AS SQL_DATA_TYPE,
+  NULL AS SQL_DATETIME_SUB,
+  CASE COLUMNS.BASE_TYPNAME
+    WHEN 'bpchar' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 2147483647
+        ELSE COLUMNS.TYPMOD - 4 END
+    WHEN 'varchar' THEN
+      CASE WHEN COLUMNS.TYPMOD = -1 THEN 2147483647
+        ELSE COLUMNS.TYPMOD - 4 END
+    WHEN 'text' THEN 2147483647
+  END AS CHAR_OCTET_LENGTH,
+  COLUMNS.ORDINAL_POSITION,
+  CASE WHEN COLUMNS.IS_NOT_NULL THEN 'NO' ELSE 'YES' END AS IS_NULLABLE,
+  NULL AS SCOPE_CATALOG,
+  NULL AS SCOPE_SCHEMA,
+  NULL AS SCOPE_TABLE,
+  NULL AS SOURCE_DATA_TYPE,
+  CASE
+    WHEN COLUMNS.COLUMN_DEF LIKE '%nextval(%' OR COLUMNS.IS_IDENTITY
+      THEN 'YES'
+    ELSE 'NO'
+  END AS IS_AUTOINCREMENT,
+  'NO' AS IS_GENERATEDCOLUMN
+FROM
+  (
+    SELECT
+      n.nspname AS TABLE_SCHEM,
+      c.relname AS TABLE_NAME,
+      a.attname AS COLUMN_NAME,
+      ROW_NUMBER() OVER (PARTITION BY a.attrelid ORDER BY a.attnum)
+        AS ORDINAL_POSITION,
+      t.typname AS TYPNAME,
+      t.typtype AS TYPTYPE,
+      t.typcategory AS TYPCATEGORY,
+      COALESCE(bt.typname, t.typname) AS BASE_TYPNAME,
+      CASE WHEN t.typtype = 'd' THEN t.typtypmod ELSE a.atttypmod END
+        AS TYPMOD,
+      a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS IS_NOT_NULL,
+      pg_catalog.pg_get_expr(def.adbin, def.adrelid) AS COLUMN_DEF,
+      EXISTS (
+        SELECT 1
+        FROM
+          pg_catalog.pg_depend dep
+        WHERE
+          dep.refobjid = c.oid
+          AND dep.refobjsubid = a.attnum
+          AND dep.refclassid = 'pg_catalog.pg_class'::regclass
+          AND dep.classid = 'pg_catalog.pg_class'::regclass
+          AND dep.deptype = 'i'
+      ) AS IS_IDENTITY,
+      d.description AS REMARKS
+    FROM
+      pg_catalog.pg_class c
+      INNER JOIN pg_catalog.pg_namespace n
+        ON c.relnamespace = n.oid
+      INNER JOIN pg_catalog.pg_attribute a
+        ON a.attrelid = c.oid
+      INNER JOIN pg_catalog.pg_type t
+        ON a.atttypid = t.oid
+      LEFT OUTER JOIN pg_catalog.pg_type bt
+        ON t.typtype = 'd'
+          AND t.typbasetype = bt.oid
+      LEFT OUTER JOIN pg_catalog.pg_attrdef def
+        ON a.attrelid = def.adrelid
+          AND a.attnum = def.adnum
+      LEFT OUTER JOIN pg_catalog.pg_description d
+        ON d.objoid = c.oid
+          AND d.objsubid = a.attnum
+          AND d.classoid = 'pg_catalog.pg_class'::regclass
+    WHERE
+      c.relkind IN ('r', 'p', 'v', 'm', 'f')
+      AND a.attnum > 0
+      AND NOT a.attisdropped
+      AND n.nspname ~ '${schemas}'
+      AND (n.nspname || '.' || c.relname) ~ '${tables}'
+  ) COLUMNS
+WHERE
+  (COLUMNS.TABLE_SCHEM || '.' || COLUMNS.TABLE_NAME || '.' || COLUMNS.COLUMN_NAME)
+    ~ '${columns}'
+ORDER BY
+  TABLE_SCHEM,
+  TABLE_NAME,
+  ORDINAL_POSITION
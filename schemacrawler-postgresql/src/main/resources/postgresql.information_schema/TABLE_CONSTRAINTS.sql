@@ -9,3 +9,5 @@ SELECT
   'NO' AS INITIALLY_DEFERRED
 FROM
   INFORMATION_SCHEMA.TABLE_CONSTRAINTS
+WHERE
+  (TABLE_SCHEMA || '.' || TABLE_NAME) ~ '${tables}'
@@ -14,3 +14,5 @@ SELECT
   CREATED
 FROM
   INFORMATION_SCHEMA.TRIGGERS
+WHERE
+  (EVENT_OBJECT_SCHEMA || '.' || EVENT_OBJECT_TABLE) ~ '${tables}'
@@ -7,6 +7,8 @@ SELECT
   IS_UPDATABLE
 FROM
   INFORMATION_SCHEMA.VIEWS
+WHERE
+  (TABLE_SCHEMA || '.' || TABLE_NAME) ~ '${tables}'
 ORDER BY
   TABLE_CATALOG,
   TABLE_SCHEMA,
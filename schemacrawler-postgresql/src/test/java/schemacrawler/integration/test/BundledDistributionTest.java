@@ -51,7 +51,7 @@ public class BundledDistributionTest
     final DatabaseConnector databaseSystemIdentifier = registry.lookupDatabaseConnector(
       "postgresql");
     assertThat(databaseSystemIdentifier.getSchemaRetrievalOptionsBuilder(
-      connection).toOptions().getInformationSchemaViews().size(), is(9));
+      connection).toOptions().getInformationSchemaViews().size(), is(20));
   }
 
   @Test
@@ -0,0 +1,160 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.integration.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
+import static sf.util.DatabaseUtility.checkConnection;
+import static sf.util.IOUtility.readFully;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.crawl.MetadataRetrievalStrategy;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.server.postgresql.EmbeddedPostgreSQLWrapper;
+import schemacrawler.server.postgresql.PostgreSQLDatabaseConnector;
+import schemacrawler.tools.databaseconnector.DatabaseConnector;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+
+public class PostgreSQLDataDictionaryTest
+  extends BasePostgreSQLTest
+{
+
+  private boolean isDatabaseRunning;
+  private EmbeddedPostgreSQLWrapper embeddedPostgreSQL;
+
+  @BeforeEach
+  public void createDatabase()
+    throws SchemaCrawlerException, SQLException, IOException
+  {
+    try
+    {
+      embeddedPostgreSQL = new EmbeddedPostgreSQLWrapper(getEmbeddedPostgreSQLVersion());
+      embeddedPostgreSQL.startServer();
+      createDataSource(embeddedPostgreSQL.getConnectionUrl(),
+                       embeddedPostgreSQL.getUser(),
+                       embeddedPostgreSQL.getPassword());
+      createDatabase("/postgresql.scripts.txt");
+
+      isDatabaseRunning = true;
+    }
+    catch (final Throwable e)
+    {
+      LOGGER.log(Level.FINE, e.getMessage(), e);
+      // Do not run if database server cannot be loaded
+      isDatabaseRunning = false;
+    }
+  }
+
+  @AfterEach
+  public void stopDatabaseServer()
+    throws SchemaCrawlerException
+  {
+    if (isDatabaseRunning)
+    {
+      embeddedPostgreSQL.stopServer();
+    }
+  }
+
+  @Test
+  public void testDataDictionaryMatchesMetadata()
+    throws Exception
+  {
+    if (!isDatabaseRunning)
+    {
+      LOGGER.log(Level.INFO, "Did NOT run PostgreSQL test");
+      return;
+    }
+
+    final Connection connection = checkConnection(getConnection());
+    final DatabaseConnector postgreSQLDatabaseConnector = new PostgreSQLDatabaseConnector();
+
+    final SchemaRetrievalOptions dataDictionaryRetrievalOptions = postgreSQLDatabaseConnector
+      .getSchemaRetrievalOptionsBuilder(connection).toOptions();
+    assertThat(dataDictionaryRetrievalOptions.getTableRetrievalStrategy(),
+               equalTo(MetadataRetrievalStrategy.data_dictionary_all));
+
+    final SchemaRetrievalOptions metadataRetrievalOptions = postgreSQLDatabaseConnector
+      .getSchemaRetrievalOptionsBuilder(connection)
+      .withTableRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withTableColumnRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withPrimaryKeyRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withForeignKeyRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withIndexRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withProcedureRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withProcedureColumnRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withFunctionRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .withFunctionColumnRetrievalStrategy(MetadataRetrievalStrategy.metadata)
+      .toOptions();
+
+    final String dataDictionaryOutput = details(dataDictionaryRetrievalOptions);
+    final String metadataOutput = details(metadataRetrievalOptions);
+
+    assertThat(dataDictionaryOutput, equalTo(metadataOutput));
+    LOGGER.log(Level.INFO,
+               "Completed PostgreSQL data dictionary test successfully");
+  }
+
+  private String details(final SchemaRetrievalOptions schemaRetrievalOptions)
+    throws Exception
+  {
+    final SchemaCrawlerOptionsBuilder schemaCrawlerOptionsBuilder = SchemaCrawlerOptionsBuilder
+      .builder();
+    schemaCrawlerOptionsBuilder
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionInclusionRule("books"))
+      .includeAllRoutines().tableTypes("TABLE,VIEW,MATERIALIZED VIEW");
+    final SchemaCrawlerOptions options = schemaCrawlerOptionsBuilder
+      .toOptions();
+
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable("details");
+    executable.setSchemaCrawlerOptions(options);
+    executable.setSchemaRetrievalOptions(schemaRetrievalOptions);
+
+    final Path output = executableExecution(getConnection(), executable);
+    return readFully(new FileReader(output.toFile()));
+  }
+
+}
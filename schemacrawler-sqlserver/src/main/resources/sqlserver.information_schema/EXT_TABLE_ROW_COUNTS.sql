@@ -0,0 +1,14 @@
+SELECT
+  DB_NAME() AS TABLE_CATALOG,
+  SCHEMA_NAME(TABLES.schema_id) AS TABLE_SCHEMA,
+  TABLES.name AS TABLE_NAME,
+  SUM(PARTITIONS.rows) AS ROW_COUNT
+FROM
+  sys.tables TABLES
+  INNER JOIN sys.partitions PARTITIONS
+    ON TABLES.object_id = PARTITIONS.object_id
+WHERE
+  PARTITIONS.index_id IN (0, 1)
+GROUP BY
+  TABLES.schema_id,
+  TABLES.name
@@ -45,12 +45,35 @@ public final class CatalogWithAssociations
 
   private final Collection<WeakAssociationForeignKey> weakAssociations;
 
+  /**
+   * Tables count from which weak associations are found on several
+   * threads.
+   */
+  private static final int PARALLEL_TABLES_COUNT = 1000;
+
   public CatalogWithAssociations(final Catalog catalog)
+  {
+    this(catalog,
+         catalog.getTables().size() < PARALLEL_TABLES_COUNT? 1: Runtime
+           .getRuntime().availableProcessors());
+  }
+
+  /**
+   * Finds weak associations in the catalog.
+   *
+   * @param catalog
+   *        Catalog to decorate
+   * @param threadsCount
+   *        Number of threads to find weak associations on
+   */
+  public CatalogWithAssociations(final Catalog catalog,
+                                 final int threadsCount)
   {
     super(catalog);
 
     final List<Table> allTables = new ArrayList<>(catalog.getTables());
-    final WeakAssociationsAnalyzer weakAssociationsAnalyzer = new WeakAssociationsAnalyzer(allTables);
+    final WeakAssociationsAnalyzer weakAssociationsAnalyzer = new WeakAssociationsAnalyzer(allTables,
+                                                                                           threadsCount);
     weakAssociations = weakAssociationsAnalyzer.analyzeTables();
   }
 
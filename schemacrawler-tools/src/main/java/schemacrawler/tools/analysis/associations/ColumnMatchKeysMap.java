@@ -30,77 +30,139 @@ package schemacrawler.tools.analysis.associations;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import schemacrawler.schema.Column;
 import schemacrawler.schema.Table;
-import sf.util.Multimap;
 
+/**
+ * Index of columns by the key that is used to match them up with other
+ * columns or tables. Columns are numbered in the order of tables, and
+ * each match key maps to the numbers of its columns, so candidate
+ * columns can be collected without building sets of columns.
+ */
 final class ColumnMatchKeysMap
 {
 
-  private final Multimap<String, Column> columnsForMatchKey;
-  private final Multimap<Column, String> matchKeysForColumn;
+  private static final int[] NO_COLUMNS = new int[0];
+
+  /**
+   * Match key for a column name, which is the lower case name without
+   * any "id" suffix.
+   *
+   * @param columnName
+   *        Column name
+   * @return Match key, or null if the column is just an "id"
+   */
+  static String matchKey(final String columnName)
+  {
+    String matchColumnName = columnName.toLowerCase();
+    if (matchColumnName.endsWith("_id"))
+    {
+      matchColumnName = matchColumnName
+        .substring(0, matchColumnName.length() - 3);
+    }
+    if (matchColumnName.endsWith("id") && !matchColumnName.equals("id"))
+    {
+      matchColumnName = matchColumnName
+        .substring(0, matchColumnName.length() - 2);
+    }
+    if (matchColumnName.equals("id"))
+    {
+      return null;
+    }
+    return matchColumnName;
+  }
+
+  private final Column[] columns;
+  private final Map<String, int[]> columnIdsForMatchKey;
 
   ColumnMatchKeysMap(final List<Table> tables)
   {
     requireNonNull(tables, "No tables provided");
-    columnsForMatchKey = new Multimap<>();
-    matchKeysForColumn = new Multimap<>();
 
+    final List<Column> allColumns = new ArrayList<>();
     for (final Table table: tables)
     {
-      mapColumnNameMatches(table);
+      allColumns.addAll(table.getColumns());
     }
-  }
+    columns = allColumns.toArray(new Column[0]);
 
-  public boolean containsKey(final Column column)
-  {
-    return matchKeysForColumn.containsKey(column);
+    final String[] matchKeys = new String[columns.length];
+    final Map<String, Integer> columnsCount = new HashMap<>();
+    for (int columnId = 0; columnId < columns.length; columnId++)
+    {
+      final String matchKey = matchKey(columns[columnId].getName());
+      if (matchKey != null)
+      {
+        matchKeys[columnId] = matchKey;
+        columnsCount.merge(matchKey, 1, Integer::sum);
+      }
+    }
+
+    columnIdsForMatchKey = new HashMap<>(columnsCount.size() * 2);
+    final Map<String, Integer> filled = new HashMap<>(columnsCount.size() * 2);
+    for (int columnId = 0; columnId < columns.length; columnId++)
+    {
+      final String matchKey = matchKeys[columnId];
+      if (matchKey == null)
+      {
+        continue;
+      }
+      final int[] columnIds = columnIdsForMatchKey
+        .computeIfAbsent(matchKey, key -> new int[columnsCount.get(key)]);
+      final int position = filled.merge(matchKey, 1, Integer::sum) - 1;
+      columnIds[position] = columnId;
+    }
   }
 
-  public boolean containsKey(final String columnKey)
+  /**
+   * Numbers of the columns with a match key, in the order of tables.
+   * The returned array is shared, and should not be modified.
+   *
+   * @param matchKey
+   *        Match key
+   * @return Column numbers
+   */
+  int[] get(final String matchKey)
   {
-    return columnsForMatchKey.containsKey(columnKey);
+    final int[] columnIds = columnIdsForMatchKey.get(matchKey);
+    if (columnIds == null)
+    {
+      return NO_COLUMNS;
+    }
+    return columnIds;
   }
 
-  public List<String> get(final Column column)
+  Column getColumn(final int columnId)
   {
-    return matchKeysForColumn.get(column);
+    return columns[columnId];
   }
 
-  public List<Column> get(final String matchKey)
+  int size()
   {
-    return columnsForMatchKey.get(matchKey);
+    return columns.length;
   }
 
   @Override
   public String toString()
   {
-    return columnsForMatchKey.toString();
-  }
-
-  private void mapColumnNameMatches(final Table table)
-  {
-    for (final Column column: table.getColumns())
+    final Map<String, List<Column>> columnsForMatchKey = new TreeMap<>();
+    for (final Map.Entry<String, int[]> entry: columnIdsForMatchKey
+      .entrySet())
     {
-      String matchColumnName = column.getName().toLowerCase();
-      if (matchColumnName.endsWith("_id"))
-      {
-        matchColumnName = matchColumnName
-          .substring(0, matchColumnName.length() - 3);
-      }
-      if (matchColumnName.endsWith("id") && !matchColumnName.equals("id"))
+      final List<Column> matchedColumns = new ArrayList<>();
+      for (final int columnId: entry.getValue())
       {
-        matchColumnName = matchColumnName
-          .substring(0, matchColumnName.length() - 2);
-      }
-      if (!matchColumnName.equals("id"))
-      {
-        columnsForMatchKey.add(matchColumnName, column);
-        matchKeysForColumn.add(column, matchColumnName);
+        matchedColumns.add(columns[columnId]);
       }
+      columnsForMatchKey.put(entry.getKey(), matchedColumns);
     }
+    return columnsForMatchKey.toString();
   }
 
 }
@@ -56,17 +56,10 @@ final class ForeignKeys
       return false;
     }
 
-    // We have to loop through the collection, since we want to use the
-    // equals from the WeakAssociation
-    for (final ColumnReference foreignKey: foreignKeys)
-    {
-      final boolean equals = columnMap.equals(foreignKey);
-      if (equals)
-      {
-        return true;
-      }
-    }
-    return false;
+    // Look up with the equals and hash code from the given column
+    // reference, such as a WeakAssociation, which match those of the
+    // foreign key column references from the catalog
+    return foreignKeys.contains(columnMap);
   }
 
   @Override
@@ -32,10 +32,14 @@ import static java.util.Objects.requireNonNull;
 import static sf.util.Utility.isBlank;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.logging.Level;
@@ -45,7 +49,6 @@ import sf.util.Multimap;
 import sf.util.ObjectToString;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
-import sf.util.Utility;
 
 final class TableMatchKeys
 {
@@ -95,6 +98,137 @@ final class TableMatchKeys
 
   }
 
+  /**
+   * Counts pairs of table names by their common prefix, for prefixes
+   * that end with "_". Names are sorted, so the common prefix of any two
+   * names is the shortest common prefix of adjacent names between them.
+   * Each adjacent common prefix is counted once for every pair of names
+   * where it is the shortest, which avoids comparing every pair of
+   * names.
+   *
+   * @param tableNames
+   *        Table names, which may include the same name more than once
+   * @return Number of pairs of table names for each common prefix
+   */
+  static Map<String, Long> countCommonPrefixes(final List<String> tableNames)
+  {
+    final int size = tableNames.size();
+    final String[] names = tableNames.toArray(new String[size]);
+    Arrays.sort(names);
+
+    // Common prefix length of each name with the name before it
+    final int[] lengths = new int[size];
+    for (int k = 1; k < size; k++)
+    {
+      lengths[k] = commonPrefixLength(names[k - 1], names[k]);
+    }
+
+    // For each adjacent common prefix, find the range of adjacent pairs
+    // over which it is the first shortest one
+    final int[] left = new int[size];
+    final int[] right = new int[size];
+    final int[] stack = new int[size];
+    int top = 0;
+    for (int k = 1; k < size; k++)
+    {
+      while (top > 0 && lengths[stack[top - 1]] > lengths[k])
+      {
+        top--;
+      }
+      left[k] = top > 0? stack[top - 1]: 0;
+      stack[top++] = k;
+    }
+    top = 0;
+    for (int k = size - 1; k > 0; k--)
+    {
+      while (top > 0 && lengths[stack[top - 1]] >= lengths[k])
+      {
+        top--;
+      }
+      right[k] = top > 0? stack[top - 1]: size;
+      stack[top++] = k;
+    }
+
+    final Map<String, Long> commonPrefixes = new HashMap<>();
+    for (int k = 1; k < size; k++)
+    {
+      if (lengths[k] == 0)
+      {
+        continue;
+      }
+      final String commonPrefix = names[k].substring(0, lengths[k])
+        .toLowerCase();
+      if (commonPrefix.endsWith("_"))
+      {
+        final long pairsCount = (long) (k - left[k]) * (right[k] - k);
+        commonPrefixes.merge(commonPrefix, pairsCount, Long::sum);
+      }
+    }
+
+    // Identical names do not have a common prefix
+    int start = 0;
+    for (int k = 1; k <= size; k++)
+    {
+      if (k == size || !names[k].equals(names[start]))
+      {
+        final long sameCount = k - start;
+        final String name = names[start].toLowerCase();
+        if (sameCount > 1 && name.endsWith("_"))
+        {
+          commonPrefixes.merge(name,
+                               -sameCount * (sameCount - 1) / 2,
+                               Long::sum);
+        }
+        start = k;
+      }
+    }
+    commonPrefixes.values().removeIf(pairsCount -> pairsCount <= 0);
+
+    return commonPrefixes;
+  }
+
+  private static int commonPrefixLength(final String string1,
+                                        final String string2)
+  {
+    final int length = Math.min(string1.length(), string2.length());
+    int i = 0;
+    while (i < length && string1.charAt(i) == string2.charAt(i))
+    {
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * Splits a common prefix into shorter prefixes, at each "_".
+   *
+   * @param commonPrefix
+   *        Common prefix, ending with "_"
+   * @return Prefixes, including the common prefix
+   */
+  private static List<String> splitCommonPrefix(final String commonPrefix)
+  {
+    final List<String> splitCommonPrefixes = new ArrayList<>();
+    final String[] splitPrefix = commonPrefix.split("_");
+    if (splitPrefix != null && splitPrefix.length > 0)
+    {
+      for (int k = 0; k < splitPrefix.length; k++)
+      {
+        final StringBuilder buffer = new StringBuilder(1024);
+        for (int l = 0; l < k; l++)
+        {
+          buffer.append(splitPrefix[l]).append("_");
+        }
+        if (buffer.length() > 0)
+        {
+          splitCommonPrefixes.add(buffer.toString());
+        }
+      }
+    }
+    splitCommonPrefixes.add(commonPrefix);
+    return splitCommonPrefixes;
+  }
+
   /**
    * Finds table prefixes. A prefix ends with "_".
    *
@@ -104,71 +238,34 @@ final class TableMatchKeys
    */
   private Collection<String> findTableNamePrefixes(final List<Table> tables)
   {
-    final SortedMap<String, Integer> prefixesMap = new TreeMap<>();
-    for (int i = 0; i < tables.size(); i++)
+    final SortedMap<String, Long> prefixesMap = new TreeMap<>();
+    final List<String> tableNames = new ArrayList<>(tables.size());
+    for (final Table table: tables)
+    {
+      tableNames.add(table.getName());
+    }
+    for (final Map.Entry<String, Long> commonPrefix: countCommonPrefixes(tableNames)
+      .entrySet())
     {
-      for (int j = i + 1; j < tables.size(); j++)
+      for (final String splitCommonPrefix: splitCommonPrefix(commonPrefix
+        .getKey()))
       {
-        final String table1 = tables.get(i).getName();
-        final String table2 = tables.get(j).getName();
-        final String commonPrefix = Utility.commonPrefix(table1, table2);
-        if (!isBlank(commonPrefix) && commonPrefix.endsWith("_"))
-        {
-          final List<String> splitCommonPrefixes = new ArrayList<>();
-          final String[] splitPrefix = commonPrefix.split("_");
-          if (splitPrefix != null && splitPrefix.length > 0)
-          {
-            for (int k = 0; k < splitPrefix.length; k++)
-            {
-              final StringBuilder buffer = new StringBuilder(1024);
-              for (int l = 0; l < k; l++)
-              {
-                buffer.append(splitPrefix[l]).append("_");
-              }
-              if (buffer.length() > 0)
-              {
-                splitCommonPrefixes.add(buffer.toString());
-              }
-            }
-          }
-          splitCommonPrefixes.add(commonPrefix);
-
-          for (final String splitCommonPrefix: splitCommonPrefixes)
-          {
-            final int prevCount;
-            if (prefixesMap.containsKey(splitCommonPrefix))
-            {
-              prevCount = prefixesMap.get(splitCommonPrefix);
-            }
-            else
-            {
-              prevCount = 0;
-            }
-            prefixesMap.put(splitCommonPrefix, prevCount + 1);
-          }
-        }
+        prefixesMap.merge(splitCommonPrefix,
+                          commonPrefix.getValue(),
+                          Long::sum);
       }
     }
 
     // Make sure we have the smallest prefixes
-    final List<String> keySet = new ArrayList<>(prefixesMap.keySet());
-    keySet.sort((key1, key2) -> {
-      int comparison = 0;
-      comparison = key2.length() - key1.length();
-      if (comparison == 0)
-      {
-        comparison = key2.compareTo(key1);
-      }
-      return comparison;
-    });
-    for (int i = 0; i < keySet.size(); i++)
+    final Set<String> allPrefixes = new HashSet<>(prefixesMap.keySet());
+    for (final String prefix: allPrefixes)
     {
-      for (int j = i + 1; j < keySet.size(); j++)
+      for (int i = 0; i < prefix.length() - 1; i++)
       {
-        final String longPrefix = keySet.get(i);
-        if (longPrefix.startsWith(keySet.get(j)))
+        if (prefix.charAt(i) == '_'
+            && allPrefixes.contains(prefix.substring(0, i + 1)))
         {
-          prefixesMap.remove(longPrefix);
+          prefixesMap.remove(prefix);
           break;
         }
       }
@@ -176,7 +273,7 @@ final class TableMatchKeys
 
     // Sort prefixes by the number of tables using them, in descending
     // order
-    final List<Map.Entry<String, Integer>> prefixesList = new ArrayList<>(prefixesMap
+    final List<Map.Entry<String, Long>> prefixesList = new ArrayList<>(prefixesMap
       .entrySet());
     Collections
       .sort(prefixesList,
@@ -31,12 +31,15 @@ package schemacrawler.tools.analysis.associations;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.tools.analysis.associations.WeakAssociationsUtility.addWeakAssociationToTable;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Column;
@@ -52,11 +55,32 @@ final class WeakAssociationsAnalyzer
     .getLogger(WeakAssociationsAnalyzer.class.getName());
 
   private final List<Table> tables;
+  private final int threadsCount;
   private final Collection<WeakAssociationForeignKey> weakAssociations;
 
   WeakAssociationsAnalyzer(final List<Table> tables)
+  {
+    this(tables, 1);
+  }
+
+  /**
+   * Finds weak associations, with tables split across a number of
+   * threads. Weak associations are added to the tables in the same way
+   * whatever the number of threads.
+   *
+   * @param tables
+   *        Tables to analyze
+   * @param threadsCount
+   *        Number of threads to find candidate associations on
+   */
+  WeakAssociationsAnalyzer(final List<Table> tables, final int threadsCount)
   {
     this.tables = requireNonNull(tables, "No tables provided");
+    if (threadsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of threads should be at least 1");
+    }
+    this.threadsCount = threadsCount;
     weakAssociations = new TreeSet<>();
   }
 
@@ -103,7 +127,90 @@ final class WeakAssociationsAnalyzer
       LOGGER.log(Level.FINER,
                  new StringFormat("Column match keys <%s>", tableMatchKeys));
     }
-    for (final Table table: tables)
+
+    final int partitionsCount = Math.min(threadsCount, tables.size());
+    if (partitionsCount <= 1)
+    {
+      for (final WeakAssociation weakAssociation: findWeakAssociations(tables,
+                                                                       foreignKeys,
+                                                                       columnMatchKeysMap,
+                                                                       tableMatchKeys))
+      {
+        addWeakAssociation(weakAssociation);
+      }
+      return;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Finding weak associations for %d tables, using %d threads",
+                                tables.size(),
+                                partitionsCount));
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(partitionsCount);
+    try
+    {
+      final List<Future<List<WeakAssociation>>> futures = new ArrayList<>();
+      for (int i = 0; i < partitionsCount; i++)
+      {
+        final int from = (int) ((long) tables.size() * i / partitionsCount);
+        final int to = (int) ((long) tables.size() * (i + 1)
+                              / partitionsCount);
+        final List<Table> partition = tables.subList(from, to);
+        futures.add(executorService
+          .submit(() -> findWeakAssociations(partition,
+                                             foreignKeys,
+                                             columnMatchKeysMap,
+                                             tableMatchKeys)));
+      }
+      // Tables are only changed on this thread, one partition after
+      // the other, in the order of the tables
+      for (final Future<List<WeakAssociation>> future: futures)
+      {
+        for (final WeakAssociation weakAssociation: future.get())
+        {
+          addWeakAssociation(weakAssociation);
+        }
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException)
+      {
+        throw (RuntimeException) cause;
+      }
+      throw new RuntimeException("Could not find weak associations", cause);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while finding weak associations",
+                                 e);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+  }
+
+  /**
+   * Finds weak associations from the candidate keys of the given tables
+   * to columns in any table. Tables are not changed.
+   */
+  private List<WeakAssociation> findWeakAssociations(final List<Table> pkTables,
+                                                     final ForeignKeys foreignKeys,
+                                                     final ColumnMatchKeysMap columnMatchKeysMap,
+                                                     final TableMatchKeys tableMatchKeys)
+  {
+    final List<WeakAssociation> found = new ArrayList<>();
+
+    // Marks columns already seen for a candidate key, with a different
+    // mark for each candidate key
+    final int[] seenColumns = new int[columnMatchKeysMap.size()];
+    int mark = 0;
+
+    final List<String> fkColumnMatchKeys = new ArrayList<>();
+    for (final Table table: pkTables)
     {
       final TableCandidateKeys tableCandidateKeys = new TableCandidateKeys(table);
       LOGGER
@@ -111,47 +218,57 @@ final class WeakAssociationsAnalyzer
              new StringFormat("Table candidate keys <%s>", tableCandidateKeys));
       for (final Column pkColumn: tableCandidateKeys)
       {
-        final Set<String> fkColumnMatchKeys = new HashSet<>();
+        fkColumnMatchKeys.clear();
         // Look for all columns matching this table match key
         if (pkColumn.isPartOfPrimaryKey())
         {
-          fkColumnMatchKeys.addAll(tableMatchKeys.get(table));
+          final List<String> tableKeys = tableMatchKeys.get(table);
+          if (tableKeys != null)
+          {
+            fkColumnMatchKeys.addAll(tableKeys);
+          }
         }
         // Look for all columns matching this column match key
-        if (columnMatchKeysMap.containsKey(pkColumn))
+        final String pkColumnMatchKey = ColumnMatchKeysMap
+          .matchKey(pkColumn.getName());
+        if (pkColumnMatchKey != null)
         {
-          fkColumnMatchKeys.addAll(columnMatchKeysMap.get(pkColumn));
+          fkColumnMatchKeys.add(pkColumnMatchKey);
         }
 
-        final Set<Column> fkColumns = new HashSet<>();
+        mark++;
         for (final String fkColumnMatchKey: fkColumnMatchKeys)
         {
-          if (columnMatchKeysMap.containsKey(fkColumnMatchKey))
+          for (final int fkColumnId: columnMatchKeysMap.get(fkColumnMatchKey))
           {
-            fkColumns.addAll(columnMatchKeysMap.get(fkColumnMatchKey));
-          }
-        }
+            if (seenColumns[fkColumnId] == mark)
+            {
+              continue;
+            }
+            seenColumns[fkColumnId] = mark;
 
-        for (final Column fkColumn: fkColumns)
-        {
-          if (pkColumn.equals(fkColumn))
-          {
-            continue;
-          }
+            final Column fkColumn = columnMatchKeysMap.getColumn(fkColumnId);
+            if (pkColumn.equals(fkColumn))
+            {
+              continue;
+            }
 
-          final WeakAssociation weakAssociation = new WeakAssociation(pkColumn,
-                                                                      fkColumn);
-          if (weakAssociation.isValid()
-              && !foreignKeys.contains(weakAssociation))
-          {
-            LOGGER.log(Level.FINE,
-                       new StringFormat("Found weak association <%s>",
-                                        weakAssociation));
-            addWeakAssociation(weakAssociation);
+            final WeakAssociation weakAssociation = new WeakAssociation(pkColumn,
+                                                                        fkColumn);
+            if (weakAssociation.isValid()
+                && !foreignKeys.contains(weakAssociation))
+            {
+              LOGGER.log(Level.FINE,
+                         new StringFormat("Found weak association <%s>",
+                                          weakAssociation));
+              found.add(weakAssociation);
+            }
           }
         }
       }
     }
+
+    return found;
   }
 
 }
@@ -29,8 +29,8 @@ package schemacrawler.tools.analysis.counts;
 
 
 import static schemacrawler.filter.ReducerFactory.getTableReducer;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_TABLE_ROW_COUNTS;
 import static schemacrawler.tools.analysis.counts.CountsUtility.addRowCountToTable;
-import static schemacrawler.utility.QueryUtility.executeForLong;
 import static sf.util.DatabaseUtility.checkConnection;
 
 import java.sql.Connection;
@@ -40,16 +40,17 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.BaseCatalogDecorator;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
-import schemacrawler.tools.text.operation.Operation;
-import schemacrawler.utility.Identifiers;
-import schemacrawler.utility.Query;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
@@ -62,58 +63,186 @@ public final class CatalogWithCounts
 
   private static final long serialVersionUID = -3953296149824921463L;
 
+  private static final String EXACT_ROW_COUNTS = "schemacrawler.format.row_counts.exact";
+  private static final String ROW_COUNTS_TIMEOUT = "schemacrawler.format.row_counts.timeout";
+  private static final String ROW_COUNTS_CONNECTIONS = "schemacrawler.format.row_counts.connections";
+
+  /**
+   * Counts rows in each table, on as many connections from the
+   * connection supplier as are asked for in the configuration.
+   */
+  private static RowCountProvider exactRowCountProvider(final Supplier<Connection> connectionSupplier,
+                                                        final Config config)
+  {
+    final Config rowCountsConfig = new Config(config);
+    final int timeoutSeconds = rowCountsConfig
+      .getIntegerValue(ROW_COUNTS_TIMEOUT, 0);
+    final int connectionsCount = rowCountsConfig
+      .getIntegerValue(ROW_COUNTS_CONNECTIONS, 1);
+    return new ExactRowCountProvider(connectionSupplier,
+                                     Math.max(1, connectionsCount),
+                                     Math.max(0, timeoutSeconds));
+  }
+
+  /**
+   * Uses row counts from database statistics, if the database plugin
+   * has a query for them, unless exact row counts are asked for in the
+   * configuration.
+   */
+  private static RowCountProvider rowCountProvider(final Supplier<Connection> connectionSupplier,
+                                                   final SchemaRetrievalOptions schemaRetrievalOptions,
+                                                   final SchemaCrawlerOptions options,
+                                                   final Config config)
+  {
+    final Config rowCountsConfig = new Config(config);
+    if (schemaRetrievalOptions != null
+        && !rowCountsConfig.getBooleanValue(EXACT_ROW_COUNTS, false))
+    {
+      final InformationSchemaViews informationSchemaViews = schemaRetrievalOptions
+        .getInformationSchemaViews();
+      if (informationSchemaViews.hasQuery(EXT_TABLE_ROW_COUNTS))
+      {
+        return new StatisticsRowCountProvider(informationSchemaViews
+          .getQuery(EXT_TABLE_ROW_COUNTS), options.getSchemaInclusionRule());
+      }
+    }
+
+    return exactRowCountProvider(connectionSupplier, config);
+  }
+
   private final Map<Table, Long> counts;
 
   public CatalogWithCounts(final Catalog catalog,
                            final Connection connection,
                            final SchemaCrawlerOptions options)
     throws SchemaCrawlerException
+  {
+    this(catalog, connection, options, new ExactRowCountProvider());
+  }
+
+  /**
+   * Adds row counts to tables, from database statistics if the database
+   * plugin has a query for them, and by counting rows otherwise.
+   *
+   * @param catalog
+   *        Catalog to add row counts to
+   * @param connection
+   *        Live database connection
+   * @param connectionSupplier
+   *        Supplier of additional connections for counting rows, or
+   *        null to count on the given connection
+   * @param schemaRetrievalOptions
+   *        Schema retrieval options that the catalog was obtained with,
+   *        or null to always count rows
+   * @param options
+   *        SchemaCrawler options
+   * @param config
+   *        Configuration for row counts
+   * @throws SchemaCrawlerException
+   *         On an exception
+   */
+  public CatalogWithCounts(final Catalog catalog,
+                           final Connection connection,
+                           final Supplier<Connection> connectionSupplier,
+                           final SchemaRetrievalOptions schemaRetrievalOptions,
+                           final SchemaCrawlerOptions options,
+                           final Config config)
+    throws SchemaCrawlerException
+  {
+    this(catalog,
+         connection,
+         options,
+         rowCountProvider(connectionSupplier,
+                          schemaRetrievalOptions,
+                          options,
+                          config),
+         exactRowCountProvider(connectionSupplier, config));
+  }
+
+  public CatalogWithCounts(final Catalog catalog,
+                           final Connection connection,
+                           final SchemaCrawlerOptions options,
+                           final RowCountProvider rowCountProvider)
+    throws SchemaCrawlerException
+  {
+    this(catalog,
+         connection,
+         options,
+         rowCountProvider,
+         new ExactRowCountProvider());
+  }
+
+  private CatalogWithCounts(final Catalog catalog,
+                            final Connection connection,
+                            final SchemaCrawlerOptions options,
+                            final RowCountProvider rowCountProvider,
+                            final RowCountProvider exactRowCountProvider)
+    throws SchemaCrawlerException
   {
     super(catalog);
 
     counts = new HashMap<>();
 
-    Identifiers identifiers;
     try
     {
       checkConnection(connection);
-      identifiers = Identifiers.identifiers().withConnection(connection)
-        .build();
     }
     catch (final SQLException e)
     {
       // The offline snapshot executable may not have a live connection,
       // so we cannot fail with an exception. Log and continue.
       LOGGER.log(Level.WARNING, "No connection provided", e);
-
-      identifiers = Identifiers.identifiers().withIdentifierQuoteString("\"")
-        .build();
-
       return;
     }
 
-    final Query query = Operation.count.getQuery();
     final List<Table> allTables = new ArrayList<>(catalog.getTables());
-    for (final Table table: allTables)
+    try
     {
-      try
+      counts.putAll(rowCountProvider.getRowCounts(connection, allTables));
+    }
+    catch (final SchemaCrawlerException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not get table row counts", e);
+    }
+
+    if (!rowCountProvider.isExact())
+    {
+      // Count tables that have no statistics, or null or negative
+      // estimates. Statistics can also be out of date, so make sure
+      // that tables are really empty before they are left out.
+      final List<Table> recountTables = new ArrayList<>();
+      for (final Table table: allTables)
       {
-        final long count = executeForLong(query,
-                                          connection,
-                                          table,
-                                          identifiers);
-        counts.put(table, count);
-        addRowCountToTable(table, count);
+        final Long count = counts.get(table);
+        if (count == null || count < 0
+            || count == 0 && options.isNoEmptyTables())
+        {
+          counts.remove(table);
+          recountTables.add(table);
+        }
       }
-      catch (final SchemaCrawlerException e)
+      if (!recountTables.isEmpty())
       {
-        LOGGER.log(Level.WARNING,
-                   new StringFormat("Could not get count for table <%s>",
-                                    table),
-                   e);
+        LOGGER.log(Level.INFO,
+                   new StringFormat("Counting rows in %d tables without usable statistics",
+                                    recountTables.size()));
+        try
+        {
+          counts.putAll(exactRowCountProvider.getRowCounts(connection,
+                                                           recountTables));
+        }
+        catch (final SchemaCrawlerException e)
+        {
+          LOGGER.log(Level.WARNING, "Could not count table rows", e);
+        }
       }
     }
 
+    for (final Map.Entry<Table, Long> count: counts.entrySet())
+    {
+      addRowCountToTable(count.getKey(), count.getValue());
+    }
+
     reduce(Table.class, getTableReducer(new TableCountFilter(options)));
   }
 
@@ -0,0 +1,237 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import static schemacrawler.utility.QueryUtility.executeAgainstTable;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.text.operation.Operation;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Obtains exact row counts, by counting the rows in each table. Counts
+ * are run either one after the other on the given connection, or spread
+ * across a number of connections from a connection supplier. Each count
+ * can be limited by a timeout, after which the table is left without a
+ * row count.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class ExactRowCountProvider
+  implements RowCountProvider
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(ExactRowCountProvider.class.getName());
+
+  private final Supplier<Connection> connectionSupplier;
+  private final int connectionsCount;
+  private final int timeoutSeconds;
+
+  public ExactRowCountProvider()
+  {
+    this(null, 1, 0);
+  }
+
+  /**
+   * Counts rows in each table.
+   *
+   * @param connectionSupplier
+   *        Supplier of additional connections, or null to count on the
+   *        given connection
+   * @param connectionsCount
+   *        Number of connections to count on at the same time
+   * @param timeoutSeconds
+   *        Timeout for each count in seconds, or 0 for no timeout
+   */
+  public ExactRowCountProvider(final Supplier<Connection> connectionSupplier,
+                               final int connectionsCount,
+                               final int timeoutSeconds)
+  {
+    if (connectionsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    if (timeoutSeconds < 0)
+    {
+      throw new IllegalArgumentException("Timeout should not be negative");
+    }
+    this.connectionSupplier = connectionSupplier;
+    this.connectionsCount = connectionsCount;
+    this.timeoutSeconds = timeoutSeconds;
+  }
+
+  @Override
+  public Map<Table, Long> getRowCounts(final Connection connection,
+                                       final Collection<? extends Table> tables)
+    throws SchemaCrawlerException
+  {
+    final Identifiers identifiers;
+    try
+    {
+      identifiers = Identifiers.identifiers().withConnection(connection)
+        .build();
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Could not obtain database identifiers",
+                                       e);
+    }
+
+    final Map<Table, Long> counts = new ConcurrentHashMap<>();
+    final int threadsCount = Math.min(connectionsCount, tables.size());
+    if (connectionSupplier == null || threadsCount <= 1)
+    {
+      count(connection, tables, identifiers, counts);
+      return counts;
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Counting rows in %d tables, using %d connections",
+                                tables.size(),
+                                threadsCount));
+
+    final List<Table> allTables = new ArrayList<>(tables);
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(threadsCount);
+    try
+    {
+      final List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < threadsCount; i++)
+      {
+        final int from = (int) ((long) allTables.size() * i / threadsCount);
+        final int to = (int) ((long) allTables.size() * (i + 1)
+                              / threadsCount);
+        final List<Table> partition = allTables.subList(from, to);
+        futures.add(executorService.submit(() -> {
+          try (final Connection workerConnection = connectionSupplier.get();)
+          {
+            if (workerConnection == null)
+            {
+              throw new SQLException("No connection supplied");
+            }
+            count(workerConnection, partition, identifiers, counts);
+          }
+          return null;
+        }));
+      }
+      for (final Future<Void> future: futures)
+      {
+        future.get();
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      throw new SchemaCrawlerException("Could not count table rows",
+                                       cause instanceof Exception? (Exception) cause: e);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while counting table rows",
+                                       e);
+    }
+    finally
+    {
+      executorService.shutdownNow();
+    }
+
+    return counts;
+  }
+
+  @Override
+  public boolean isExact()
+  {
+    return true;
+  }
+
+  private void count(final Connection connection,
+                     final Collection<? extends Table> tables,
+                     final Identifiers identifiers,
+                     final Map<Table, Long> counts)
+    throws SchemaCrawlerException
+  {
+    final Query query = Operation.count.getQuery();
+    try (final Statement statement = createStatement(connection);)
+    {
+      if (timeoutSeconds > 0)
+      {
+        statement.setQueryTimeout(timeoutSeconds);
+      }
+      for (final Table table: tables)
+      {
+        try (final ResultSet results = executeAgainstTable(query,
+                                                           statement,
+                                                           table,
+                                                           true,
+                                                           identifiers);)
+        {
+          if (results != null && results.next())
+          {
+            counts.put(table, results.getLong(1));
+          }
+        }
+        catch (final SQLException e)
+        {
+          LOGGER.log(Level.WARNING,
+                     new StringFormat("Could not get count for table <%s>",
+                                      table),
+                     e);
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Could not count table rows", e);
+    }
+  }
+
+}
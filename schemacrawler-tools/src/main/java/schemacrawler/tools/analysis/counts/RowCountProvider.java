@@ -0,0 +1,74 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import java.sql.Connection;
+import java.util.Collection;
+import java.util.Map;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+
+/**
+ * Obtains row counts for tables.
+ *
+ * @author Sualeh Fatehi
+ */
+@FunctionalInterface
+public interface RowCountProvider
+{
+
+  /**
+   * Gets row counts for as many of the tables as possible. Tables that
+   * are missing from the returned map do not have a known row count.
+   *
+   * @param connection
+   *        Live database connection
+   * @param tables
+   *        Tables to count rows for
+   * @return Row counts by table
+   * @throws SchemaCrawlerException
+   *         On an exception that affects all tables
+   */
+  Map<Table, Long> getRowCounts(Connection connection,
+                                Collection<? extends Table> tables)
+    throws SchemaCrawlerException;
+
+  /**
+   * Whether the row counts are exact, rather than estimates from
+   * database statistics.
+   *
+   * @return Whether row counts are exact
+   */
+  default boolean isExact()
+  {
+    return false;
+  }
+
+}
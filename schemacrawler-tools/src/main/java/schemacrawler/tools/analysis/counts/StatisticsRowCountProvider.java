@@ -0,0 +1,164 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.counts;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.executeAgainstSchema;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+
+import schemacrawler.crawl.NamedObjectKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Obtains estimated row counts from optimizer statistics, with a single
+ * query for all tables, instead of counting the rows in each table.
+ * The query is supplied by the database plugin, as
+ * EXT_TABLE_ROW_COUNTS, and returns TABLE_CATALOG, TABLE_SCHEMA,
+ * TABLE_NAME and ROW_COUNT. A null TABLE_CATALOG matches tables in any
+ * catalog. Tables without statistics, or with a null or negative
+ * ROW_COUNT, are left out of the row counts, so that they can be
+ * counted exactly.
+ *
+ * @author Sualeh Fatehi
+ */
+public final class StatisticsRowCountProvider
+  implements RowCountProvider
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(StatisticsRowCountProvider.class.getName());
+
+  private static NamedObjectKey key(final String catalogName,
+                                   final String schemaName,
+                                   final String tableName)
+  {
+    return new NamedObjectKey(Objects.toString(catalogName, ""),
+                              Objects.toString(schemaName, ""),
+                              Objects.toString(tableName, ""));
+  }
+
+  private final Query query;
+  private final InclusionRule schemaInclusionRule;
+
+  public StatisticsRowCountProvider(final Query query,
+                                    final InclusionRule schemaInclusionRule)
+  {
+    this.query = requireNonNull(query, "No row counts query provided");
+    this.schemaInclusionRule = schemaInclusionRule;
+  }
+
+  @Override
+  public Map<Table, Long> getRowCounts(final Connection connection,
+                                       final Collection<? extends Table> tables)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(tables, "No tables provided");
+
+    final Map<NamedObjectKey, Table> tablesByName = new HashMap<>();
+    final Map<NamedObjectKey, Table> tablesBySchemaName = new HashMap<>();
+    for (final Table table: tables)
+    {
+      tablesByName.put(key(table.getSchema().getCatalogName(),
+                           table.getSchema().getName(),
+                           table.getName()),
+                       table);
+      tablesBySchemaName.put(key(null,
+                                 table.getSchema().getName(),
+                                 table.getName()),
+                             table);
+    }
+
+    final Map<Table, Long> counts = new HashMap<>();
+    try (final Statement statement = createStatement(connection);
+        final ResultSet results = executeAgainstSchema(query,
+                                                       statement,
+                                                       schemaInclusionRule);)
+    {
+      if (results == null)
+      {
+        LOGGER.log(Level.WARNING,
+                   new StringFormat("No results from query <%s>",
+                                    query.getName()));
+        return counts;
+      }
+      while (results.next())
+      {
+        final String catalogName = results.getString("TABLE_CATALOG");
+        final String schemaName = results.getString("TABLE_SCHEMA");
+        final String tableName = results.getString("TABLE_NAME");
+        final long rowCount = results.getLong("ROW_COUNT");
+        if (results.wasNull() || rowCount < 0)
+        {
+          continue;
+        }
+
+        final Table table;
+        if (catalogName == null)
+        {
+          table = tablesBySchemaName.get(key(null, schemaName, tableName));
+        }
+        else
+        {
+          table = tablesByName.get(key(catalogName, schemaName, tableName));
+        }
+        if (table != null)
+        {
+          counts.put(table, rowCount);
+        }
+      }
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Could not retrieve table row counts from statistics",
+                                       e);
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Obtained row counts from statistics for %d of %d tables",
+                                counts.size(),
+                                tables.size()));
+    return counts;
+  }
+
+}
@@ -0,0 +1,704 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.catalogloader;
+
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_OBJECT_CHANGE_MARKERS;
+import static schemacrawler.utility.QueryUtility.executeAgainstSchema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+
+import schemacrawler.crawl.CatalogMerger;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SchemaReference;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.ExcludeAll;
+import schemacrawler.schemacrawler.IncludeAll;
+import schemacrawler.schemacrawler.InclusionRule;
+import schemacrawler.schemacrawler.InclusionRuleWithRegularExpression;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.RegularExpressionInclusionRule;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Persists crawled catalogs to a cache directory, and reuses a cached
+ * catalog as long as the change markers (such as DDL timestamps) of
+ * every database object are the same as when the catalog was crawled.
+ * If objects were created, dropped or altered, only the tables that
+ * changed, the tables related to them by foreign keys, and the routines
+ * in schemas with other changed objects are crawled again, and merged
+ * into the cached catalog. Change markers are read with the database
+ * plugin's EXT_OBJECT_CHANGE_MARKERS query, so a database without that
+ * query is always crawled.
+ */
+public final class CatalogCache
+{
+
+  /**
+   * Crawls a catalog with the given options.
+   */
+  @FunctionalInterface
+  public interface CatalogCrawl
+  {
+
+    Catalog crawl(SchemaCrawlerOptions schemaCrawlerOptions)
+      throws Exception;
+
+  }
+
+  private static final class CachedCatalog
+  {
+
+    private final Map<List<String>, String> changeMarkers;
+    private final Catalog catalog;
+
+    CachedCatalog(final Map<List<String>, String> changeMarkers,
+                  final Catalog catalog)
+    {
+      this.changeMarkers = changeMarkers;
+      this.catalog = catalog;
+    }
+
+  }
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(CatalogCache.class.getName());
+
+  public static final String CATALOG_CACHE_DIRECTORY = "schemacrawler.catalog.cache.directory";
+
+  private static String escapeRegularExpression(final String text)
+  {
+    final StringBuilder buffer = new StringBuilder(text.length() * 2);
+    for (final char ch: text.toCharArray())
+    {
+      if (".^$|()[]{}*+?\\".indexOf(ch) != -1)
+      {
+        buffer.append('\\');
+      }
+      buffer.append(ch);
+    }
+    return buffer.toString();
+  }
+
+  private static String inclusionRuleKey(final InclusionRule inclusionRule)
+  {
+    if (inclusionRule == null)
+    {
+      return "";
+    }
+    else if (inclusionRule instanceof IncludeAll
+             || inclusionRule instanceof ExcludeAll)
+    {
+      return inclusionRule.getClass().getName();
+    }
+    else if (inclusionRule instanceof InclusionRuleWithRegularExpression)
+    {
+      final InclusionRuleWithRegularExpression rule = (InclusionRuleWithRegularExpression) inclusionRule;
+      return String.format("%s +/%s/%d -/%s/%d",
+                           rule.getClass().getName(),
+                           rule.getInclusionPattern().pattern(),
+                           rule.getInclusionPattern().flags(),
+                           rule.getExclusionPattern().pattern(),
+                           rule.getExclusionPattern().flags());
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  private static boolean isInSchemas(final String fullName,
+                                     final Set<String> schemaNames)
+  {
+    for (final String schemaName: schemaNames)
+    {
+      if (fullName.startsWith(schemaName + "."))
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<String> objectKey(final String catalogName,
+                                        final String schemaName,
+                                        final String objectName,
+                                        final String objectType)
+  {
+    return Arrays.asList(Objects.toString(catalogName, ""),
+                         Objects.toString(schemaName, ""),
+                         Objects.toString(objectName, ""),
+                         Objects.toString(objectType, ""));
+  }
+
+  /**
+   * Lists every option that affects the crawled catalog, or returns
+   * null if an inclusion rule cannot be described in the same way from
+   * one run to the next.
+   */
+  private static List<String> optionsKey(final SchemaRetrievalOptions schemaRetrievalOptions,
+                                         final SchemaCrawlerOptions schemaCrawlerOptions)
+  {
+    final List<String> optionsKey = new ArrayList<>();
+
+    final SchemaInfoLevel schemaInfoLevel = schemaCrawlerOptions
+      .getSchemaInfoLevel();
+    for (final SchemaInfoRetrieval schemaInfoRetrieval: SchemaInfoRetrieval
+      .values())
+    {
+      optionsKey.add(schemaInfoRetrieval + "="
+                     + schemaInfoLevel.is(schemaInfoRetrieval));
+    }
+
+    final List<InclusionRule> inclusionRules = Arrays
+      .asList(schemaCrawlerOptions.getSchemaInclusionRule(),
+              schemaCrawlerOptions.getSynonymInclusionRule(),
+              schemaCrawlerOptions.getSequenceInclusionRule(),
+              schemaCrawlerOptions.getTableInclusionRule(),
+              schemaCrawlerOptions.getColumnInclusionRule(),
+              schemaCrawlerOptions.getRoutineInclusionRule(),
+              schemaCrawlerOptions.getRoutineParameterInclusionRule(),
+              schemaCrawlerOptions.getGrepColumnInclusionRule().orElse(null),
+              schemaCrawlerOptions.getGrepRoutineParameterInclusionRule()
+                .orElse(null),
+              schemaCrawlerOptions.getGrepDefinitionInclusionRule()
+                .orElse(null));
+    for (final InclusionRule inclusionRule: inclusionRules)
+    {
+      final String inclusionRuleKey = inclusionRuleKey(inclusionRule);
+      if (inclusionRuleKey == null)
+      {
+        return null;
+      }
+      optionsKey.add(inclusionRuleKey);
+    }
+
+    optionsKey.add(sortedKey(schemaCrawlerOptions.getTableTypes()));
+    optionsKey.add(Objects.toString(schemaCrawlerOptions.getTableNamePattern()));
+    optionsKey.add(sortedKey(schemaCrawlerOptions.getRoutineTypes()));
+    optionsKey.add(String.valueOf(schemaCrawlerOptions.isGrepInvertMatch()));
+    optionsKey.add(String.valueOf(schemaCrawlerOptions.isGrepOnlyMatching()));
+    optionsKey.add(String.valueOf(schemaCrawlerOptions.isNoEmptyTables()));
+    optionsKey
+      .add(String.valueOf(schemaCrawlerOptions.getChildTableFilterDepth()));
+    optionsKey
+      .add(String.valueOf(schemaCrawlerOptions.getParentTableFilterDepth()));
+
+    optionsKey.add(schemaRetrievalOptions.getDatabaseServerType()
+      .getDatabaseSystemIdentifier());
+    optionsKey.add(String.valueOf(schemaRetrievalOptions.isSupportsSchemas()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions.isSupportsCatalogs()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getTableRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getTableColumnRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getPrimaryKeyRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getIndexRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getForeignKeyRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getProcedureRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getProcedureColumnRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getFunctionRetrievalStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .getFunctionColumnRetrievalStrategy()));
+    optionsKey
+      .add(Objects.toString(schemaRetrievalOptions.getIdentifierQuoteString()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions.getIdentifiers()
+      .getIdentifierQuotingStrategy()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .isRetrieveMetadataAttributes()));
+    optionsKey.add(String.valueOf(schemaRetrievalOptions
+      .isLoadTableDetailsLazily()));
+
+    final InformationSchemaViews informationSchemaViews = schemaRetrievalOptions
+      .getInformationSchemaViews();
+    for (final InformationSchemaKey key: InformationSchemaKey.values())
+    {
+      if (informationSchemaViews.hasQuery(key))
+      {
+        optionsKey
+          .add(key + "=" + informationSchemaViews.getQuery(key).getQuery());
+      }
+    }
+
+    final Map<String, String> typeMap = new TreeMap<>();
+    schemaRetrievalOptions.getTypeMap()
+      .forEach((typeName, javaClass) -> typeMap
+        .put(typeName, javaClass == null? "": javaClass.getName()));
+    optionsKey.add(typeMap.toString());
+
+    return optionsKey;
+  }
+
+  private static String quoteFullName(final Schema schema,
+                                      final String objectName)
+  {
+    final String schemaFullName = Identifiers.STANDARD.quoteFullName(schema);
+    final String quotedName = Identifiers.STANDARD.quoteName(objectName);
+    if (schemaFullName.isEmpty())
+    {
+      return quotedName;
+    }
+    return schemaFullName + "." + quotedName;
+  }
+
+  private static String sortedKey(final Collection<?> values)
+  {
+    if (values == null)
+    {
+      return "";
+    }
+    final List<String> sortedValues = new ArrayList<>();
+    for (final Object value: values)
+    {
+      sortedValues.add(String.valueOf(value));
+    }
+    sortedValues.sort(null);
+    return sortedValues.toString();
+  }
+
+  private final Path cacheDirectory;
+
+  public CatalogCache(final Path cacheDirectory)
+  {
+    this.cacheDirectory = requireNonNull(cacheDirectory,
+                                         "No cache directory provided");
+  }
+
+  /**
+   * Loads a catalog from the cache if no database objects have
+   * changed, or otherwise crawls the changed objects again and caches
+   * the catalog.
+   *
+   * @param connection
+   *        Connection used to read object change markers
+   * @param schemaRetrievalOptions
+   *        Database specific options, with the change markers query,
+   *        which are part of the cache key
+   * @param schemaCrawlerOptions
+   *        Options used for the crawl, which are part of the cache key
+   * @param crawl
+   *        Crawls the catalog, or only the changed objects, if the
+   *        cache cannot be used as it is
+   * @return Cached or freshly crawled catalog
+   * @throws Exception
+   *         On an exception from the crawl
+   */
+  public Catalog loadCatalog(final Connection connection,
+                             final SchemaRetrievalOptions schemaRetrievalOptions,
+                             final SchemaCrawlerOptions schemaCrawlerOptions,
+                             final CatalogCrawl crawl)
+    throws Exception
+  {
+    requireNonNull(connection, "No connection provided");
+    requireNonNull(schemaRetrievalOptions,
+                   "No database specific overrides provided");
+    requireNonNull(schemaCrawlerOptions, "No SchemaCrawler options provided");
+    requireNonNull(crawl, "No crawl provided");
+
+    final String cacheKey = cacheKey(connection,
+                                     schemaRetrievalOptions,
+                                     schemaCrawlerOptions);
+    if (cacheKey == null)
+    {
+      LOGGER.log(Level.INFO,
+                 "Inclusion rules are not regular expressions, so not caching catalog");
+      return crawl.crawl(schemaCrawlerOptions);
+    }
+
+    final Map<List<String>, String> changeMarkers;
+    try
+    {
+      changeMarkers = readChangeMarkers(connection,
+                                        schemaRetrievalOptions,
+                                        schemaCrawlerOptions);
+    }
+    catch (final SQLException e)
+    {
+      LOGGER.log(Level.WARNING, "Could not read object change markers", e);
+      return crawl.crawl(schemaCrawlerOptions);
+    }
+    if (changeMarkers == null)
+    {
+      LOGGER.log(Level.INFO,
+                 "No object change markers query, so not caching catalog");
+      return crawl.crawl(schemaCrawlerOptions);
+    }
+
+    final Path cacheFile = cacheDirectory.resolve(cacheKey + ".ser");
+    final CachedCatalog cachedCatalog = readCachedCatalog(cacheFile);
+    Catalog catalog = null;
+    if (cachedCatalog != null)
+    {
+      if (changeMarkers.equals(cachedCatalog.changeMarkers))
+      {
+        LOGGER.log(Level.INFO,
+                   new StringFormat("Loaded unchanged catalog from cache <%s>",
+                                    cacheFile));
+        return cachedCatalog.catalog;
+      }
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Database objects have changed since catalog was cached in <%s>",
+                                  cacheFile));
+      catalog = crawlChangedObjects(cachedCatalog,
+                                    changeMarkers,
+                                    schemaCrawlerOptions,
+                                    crawl);
+    }
+    if (catalog == null)
+    {
+      catalog = crawl.crawl(schemaCrawlerOptions);
+    }
+
+    writeCachedCatalog(cacheFile, changeMarkers, catalog);
+    return catalog;
+  }
+
+  private String cacheKey(final Connection connection,
+                          final SchemaRetrievalOptions schemaRetrievalOptions,
+                          final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws SchemaCrawlerException
+  {
+    final List<String> optionsKey = optionsKey(schemaRetrievalOptions,
+                                               schemaCrawlerOptions);
+    if (optionsKey == null)
+    {
+      return null;
+    }
+
+    try
+    {
+      final DatabaseMetaData dbMetaData = connection.getMetaData();
+      final List<String> keyLines = new ArrayList<>();
+      keyLines.add(Objects.toString(dbMetaData.getURL()));
+      keyLines.add(Objects.toString(dbMetaData.getUserName()));
+      keyLines.addAll(optionsKey);
+      final String key = String.join("\n", keyLines);
+
+      final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      final byte[] hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+      final StringBuilder buffer = new StringBuilder(hash.length * 2);
+      for (final byte b: hash)
+      {
+        buffer.append(String.format("%02x", b));
+      }
+      return buffer.toString();
+    }
+    catch (final SQLException | NoSuchAlgorithmException e)
+    {
+      throw new SchemaCrawlerException("Could not compute catalog cache key",
+                                       e);
+    }
+  }
+
+  /**
+   * Crawls the tables that changed, along with the tables that are
+   * related to them by foreign keys, so that foreign keys that were
+   * dropped are dropped from both tables. Objects other than tables are
+   * not related to tables in the cached catalog, so when they change,
+   * routines in their schema are crawled again. Schemas, column data
+   * types, synonyms and sequences are always crawled again.
+   *
+   * @return Merged catalog, or null if the catalog needs to be crawled
+   *         in full
+   */
+  private Catalog crawlChangedObjects(final CachedCatalog cachedCatalog,
+                                      final Map<List<String>, String> changeMarkers,
+                                      final SchemaCrawlerOptions schemaCrawlerOptions,
+                                      final CatalogCrawl crawl)
+    throws Exception
+  {
+    if (schemaCrawlerOptions.isGrepColumns()
+        || schemaCrawlerOptions.isGrepDefinitions()
+        || schemaCrawlerOptions.isGrepRoutineParameters()
+        || schemaCrawlerOptions.getChildTableFilterDepth() > 0
+        || schemaCrawlerOptions.getParentTableFilterDepth() > 0)
+    {
+      LOGGER.log(Level.INFO,
+                 "Tables are filtered by grep or by related tables, so crawling catalog in full");
+      return null;
+    }
+
+    final Set<List<String>> changedObjects = new HashSet<>();
+    for (final Map.Entry<List<String>, String> changeMarker: changeMarkers
+      .entrySet())
+    {
+      if (!changeMarker.getValue()
+        .equals(cachedCatalog.changeMarkers.get(changeMarker.getKey())))
+      {
+        changedObjects.add(changeMarker.getKey());
+      }
+    }
+    for (final List<String> objectKey: cachedCatalog.changeMarkers.keySet())
+    {
+      if (!changeMarkers.containsKey(objectKey))
+      {
+        changedObjects.add(objectKey);
+      }
+    }
+
+    final Map<List<String>, Table> cachedTables = new HashMap<>();
+    for (final Table table: cachedCatalog.catalog.getTables())
+    {
+      final Schema schema = table.getSchema();
+      cachedTables.put(objectKey(schema.getCatalogName(),
+                                 schema.getName(),
+                                 table.getName(),
+                                 null)
+        .subList(0, 3), table);
+    }
+
+    final InclusionRule tableInclusionRule = schemaCrawlerOptions
+      .getTableInclusionRule();
+    final Set<String> tableNames = new HashSet<>();
+    final Set<String> routineSchemaNames = new HashSet<>();
+    for (final List<String> changedObject: changedObjects)
+    {
+      final Table table = cachedTables.get(changedObject.subList(0, 3));
+      if (table != null)
+      {
+        tableNames.add(table.getFullName());
+        for (final ForeignKey foreignKey: table.getForeignKeys())
+        {
+          for (final ForeignKeyColumnReference columnReference: foreignKey)
+          {
+            tableNames.add(columnReference.getPrimaryKeyColumn().getParent()
+              .getFullName());
+            tableNames.add(columnReference.getForeignKeyColumn().getParent()
+              .getFullName());
+          }
+        }
+      }
+      else
+      {
+        // A new table, or an object that is not a table, such as a
+        // routine
+        final Schema schema = new SchemaReference(changedObject.get(0),
+                                                  changedObject.get(1));
+        final String tableName = quoteFullName(schema, changedObject.get(2));
+        if (tableInclusionRule.test(tableName))
+        {
+          tableNames.add(tableName);
+        }
+        routineSchemaNames.add(Identifiers.STANDARD.quoteFullName(schema));
+      }
+    }
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Crawling %d tables, and routines in %d schemas, again",
+                                tableNames.size(),
+                                routineSchemaNames.size()));
+
+    final SchemaCrawlerOptionsBuilder optionsBuilder = SchemaCrawlerOptionsBuilder
+      .builder().fromOptions(schemaCrawlerOptions);
+    if (tableNames.isEmpty())
+    {
+      optionsBuilder.includeTables(new ExcludeAll());
+    }
+    else
+    {
+      final List<String> tablePatterns = new ArrayList<>();
+      for (final String tableName: tableNames)
+      {
+        tablePatterns.add(escapeRegularExpression(tableName));
+      }
+      optionsBuilder.includeTables(new RegularExpressionInclusionRule(String
+        .join("|", tablePatterns)));
+    }
+    if (routineSchemaNames.isEmpty())
+    {
+      optionsBuilder.includeRoutines(new ExcludeAll());
+    }
+    else
+    {
+      final InclusionRule routineInclusionRule = schemaCrawlerOptions
+        .getRoutineInclusionRule();
+      optionsBuilder.includeRoutines(routineName -> routineInclusionRule
+        .test(routineName) && isInSchemas(routineName, routineSchemaNames));
+    }
+
+    final Catalog crawledCatalog = crawl.crawl(optionsBuilder.toOptions());
+    try
+    {
+      return new CatalogMerger(cachedCatalog.catalog, crawledCatalog)
+        .merge(table -> !tableNames.contains(table.getFullName()),
+               routine -> !routineSchemaNames.contains(Identifiers.STANDARD
+                 .quoteFullName(routine.getSchema())));
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 "Could not merge changed objects into cached catalog",
+                 e);
+      return null;
+    }
+  }
+
+  private CachedCatalog readCachedCatalog(final Path cacheFile)
+  {
+    if (!Files.isReadable(cacheFile))
+    {
+      return null;
+    }
+    try (final ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files
+      .newInputStream(cacheFile)));)
+    {
+      @SuppressWarnings("unchecked")
+      final Map<List<String>, String> cachedChangeMarkers = (Map<List<String>, String>) in
+        .readObject();
+      final Catalog catalog = (Catalog) in.readObject();
+      return new CachedCatalog(cachedChangeMarkers, catalog);
+    }
+    catch (final IOException | ClassNotFoundException | ClassCastException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not read cached catalog <%s>",
+                                  cacheFile),
+                 e);
+      return null;
+    }
+  }
+
+  private Map<List<String>, String> readChangeMarkers(final Connection connection,
+                                                      final SchemaRetrievalOptions schemaRetrievalOptions,
+                                                      final SchemaCrawlerOptions schemaCrawlerOptions)
+    throws SQLException
+  {
+    final InformationSchemaViews informationSchemaViews = schemaRetrievalOptions
+      .getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(EXT_OBJECT_CHANGE_MARKERS))
+    {
+      return null;
+    }
+
+    final Query query = informationSchemaViews
+      .getQuery(EXT_OBJECT_CHANGE_MARKERS);
+    final Map<List<String>, String> changeMarkers = new HashMap<>();
+    try (final Statement statement = connection.createStatement();
+        final ResultSet results = executeAgainstSchema(query,
+                                                       statement,
+                                                       schemaCrawlerOptions
+                                                         .getSchemaInclusionRule());)
+    {
+      while (results.next())
+      {
+        final List<String> objectKey = objectKey(results
+          .getString("OBJECT_CATALOG"),
+                                                 results
+                                                   .getString("OBJECT_SCHEMA"),
+                                                 results
+                                                   .getString("OBJECT_NAME"),
+                                                 results
+                                                   .getString("OBJECT_TYPE"));
+        changeMarkers.put(objectKey,
+                          Objects.toString(results.getString("CHANGE_MARKER"),
+                                           ""));
+      }
+    }
+    LOGGER.log(Level.FINE,
+               new StringFormat("Read %d object change markers",
+                                changeMarkers.size()));
+    return changeMarkers;
+  }
+
+  private void writeCachedCatalog(final Path cacheFile,
+                                  final Map<List<String>, String> changeMarkers,
+                                  final Catalog catalog)
+  {
+    try
+    {
+      Files.createDirectories(cacheDirectory);
+      final Path tempFile = Files.createTempFile(cacheDirectory,
+                                                 "catalog",
+                                                 ".tmp");
+      try (final ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files
+        .newOutputStream(tempFile)));)
+      {
+        out.writeObject(new HashMap<>(changeMarkers));
+        out.writeObject(catalog);
+      }
+      Files.move(tempFile, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+      LOGGER.log(Level.INFO,
+                 new StringFormat("Cached catalog in <%s>", cacheFile));
+    }
+    catch (final IOException e)
+    {
+      LOGGER.log(Level.WARNING,
+                 new StringFormat("Could not cache catalog in <%s>",
+                                  cacheFile),
+                 e);
+    }
+  }
+
+}
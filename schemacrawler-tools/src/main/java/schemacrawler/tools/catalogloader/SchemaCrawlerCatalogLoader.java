@@ -3,6 +3,8 @@ package schemacrawler.tools.catalogloader;
 
 import static java.util.Objects.requireNonNull;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 
 import schemacrawler.crawl.SchemaCrawler;
@@ -93,10 +95,26 @@ public class SchemaCrawlerCatalogLoader
     requireNonNull(schemaRetrievalOptions,
                    "No database specific overrides provided");
 
-    final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
-                                                          schemaRetrievalOptions,
-                                                          schemaCrawlerOptions);
-    final Catalog catalog = schemaCrawler.crawl();
+    final Config additionalConfiguration = getAdditionalConfiguration();
+    if (!additionalConfiguration
+      .containsKey(CatalogCache.CATALOG_CACHE_DIRECTORY))
+    {
+      final SchemaCrawler schemaCrawler = new SchemaCrawler(connection,
+                                                            schemaRetrievalOptions,
+                                                            getSchemaCrawlerOptions());
+      return schemaCrawler.crawl();
+    }
+
+    final Path cacheDirectory = Paths.get(additionalConfiguration
+      .getStringValue(CatalogCache.CATALOG_CACHE_DIRECTORY, "."));
+    final CatalogCache catalogCache = new CatalogCache(cacheDirectory);
+    final Catalog catalog = catalogCache
+      .loadCatalog(connection,
+                   schemaRetrievalOptions,
+                   getSchemaCrawlerOptions(),
+                   options -> new SchemaCrawler(connection,
+                                                schemaRetrievalOptions,
+                                                options).crawl());
 
     return catalog;
   }
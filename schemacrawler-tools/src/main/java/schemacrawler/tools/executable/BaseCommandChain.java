@@ -86,7 +86,9 @@ abstract class BaseCommandChain
       scCommand.setAdditionalConfiguration(additionalConfiguration);
       scCommand.setCatalog(catalog);
       scCommand.setConnection(connection);
+      scCommand.setConnectionSupplier(connectionSupplier);
       scCommand.setIdentifiers(identifiers);
+      scCommand.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       scCommands.add(scCommand);
 
@@ -33,11 +33,13 @@ import static java.util.Objects.requireNonNull;
 import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 import schemacrawler.utility.Identifiers;
@@ -56,9 +58,11 @@ public abstract class BaseSchemaCrawlerCommand
   protected Config additionalConfiguration;
   protected Catalog catalog;
   protected Connection connection;
+  protected Supplier<Connection> connectionSupplier;
   protected Identifiers identifiers;
   protected OutputOptions outputOptions;
   protected SchemaCrawlerOptions schemaCrawlerOptions;
+  protected SchemaRetrievalOptions schemaRetrievalOptions;
 
   protected BaseSchemaCrawlerCommand(final String command)
   {
@@ -128,6 +132,27 @@ public abstract class BaseSchemaCrawlerCommand
     this.connection = connection;
   }
 
+  @Override
+  public Supplier<Connection> getConnectionSupplier()
+  {
+    return connectionSupplier;
+  }
+
+  /**
+   * Supplies additional connections to the same database, so that work
+   * such as counting rows can be spread across several connections.
+   * Connections are closed once they have been used. The command-line
+   * supplies connections from the data source it connected with.
+   *
+   * @param connectionSupplier
+   *        Supplier of new connections to the same database, or null
+   */
+  @Override
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   @Override
   public Identifiers getIdentifiers()
   {
@@ -190,6 +215,18 @@ public abstract class BaseSchemaCrawlerCommand
     }
   }
 
+  @Override
+  public SchemaRetrievalOptions getSchemaRetrievalOptions()
+  {
+    return schemaRetrievalOptions;
+  }
+
+  @Override
+  public void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions)
+  {
+    this.schemaRetrievalOptions = schemaRetrievalOptions;
+  }
+
   @Override
   public void initialize()
     throws Exception
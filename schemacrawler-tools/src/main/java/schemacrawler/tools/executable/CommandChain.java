@@ -68,7 +68,9 @@ public final class CommandChain
 
     setCatalog(scCommand.getCatalog());
     setConnection(scCommand.getConnection());
+    setConnectionSupplier(scCommand.getConnectionSupplier());
     setIdentifiers(scCommand.getIdentifiers());
+    setSchemaRetrievalOptions(scCommand.getSchemaRetrievalOptions());
   }
 
   public final SchemaCrawlerCommand addNext(final String command,
@@ -30,10 +30,12 @@ package schemacrawler.tools.executable;
 
 
 import java.sql.Connection;
+import java.util.function.Supplier;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Config;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.utility.Identifiers;
 
@@ -77,6 +79,24 @@ public interface SchemaCrawlerCommand
 
   void setConnection(Connection connection);
 
+  default Supplier<Connection> getConnectionSupplier()
+  {
+    return null;
+  }
+
+  /**
+   * Supplies additional connections to the same database, for commands
+   * that can spread their work across several connections. Commands
+   * that cannot, ignore the supplier.
+   *
+   * @param connectionSupplier
+   *        Supplier of new connections to the same database, or null
+   */
+  default void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    // Connection supplier is not used by default
+  }
+
   Identifiers getIdentifiers();
 
   void setIdentifiers(Identifiers identifiers);
@@ -89,6 +109,24 @@ public interface SchemaCrawlerCommand
 
   void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions);
 
+  default SchemaRetrievalOptions getSchemaRetrievalOptions()
+  {
+    return null;
+  }
+
+  /**
+   * Database specific retrieval options, for commands that query the
+   * database with database plugin queries. Commands that do not, ignore
+   * the options.
+   *
+   * @param schemaRetrievalOptions
+   *        Schema retrieval options, or null
+   */
+  default void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions)
+  {
+    // Schema retrieval options are not used by default
+  }
+
   /**
    * Initializes the command for execution.
    *
@@ -34,6 +34,7 @@ import static sf.util.Utility.isBlank;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import schemacrawler.schema.*;
@@ -67,6 +68,7 @@ public final class SchemaCrawlerExecutable
   private Config additionalConfiguration;
   private Catalog catalog;
   private Connection connection;
+  private Supplier<Connection> connectionSupplier;
   private OutputOptions outputOptions;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private SchemaRetrievalOptions schemaRetrievalOptions;
@@ -189,6 +191,18 @@ public final class SchemaCrawlerExecutable
     this.connection = requireNonNull(connection, "No connection provided");
   }
 
+  /**
+   * Supplies additional connections to the same database, for commands
+   * that can spread their work across several connections.
+   *
+   * @param connectionSupplier
+   *        Supplier of new connections to the same database, or null
+   */
+  public void setConnectionSupplier(final Supplier<Connection> connectionSupplier)
+  {
+    this.connectionSupplier = connectionSupplier;
+  }
+
   public void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions)
   {
     this.schemaRetrievalOptions = schemaRetrievalOptions;
@@ -232,6 +246,8 @@ public final class SchemaCrawlerExecutable
     scCommand.setOutputOptions(outputOptions);
     scCommand.setAdditionalConfiguration(additionalConfiguration);
     scCommand.setIdentifiers(schemaRetrievalOptions.getIdentifiers());
+    scCommand.setSchemaRetrievalOptions(schemaRetrievalOptions);
+    scCommand.setConnectionSupplier(connectionSupplier);
 
     return scCommand;
   }
@@ -40,6 +40,7 @@ import schemacrawler.tools.text.utility.JsonFormattingHelper;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamWriter;
 import sf.util.SchemaCrawlerLogger;
 import sf.util.StringFormat;
 
@@ -56,6 +57,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     .getLogger(BaseJsonFormatter.class.getName());
 
   protected final JSONObject jsonRoot;
+  protected final JSONStreamWriter jsonStreamWriter;
 
   protected BaseJsonFormatter(final O options,
                               final boolean printVerboseDatabaseInfo,
@@ -68,6 +70,15 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
           outputOptions,
           identifierQuoteString);
     jsonRoot = new JSONObject();
+    if (options.isStreamingJson())
+    {
+      jsonStreamWriter = ((JsonFormattingHelper) formattingHelper)
+        .newStreamWriter();
+    }
+    else
+    {
+      jsonStreamWriter = null;
+    }
   }
 
   @Override
@@ -84,7 +95,21 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
   public void end()
     throws SchemaCrawlerException
   {
-    ((JsonFormattingHelper) formattingHelper).write(jsonRoot);
+    if (jsonStreamWriter == null)
+    {
+      ((JsonFormattingHelper) formattingHelper).write(jsonRoot);
+    }
+    else
+    {
+      try
+      {
+        jsonStreamWriter.close();
+      }
+      catch (final JSONException e)
+      {
+        throw new SchemaCrawlerException("Could not write database", e);
+      }
+    }
 
     if (options.isNoFooter())
     {
@@ -110,7 +135,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     try
     {
       final JSONObject jsonSchemaCrawlerHeaderInfo = new JSONObject();
-      jsonRoot.put("schemaCrawlerHeaderInfo", jsonSchemaCrawlerHeaderInfo);
+      put("schemaCrawlerHeaderInfo", jsonSchemaCrawlerHeaderInfo);
 
       jsonSchemaCrawlerHeaderInfo
         .put("crawlTimestamp", formatTimestamp(crawlInfo.getCrawlTimestamp()));
@@ -139,7 +164,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     try
     {
       final JSONObject jsonDbInfo = new JSONObject();
-      jsonRoot.put("databaseInfo", jsonDbInfo);
+      put("databaseInfo", jsonDbInfo);
 
       jsonDbInfo.put("databaseProductName", dbInfo.getProductName());
       jsonDbInfo.put("databaseProductVersion", dbInfo.getProductVersion());
@@ -199,7 +224,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     try
     {
       final JSONObject jsonDriverInfo = new JSONObject();
-      jsonRoot.put("jdbcDriverInfo", jsonDriverInfo);
+      put("jdbcDriverInfo", jsonDriverInfo);
 
       jsonDriverInfo.put("driverName", driverInfo.getProductName());
       jsonDriverInfo.put("driverVersion", driverInfo.getProductVersion());
@@ -242,7 +267,7 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     try
     {
       final JSONObject jsonSchemaCrawlerInfo = new JSONObject();
-      jsonRoot.put("schemaCrawlerInfo", jsonSchemaCrawlerInfo);
+      put("schemaCrawlerInfo", jsonSchemaCrawlerInfo);
 
       jsonSchemaCrawlerInfo
         .put("productName", schemaCrawlerInfo.getProductName());
@@ -258,6 +283,56 @@ public abstract class BaseJsonFormatter<O extends BaseTextOptions>
     }
   }
 
+  /**
+   * Accumulates a value under a key of the root JSON object. When
+   * streaming, the value is written out once the next value is added,
+   * so it can still be filled in after this call.
+   *
+   * @param key
+   *        Key
+   * @param value
+   *        Value to accumulate
+   * @throws JSONException
+   *         On an exception
+   */
+  protected void accumulate(final String key, final Object value)
+    throws JSONException
+  {
+    if (jsonStreamWriter == null)
+    {
+      jsonRoot.accumulate(key, value);
+    }
+    else
+    {
+      jsonStreamWriter.accumulate(key, value);
+    }
+  }
+
+  /**
+   * Puts a value under a key of the root JSON object. When streaming,
+   * the value is written out once the next value is added, so it can
+   * still be filled in after this call.
+   *
+   * @param key
+   *        Key
+   * @param value
+   *        Value to put
+   * @throws JSONException
+   *         On an exception
+   */
+  protected void put(final String key, final Object value)
+    throws JSONException
+  {
+    if (jsonStreamWriter == null)
+    {
+      jsonRoot.put(key, value);
+    }
+    else
+    {
+      jsonStreamWriter.put(key, value);
+    }
+  }
+
   @Override
   public void handleHeaderEnd()
     throws SchemaCrawlerException
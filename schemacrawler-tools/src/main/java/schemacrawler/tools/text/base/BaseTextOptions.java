@@ -50,6 +50,7 @@ public abstract class BaseTextOptions
   private final boolean isShowJdbcDriverInfo;
   private final boolean isShowUnqualifiedNames;
   private final boolean isNoSchemaColors;
+  private final boolean isStreamingJson;
   private final IdentifierQuotingStrategy identifierQuotingStrategy;
 
   protected BaseTextOptions(final BaseTextOptionsBuilder<?, ? extends BaseTextOptions> builder)
@@ -68,6 +69,7 @@ public abstract class BaseTextOptions
     isShowJdbcDriverInfo = builder.isShowJdbcDriverInfo;
     isShowUnqualifiedNames = builder.isShowUnqualifiedNames;
     isNoSchemaColors = builder.isNoSchemaColors;
+    isStreamingJson = builder.isStreamingJson;
     identifierQuotingStrategy = builder.identifierQuotingStrategy;
   }
 
@@ -142,4 +144,9 @@ public abstract class BaseTextOptions
     return isShowUnqualifiedNames;
   }
 
+  public boolean isStreamingJson()
+  {
+    return isStreamingJson;
+  }
+
 }
@@ -65,6 +65,9 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
   private static final String SORT_ALPHABETICALLY_ROUTINE_PARAMETERS =
     SCHEMACRAWLER_FORMAT_PREFIX + "sort_alphabetically.routine_columns";
 
+  private static final String STREAMING_JSON =
+    SCHEMACRAWLER_FORMAT_PREFIX + "streaming_json";
+
   private static final String NO_SCHEMA_COLORS =
     SCHEMACRAWLER_FORMAT_PREFIX + "no_schema_colors";
 
@@ -83,6 +86,7 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
   protected boolean isShowJdbcDriverInfo;
   protected boolean isShowUnqualifiedNames;
   protected boolean isNoSchemaColors;
+  protected boolean isStreamingJson;
   protected IdentifierQuotingStrategy identifierQuotingStrategy;
 
   protected BaseTextOptionsBuilder()
@@ -129,6 +133,7 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
       isAlphabeticalSortForRoutineParameters);
 
     isNoSchemaColors = config.getBooleanValue(NO_SCHEMA_COLORS);
+    isStreamingJson = config.getBooleanValue(STREAMING_JSON);
 
     identifierQuotingStrategy = config.getEnumValue(IDENTIFIER_QUOTING_STRATEGY,
                                                     IdentifierQuotingStrategy.quote_if_special_characters_and_reserved_words);
@@ -162,6 +167,7 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
       .isAlphabeticalSortForRoutineParameters();
 
     isNoSchemaColors = options.isNoSchemaColors();
+    isStreamingJson = options.isStreamingJson();
 
     identifierQuotingStrategy = options.getIdentifierQuotingStrategy();
 
@@ -335,6 +341,21 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
     return (B) this;
   }
 
+  /**
+   * Writes JSON output incrementally, as each object is visited,
+   * instead of building the whole document in memory first.
+   */
+  public final B streamingJson()
+  {
+    return streamingJson(true);
+  }
+
+  public final B streamingJson(final boolean value)
+  {
+    isStreamingJson = value;
+    return (B) this;
+  }
+
   @Override
   public Config toConfig()
   {
@@ -361,6 +382,7 @@ public abstract class BaseTextOptionsBuilder<B extends BaseTextOptionsBuilder<B,
                            isAlphabeticalSortForRoutineParameters);
 
     config.setBooleanValue(NO_SCHEMA_COLORS, isNoSchemaColors);
+    config.setBooleanValue(STREAMING_JSON, isStreamingJson);
 
     config.setEnumValue(IDENTIFIER_QUOTING_STRATEGY, identifierQuotingStrategy);
 
@@ -43,6 +43,7 @@ import schemacrawler.tools.text.base.BaseJsonFormatter;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamWriter;
 import schemacrawler.tools.traversal.DataTraversalHandler;
 import schemacrawler.utility.Query;
 
@@ -56,6 +57,11 @@ final class DataJsonFormatter
   implements DataTraversalHandler
 {
 
+  /**
+   * Number of rows written between flushes of streamed output.
+   */
+  private static final int FLUSH_ROWS_COUNT = 1000;
+
   /**
    * Handles an aggregate operation, such as a count, for a given table.
    *
@@ -85,44 +91,68 @@ final class DataJsonFormatter
     final JSONArray jsonRows = new JSONArray();
     while (dataRows.next())
     {
-      final List<Object> currentRowRaw = dataRows.row();
-      final List<Object> currentRow = new ArrayList<>();
-      for (final Object columnData : currentRowRaw)
+      jsonRows.put(toJsonRow(dataRows.row()));
+    }
+    return jsonRows;
+  }
+
+  private static void streamRows(final DataResultSet dataRows,
+                                 final JSONStreamWriter jsonStreamWriter)
+    throws SQLException, JSONException
+  {
+    long rowCount = 0;
+    jsonStreamWriter.startArray("rows");
+    while (dataRows.next())
+    {
+      jsonStreamWriter.value(toJsonRow(dataRows.row()));
+      rowCount++;
+      if (rowCount % FLUSH_ROWS_COUNT == 0)
       {
-        if (columnData == null || columnData instanceof Number
-            || columnData instanceof CharSequence
-            || columnData instanceof Boolean || columnData instanceof Date
-            || columnData instanceof Calendar)
-        {
-          currentRow.add(columnData);
-        }
-        else
+        jsonStreamWriter.flush();
+      }
+    }
+    jsonStreamWriter.end();
+  }
+
+  private static JSONArray toJsonRow(final List<Object> currentRowRaw)
+  {
+    final List<Object> currentRow = new ArrayList<>();
+    for (final Object columnData : currentRowRaw)
+    {
+      if (columnData == null || columnData instanceof Number
+          || columnData instanceof CharSequence
+          || columnData instanceof Boolean || columnData instanceof Date
+          || columnData instanceof Calendar)
+      {
+        currentRow.add(columnData);
+      }
+      else
+      {
+        final Class<? extends Object> columnDataClass = columnData.getClass();
+        try
         {
-          final Class<? extends Object> columnDataClass = columnData.getClass();
-          try
+          if (columnDataClass.getMethod("toString").getDeclaringClass()
+              != Object.class)
           {
-            if (columnDataClass.getMethod("toString").getDeclaringClass()
-                != Object.class)
-            {
-              currentRow.add(columnData.toString());
-            }
-            else
-            {
-              currentRow.add(columnDataClass.getSimpleName());
-            }
+            currentRow.add(columnData.toString());
           }
-          catch (final NoSuchMethodException | SecurityException e)
+          else
           {
             currentRow.add(columnDataClass.getSimpleName());
           }
         }
+        catch (final NoSuchMethodException | SecurityException e)
+        {
+          currentRow.add(columnDataClass.getSimpleName());
+        }
       }
-      jsonRows.put(new JSONArray(currentRow));
     }
-    return jsonRows;
+    return new JSONArray(currentRow);
   }
+
   private final JSONArray jsonDataArray;
   private final Operation operation;
+  private boolean isDataArrayStarted;
 
   /**
    * Text formatting of data.
@@ -148,9 +178,14 @@ final class DataJsonFormatter
     {
       if (operation != null)
       {
-        jsonRoot.put("description", operation.getTitle());
+        put("description", operation.getTitle());
+      }
+      // When streaming, the data array is started with the first table,
+      // so that header information can be written before it
+      if (jsonStreamWriter == null)
+      {
+        put("data", jsonDataArray);
       }
-      jsonRoot.put("data", jsonDataArray);
     }
     catch (final JSONException e)
     {
@@ -158,6 +193,28 @@ final class DataJsonFormatter
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void end()
+    throws SchemaCrawlerException
+  {
+    if (jsonStreamWriter != null)
+    {
+      try
+      {
+        // The data array is closed with the stream
+        startDataArray();
+      }
+      catch (final JSONException e)
+      {
+        throw new SchemaCrawlerException("Could not convert data to JSON", e);
+      }
+    }
+    super.end();
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -205,6 +262,43 @@ final class DataJsonFormatter
     handleData(tableName, rows);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * When streaming, members cannot be added to the root object once
+   * the data array is started.
+   */
+  @Override
+  protected void accumulate(final String key, final Object value)
+    throws JSONException
+  {
+    checkDataArrayNotStarted(key);
+    super.accumulate(key, value);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * When streaming, members cannot be added to the root object once
+   * the data array is started.
+   */
+  @Override
+  protected void put(final String key, final Object value)
+    throws JSONException
+  {
+    checkDataArrayNotStarted(key);
+    super.put(key, value);
+  }
+
+  private void checkDataArrayNotStarted(final String key)
+  {
+    if (isDataArrayStarted)
+    {
+      throw new IllegalStateException(String
+        .format("Cannot write <%s> after data is streamed", key));
+    }
+  }
+
   private void handleData(final String title, final ResultSet rows)
     throws SchemaCrawlerException
   {
@@ -213,6 +307,12 @@ final class DataJsonFormatter
       return;
     }
 
+    if (jsonStreamWriter != null)
+    {
+      streamData(title, rows);
+      return;
+    }
+
     try
     {
       final JSONObject jsonData = new JSONObject();
@@ -227,8 +327,7 @@ final class DataJsonFormatter
       {
         try
         {
-          final DataResultSet dataRows = new DataResultSet(rows,
-                                                           options.isShowLobs());
+          final DataResultSet dataRows = new DataResultSet(rows, options);
 
           jsonData.put("columnNames", new JSONArray(dataRows.getColumnNames()));
 
@@ -249,4 +348,58 @@ final class DataJsonFormatter
     }
 
   }
+
+  /**
+   * Writes rows out as they are read from the result set, so that
+   * memory use does not grow with the size of the table.
+   */
+  private void startDataArray()
+    throws JSONException
+  {
+    if (!isDataArrayStarted)
+    {
+      jsonStreamWriter.startArray("data");
+      isDataArrayStarted = true;
+    }
+  }
+
+  private void streamData(final String title, final ResultSet rows)
+    throws SchemaCrawlerException
+  {
+    try
+    {
+      startDataArray();
+      jsonStreamWriter.startObject();
+      jsonStreamWriter.value("title", title);
+
+      if (operation == Operation.count)
+      {
+        final long aggregate = handleAggregateOperationForTable(rows);
+        jsonStreamWriter.value("value", aggregate);
+      }
+      else
+      {
+        try
+        {
+          final DataResultSet dataRows = new DataResultSet(rows, options);
+
+          jsonStreamWriter.value("columnNames",
+                                 new JSONArray(dataRows.getColumnNames()));
+
+          streamRows(dataRows, jsonStreamWriter);
+        }
+        catch (final SQLException e)
+        {
+          throw new SchemaCrawlerException(e.getMessage(), e);
+        }
+      }
+
+      jsonStreamWriter.end();
+      jsonStreamWriter.flush();
+    }
+    catch (final JSONException e)
+    {
+      throw new SchemaCrawlerException("Could not convert data to JSON", e);
+    }
+  }
 }
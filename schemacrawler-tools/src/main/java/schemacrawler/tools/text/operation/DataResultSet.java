@@ -30,11 +30,11 @@ package schemacrawler.tools.text.operation;
 
 
 import static java.util.Objects.requireNonNull;
-import static sf.util.IOUtility.readFully;
 
-import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PushbackReader;
 import java.io.Reader;
 import java.sql.Blob;
 import java.sql.Clob;
@@ -67,12 +67,16 @@ final class DataResultSet
   private final ResultSet rows;
   private final List<ResultsColumn> resultsColumns;
   private final boolean showLobs;
+  private final LobReader lobReader;
 
-  public DataResultSet(final ResultSet rows, final boolean showLobs)
+  public DataResultSet(final ResultSet rows, final OperationOptions options)
     throws SchemaCrawlerException
   {
     this.rows = requireNonNull(rows, "Cannot use null results");
-    this.showLobs = showLobs;
+    requireNonNull(options, "No operation options provided");
+    showLobs = options.isShowLobs();
+    lobReader = new LobReader(options.getLobFormat(),
+                              options.getMaxLobSize());
     resultsColumns = new ResultsCrawler(rows).crawl().getColumns();
   }
 
@@ -213,14 +217,14 @@ final class DataResultSet
 
         if (in != null)
         {
-          lobData = new BinaryData(readFully(in));
+          lobData = lobReader.read(in);
         }
         else
         {
           lobData = new BinaryData();
         }
       }
-      catch (final SQLException e)
+      catch (final SQLException | IOException e)
       {
         LOGGER.log(Level.WARNING, "Could not read BLOB data", e);
         lobData = new BinaryData();
@@ -273,21 +277,25 @@ final class DataResultSet
 
         if (rdr != null)
         {
-          String lobDataString = readFully(rdr);
-          if (lobDataString.isEmpty())
+          final PushbackReader in = new PushbackReader(rdr);
+          final int firstChar = in.read();
+          if (firstChar == -1)
+          {
+            // Attempt yet another read, a piece at a time
+            lobData = lobReader.read(new ClobSubStringReader(clob));
+          }
+          else
           {
-            // Attempt yet another read
-            final long clobLength = clob.length();
-            lobDataString = clob.getSubString(1, (int) clobLength);
+            in.unread(firstChar);
+            lobData = lobReader.read(in);
           }
-          lobData = new BinaryData(lobDataString);
         }
         else
         {
           lobData = new BinaryData();
         }
       }
-      catch (final SQLException e)
+      catch (final SQLException | IOException e)
       {
         LOGGER.log(Level.WARNING, "Could not read CLOB data", e);
         lobData = new BinaryData();
@@ -301,12 +309,11 @@ final class DataResultSet
   }
 
   /**
-   * Reads data from an input stream into a string. Default system
-   * encoding is assumed.
+   * Reads data from an input stream, up to the maximum LOB size.
    *
-   * @param columnData
-   *        Column data object returned by JDBC
-   * @return A string with the contents of the LOB
+   * @param stream
+   *        Stream returned by JDBC
+   * @return LOB data, formatted for output
    */
   private BinaryData readStream(final InputStream stream)
   {
@@ -316,9 +323,15 @@ final class DataResultSet
     }
     else if (showLobs)
     {
-      final BufferedInputStream in = new BufferedInputStream(stream);
-      final BinaryData lobData = new BinaryData(readFully(in));
-      return lobData;
+      try
+      {
+        return lobReader.read(stream);
+      }
+      catch (final IOException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not read LOB data", e);
+        return new BinaryData();
+      }
     }
     else
     {
@@ -326,4 +339,58 @@ final class DataResultSet
     }
   }
 
+  /**
+   * Reads a CLOB as substrings, for drivers that do not return data
+   * from the character stream.
+   */
+  private static final class ClobSubStringReader
+    extends Reader
+  {
+
+    private final Clob clob;
+    private final long clobLength;
+    private long position;
+
+    ClobSubStringReader(final Clob clob)
+      throws SQLException
+    {
+      this.clob = clob;
+      clobLength = clob.length();
+      position = 1;
+    }
+
+    @Override
+    public void close()
+    {
+      // No-op
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len)
+      throws IOException
+    {
+      if (position > clobLength)
+      {
+        return -1;
+      }
+      try
+      {
+        final int length = (int) Math.min(len, clobLength - position + 1);
+        final String subString = clob.getSubString(position, length);
+        if (subString == null || subString.isEmpty())
+        {
+          return -1;
+        }
+        subString.getChars(0, subString.length(), cbuf, off);
+        position = position + subString.length();
+        return subString.length();
+      }
+      catch (final SQLException e)
+      {
+        throw new IOException(e);
+      }
+    }
+
+  }
+
 }
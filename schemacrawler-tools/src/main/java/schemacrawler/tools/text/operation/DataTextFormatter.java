@@ -206,8 +206,7 @@ final class DataTextFormatter
       formattingHelper.writeObjectNameRow("", title, "", Color.white);
       try
       {
-        final DataResultSet dataRows = new DataResultSet(rows,
-                                                         options.isShowLobs());
+        final DataResultSet dataRows = new DataResultSet(rows, options);
 
         formattingHelper.writeRowHeader(dataRows.getColumnNames());
 
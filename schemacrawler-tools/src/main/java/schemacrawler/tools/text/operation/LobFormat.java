@@ -0,0 +1,57 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+/**
+ * How LOB data is shown in operation output.
+ */
+public enum LobFormat
+{
+
+ /**
+  * LOB content as text, decoded as UTF-8 for binary data.
+  */
+ text,
+ /**
+  * LOB content as hexadecimal digits.
+  */
+ hex,
+ /**
+  * LOB content as Base64.
+  */
+ base64,
+ /**
+  * Only a SHA-256 hash of the full LOB content, for fingerprinting
+  * data without showing it.
+  */
+ sha256,
+ ;
+
+}
@@ -0,0 +1,308 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import schemacrawler.tools.text.utility.BinaryData;
+
+/**
+ * Reads LOB data from JDBC streams a buffer at a time, keeping no more
+ * than the maximum LOB size in memory for any one value. LOBs shown as
+ * text are cut off at a character boundary. In hash mode, the full
+ * stream is read, but only the digest is kept.
+ *
+ * @author Sualeh Fatehi
+ */
+final class LobReader
+{
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private static String toHex(final byte[] bytes)
+  {
+    final char[] hex = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++)
+    {
+      hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+    return new String(hex);
+  }
+
+  /**
+   * Finds the length of UTF-8 encoded bytes that ends on a character
+   * boundary, so that cutting off data does not split a character.
+   */
+  private static int utf8CharacterBoundary(final byte[] bytes)
+  {
+    if (bytes.length == 0)
+    {
+      return 0;
+    }
+
+    // Find the first byte of the last character, which is at most three
+    // continuation bytes back
+    int start = bytes.length - 1;
+    while (start > 0 && start > bytes.length - 4
+           && (bytes[start] & 0xC0) == 0x80)
+    {
+      start--;
+    }
+
+    final int lead = bytes[start] & 0xFF;
+    final int charLength;
+    if ((lead & 0xE0) == 0xC0)
+    {
+      charLength = 2;
+    }
+    else if ((lead & 0xF0) == 0xE0)
+    {
+      charLength = 3;
+    }
+    else if ((lead & 0xF8) == 0xF0)
+    {
+      charLength = 4;
+    }
+    else
+    {
+      // Single byte character, or bytes that are not UTF-8
+      return bytes.length;
+    }
+
+    if (start + charLength > bytes.length)
+    {
+      return start;
+    }
+    else
+    {
+      return bytes.length;
+    }
+  }
+
+  private final LobFormat lobFormat;
+  private final int maxLobSize;
+
+  LobReader(final LobFormat lobFormat, final int maxLobSize)
+  {
+    this.lobFormat = requireNonNull(lobFormat, "No LOB format provided");
+    if (maxLobSize > 0)
+    {
+      this.maxLobSize = maxLobSize;
+    }
+    else
+    {
+      this.maxLobSize = Integer.MAX_VALUE - 8;
+    }
+  }
+
+  /**
+   * Reads binary data, up to the maximum LOB size.
+   *
+   * @param in
+   *        Binary stream from JDBC
+   * @return LOB data, formatted for output
+   * @throws IOException
+   *         On an exception reading the stream
+   */
+  BinaryData read(final InputStream in)
+    throws IOException
+  {
+    requireNonNull(in, "No input stream provided");
+    if (lobFormat == LobFormat.sha256)
+    {
+      final MessageDigest digest = newDigest();
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      int read;
+      while ((read = in.read(buffer)) != -1)
+      {
+        digest.update(buffer, 0, read);
+      }
+      return new BinaryData(toHex(digest.digest()));
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(Math
+      .min(BUFFER_SIZE, maxLobSize));
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    boolean isTruncated = false;
+    int read;
+    while ((read = in.read(buffer)) != -1)
+    {
+      final int remaining = maxLobSize - out.size();
+      if (read > remaining)
+      {
+        out.write(buffer, 0, remaining);
+        isTruncated = true;
+        break;
+      }
+      out.write(buffer, 0, read);
+    }
+
+    final byte[] bytes = out.toByteArray();
+    final String data;
+    switch (lobFormat)
+    {
+      case hex:
+        data = toHex(bytes);
+        break;
+      case base64:
+        data = Base64.getEncoder().encodeToString(bytes);
+        break;
+      default:
+        if (isTruncated)
+        {
+          data = new String(bytes, 0, utf8CharacterBoundary(bytes), UTF_8);
+        }
+        else
+        {
+          data = new String(bytes, UTF_8);
+        }
+        break;
+    }
+    return new BinaryData(data, isTruncated);
+  }
+
+  /**
+   * Reads character data, up to the maximum LOB size in characters.
+   *
+   * @param reader
+   *        Character stream from JDBC
+   * @return LOB data, formatted for output
+   * @throws IOException
+   *         On an exception reading the stream
+   */
+  BinaryData read(final Reader reader)
+    throws IOException
+  {
+    requireNonNull(reader, "No reader provided");
+    if (lobFormat == LobFormat.sha256)
+    {
+      final MessageDigest digest = newDigest();
+      try (
+          final Writer writer = new OutputStreamWriter(new DigestOutputStream(new NullOutputStream(),
+                                                                              digest),
+                                                       UTF_8);)
+      {
+        final char[] buffer = new char[BUFFER_SIZE];
+        int read;
+        while ((read = reader.read(buffer)) != -1)
+        {
+          writer.write(buffer, 0, read);
+        }
+      }
+      return new BinaryData(toHex(digest.digest()));
+    }
+
+    final StringBuilder buffered = new StringBuilder(Math
+      .min(BUFFER_SIZE, maxLobSize));
+    final char[] buffer = new char[BUFFER_SIZE];
+    boolean isTruncated = false;
+    int read;
+    while ((read = reader.read(buffer)) != -1)
+    {
+      final int remaining = maxLobSize - buffered.length();
+      if (read > remaining)
+      {
+        buffered.append(buffer, 0, remaining);
+        isTruncated = true;
+        break;
+      }
+      buffered.append(buffer, 0, read);
+    }
+    // Do not leave half of a surrogate pair at the end
+    if (isTruncated && buffered.length() > 0
+        && Character.isHighSurrogate(buffered.charAt(buffered.length() - 1)))
+    {
+      buffered.setLength(buffered.length() - 1);
+    }
+
+    final String data;
+    switch (lobFormat)
+    {
+      case hex:
+        data = toHex(buffered.toString().getBytes(UTF_8));
+        break;
+      case base64:
+        data = Base64.getEncoder()
+          .encodeToString(buffered.toString().getBytes(UTF_8));
+        break;
+      default:
+        data = buffered.toString();
+        break;
+    }
+    return new BinaryData(data, isTruncated);
+  }
+
+  private MessageDigest newDigest()
+  {
+    try
+    {
+      return MessageDigest.getInstance("SHA-256");
+    }
+    catch (final NoSuchAlgorithmException e)
+    {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static final class NullOutputStream
+    extends OutputStream
+  {
+
+    @Override
+    public void write(final byte[] b, final int off, final int len)
+    {
+      // Discard
+    }
+
+    @Override
+    public void write(final int b)
+    {
+      // Discard
+    }
+
+  }
+
+}
@@ -107,6 +107,11 @@ public final class OperationCommand
 
     try (final Statement statement = createStatement(connection))
     {
+      final int fetchSize = operationOptions.getFetchSize();
+      if (fetchSize > 0)
+      {
+        statement.setFetchSize(fetchSize);
+      }
 
       handler.begin();
 
@@ -129,16 +134,33 @@ public final class OperationCommand
                                                      identifierQuoteString)
                                                    .build();
 
-        for (final Table table : getSortedTables(catalog))
+        final boolean isAlphabeticalSortForTableColumns = operationOptions.isAlphabeticalSortForTableColumns();
+        final List<? extends Table> tables = getSortedTables(catalog);
+        if (connectionSupplier != null
+            && operationOptions.getConnections() > 1 && tables.size() > 1)
+        {
+          new ParallelTableQueryExecutor(connectionSupplier,
+                                         Math.min(operationOptions
+                                           .getConnections(), tables.size()),
+                                         fetchSize)
+            .execute(query,
+                     tables,
+                     isAlphabeticalSortForTableColumns,
+                     identifiers,
+                     handler);
+        }
+        else
         {
-          final boolean isAlphabeticalSortForTableColumns = operationOptions.isAlphabeticalSortForTableColumns();
-          try (final ResultSet results = executeAgainstTable(query,
-                                                             statement,
-                                                             table,
-                                                             isAlphabeticalSortForTableColumns,
-                                                             identifiers))
+          for (final Table table : tables)
           {
-            handler.handleData(table, results);
+            try (final ResultSet results = executeAgainstTable(query,
+                                                               statement,
+                                                               table,
+                                                               isAlphabeticalSortForTableColumns,
+                                                               identifiers))
+            {
+              handler.handleData(table, results);
+            }
           }
         }
       }
@@ -250,7 +272,7 @@ public final class OperationCommand
   private List<? extends Table> getSortedTables(final Catalog catalog)
   {
     final List<? extends Table> tables = new ArrayList<>(catalog.getTables());
-    tables.sort(NamedObjectSort.getNamedObjectSort(operationOptions.isAlphabeticalSortForTables()));
+    NamedObjectSort.getNamedObjectSort(operationOptions.isAlphabeticalSortForTables()).sort(tables);
     return tables;
   }
 
@@ -41,11 +41,61 @@ public final class OperationOptions
 {
 
   private final boolean isShowLobs;
+  private final int fetchSize;
+  private final int connections;
+  private final LobFormat lobFormat;
+  private final int maxLobSize;
 
   protected OperationOptions(final OperationOptionsBuilder builder)
   {
     super(builder);
     isShowLobs = builder.isShowLobs;
+    fetchSize = builder.fetchSize;
+    connections = builder.connections;
+    lobFormat = builder.lobFormat;
+    maxLobSize = builder.maxLobSize;
+  }
+
+  /**
+   * Number of connections to query tables on at the same time.
+   *
+   * @return Number of connections
+   */
+  public int getConnections()
+  {
+    return connections;
+  }
+
+  /**
+   * Number of rows to fetch from the database at a time, or zero for
+   * the driver default.
+   *
+   * @return Fetch size
+   */
+  public int getFetchSize()
+  {
+    return fetchSize;
+  }
+
+  /**
+   * How to show LOB data.
+   *
+   * @return LOB format
+   */
+  public LobFormat getLobFormat()
+  {
+    return lobFormat;
+  }
+
+  /**
+   * Maximum number of bytes, or characters, to read from any one LOB
+   * value, or zero or less to read LOBs fully. The default is 1 MB.
+   *
+   * @return Maximum LOB size
+   */
+  public int getMaxLobSize()
+  {
+    return maxLobSize;
   }
 
   /**
@@ -42,6 +42,15 @@ public final class OperationOptionsBuilder
 {
   private static final String SHOW_LOBS = SCHEMACRAWLER_FORMAT_PREFIX
                                           + "data.show_lobs";
+  private static final String FETCH_SIZE = SCHEMACRAWLER_FORMAT_PREFIX
+                                            + "data.fetch_size";
+  private static final String CONNECTIONS = SCHEMACRAWLER_FORMAT_PREFIX
+                                            + "data.connections";
+  private static final String LOB_FORMAT = SCHEMACRAWLER_FORMAT_PREFIX
+                                           + "data.lob_format";
+  private static final String MAX_LOB_SIZE = SCHEMACRAWLER_FORMAT_PREFIX
+                                             + "data.max_lob_size";
+  private static final int DEFAULT_MAX_LOB_SIZE = 1024 * 1024;
 
   public static OperationOptionsBuilder builder()
   {
@@ -64,10 +73,17 @@ public final class OperationOptionsBuilder
   }
 
   protected boolean isShowLobs;
+  protected int fetchSize;
+  protected int connections;
+  protected LobFormat lobFormat;
+  protected int maxLobSize;
 
   private OperationOptionsBuilder()
   {
     // Set default values, if any
+    connections = 1;
+    lobFormat = LobFormat.text;
+    maxLobSize = DEFAULT_MAX_LOB_SIZE;
   }
 
   @Override
@@ -81,6 +97,10 @@ public final class OperationOptionsBuilder
 
     final Config config = new Config(map);
     isShowLobs = config.getBooleanValue(SHOW_LOBS, false);
+    fetchSize = config.getIntegerValue(FETCH_SIZE, 0);
+    connections = Math.max(1, config.getIntegerValue(CONNECTIONS, 1));
+    lobFormat = config.getEnumValue(LOB_FORMAT, LobFormat.text);
+    maxLobSize = config.getIntegerValue(MAX_LOB_SIZE, DEFAULT_MAX_LOB_SIZE);
 
     return this;
   }
@@ -95,10 +115,90 @@ public final class OperationOptionsBuilder
     super.fromOptions(options);
 
     isShowLobs = options.isShowLobs();
+    fetchSize = options.getFetchSize();
+    connections = options.getConnections();
+    lobFormat = options.getLobFormat();
+    maxLobSize = options.getMaxLobSize();
 
     return this;
   }
 
+  /**
+   * Number of connections to run operations and queries against tables
+   * on at the same time, when the operation command has a connection
+   * supplier. Results are still output in the same order as with a
+   * single connection.
+   *
+   * @param connections
+   *        Number of connections, at least 1
+   * @return Builder
+   */
+  public OperationOptionsBuilder connections(final int connections)
+  {
+    if (connections < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    this.connections = connections;
+    return this;
+  }
+
+  /**
+   * Number of rows to fetch from the database at a time, when reading
+   * data. Larger values mean fewer round trips, and smaller values less
+   * memory held by the driver. Zero or less leaves the driver default.
+   *
+   * @param fetchSize
+   *        Number of rows to fetch at a time
+   * @return Builder
+   */
+  public OperationOptionsBuilder fetchSize(final int fetchSize)
+  {
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  /**
+   * How to show LOB data, when LOBs are shown. The hash format reads
+   * the full LOB, but keeps only a SHA-256 hash of it.
+   *
+   * @param lobFormat
+   *        LOB format
+   * @return Builder
+   */
+  public OperationOptionsBuilder lobFormat(final LobFormat lobFormat)
+  {
+    if (lobFormat == null)
+    {
+      this.lobFormat = LobFormat.text;
+    }
+    else
+    {
+      this.lobFormat = lobFormat;
+    }
+    return this;
+  }
+
+  /**
+   * Maximum number of bytes, or characters for character LOBs, to read
+   * from any one LOB value. Longer values are cut off, at a character
+   * boundary, and end with "...", so that memory used per row is bounded
+   * however large the LOBs are. The default is 1 MB, which is more than
+   * is useful to see in output, but which keeps a row of several LOBs
+   * from taking up all of the memory. Zero or less reads LOBs fully,
+   * which needs enough memory for the largest LOB value, since LOBs are
+   * read into memory before they are written out.
+   *
+   * @param maxLobSize
+   *        Maximum LOB size to read
+   * @return Builder
+   */
+  public OperationOptionsBuilder maxLobSize(final int maxLobSize)
+  {
+    this.maxLobSize = maxLobSize;
+    return this;
+  }
+
   public OperationOptionsBuilder showLobs()
   {
     return showLobs(true);
@@ -122,6 +222,10 @@ public final class OperationOptionsBuilder
   {
     final Config config = super.toConfig();
     config.setBooleanValue(SHOW_LOBS, isShowLobs);
+    config.setStringValue(FETCH_SIZE, String.valueOf(fetchSize));
+    config.setStringValue(CONNECTIONS, String.valueOf(connections));
+    config.setEnumValue(LOB_FORMAT, lobFormat);
+    config.setStringValue(MAX_LOB_SIZE, String.valueOf(maxLobSize));
     return config;
   }
 
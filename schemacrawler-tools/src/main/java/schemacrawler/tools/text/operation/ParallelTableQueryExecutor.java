@@ -0,0 +1,266 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.operation;
+
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.utility.QueryUtility.executeAgainstTable;
+import static sf.util.DatabaseUtility.createStatement;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
+
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerException;
+import schemacrawler.tools.traversal.DataTraversalHandler;
+import schemacrawler.utility.Identifiers;
+import schemacrawler.utility.Query;
+import sf.util.SchemaCrawlerLogger;
+import sf.util.StringFormat;
+
+/**
+ * Runs a query against each table on a number of connections at once.
+ * Results for each table are read into memory on a worker connection,
+ * and handed to the handler strictly in the order of the tables, so
+ * output is the same as when the tables are queried one after the
+ * other. Only twice as many tables as there are connections are queried
+ * ahead of the table being handled, so no more than that many tables'
+ * results are held in memory at a time.
+ *
+ * @author Sualeh Fatehi
+ */
+final class ParallelTableQueryExecutor
+{
+
+  private static final SchemaCrawlerLogger LOGGER = SchemaCrawlerLogger
+    .getLogger(ParallelTableQueryExecutor.class.getName());
+
+  private final Supplier<Connection> connectionSupplier;
+  private final int connectionsCount;
+  private final int fetchSize;
+
+  ParallelTableQueryExecutor(final Supplier<Connection> connectionSupplier,
+                             final int connectionsCount,
+                             final int fetchSize)
+  {
+    this.connectionSupplier = requireNonNull(connectionSupplier,
+                                             "No connection supplier provided");
+    if (connectionsCount < 1)
+    {
+      throw new IllegalArgumentException("Number of connections should be at least 1");
+    }
+    this.connectionsCount = connectionsCount;
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Runs the query against every table, and hands the results to the
+   * handler in the order of the tables.
+   *
+   * @param query
+   *        Query to run against each table
+   * @param tables
+   *        Tables, in the order that results should be handled
+   * @param isAlphabeticalSortForTableColumns
+   *        Whether table columns are listed alphabetically in the query
+   * @param identifiers
+   *        Identifiers for quoting table and column names
+   * @param handler
+   *        Handler for results
+   * @throws SchemaCrawlerException
+   *         On an exception for any table
+   */
+  void execute(final Query query,
+               final List<? extends Table> tables,
+               final boolean isAlphabeticalSortForTableColumns,
+               final Identifiers identifiers,
+               final DataTraversalHandler handler)
+    throws SchemaCrawlerException
+  {
+    requireNonNull(query, "No query provided");
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(handler, "No handler provided");
+
+    LOGGER.log(Level.INFO,
+               new StringFormat("Running <%s> against %d tables, using %d connections",
+                                query.getName(),
+                                tables.size(),
+                                connectionsCount));
+
+    final BlockingQueue<Connection> connections = new ArrayBlockingQueue<>(connectionsCount);
+    final ExecutorService executorService = Executors
+      .newFixedThreadPool(connectionsCount);
+    final Deque<Future<CachedRowSet>> pending = new ArrayDeque<>();
+    try
+    {
+      for (int i = 0; i < connectionsCount; i++)
+      {
+        final Connection connection = connectionSupplier.get();
+        if (connection == null)
+        {
+          throw new SchemaCrawlerException("No connection supplied");
+        }
+        connections.add(connection);
+      }
+      // Keep every connection busy, with as many tables again queued
+      // up, while results are handled in order
+      final int aheadCount = 2 * connectionsCount;
+
+      final Iterator<? extends Table> submitTables = tables.iterator();
+      for (final Table table: tables)
+      {
+        while (pending.size() < aheadCount && submitTables.hasNext())
+        {
+          final Table submitTable = submitTables.next();
+          pending.add(executorService
+            .submit(() -> query(connections,
+                                query,
+                                submitTable,
+                                isAlphabeticalSortForTableColumns,
+                                identifiers)));
+        }
+
+        try (final CachedRowSet results = pending.remove().get();)
+        {
+          handler.handleData(table, results);
+        }
+      }
+    }
+    catch (final ExecutionException e)
+    {
+      final Throwable cause = e.getCause();
+      throw new SchemaCrawlerException("Could not run query <"
+                                       + query.getName() + ">",
+                                       cause instanceof Exception? (Exception) cause: e);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+      throw new SchemaCrawlerException("Interrupted while running query <"
+                                       + query.getName() + ">", e);
+    }
+    catch (final SQLException e)
+    {
+      throw new SchemaCrawlerException("Could not run query <"
+                                       + query.getName() + ">", e);
+    }
+    finally
+    {
+      for (final Future<CachedRowSet> future: pending)
+      {
+        future.cancel(true);
+      }
+      executorService.shutdownNow();
+      closeConnections(connections, executorService);
+    }
+  }
+
+  private void closeConnections(final BlockingQueue<Connection> connections,
+                                final ExecutorService executorService)
+  {
+    try
+    {
+      // Wait for any query still running to hand back its connection
+      executorService.awaitTermination(1, TimeUnit.MINUTES);
+    }
+    catch (final InterruptedException e)
+    {
+      Thread.currentThread().interrupt();
+    }
+
+    final List<Connection> openConnections = new ArrayList<>();
+    connections.drainTo(openConnections);
+    for (final Connection connection: openConnections)
+    {
+      try
+      {
+        connection.close();
+      }
+      catch (final SQLException e)
+      {
+        LOGGER.log(Level.WARNING, "Could not close connection", e);
+      }
+    }
+  }
+
+  private CachedRowSet query(final BlockingQueue<Connection> connections,
+                             final Query query,
+                             final Table table,
+                             final boolean isAlphabeticalSortForTableColumns,
+                             final Identifiers identifiers)
+    throws SQLException, InterruptedException
+  {
+    final Connection connection = connections.take();
+    try (final Statement statement = createStatement(connection);)
+    {
+      if (fetchSize > 0)
+      {
+        statement.setFetchSize(fetchSize);
+      }
+      try (final ResultSet results = executeAgainstTable(query,
+                                                         statement,
+                                                         table,
+                                                         isAlphabeticalSortForTableColumns,
+                                                         identifiers);)
+      {
+        if (results == null)
+        {
+          return null;
+        }
+        final CachedRowSet cachedResults = RowSetProvider.newFactory()
+          .createCachedRowSet();
+        cachedResults.populate(results);
+        return cachedResults;
+      }
+    }
+    finally
+    {
+      connections.put(connection);
+    }
+  }
+
+}
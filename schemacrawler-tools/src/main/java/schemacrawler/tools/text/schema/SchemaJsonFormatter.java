@@ -127,7 +127,7 @@ final class SchemaJsonFormatter
       try
       {
         final JSONObject jsonColumnDataType = new JSONObject();
-        jsonRoot.accumulate("columnDataypes", jsonColumnDataType);
+        accumulate("columnDataypes", jsonColumnDataType);
 
         final String databaseSpecificTypeName;
         if (options.isShowUnqualifiedNames())
@@ -175,7 +175,7 @@ final class SchemaJsonFormatter
     try
     {
       final JSONObject jsonRoutine = new JSONObject();
-      jsonRoot.accumulate("routines", jsonRoutine);
+      accumulate("routines", jsonRoutine);
 
       jsonRoutine.put("name", routine.getName());
       if (!options.isShowUnqualifiedNames())
@@ -232,7 +232,7 @@ final class SchemaJsonFormatter
     try
     {
       final JSONObject jsonSequence = new JSONObject();
-      jsonRoot.accumulate("sequences", jsonSequence);
+      accumulate("sequences", jsonSequence);
 
       jsonSequence.put("name", sequence.getName());
       if (!options.isShowUnqualifiedNames())
@@ -271,7 +271,7 @@ final class SchemaJsonFormatter
     try
     {
       final JSONObject jsonSynonym = new JSONObject();
-      jsonRoot.accumulate("synonyms", jsonSynonym);
+      accumulate("synonyms", jsonSynonym);
 
       jsonSynonym.put("name", synonym.getName());
       if (!options.isShowUnqualifiedNames())
@@ -311,7 +311,7 @@ final class SchemaJsonFormatter
 
     try
     {
-      jsonRoot.accumulate("tables", jsonTable);
+      accumulate("tables", jsonTable);
 
       jsonTable.put("name", table.getName());
       if (!options.isShowUnqualifiedNames())
@@ -89,7 +89,10 @@ public final class SchemaTextRenderer
     {
       aCatalog = new CatalogWithCounts(aCatalog,
                                        connection,
-                                       schemaCrawlerOptions);
+                                       connectionSupplier,
+                                       schemaRetrievalOptions,
+                                       schemaCrawlerOptions,
+                                       additionalConfiguration);
     }
 
     final SchemaTraversalHandler formatter = getSchemaTraversalHandler();
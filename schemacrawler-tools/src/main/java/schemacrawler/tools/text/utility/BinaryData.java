@@ -33,17 +33,33 @@ public class BinaryData
 
   private final boolean hasData;
   private final String data;
+  private final boolean isTruncated;
 
   public BinaryData()
   {
     data = null;
     hasData = false;
+    isTruncated = false;
   }
 
   public BinaryData(final String data)
+  {
+    this(data, false);
+  }
+
+  /**
+   * Binary data that may have been cut off at a maximum size.
+   *
+   * @param data
+   *        Data that was read
+   * @param isTruncated
+   *        Whether there was more data than was read
+   */
+  public BinaryData(final String data, final boolean isTruncated)
   {
     this.data = data;
     hasData = true;
+    this.isTruncated = isTruncated;
   }
 
   public boolean hasData()
@@ -51,10 +67,19 @@ public class BinaryData
     return hasData;
   }
 
+  public boolean isTruncated()
+  {
+    return isTruncated;
+  }
+
   @Override
   public String toString()
   {
-    if (hasData)
+    if (hasData && isTruncated)
+    {
+      return data + "...";
+    }
+    else if (hasData)
     {
       return data;
     }
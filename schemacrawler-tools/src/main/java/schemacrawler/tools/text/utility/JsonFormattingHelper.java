@@ -34,6 +34,7 @@ import schemacrawler.schemacrawler.SchemaCrawlerException;
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.tools.text.utility.org.json.JSONException;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamWriter;
 
 public class JsonFormattingHelper
   extends PlainTextFormattingHelper
@@ -45,6 +46,17 @@ public class JsonFormattingHelper
     super(out, outputFormat);
   }
 
+  /**
+   * Creates a writer for a JSON object that is written out member by
+   * member, rather than all at once.
+   *
+   * @return Streaming JSON object writer
+   */
+  public JSONStreamWriter newStreamWriter()
+  {
+    return new JSONStreamWriter(out, 2);
+  }
+
   public void write(final JSONObject jsonObject)
     throws SchemaCrawlerException
   {
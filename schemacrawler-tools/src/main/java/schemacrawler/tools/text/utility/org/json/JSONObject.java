@@ -349,7 +349,7 @@ public class JSONObject
    *        A String
    * @return A String correctly formatted for insertion in a JSON text.
    */
-  private static String quote(final String string)
+  static String quote(final String string)
   {
     if (string == null || string.length() == 0)
     {
@@ -900,9 +900,9 @@ public class JSONObject
    * @throws JSONException
    *         If the object contains an invalid number.
    */
-  private void write(final PrintWriter writer,
-                     final int indentFactor,
-                     final int indent)
+  void write(final PrintWriter writer,
+             final int indentFactor,
+             final int indent)
     throws JSONException
   {
     int i;
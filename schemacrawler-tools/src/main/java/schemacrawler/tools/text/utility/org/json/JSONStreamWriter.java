@@ -0,0 +1,411 @@
+package schemacrawler.tools.text.utility.org.json;
+
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Writes a JSON object member by member, as values are added, in the
+ * same format as JSONObject.write. Values accumulated under the same
+ * key are written as an array, and a single accumulated value is
+ * written on its own, just as with JSONObject.accumulate.
+ * <p>
+ * Callers may keep filling in the last value passed to accumulate or
+ * put, since it is only written out when the next value is added, or
+ * when the object is closed. So at most one value is held in memory at
+ * any time.
+ * <p>
+ * Very large values, such as rows of data, can instead be written
+ * piece by piece with startArray, startObject, value and end, without
+ * ever being held in memory.
+ */
+public final class JSONStreamWriter
+{
+
+  private final PrintWriter writer;
+  private final int indentFactor;
+  private final Deque<Scope> scopes;
+
+  private int membersCount;
+  private String currentKey;
+  private Object pendingValue;
+  private int currentKeyValuesCount;
+
+  public JSONStreamWriter(final PrintWriter writer, final int indentFactor)
+  {
+    this.writer = requireNonNull(writer, "No writer provided");
+    this.indentFactor = indentFactor;
+    scopes = new ArrayDeque<>();
+  }
+
+  /**
+   * Adds a value under a key, writing out the previous value.
+   *
+   * @param key
+   *        A key string.
+   * @param value
+   *        Value to write, which can still be modified until the next
+   *        call
+   * @throws JSONException
+   *         If the value is an invalid number, or on a write error
+   */
+  public JSONStreamWriter accumulate(final String key, final Object value)
+    throws JSONException
+  {
+    requireNonNull(key, "No key provided");
+    JSONObject.testValidity(value);
+    checkNoOpenScopes();
+    if (key.equals(currentKey))
+    {
+      if (currentKeyValuesCount == 1)
+      {
+        writeKey(currentKey);
+        writer.println('[');
+      }
+      else
+      {
+        writer.println(',');
+      }
+      writeArrayElement(pendingValue);
+      pendingValue = value;
+      currentKeyValuesCount++;
+    }
+    else
+    {
+      writeCurrentMember();
+      currentKey = key;
+      pendingValue = value;
+      currentKeyValuesCount = 1;
+    }
+    return this;
+  }
+
+  /**
+   * Writes out any pending value, and closes the JSON object.
+   *
+   * @throws JSONException
+   *         On a write error
+   */
+  public void close()
+    throws JSONException
+  {
+    while (!scopes.isEmpty())
+    {
+      end();
+    }
+    writeCurrentMember();
+    if (membersCount == 0)
+    {
+      writer.print("{}");
+    }
+    else
+    {
+      writer.println();
+      writer.print('}');
+    }
+    writer.flush();
+    checkError();
+  }
+
+  /**
+   * Closes the array or object that was last started.
+   *
+   * @throws JSONException
+   *         If nothing was started, or on a write error
+   */
+  public JSONStreamWriter end()
+    throws JSONException
+  {
+    if (scopes.isEmpty())
+    {
+      throw new JSONException("No array or object to end");
+    }
+    final Scope scope = scopes.peek();
+    if (scope.count > 0)
+    {
+      writer.println();
+      indent(scopes.size() * indentFactor);
+    }
+    scopes.pop();
+    writer.print(scope.isArray? ']': '}');
+    return this;
+  }
+
+  /**
+   * Writes out anything buffered so far.
+   *
+   * @throws JSONException
+   *         On a write error
+   */
+  public void flush()
+    throws JSONException
+  {
+    writer.flush();
+    checkError();
+  }
+
+  /**
+   * Adds a value under a key, writing out the previous value. Keys
+   * should not be repeated.
+   *
+   * @param key
+   *        A key string.
+   * @param value
+   *        Value to write, which can still be modified until the next
+   *        call
+   * @throws JSONException
+   *         If the value is an invalid number, or on a write error
+   */
+  public JSONStreamWriter put(final String key, final Object value)
+    throws JSONException
+  {
+    requireNonNull(key, "No key provided");
+    JSONObject.testValidity(value);
+    checkNoOpenScopes();
+    writeCurrentMember();
+    currentKey = key;
+    pendingValue = value;
+    currentKeyValuesCount = 1;
+    return this;
+  }
+
+  /**
+   * Starts an array under a key, either as a member of the top level
+   * object, or of the object that was last started. Elements are
+   * written straight away with startObject or value, and the array is
+   * closed with end.
+   *
+   * @param key
+   *        A key string.
+   * @throws JSONException
+   *         If an array was last started, or on a write error
+   */
+  public JSONStreamWriter startArray(final String key)
+    throws JSONException
+  {
+    startMember(key);
+    writer.print('[');
+    scopes.push(new Scope(true));
+    return this;
+  }
+
+  /**
+   * Starts an object as an element of the array that was last started.
+   * Members are written straight away with startArray or value, and
+   * the object is closed with end.
+   *
+   * @throws JSONException
+   *         If an array was not last started, or on a write error
+   */
+  public JSONStreamWriter startObject()
+    throws JSONException
+  {
+    startElement();
+    writer.print('{');
+    scopes.push(new Scope(false));
+    return this;
+  }
+
+  /**
+   * Writes a value as an element of the array that was last started.
+   *
+   * @param value
+   *        Value to write
+   * @throws JSONException
+   *         If an array was not last started, if the value is an
+   *         invalid number, or on a write error
+   */
+  public JSONStreamWriter value(final Object value)
+    throws JSONException
+  {
+    JSONObject.testValidity(value);
+    startElement();
+    writer.print(JSONObject
+      .valueToString(value,
+                   indentFactor,
+                   (scopes.size() + 1) * indentFactor));
+    return this;
+  }
+
+  /**
+   * Writes a value under a key, as a member of the object that was
+   * last started.
+   *
+   * @param key
+   *        A key string.
+   * @param value
+   *        Value to write
+   * @throws JSONException
+   *         If an object was not last started, if the value is an
+   *         invalid number, or on a write error
+   */
+  public JSONStreamWriter value(final String key, final Object value)
+    throws JSONException
+  {
+    requireNonNull(key, "No key provided");
+    JSONObject.testValidity(value);
+    if (scopes.isEmpty())
+    {
+      throw new JSONException("No object started");
+    }
+    startMember(key);
+    writer.print(JSONObject
+      .valueToString(value,
+                   indentFactor,
+                   (scopes.size() + 1) * indentFactor));
+    return this;
+  }
+
+  private void checkError()
+    throws JSONException
+  {
+    if (writer.checkError())
+    {
+      throw new JSONException("Could not write JSON output");
+    }
+  }
+
+  private void checkNoOpenScopes()
+    throws JSONException
+  {
+    if (!scopes.isEmpty())
+    {
+      throw new JSONException("Array or object has not been ended");
+    }
+  }
+
+  private void indent(final int indent)
+  {
+    for (int i = 0; i < indent; i++)
+    {
+      writer.print(' ');
+    }
+  }
+
+  private void startElement()
+    throws JSONException
+  {
+    final Scope scope = scopes.peek();
+    if (scope == null || !scope.isArray)
+    {
+      throw new JSONException("No array started");
+    }
+    startNested(scope);
+  }
+
+  private void startMember(final String key)
+    throws JSONException
+  {
+    requireNonNull(key, "No key provided");
+    final Scope scope = scopes.peek();
+    if (scope == null)
+    {
+      writeCurrentMember();
+      writeKey(key);
+    }
+    else if (scope.isArray)
+    {
+      throw new JSONException("No object started");
+    }
+    else
+    {
+      startNested(scope);
+      writer.print(JSONObject.quote(key));
+      writer.print(": ");
+    }
+  }
+
+  private void startNested(final Scope scope)
+  {
+    if (scope.count > 0)
+    {
+      writer.println(',');
+    }
+    else
+    {
+      writer.println();
+    }
+    scope.count++;
+    indent((scopes.size() + 1) * indentFactor);
+  }
+
+  private void writeArrayElement(final Object value)
+    throws JSONException
+  {
+    indent(2 * indentFactor);
+    writer.print(JSONObject.valueToString(value, indentFactor, 2 * indentFactor));
+  }
+
+  private void writeCurrentMember()
+    throws JSONException
+  {
+    if (currentKey == null)
+    {
+      return;
+    }
+
+    if (currentKeyValuesCount == 1)
+    {
+      writeKey(currentKey);
+      if (pendingValue instanceof JSONObject)
+      {
+        ((JSONObject) pendingValue).write(writer, indentFactor, indentFactor);
+      }
+      else if (pendingValue instanceof JSONArray)
+      {
+        ((JSONArray) pendingValue).write(writer, indentFactor, indentFactor);
+      }
+      else
+      {
+        writer.print(JSONObject.valueToString(pendingValue));
+      }
+    }
+    else
+    {
+      writer.println(',');
+      writeArrayElement(pendingValue);
+      writer.println();
+      indent(indentFactor);
+      writer.print(']');
+    }
+
+    currentKey = null;
+    pendingValue = null;
+    currentKeyValuesCount = 0;
+
+    writer.flush();
+    checkError();
+  }
+
+  private void writeKey(final String key)
+  {
+    if (membersCount > 0)
+    {
+      writer.println(',');
+    }
+    else
+    {
+      writer.print('{');
+      writer.println();
+    }
+    membersCount++;
+    indent(indentFactor);
+    writer.print(JSONObject.quote(key));
+    writer.print(": ");
+  }
+
+  private static final class Scope
+  {
+    private final boolean isArray;
+    private int count;
+
+    Scope(final boolean isArray)
+    {
+      this.isArray = isArray;
+    }
+  }
+
+}
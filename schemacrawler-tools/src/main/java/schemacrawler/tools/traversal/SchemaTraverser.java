@@ -124,7 +124,7 @@ public class SchemaTraverser
       handler.handleTablesStart();
 
       final List<? extends Table> tablesList = new ArrayList<>(tables);
-      tablesList.sort(tablesComparator);
+      sort(tablesList, tablesComparator);
       for (final Table table: tablesList)
       {
         handler.handle(table);
@@ -138,7 +138,7 @@ public class SchemaTraverser
       handler.handleRoutinesStart();
 
       final List<? extends Routine> routinesList = new ArrayList<>(routines);
-      routinesList.sort(routinesComparator);
+      sort(routinesList, routinesComparator);
       for (final Routine routine: routinesList)
       {
         handler.handle(routine);
@@ -186,4 +186,17 @@ public class SchemaTraverser
     handler.end();
   }
 
+  private <N extends NamedObject> void sort(final List<N> namedObjects,
+                                           final Comparator<NamedObject> comparator)
+  {
+    if (comparator instanceof NamedObjectSort)
+    {
+      ((NamedObjectSort) comparator).sort(namedObjects);
+    }
+    else
+    {
+      namedObjects.sort(comparator);
+    }
+  }
+
 }
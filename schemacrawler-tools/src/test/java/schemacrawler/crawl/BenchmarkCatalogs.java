@@ -0,0 +1,158 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableType;
+
+/**
+ * Builds large synthetic catalogs for benchmarks, without a database.
+ */
+public final class BenchmarkCatalogs
+{
+
+  /**
+   * Creates a catalog with tables in a single schema. Each table has
+   * the given number of columns, and an index on each of its first few
+   * columns.
+   *
+   * @param tablesCount
+   *        Number of tables
+   * @param columnsCount
+   *        Number of columns in each table
+   * @return Synthetic catalog
+   */
+  public static Catalog newCatalog(final int tablesCount,
+                                   final int columnsCount)
+  {
+    final List<String> tableNames = new ArrayList<>(tablesCount);
+    for (int t = 0; t < tablesCount; t++)
+    {
+      tableNames.add(String.format("TABLE%05d", t));
+    }
+    return newCatalog(tableNames, columnsCount);
+  }
+
+  /**
+   * Creates a catalog with named tables in a single schema. Each table
+   * has the given number of columns, and an index on each of its first
+   * few columns.
+   *
+   * @param tableNames
+   *        Names of tables
+   * @param columnsCount
+   *        Number of columns in each table
+   * @return Synthetic catalog
+   */
+  public static Catalog newCatalog(final List<String> tableNames,
+                                   final int columnsCount)
+  {
+    final MutableCatalog catalog = new MutableCatalog("BENCHMARK");
+    final Schema schema = catalog.addSchema("CATALOG", "SCHEMA");
+    final MutableColumnDataType columnDataType = new MutableColumnDataType(schema,
+                                                                           "VARCHAR");
+    final TableType tableType = new TableType("TABLE");
+    for (final String tableName: tableNames)
+    {
+      final MutableTable table = new MutableTable(schema, tableName);
+      table.setTableType(tableType);
+      // Add columns out of order, as they come back from a hash map
+      for (int c = columnsCount; c > 0; c--)
+      {
+        final MutableColumn column = new MutableColumn(table,
+                                                       String.format("COLUMN%04d",
+                                                                     c));
+        column.setOrdinalPosition(c);
+        column.setColumnDataType(columnDataType);
+        table.addColumn(column);
+      }
+      for (int i = 0; i < Math.min(5, columnsCount); i++)
+      {
+        final MutableIndex index = new MutableIndex(table,
+                                                    String.format("INDEX%d",
+                                                                  i));
+        final Column column = table.getColumns().get(i);
+        index.addColumn(new MutableIndexColumn(index, column));
+        table.addIndex(index);
+      }
+      catalog.addTable(table);
+    }
+    return catalog;
+  }
+
+  /**
+   * Creates a catalog with tables in a single schema, where each table
+   * has foreign keys to randomly chosen tables. The same catalog is
+   * created every time for the same arguments.
+   *
+   * @param tablesCount
+   *        Number of tables
+   * @param foreignKeysCount
+   *        Number of foreign keys from each table
+   * @return Synthetic catalog
+   */
+  public static Catalog newLinkedCatalog(final int tablesCount,
+                                         final int foreignKeysCount)
+  {
+    final Catalog catalog = newCatalog(tablesCount, foreignKeysCount + 1);
+    final List<Table> tables = new ArrayList<>(catalog.getTables());
+    final Random random = new Random(tablesCount);
+    for (final Table table: tables)
+    {
+      for (int f = 0; f < foreignKeysCount; f++)
+      {
+        final Table parentTable = tables.get(random.nextInt(tablesCount));
+        final MutableForeignKey foreignKey = new MutableForeignKey(String
+          .format("%s_FK%d", table.getName(), f));
+        foreignKey.addColumnReference(1,
+                                      parentTable.getColumns().get(0),
+                                      table.getColumns().get(f + 1));
+        ((MutableTable) table).addForeignKey(foreignKey);
+        if (parentTable != table)
+        {
+          ((MutableTable) parentTable).addForeignKey(foreignKey);
+        }
+      }
+    }
+    return catalog;
+  }
+
+  private BenchmarkCatalogs()
+  {
+    // Prevent instantiation
+  }
+
+}
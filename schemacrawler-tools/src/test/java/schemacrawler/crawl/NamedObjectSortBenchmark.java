@@ -0,0 +1,137 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableType;
+import schemacrawler.utility.NamedObjectSort;
+
+/**
+ * Measures alphabetical and natural sorts of a large number of tables,
+ * comparing a comparator based sort with NamedObjectSort.sort. Run
+ * with the main method, from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NamedObjectSortBenchmark
+{
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(NamedObjectSortBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Param({ "100000" })
+  public int tablesCount;
+
+  private List<Table> tables;
+
+  @Benchmark
+  public List<Table> alphabeticalComparator()
+  {
+    final List<Table> sorted = new ArrayList<>(tables);
+    sorted.sort(NamedObjectSort.alphabetical);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<Table> alphabeticalSort()
+  {
+    final List<Table> sorted = new ArrayList<>(tables);
+    NamedObjectSort.alphabetical.sort(sorted);
+    return sorted;
+  }
+
+  @Setup
+  public void createTables()
+  {
+    final MutableCatalog catalog = new MutableCatalog("BENCHMARK");
+    final TableType tableType = new TableType("TABLE");
+    tables = new ArrayList<>(tablesCount);
+    for (int s = 0; s < 10; s++)
+    {
+      final Schema schema = catalog.addSchema("CATALOG",
+                                              String.format("\"Schema_%d\"",
+                                                            s));
+      for (int t = 0; t < tablesCount / 10; t++)
+      {
+        final MutableTable table = new MutableTable(schema,
+                                                    String.format("Table_%06d",
+                                                                  t));
+        table.setTableType(tableType);
+        tables.add(table);
+      }
+    }
+    Collections.shuffle(tables, new Random(1));
+  }
+
+  @Benchmark
+  public List<Table> naturalComparator()
+  {
+    final List<Table> sorted = new ArrayList<>(tables);
+    sorted.sort(NamedObjectSort.natural);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<Table> naturalSort()
+  {
+    final List<Table> sorted = new ArrayList<>(tables);
+    NamedObjectSort.natural.sort(sorted);
+    return sorted;
+  }
+
+}
@@ -0,0 +1,268 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.crawl;
+
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.SchemaCrawlerInfo;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.tools.traversal.SchemaTraversalHandler;
+import schemacrawler.tools.traversal.SchemaTraverser;
+
+/**
+ * Measures traversal of a large synthetic catalog, with a handler that
+ * reads table columns, indexes and foreign keys several times over, the
+ * way formatters and linters do. Run with the main method, from the
+ * test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchemaTraversalBenchmark
+{
+
+  private static final class ReadingHandler
+    implements SchemaTraversalHandler
+  {
+
+    private final Blackhole blackhole;
+    private final int reads;
+
+    ReadingHandler(final Blackhole blackhole, final int reads)
+    {
+      this.blackhole = blackhole;
+      this.reads = reads;
+    }
+
+    @Override
+    public void begin()
+    {
+    }
+
+    @Override
+    public void end()
+    {
+    }
+
+    @Override
+    public void handle(final ColumnDataType columnDataType)
+    {
+    }
+
+    @Override
+    public void handle(final CrawlInfo crawlInfo)
+    {
+    }
+
+    @Override
+    public void handle(final DatabaseInfo databaseInfo)
+    {
+    }
+
+    @Override
+    public void handle(final JdbcDriverInfo jdbcDriverInfo)
+    {
+    }
+
+    @Override
+    public void handle(final Routine routine)
+    {
+    }
+
+    @Override
+    public void handle(final SchemaCrawlerInfo schemaCrawlerInfo)
+    {
+    }
+
+    @Override
+    public void handle(final Sequence sequence)
+    {
+    }
+
+    @Override
+    public void handle(final Synonym synonym)
+    {
+    }
+
+    @Override
+    public void handle(final Table table)
+    {
+      for (int i = 0; i < reads; i++)
+      {
+        for (final Column column: table.getColumns())
+        {
+          blackhole.consume(column.getName());
+        }
+        for (final Index index: table.getIndexes())
+        {
+          blackhole.consume(index.getColumns());
+        }
+        for (final ForeignKey foreignKey: table.getForeignKeys())
+        {
+          blackhole.consume(foreignKey.getName());
+        }
+      }
+    }
+
+    @Override
+    public void handleColumnDataTypesEnd()
+    {
+    }
+
+    @Override
+    public void handleColumnDataTypesStart()
+    {
+    }
+
+    @Override
+    public void handleHeaderEnd()
+    {
+    }
+
+    @Override
+    public void handleHeaderStart()
+    {
+    }
+
+    @Override
+    public void handleInfoEnd()
+    {
+    }
+
+    @Override
+    public void handleInfoStart()
+    {
+    }
+
+    @Override
+    public void handleRoutinesEnd()
+    {
+    }
+
+    @Override
+    public void handleRoutinesStart()
+    {
+    }
+
+    @Override
+    public void handleSequencesEnd()
+    {
+    }
+
+    @Override
+    public void handleSequencesStart()
+    {
+    }
+
+    @Override
+    public void handleSynonymsEnd()
+    {
+    }
+
+    @Override
+    public void handleSynonymsStart()
+    {
+    }
+
+    @Override
+    public void handleTablesEnd()
+    {
+    }
+
+    @Override
+    public void handleTablesStart()
+    {
+    }
+
+  }
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(SchemaTraversalBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Param({ "100" })
+  public int tablesCount;
+
+  @Param({ "400" })
+  public int columnsCount;
+
+  @Param({ "10" })
+  public int reads;
+
+  private Catalog catalog;
+
+  @Setup
+  public void createCatalog()
+  {
+    catalog = BenchmarkCatalogs.newCatalog(tablesCount, columnsCount);
+  }
+
+  @Benchmark
+  public void traverse(final Blackhole blackhole)
+    throws Exception
+  {
+    final SchemaTraverser traverser = new SchemaTraverser();
+    traverser.setCatalog(catalog);
+    traverser.setHandler(new ReadingHandler(blackhole, reads));
+    traverser.traverse();
+  }
+
+}
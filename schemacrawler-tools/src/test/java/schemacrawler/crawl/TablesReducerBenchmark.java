@@ -0,0 +1,116 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.filter.ReducerFactory;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Reducible;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+
+/**
+ * Measures reducing a large, linked synthetic catalog to a few selected
+ * tables, with their parent and child tables to a given depth. Run with
+ * the main method, from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TablesReducerBenchmark
+{
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(TablesReducerBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Param({ "40000" })
+  public int tablesCount;
+
+  @Param({ "3", "10" })
+  public int foreignKeysCount;
+
+  @Param({ "3", "8" })
+  public int depth;
+
+  private Catalog catalog;
+  private SchemaCrawlerOptions options;
+
+  @Setup
+  public void createOptions()
+  {
+    // Select 100 tables
+    options = SchemaCrawlerOptionsBuilder.builder()
+      .includeTables(Pattern.compile(".*TABLE000[0-9][0-9]"))
+      .parentTableFilterDepth(depth).childTableFilterDepth(depth)
+      .toOptions();
+  }
+
+  @Setup(Level.Invocation)
+  public void createCatalog()
+  {
+    // Reduction changes the catalog, so start each time with a new one
+    catalog = BenchmarkCatalogs.newLinkedCatalog(tablesCount,
+                                                 foreignKeysCount);
+  }
+
+  @Benchmark
+  public int reduceTables()
+  {
+    ((Reducible) catalog).reduce(Table.class,
+                                 ReducerFactory.getTableReducer(options));
+    return catalog.getTables().size();
+  }
+
+}
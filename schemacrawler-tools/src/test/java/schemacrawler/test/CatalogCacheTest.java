@@ -0,0 +1,230 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_OBJECT_CHANGE_MARKERS;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.ForeignKeyColumnReference;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.catalogloader.CatalogCache;
+import schemacrawler.tools.catalogloader.CatalogCache.CatalogCrawl;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class CatalogCacheTest
+{
+
+  private static boolean referencesPartialTables(final ForeignKey foreignKey)
+  {
+    for (final ForeignKeyColumnReference columnReference: foreignKey)
+    {
+      if (columnReference.getPrimaryKeyColumn()
+        .getParent() instanceof PartialDatabaseObject
+          || columnReference.getForeignKeyColumn()
+            .getParent() instanceof PartialDatabaseObject)
+      {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static SchemaRetrievalOptions schemaRetrievalOptions(final String changeMarker)
+  {
+    return schemaRetrievalOptions(changeMarker, "");
+  }
+
+  private static SchemaRetrievalOptions schemaRetrievalOptions(final String changeMarker,
+                                                               final String changedTable)
+  {
+    final SchemaRetrievalOptionsBuilder schemaRetrievalOptionsBuilder = SchemaRetrievalOptionsBuilder
+      .builder();
+    schemaRetrievalOptionsBuilder.withInformationSchemaViewsBuilder()
+      .withSql(EXT_OBJECT_CHANGE_MARKERS,
+               "SELECT TABLE_CATALOG AS OBJECT_CATALOG, "
+                                          + "TABLE_SCHEMA AS OBJECT_SCHEMA, "
+                                          + "TABLE_NAME AS OBJECT_NAME, "
+                                          + "TABLE_TYPE AS OBJECT_TYPE, "
+                                          + "CASE WHEN TABLE_NAME = '"
+                                          + changedTable
+                                          + "' THEN 'changed' ELSE '"
+                                          + changeMarker
+                                          + "' END AS CHANGE_MARKER "
+                                          + "FROM INFORMATION_SCHEMA.TABLES");
+    return schemaRetrievalOptionsBuilder.toOptions();
+  }
+
+  @Test
+  public void reuseCatalogUntilObjectsChange(final Connection connection)
+    throws Exception
+  {
+    final Path cacheDirectory = Files.createTempDirectory("catalog-cache");
+    final CatalogCache catalogCache = new CatalogCache(cacheDirectory);
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .toOptions();
+    final AtomicInteger crawlCount = new AtomicInteger();
+
+    final SchemaRetrievalOptions unchanged = schemaRetrievalOptions("1");
+    final CatalogCrawl crawl = options -> {
+      crawlCount.incrementAndGet();
+      return new SchemaCrawler(connection, unchanged, options).crawl();
+    };
+
+    final Catalog crawledCatalog = catalogCache
+      .loadCatalog(connection, unchanged, schemaCrawlerOptions, crawl);
+    assertThat(crawlCount.get(), is(1));
+
+    final Catalog cachedCatalog = catalogCache
+      .loadCatalog(connection, unchanged, schemaCrawlerOptions, crawl);
+    assertThat("Catalog should have been loaded from the cache",
+               crawlCount.get(),
+               is(1));
+    assertThat(cachedCatalog.getTables().size(),
+               equalTo(crawledCatalog.getTables().size()));
+
+    final SchemaRetrievalOptions changed = schemaRetrievalOptions("2");
+    final Catalog recrawledCatalog = catalogCache
+      .loadCatalog(connection, changed, schemaCrawlerOptions, crawl);
+    assertThat("Catalog should have been crawled again",
+               crawlCount.get(),
+               is(2));
+    assertThat(catalogCache
+      .loadCatalog(connection, changed, schemaCrawlerOptions, crawl)
+      .getTables().size(), equalTo(recrawledCatalog.getTables().size()));
+    assertThat(crawlCount.get(), is(2));
+  }
+
+  @Test
+  public void crawlOnlyChangedTables(final Connection connection)
+    throws Exception
+  {
+    final Path cacheDirectory = Files.createTempDirectory("catalog-cache");
+    final CatalogCache catalogCache = new CatalogCache(cacheDirectory);
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+      .toOptions();
+    final SchemaRetrievalOptions unchanged = schemaRetrievalOptions("1");
+    final List<Integer> crawledTableCounts = new ArrayList<>();
+    final CatalogCrawl crawl = options -> {
+      final Catalog catalog = new SchemaCrawler(connection,
+                                                unchanged,
+                                                options).crawl();
+      crawledTableCounts.add(catalog.getTables().size());
+      return catalog;
+    };
+
+    final Catalog crawledCatalog = catalogCache
+      .loadCatalog(connection, unchanged, schemaCrawlerOptions, crawl);
+
+    final SchemaRetrievalOptions changed = schemaRetrievalOptions("1",
+                                                                  "AUTHORS");
+    final Catalog mergedCatalog = catalogCache
+      .loadCatalog(connection, changed, schemaCrawlerOptions, crawl);
+    assertThat(crawledTableCounts.size(), is(2));
+    assertThat("Only the changed table, and tables related to it, should have been crawled again",
+               crawledTableCounts.get(1),
+               lessThan(crawledTableCounts.get(0)));
+
+    assertThat(mergedCatalog.getTables().size(),
+               equalTo(crawledCatalog.getTables().size()));
+    for (final Table table: crawledCatalog.getTables())
+    {
+      final Table mergedTable = mergedCatalog
+        .lookupTable(table.getSchema(), table.getName()).get();
+      assertThat(mergedTable.getColumns().size(),
+                 equalTo(table.getColumns().size()));
+      assertThat(mergedTable.getForeignKeys().size(),
+                 equalTo(table.getForeignKeys().size()));
+      for (final ForeignKey foreignKey: table.getForeignKeys())
+      {
+        final ForeignKey mergedForeignKey = mergedTable.getForeignKeys()
+          .stream().filter(fk -> fk.getName().equals(foreignKey.getName()))
+          .findFirst().get();
+        assertThat("Foreign key should be linked to tables in the merged catalog",
+                   referencesPartialTables(mergedForeignKey),
+                   is(referencesPartialTables(foreignKey)));
+      }
+    }
+
+    catalogCache.loadCatalog(connection, changed, schemaCrawlerOptions, crawl);
+    assertThat("Merged catalog should have been cached",
+               crawledTableCounts.size(),
+               is(2));
+  }
+
+  @Test
+  public void crawlWithoutChangeMarkersQuery(final Connection connection)
+    throws Exception
+  {
+    final Path cacheDirectory = Files.createTempDirectory("catalog-cache");
+    final CatalogCache catalogCache = new CatalogCache(cacheDirectory);
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .newSchemaCrawlerOptions();
+    final SchemaRetrievalOptions schemaRetrievalOptions = SchemaRetrievalOptionsBuilder
+      .newSchemaRetrievalOptions();
+
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              schemaRetrievalOptions,
+                                              schemaCrawlerOptions)
+                                                .crawl();
+    final Catalog loadedCatalog = catalogCache
+      .loadCatalog(connection,
+                   schemaRetrievalOptions,
+                   schemaCrawlerOptions,
+                   options -> catalog);
+    assertThat(loadedCatalog, is(sameInstance(catalog)));
+    assertThat(Files.list(cacheDirectory).count(), is(0L));
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.google.gson.JsonParser;
+
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.operation.OperationCommand;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+import schemacrawler.utility.Identifiers;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class DataJsonStreamingTest
+{
+
+  private static String execute(final String command,
+                                final Connection connection,
+                                final Catalog catalog,
+                                final boolean isStreamingJson)
+    throws Exception
+  {
+    final StringWriter out = new StringWriter();
+
+    final OperationCommand operationCommand = new OperationCommand(command);
+    operationCommand.setOutputOptions(OutputOptionsBuilder.builder()
+      .withOutputFormat(TextOutputFormat.json).withOutputWriter(out)
+      .toOptions());
+    operationCommand.setOperationOptions(OperationOptionsBuilder.builder()
+      .streamingJson(isStreamingJson).toOptions());
+    operationCommand.setIdentifiers(Identifiers.STANDARD);
+    operationCommand.setCatalog(catalog);
+    operationCommand.setConnection(connection);
+
+    operationCommand.initialize();
+    operationCommand.execute();
+
+    return out.toString();
+  }
+
+  @Test
+  public void streamedDataMatchesOutput(final Connection connection)
+    throws Exception
+  {
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              SchemaRetrievalOptionsBuilder
+                                                .newSchemaRetrievalOptions(),
+                                              SchemaCrawlerOptionsBuilder
+                                                .builder()
+                                                .withSchemaInfoLevel(SchemaInfoLevelBuilder
+                                                  .standard())
+                                                .toOptions()).crawl();
+    assertThat(catalog.getTables().size(), is(greaterThan(1)));
+
+    for (final String command: new String[] { "count", "dump" })
+    {
+      final String output = execute(command, connection, catalog, false);
+      final String streamedOutput = execute(command,
+                                            connection,
+                                            catalog,
+                                            true);
+
+      assertThat(command,
+                 new JsonParser().parse(streamedOutput),
+                 equalTo(new JsonParser().parse(output)));
+    }
+  }
+
+}
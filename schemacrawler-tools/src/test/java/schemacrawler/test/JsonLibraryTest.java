@@ -1,16 +1,21 @@
 package schemacrawler.test;
 
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.fail;
 import static schemacrawler.test.utility.TestUtility.clean;
 import static schemacrawler.test.utility.TestUtility.compareOutput;
 
 import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.gson.JsonParser;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +26,7 @@ import schemacrawler.test.utility.TestLoggingExtension;
 import schemacrawler.tools.options.TextOutputFormat;
 import schemacrawler.tools.text.utility.org.json.JSONArray;
 import schemacrawler.tools.text.utility.org.json.JSONObject;
+import schemacrawler.tools.text.utility.org.json.JSONStreamWriter;
 import sf.util.IOUtility;
 
 @ExtendWith(TestLoggingExtension.class)
@@ -57,6 +63,92 @@ public class JsonLibraryTest
     testJson(testContext, jsonObject);
   }
 
+  @Test
+  public void streamedJsonObject()
+    throws Exception
+  {
+    final JSONObject jsonObject = new JSONObject();
+    final StringWriter streamed = new StringWriter();
+    final JSONStreamWriter jsonStreamWriter = new JSONStreamWriter(new PrintWriter(streamed),
+                                                                   2);
+
+    final JSONObject info = new JSONObject();
+    jsonObject.put("info", info);
+    jsonStreamWriter.put("info", info);
+    // Values can be filled in after they are added
+    info.put("title", "Streamed");
+
+    for (int i = 0; i < 3; i++)
+    {
+      final JSONObject table = new JSONObject();
+      jsonObject.accumulate("tables", table);
+      jsonStreamWriter.accumulate("tables", table);
+      table.put("name", "TABLE" + i);
+      table.put("columns", new JSONArray().put("ID").put("NAME"));
+    }
+
+    final JSONObject routine = new JSONObject();
+    jsonObject.accumulate("routines", routine);
+    jsonStreamWriter.accumulate("routines", routine);
+    routine.put("name", "ROUTINE");
+
+    jsonStreamWriter.close();
+
+    final StringWriter written = new StringWriter();
+    jsonObject.write(written, 2);
+
+    assertThat(new JsonParser().parse(streamed.toString()),
+               equalTo(new JsonParser().parse(written.toString())));
+  }
+
+  @Test
+  public void streamedJsonRows()
+    throws Exception
+  {
+    final JSONObject jsonObject = new JSONObject();
+    final StringWriter streamed = new StringWriter();
+    final JSONStreamWriter jsonStreamWriter = new JSONStreamWriter(new PrintWriter(streamed),
+                                                                   2);
+
+    jsonObject.put("description", "Rows");
+    jsonStreamWriter.put("description", "Rows");
+
+    final JSONArray data = new JSONArray();
+    jsonObject.put("data", data);
+    jsonStreamWriter.startArray("data");
+    for (int i = 0; i < 3; i++)
+    {
+      final JSONObject table = new JSONObject();
+      data.put(table);
+      jsonStreamWriter.startObject();
+
+      table.put("title", "TABLE" + i);
+      jsonStreamWriter.value("title", "TABLE" + i);
+
+      final JSONArray rows = new JSONArray();
+      table.put("rows", rows);
+      jsonStreamWriter.startArray("rows");
+      // The last table has no rows
+      for (int j = 0; j < 2 - i; j++)
+      {
+        final JSONArray row = new JSONArray().put(j).put("NAME" + j);
+        rows.put(row);
+        jsonStreamWriter.value(row);
+      }
+      jsonStreamWriter.end();
+
+      jsonStreamWriter.end();
+    }
+    // The data array is ended when the stream is closed
+    jsonStreamWriter.close();
+
+    final StringWriter written = new StringWriter();
+    jsonObject.write(written, 2);
+
+    assertThat(new JsonParser().parse(streamed.toString()),
+               equalTo(new JsonParser().parse(written.toString())));
+  }
+
   private void testJson(final TestContext testContext,
                         final JSONObject jsonObject)
     throws Exception
@@ -0,0 +1,155 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.test;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import schemacrawler.crawl.SchemaCrawler;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.Config;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
+import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.text.operation.OperationCommand;
+import schemacrawler.tools.text.operation.OperationOptionsBuilder;
+import schemacrawler.utility.Identifiers;
+
+@ExtendWith(TestDatabaseConnectionParameterResolver.class)
+public class OperationCommandParallelTest
+{
+
+  private static Supplier<Connection> connectionSupplier(final DatabaseConnectionInfo connectionInfo,
+                                                        final AtomicInteger connectionCount)
+  {
+    return () -> {
+      try
+      {
+        final Connection connection = DriverManager
+          .getConnection(connectionInfo.getConnectionUrl(), "sa", "");
+        connectionCount.incrementAndGet();
+        return connection;
+      }
+      catch (final SQLException e)
+      {
+        throw new RuntimeException(e.getMessage(), e);
+      }
+    };
+  }
+
+  private static String execute(final String command,
+                                final Connection connection,
+                                final Catalog catalog,
+                                final TextOutputFormat outputFormat,
+                                final Supplier<Connection> connectionSupplier)
+    throws Exception
+  {
+    final StringWriter out = new StringWriter();
+
+    final OperationCommand operationCommand = new OperationCommand(command);
+    operationCommand.setOutputOptions(OutputOptionsBuilder.builder()
+      .withOutputFormat(outputFormat).withOutputWriter(out).toOptions());
+    operationCommand.setOperationOptions(OperationOptionsBuilder.builder()
+      .connections(3).toOptions());
+    operationCommand.setIdentifiers(Identifiers.STANDARD);
+    final Config config = new Config();
+    config.put("tableRows",
+               "SELECT '${tablename}' AS TABLE_NAME, ${columns} FROM ${table} ORDER BY ${orderbycolumns}");
+    operationCommand.setAdditionalConfiguration(config);
+    operationCommand.setConnectionSupplier(connectionSupplier);
+    operationCommand.setCatalog(catalog);
+    operationCommand.setConnection(connection);
+
+    operationCommand.initialize();
+    operationCommand.execute();
+
+    return out.toString();
+  }
+
+  @Test
+  public void parallelOperationsMatchSerialOutput(final Connection connection,
+                                                  final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final Catalog catalog = new SchemaCrawler(connection,
+                                              SchemaRetrievalOptionsBuilder
+                                                .newSchemaRetrievalOptions(),
+                                              SchemaCrawlerOptionsBuilder
+                                                .builder()
+                                                .withSchemaInfoLevel(SchemaInfoLevelBuilder
+                                                  .standard())
+                                                .toOptions()).crawl();
+    assertThat(catalog.getTables().size(), is(greaterThan(1)));
+
+    for (final String command: new String[] {
+        "count", "dump", "tableRows" })
+    {
+      for (final TextOutputFormat outputFormat: new TextOutputFormat[] {
+          TextOutputFormat.text, TextOutputFormat.json })
+      {
+        final String serialOutput = execute(command,
+                                            connection,
+                                            catalog,
+                                            outputFormat,
+                                            null);
+
+        final AtomicInteger connectionCount = new AtomicInteger();
+        final String parallelOutput = execute(command,
+                                              connection,
+                                              catalog,
+                                              outputFormat,
+                                              connectionSupplier(connectionInfo,
+                                                                 connectionCount));
+
+        assertThat(command + " as " + outputFormat,
+                   parallelOutput.getBytes(UTF_8),
+                   equalTo(serialOutput.getBytes(UTF_8)));
+        assertThat(connectionCount.get(), is(3));
+      }
+    }
+  }
+
+}
@@ -31,13 +31,20 @@ package schemacrawler.test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
 import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
 import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
 
 import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,19 +56,121 @@ import schemacrawler.schemacrawler.RegularExpressionExclusionRule;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.test.utility.DatabaseConnectionInfo;
 import schemacrawler.test.utility.TestContext;
 import schemacrawler.test.utility.TestContextParameterResolver;
 import schemacrawler.test.utility.TestDatabaseConnectionParameterResolver;
 import schemacrawler.test.utility.TestWriter;
 import schemacrawler.tools.analysis.counts.CatalogWithCounts;
 import schemacrawler.tools.analysis.counts.CountsUtility;
+import schemacrawler.tools.analysis.counts.ExactRowCountProvider;
+import schemacrawler.tools.analysis.counts.StatisticsRowCountProvider;
 import schemacrawler.utility.NamedObjectSort;
+import schemacrawler.utility.Query;
 
 @ExtendWith(TestDatabaseConnectionParameterResolver.class)
 @ExtendWith(TestContextParameterResolver.class)
 public class TableCountsTest
 {
 
+  private static SchemaCrawlerOptions schemaCrawlerOptions()
+  {
+    return SchemaCrawlerOptionsBuilder.builder()
+      .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+  }
+
+  @Test
+  public void exactTableCountsOnSeveralConnections(final Connection connection,
+                                                   final DatabaseConnectionInfo connectionInfo)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions();
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final Map<Table, Long> serialCounts = new ExactRowCountProvider()
+      .getRowCounts(connection, catalog.getTables());
+
+    final AtomicInteger connectionCount = new AtomicInteger();
+    final Supplier<Connection> connectionSupplier = () -> {
+      try
+      {
+        connectionCount.incrementAndGet();
+        return DriverManager.getConnection(connectionInfo.getConnectionUrl(),
+                                           "sa",
+                                           "");
+      }
+      catch (final SQLException e)
+      {
+        throw new RuntimeException(e.getMessage(), e);
+      }
+    };
+    final Map<Table, Long> parallelCounts = new ExactRowCountProvider(connectionSupplier,
+                                                                      3,
+                                                                      10)
+      .getRowCounts(connection, catalog.getTables());
+
+    assertThat(serialCounts.size(), is(catalog.getTables().size()));
+    assertThat(parallelCounts, is(equalTo(serialCounts)));
+    assertThat(connectionCount.get(), is(3));
+  }
+
+  @Test
+  public void statisticsTableCounts(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions();
+    final Catalog baseCatalog = getCatalog(connection, schemaCrawlerOptions);
+
+    // Stand-in for optimizer statistics, with a made up count for each
+    // table
+    final Query query = new Query("EXT_TABLE_ROW_COUNTS",
+                                  "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, "
+                                                          + "CAST(CHAR_LENGTH(TABLE_NAME) AS BIGINT) AS ROW_COUNT "
+                                                          + "FROM INFORMATION_SCHEMA.TABLES");
+    final CatalogWithCounts catalog = new CatalogWithCounts(baseCatalog,
+                                                            connection,
+                                                            schemaCrawlerOptions,
+                                                            new StatisticsRowCountProvider(query,
+                                                                                           schemaCrawlerOptions
+                                                                                             .getSchemaInclusionRule()));
+
+    assertThat(catalog.getCounts().size(), is(catalog.getTables().size()));
+    for (final Table table: catalog.getTables())
+    {
+      assertThat(CountsUtility.getRowCount(table),
+                 is((long) table.getName().length()));
+    }
+  }
+
+  @Test
+  public void statisticsTableCountsWithoutEstimates(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = schemaCrawlerOptions();
+    final Catalog baseCatalog = getCatalog(connection, schemaCrawlerOptions);
+
+    final Map<Table, Long> exactCounts = new ExactRowCountProvider()
+      .getRowCounts(connection, baseCatalog.getTables());
+
+    // Stand-in for tables that have never been analyzed, with null and
+    // negative estimates
+    final Query query = new Query("EXT_TABLE_ROW_COUNTS",
+                                  "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, "
+                                                          + "CASE WHEN MOD(CHAR_LENGTH(TABLE_NAME), 2) = 0 "
+                                                          + "THEN CAST(NULL AS BIGINT) ELSE CAST(-1 AS BIGINT) END AS ROW_COUNT "
+                                                          + "FROM INFORMATION_SCHEMA.TABLES");
+    final CatalogWithCounts catalog = new CatalogWithCounts(baseCatalog,
+                                                            connection,
+                                                            schemaCrawlerOptions,
+                                                            new StatisticsRowCountProvider(query,
+                                                                                           schemaCrawlerOptions
+                                                                                             .getSchemaInclusionRule()));
+
+    assertThat(catalog.getCounts(), is(equalTo(exactCounts)));
+  }
+
   @Test
   public void tableCounts(final TestContext testContext,
                           final Connection connection)
@@ -31,6 +31,9 @@ package schemacrawler.test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
 import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
 import static schemacrawler.test.utility.FileHasContent.outputOf;
@@ -40,6 +43,8 @@ import static schemacrawler.utility.SchemaCrawlerUtility.getCatalog;
 import java.sql.Connection;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -114,4 +119,31 @@ public class WeakAssociationsTest
                  .testMethodFullName())));
   }
 
+  @Test
+  public void weakAssociationsOnSeveralThreads(final Connection connection)
+    throws Exception
+  {
+    final SchemaCrawlerOptions schemaCrawlerOptions = SchemaCrawlerOptionsBuilder
+      .builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+      .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+      .toOptions();
+
+    final List<String> serialWeakAssociations = weakAssociations(new CatalogWithAssociations(getCatalog(connection,
+                                                                                                        schemaCrawlerOptions),
+                                                                                             1));
+    final List<String> parallelWeakAssociations = weakAssociations(new CatalogWithAssociations(getCatalog(connection,
+                                                                                                          schemaCrawlerOptions),
+                                                                                               4));
+
+    assertThat(serialWeakAssociations, not(empty()));
+    assertThat(parallelWeakAssociations, equalTo(serialWeakAssociations));
+  }
+
+  private List<String> weakAssociations(final CatalogWithAssociations catalog)
+  {
+    return catalog.getWeakAssociations().stream()
+      .flatMap(weakFk -> weakFk.getColumnReferences().stream())
+      .map(String::valueOf).collect(Collectors.toList());
+  }
+
 }
@@ -0,0 +1,105 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.associations;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.crawl.BenchmarkCatalogs;
+import schemacrawler.schema.Table;
+
+/**
+ * Measures finding table name prefixes and match keys, for synthetic
+ * catalogs with tables named with a few levels of prefixes. Run with
+ * the main method, from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TableMatchKeysBenchmark
+{
+
+  private static final String[] SYSTEMS = { "APP", "HR", "FIN", "SYS" };
+  private static final String[] MODULES = { "ORDER", "CUSTOMER", "PRODUCT",
+                                            "INVOICE", "PAYMENT", "ADDRESS",
+                                            "EMPLOYEE", "LEDGER" };
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(TableMatchKeysBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Param({ "1000", "10000", "100000" })
+  public int tablesCount;
+
+  private List<Table> tables;
+
+  @Setup
+  public void createTables()
+  {
+    final List<String> tableNames = new ArrayList<>(tablesCount);
+    for (int t = 0; t < tablesCount; t++)
+    {
+      tableNames.add(String.format("%s_%s_ITEM%06dS",
+                                   SYSTEMS[t % SYSTEMS.length],
+                                   MODULES[t / SYSTEMS.length
+                                           % MODULES.length],
+                                   t));
+    }
+    tables = new ArrayList<>(BenchmarkCatalogs.newCatalog(tableNames, 2)
+      .getTables());
+  }
+
+  @Benchmark
+  public TableMatchKeys tableMatchKeys()
+  {
+    return new TableMatchKeys(tables);
+  }
+
+}
@@ -0,0 +1,131 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.analysis.associations;
+
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static sf.util.Utility.isBlank;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import sf.util.Utility;
+
+public class TableMatchKeysTest
+{
+
+  private static final String[] PARTS = { "A", "a", "AB", "Ab", "B", "ORDER",
+                                          "Order", "_", "__", "X_Y" };
+
+  /**
+   * Counts common prefixes by comparing every pair of names, the way
+   * that table name prefixes used to be found.
+   */
+  private static Map<String, Long> pairwiseCommonPrefixes(final List<String> tableNames)
+  {
+    final Map<String, Long> commonPrefixes = new HashMap<>();
+    for (int i = 0; i < tableNames.size(); i++)
+    {
+      for (int j = i + 1; j < tableNames.size(); j++)
+      {
+        final String commonPrefix = Utility.commonPrefix(tableNames.get(i),
+                                                         tableNames.get(j));
+        if (!isBlank(commonPrefix) && commonPrefix.endsWith("_"))
+        {
+          commonPrefixes.merge(commonPrefix, 1L, Long::sum);
+        }
+      }
+    }
+    return commonPrefixes;
+  }
+
+  private static List<String> randomTableNames(final Random random,
+                                               final int count)
+  {
+    final List<String> tableNames = new ArrayList<>();
+    for (int i = 0; i < count; i++)
+    {
+      if (i > 0 && random.nextInt(5) == 0)
+      {
+        // Same name again, as for tables in different schemas
+        tableNames.add(tableNames.get(random.nextInt(tableNames.size())));
+        continue;
+      }
+      final StringBuilder tableName = new StringBuilder();
+      final int partsCount = 1 + random.nextInt(4);
+      for (int p = 0; p < partsCount; p++)
+      {
+        tableName.append(PARTS[random.nextInt(PARTS.length)]);
+        if (random.nextBoolean())
+        {
+          tableName.append('_');
+        }
+      }
+      tableNames.add(tableName.toString());
+    }
+    return tableNames;
+  }
+
+  @Test
+  public void commonPrefixesMatchPairwiseComparison()
+  {
+    final Random random = new Random(1);
+    for (int run = 0; run < 500; run++)
+    {
+      final List<String> tableNames = randomTableNames(random,
+                                                       random.nextInt(40));
+      assertThat(tableNames.toString(),
+                 TableMatchKeys.countCommonPrefixes(tableNames),
+                 equalTo(pairwiseCommonPrefixes(tableNames)));
+    }
+  }
+
+  @Test
+  public void commonPrefixesWithDuplicateNames()
+  {
+    final List<String> tableNames = Arrays.asList("ORDER_ITEM",
+                                                  "ORDER_ITEM",
+                                                  "order_item",
+                                                  "ORDER__LINE",
+                                                  "ORDER__LINE",
+                                                  "Order_",
+                                                  "ORDER_",
+                                                  "ORDER_",
+                                                  "CUSTOMER");
+    assertThat(TableMatchKeys.countCommonPrefixes(tableNames),
+               equalTo(pairwiseCommonPrefixes(tableNames)));
+  }
+
+}
@@ -0,0 +1,138 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.text.operation;
+
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.tools.text.utility.BinaryData;
+
+public class LobReaderTest
+{
+
+  private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+  @Test
+  public void base64()
+    throws Exception
+  {
+    final BinaryData lobData = new LobReader(LobFormat.base64, 0)
+      .read(new StringReader("hello"));
+    assertThat(lobData.toString(), equalTo("aGVsbG8="));
+  }
+
+  @Test
+  public void defaultMaxLobSizeIsBounded()
+    throws Exception
+  {
+    final OperationOptions options = OperationOptionsBuilder
+      .newOperationOptions();
+    assertThat(options.getMaxLobSize(), is(1024 * 1024));
+
+    final byte[] bytes = new byte[2 * 1024 * 1024];
+    Arrays.fill(bytes, (byte) 'a');
+
+    final BinaryData lobData = new LobReader(options.getLobFormat(),
+                                             options.getMaxLobSize())
+      .read(new ByteArrayInputStream(bytes));
+    assertThat(lobData.isTruncated(), is(true));
+    assertThat(lobData.toString().length(), is(1024 * 1024 + 3));
+  }
+
+  @Test
+  public void hashReadsFullLob()
+    throws Exception
+  {
+    final LobReader lobReader = new LobReader(LobFormat.sha256, 1);
+    assertThat(lobReader.read(new ByteArrayInputStream("hello"
+      .getBytes(UTF_8))).toString(), equalTo(HELLO_SHA256));
+    assertThat(lobReader.read(new StringReader("hello")).toString(),
+               equalTo(HELLO_SHA256));
+  }
+
+  @Test
+  public void hex()
+    throws Exception
+  {
+    final BinaryData lobData = new LobReader(LobFormat.hex, 5)
+      .read(new ByteArrayInputStream("hello".getBytes(UTF_8)));
+    assertThat(lobData.isTruncated(), is(false));
+    assertThat(lobData.toString(), equalTo("68656c6c6f"));
+  }
+
+  @Test
+  public void truncatedAtCharacterBoundary()
+    throws Exception
+  {
+    // Two byte, three byte and four byte characters
+    final String text = "\u00e9\u20ac\ud83d\ude00";
+
+    final BinaryData lobData = new LobReader(LobFormat.text, 5)
+      .read(new ByteArrayInputStream(text.getBytes(UTF_8)));
+    assertThat(lobData.isTruncated(), is(true));
+    assertThat(lobData.toString(), equalTo("\u00e9\u20ac..."));
+
+    final BinaryData shortLobData = new LobReader(LobFormat.text, 4)
+      .read(new ByteArrayInputStream(text.getBytes(UTF_8)));
+    assertThat(shortLobData.toString(), equalTo("\u00e9..."));
+
+    final BinaryData clobData = new LobReader(LobFormat.text, 3)
+      .read(new StringReader(text));
+    assertThat(clobData.isTruncated(), is(true));
+    assertThat(clobData.toString(), equalTo("\u00e9\u20ac..."));
+  }
+
+  @Test
+  public void truncatedAtMaxLobSize()
+    throws Exception
+  {
+    final byte[] bytes = new byte[100_000];
+    Arrays.fill(bytes, (byte) 'a');
+
+    final BinaryData lobData = new LobReader(LobFormat.text, 10)
+      .read(new ByteArrayInputStream(bytes));
+    assertThat(lobData.isTruncated(), is(true));
+    assertThat(lobData.toString(), equalTo("aaaaaaaaaa..."));
+
+    final BinaryData clobData = new LobReader(LobFormat.text, 10)
+      .read(new StringReader(new String(bytes, UTF_8)));
+    assertThat(clobData.isTruncated(), is(true));
+    assertThat(clobData.toString(), equalTo("aaaaaaaaaa..."));
+  }
+
+}
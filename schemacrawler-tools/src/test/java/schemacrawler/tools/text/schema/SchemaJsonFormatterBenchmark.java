@@ -0,0 +1,148 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.tools.text.schema;
+
+
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import schemacrawler.crawl.BenchmarkCatalogs;
+import schemacrawler.schema.Catalog;
+import schemacrawler.tools.options.OutputOptions;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.options.TextOutputFormat;
+import schemacrawler.tools.traversal.SchemaTraverser;
+
+/**
+ * Compares JSON schema output built as an in-memory JSON object tree
+ * with streaming JSON output, on a large synthetic catalog. Output is
+ * discarded. Run with the main method, from the test classpath; the GC
+ * profiler reports allocation rates, and the maximum heap can be
+ * limited with the JVM arguments to show the difference in retained
+ * memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SchemaJsonFormatterBenchmark
+{
+
+  private static final class DiscardingWriter
+    extends Writer
+  {
+
+    @Override
+    public void close()
+    {
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len)
+    {
+    }
+
+  }
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(SchemaJsonFormatterBenchmark.class.getSimpleName())
+      .addProfiler("gc").build()).run();
+  }
+
+  @Param({ "5000" })
+  public int tablesCount;
+
+  @Param({ "50" })
+  public int columnsCount;
+
+  private Catalog catalog;
+
+  @Setup
+  public void createCatalog()
+  {
+    catalog = BenchmarkCatalogs.newCatalog(tablesCount, columnsCount);
+  }
+
+  @Benchmark
+  public void inMemory()
+    throws Exception
+  {
+    format(false);
+  }
+
+  @Benchmark
+  public void streaming()
+    throws Exception
+  {
+    format(true);
+  }
+
+  private void format(final boolean streamingJson)
+    throws Exception
+  {
+    final SchemaTextOptions options = SchemaTextOptionsBuilder.builder()
+      .streamingJson(streamingJson).toOptions();
+    final OutputOptions outputOptions = OutputOptionsBuilder.builder()
+      .withOutputFormat(TextOutputFormat.json)
+      .withOutputWriter(new DiscardingWriter()).toOptions();
+    final SchemaJsonFormatter formatter = new SchemaJsonFormatter(SchemaTextDetailType.schema,
+                                                                  options,
+                                                                  outputOptions,
+                                                                  "\"");
+
+    final SchemaTraverser traverser = new SchemaTraverser();
+    traverser.setCatalog(catalog);
+    traverser.setHandler(formatter);
+    traverser.traverse();
+  }
+
+}
@@ -0,0 +1,126 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2019, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package sf.util.graph;
+
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures topological sort and cycle detection on graphs shaped like
+ * foreign key relationships, where each table references a few tables
+ * created before it. Run with the main method, from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DirectedGraphBenchmark
+{
+
+  public static void main(final String[] args)
+    throws Exception
+  {
+    new Runner(new OptionsBuilder()
+      .include(DirectedGraphBenchmark.class.getSimpleName()).build()).run();
+  }
+
+  @Param({ "100000" })
+  public int tablesCount;
+
+  @Param({ "3" })
+  public int foreignKeysCount;
+
+  private DirectedGraph<String> graph;
+
+  @Benchmark
+  public boolean containsCycle()
+  {
+    return new SimpleCycleDetector<>(graph).containsCycle();
+  }
+
+  @Setup
+  public void createGraph()
+  {
+    final Random random = new Random(1);
+    graph = new DirectedGraph<>("benchmark");
+    for (int t = 0; t < tablesCount; t++)
+    {
+      final String table = String.format("TABLE%06d", t);
+      graph.addVertex(table);
+      // Reference a few earlier tables, more often recent ones, so that
+      // there are long chains of relationships as well as hub tables
+      for (int f = 0; f < foreignKeysCount && t > 0; f++)
+      {
+        final int referenced;
+        if (random.nextBoolean())
+        {
+          referenced = Math.max(0, t - 1 - random.nextInt(10));
+        }
+        else
+        {
+          referenced = random.nextInt(t);
+        }
+        graph.addEdge(String.format("TABLE%06d", referenced), table);
+      }
+    }
+  }
+
+  @Benchmark
+  public Collection<List<String>> stronglyConnectedComponents()
+  {
+    return new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+  }
+
+  @Benchmark
+  public List<String> topologicalSort()
+    throws GraphException
+  {
+    return new SimpleTopologicalSort<>(graph).topologicalSort();
+  }
+
+}